@@ -4,6 +4,9 @@ import java.lang.annotation.*;
 
 /**
  * 缓存注解
+ * <p>
+ * 由 {@link com.company.fastweb.core.cache.aspect.CacheableAspect} 实现：未命中时同一 key 的并发加载在本节点内合并，
+ * 可选通过分布式锁在集群内合并；临近过期时按 XFetch 概率提前刷新，避免集中过期引发的缓存击穿。
  *
  * @author FastWeb
  */
@@ -41,4 +44,24 @@ public @interface Cacheable {
      * 是否允许空值缓存
      */
     boolean allowNullValues() default false;
-}
\ No newline at end of file
+
+    /**
+     * 是否合并本节点内同一 key 的并发加载
+     */
+    boolean sync() default true;
+
+    /**
+     * 是否通过分布式锁合并集群内同一 key 的加载（需要 Redisson）
+     */
+    boolean distributed() default false;
+
+    /**
+     * 等待分布式锁的最长时间（毫秒），超时后不再等待直接加载
+     */
+    long lockWaitTime() default 3000;
+
+    /**
+     * 提前刷新系数（XFetch beta），越大越早刷新，0 表示关闭
+     */
+    double earlyRefreshBeta() default 1.0;
+}
@@ -0,0 +1,61 @@
+package com.company.fastweb.core.cache.aspect;
+
+import com.company.fastweb.core.cache.annotation.CacheEvict;
+import com.company.fastweb.core.cache.service.CacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link CacheEvict} 切面
+ * <p>
+ * 缓存键规则与 {@link CacheableAspect} 一致。默认在方法成功返回后清除，此时条件表达式可以引用 {@code #result}；
+ * 方法抛出异常时不清除。{@link CacheEvict#beforeInvocation()} 为 true 时在方法执行前清除。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "fastweb.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheEvictAspect {
+
+    private final CacheService cacheService;
+    private final CacheExpressionEvaluator evaluator = new CacheExpressionEvaluator();
+
+    public CacheEvictAspect(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @Around("@annotation(cacheEvict)")
+    public Object around(ProceedingJoinPoint joinPoint, CacheEvict cacheEvict) throws Throwable {
+        CacheInvocation invocation = evaluator.invocation(joinPoint);
+        if (cacheEvict.beforeInvocation()) {
+            evictIfNecessary(cacheEvict, invocation);
+            return joinPoint.proceed();
+        }
+        Object result = joinPoint.proceed();
+        invocation.setResult(result);
+        evictIfNecessary(cacheEvict, invocation);
+        return result;
+    }
+
+    private void evictIfNecessary(CacheEvict cacheEvict, CacheInvocation invocation) {
+        if (!evaluator.condition(cacheEvict.condition(), invocation)) {
+            return;
+        }
+        if (!StringUtils.hasText(cacheEvict.value())) {
+            throw new IllegalStateException("@CacheEvict 未指定缓存名称: " + invocation.getMethod());
+        }
+        if (cacheEvict.allEntries()) {
+            long deleted = cacheService.invalidateByPrefix(cacheEvict.value() + ":");
+            log.debug("清除缓存全部条目: cacheName={}, deleted={}", cacheEvict.value(), deleted);
+        } else {
+            cacheService.delete(evaluator.cacheKey(cacheEvict.value(), cacheEvict.key(), invocation));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.company.fastweb.core.cache.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 缓存注解的 SpEL 求值器
+ * <p>
+ * 每个方法上的每个表达式只解析一次并缓存；表达式以 {@link SpelCompilerMode#IMMEDIATE} 模式解析，
+ * 首次解释执行后即编译为字节码。形如 {@code #id}、{@code #p0}、{@code #a0} 的表达式在解析时直接定位到
+ * 参数下标，求值时读取参数数组，不创建 SpEL 上下文。
+ *
+ * @author FastWeb
+ */
+public class CacheExpressionEvaluator {
+
+    private static final Pattern VARIABLE = Pattern.compile("#(\\w+)");
+    private static final Pattern INDEXED_ARGUMENT = Pattern.compile("[pa](\\d+)");
+
+    private final SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(
+            SpelCompilerMode.IMMEDIATE, CacheExpressionEvaluator.class.getClassLoader()));
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<ExpressionKey, MethodExpression> expressions = new ConcurrentHashMap<>();
+    private final Map<Method, Method> targetMethods = new ConcurrentHashMap<>();
+
+    /**
+     * 解析被拦截的方法调用，接口代理时定位到实现类方法以获取参数名
+     */
+    public CacheInvocation invocation(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object target = joinPoint.getTarget();
+        if (target != null) {
+            Class<?> targetClass = AopUtils.getTargetClass(target);
+            if (targetClass != method.getDeclaringClass()) {
+                method = targetMethods.computeIfAbsent(method, m -> AopUtils.getMostSpecificMethod(m, targetClass));
+            }
+        }
+        return new CacheInvocation(target, method, joinPoint.getArgs(), parameterNameDiscoverer);
+    }
+
+    /**
+     * 条件表达式，为空时视为满足
+     */
+    public boolean condition(String expression, CacheInvocation invocation) {
+        return !StringUtils.hasText(expression) || Boolean.TRUE.equals(evaluate(expression, invocation));
+    }
+
+    /**
+     * 排除表达式，为空时视为不排除
+     */
+    public boolean unless(String expression, CacheInvocation invocation) {
+        return StringUtils.hasText(expression) && Boolean.TRUE.equals(evaluate(expression, invocation));
+    }
+
+    /**
+     * 缓存键：{@code 缓存名称:key}，未指定 key 时以逗号拼接全部参数
+     */
+    public String cacheKey(String cacheName, String keyExpression, CacheInvocation invocation) {
+        Object[] args = invocation.getArgs();
+        String key;
+        if (StringUtils.hasText(keyExpression)) {
+            key = String.valueOf(evaluate(keyExpression, invocation));
+        } else if (args.length == 0) {
+            key = "_";
+        } else if (args.length == 1) {
+            key = String.valueOf(args[0]);
+        } else {
+            key = StringUtils.arrayToCommaDelimitedString(args);
+        }
+        return cacheName + ":" + key;
+    }
+
+    public Object evaluate(String expression, CacheInvocation invocation) {
+        Method method = invocation.getMethod();
+        return expressions.computeIfAbsent(new ExpressionKey(method, expression), key -> parse(method, expression))
+                .getValue(invocation);
+    }
+
+    private MethodExpression parse(Method method, String expression) {
+        String trimmed = expression.trim();
+        Matcher matcher = VARIABLE.matcher(trimmed);
+        if (matcher.matches()) {
+            int index = argumentIndex(method, matcher.group(1));
+            if (index >= 0) {
+                return new MethodExpression(index, null);
+            }
+        }
+        return new MethodExpression(-1, parser.parseExpression(trimmed));
+    }
+
+    private int argumentIndex(Method method, String name) {
+        Matcher indexed = INDEXED_ARGUMENT.matcher(name);
+        if (indexed.matches()) {
+            int index = Integer.parseInt(indexed.group(1));
+            return index < method.getParameterCount() ? index : -1;
+        }
+        String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
+        if (parameterNames != null) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                if (parameterNames[i].equals(name)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private record ExpressionKey(Method method, String expression) {
+    }
+
+    /**
+     * 已解析的表达式：argumentIndex 大于等于 0 时直接取参数，否则执行 SpEL
+     */
+    private record MethodExpression(int argumentIndex, Expression expression) {
+
+        Object getValue(CacheInvocation invocation) {
+            if (argumentIndex >= 0) {
+                return invocation.getArgs()[argumentIndex];
+            }
+            return expression.getValue(invocation.getEvaluationContext());
+        }
+    }
+}
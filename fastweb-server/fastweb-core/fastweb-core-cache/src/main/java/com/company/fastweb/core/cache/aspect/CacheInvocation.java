@@ -0,0 +1,67 @@
+package com.company.fastweb.core.cache.aspect;
+
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+
+import java.lang.reflect.Method;
+
+/**
+ * 一次被缓存注解拦截的方法调用
+ * <p>
+ * SpEL 上下文只在确实需要完整表达式求值时才创建，直接引用参数的表达式不会分配上下文。
+ *
+ * @author FastWeb
+ */
+public class CacheInvocation {
+
+    public static final String RESULT_VARIABLE = "result";
+
+    private final Object target;
+    private final Method method;
+    private final Object[] args;
+    private final ParameterNameDiscoverer parameterNameDiscoverer;
+    private Object result;
+    private boolean resultAvailable;
+    private EvaluationContext context;
+
+    CacheInvocation(Object target, Method method, Object[] args, ParameterNameDiscoverer parameterNameDiscoverer) {
+        this.target = target;
+        this.method = method;
+        this.args = args;
+        this.parameterNameDiscoverer = parameterNameDiscoverer;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Object[] getArgs() {
+        return args;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    /**
+     * 方法执行完成后设置返回值，之后的表达式可通过 {@code #result} 引用
+     */
+    public void setResult(Object result) {
+        this.result = result;
+        this.resultAvailable = true;
+        if (context != null) {
+            context.setVariable(RESULT_VARIABLE, result);
+        }
+    }
+
+    EvaluationContext getEvaluationContext() {
+        if (context == null) {
+            context = new MethodBasedEvaluationContext(target, method, args, parameterNameDiscoverer);
+            if (resultAvailable) {
+                context.setVariable(RESULT_VARIABLE, result);
+            }
+        }
+        return context;
+    }
+}
@@ -0,0 +1,179 @@
+package com.company.fastweb.core.cache.aspect;
+
+import com.company.fastweb.core.cache.annotation.Cacheable;
+import com.company.fastweb.core.cache.lock.DistributedLockClient;
+import com.company.fastweb.core.cache.service.CacheService;
+import com.company.fastweb.core.cache.support.CachedValue;
+import com.company.fastweb.core.cache.support.SingleFlight;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Cacheable} 切面
+ * <p>
+ * 缓存键为 {@code 缓存名称:key}，未指定缓存名称时使用 {@code 类名.方法名}；过期时间取 {@link Cacheable#expire()}，
+ * 对本地与 Redis 两级同时生效。未命中时：
+ * <ol>
+ *     <li>本节点内同一 key 的并发请求只有一个执行方法，其余等待其结果（single-flight）；</li>
+ *     <li>开启 {@link Cacheable#distributed()} 时，加载前再获取分布式锁，拿到锁后重新检查缓存，
+ *     等待超时或锁服务不可用时直接加载，保证可用性；</li>
+ * </ol>
+ * 命中时按 XFetch 计算是否提前刷新，由单个请求在过期前重新加载，其余请求继续返回旧值。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "fastweb.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheableAspect {
+
+    private static final String LOCK_PREFIX = "lock:cacheable:";
+
+    private final CacheService cacheService;
+    private final ObjectProvider<DistributedLockClient> lockClientProvider;
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final CacheExpressionEvaluator evaluator = new CacheExpressionEvaluator();
+
+    public CacheableAspect(CacheService cacheService, ObjectProvider<DistributedLockClient> lockClientProvider) {
+        this.cacheService = cacheService;
+        this.lockClientProvider = lockClientProvider;
+    }
+
+    @Around("@annotation(cacheable)")
+    public Object around(ProceedingJoinPoint joinPoint, Cacheable cacheable) throws Throwable {
+        CacheInvocation invocation = evaluator.invocation(joinPoint);
+        if (!evaluator.condition(cacheable.condition(), invocation)) {
+            return joinPoint.proceed();
+        }
+
+        String key = evaluator.cacheKey(cacheName(cacheable, invocation.getMethod()), cacheable.key(), invocation);
+        CachedValue cached = read(key);
+        if (cached != null) {
+            if (cached.shouldRefresh(cacheable.earlyRefreshBeta(), System.currentTimeMillis())) {
+                return singleFlight.executeIfIdle(key,
+                        () -> refresh(joinPoint, cacheable, key, invocation, cached), cached.getValue());
+            }
+            return cached.getValue();
+        }
+        if (!cacheable.sync()) {
+            return load(joinPoint, cacheable, key, invocation);
+        }
+        return singleFlight.execute(key, () -> loadOnMiss(joinPoint, cacheable, key, invocation));
+    }
+
+    /**
+     * 未命中时的加载，由 single-flight 的首个调用方执行
+     */
+    private Object loadOnMiss(ProceedingJoinPoint joinPoint, Cacheable cacheable, String key,
+                              CacheInvocation invocation) throws Throwable {
+        // 上一轮加载可能刚刚写入
+        CachedValue cached = read(key);
+        if (cached != null) {
+            return cached.getValue();
+        }
+        DistributedLockClient lockClient = cacheable.distributed() ? lockClientProvider.getIfAvailable() : null;
+        if (lockClient == null) {
+            return load(joinPoint, cacheable, key, invocation);
+        }
+
+        String lockName = LOCK_PREFIX + key;
+        boolean locked = tryLock(lockClient, lockName, cacheable.lockWaitTime());
+        try {
+            cached = read(key);
+            if (cached != null) {
+                return cached.getValue();
+            }
+            if (!locked) {
+                log.debug("等待分布式锁超时，直接加载: key={}", key);
+            }
+            return load(joinPoint, cacheable, key, invocation);
+        } finally {
+            if (locked) {
+                unlock(lockClient, lockName);
+            }
+        }
+    }
+
+    /**
+     * 提前刷新：分布式模式下只尝试一次加锁，拿不到说明其他节点正在刷新，继续返回旧值
+     */
+    private Object refresh(ProceedingJoinPoint joinPoint, Cacheable cacheable, String key,
+                           CacheInvocation invocation, CachedValue cached) throws Throwable {
+        DistributedLockClient lockClient = cacheable.distributed() ? lockClientProvider.getIfAvailable() : null;
+        if (lockClient == null) {
+            return load(joinPoint, cacheable, key, invocation);
+        }
+        String lockName = LOCK_PREFIX + key;
+        if (!tryLock(lockClient, lockName, 0)) {
+            return cached.getValue();
+        }
+        try {
+            return load(joinPoint, cacheable, key, invocation);
+        } finally {
+            unlock(lockClient, lockName);
+        }
+    }
+
+    private Object load(ProceedingJoinPoint joinPoint, Cacheable cacheable, String key,
+                        CacheInvocation invocation) throws Throwable {
+        long start = System.currentTimeMillis();
+        Object result = joinPoint.proceed();
+        long now = System.currentTimeMillis();
+        if (result == null && !cacheable.allowNullValues()) {
+            return null;
+        }
+        invocation.setResult(result);
+        if (evaluator.unless(cacheable.unless(), invocation)) {
+            return result;
+        }
+
+        long expire = cacheable.expire();
+        CachedValue value = new CachedValue(result, now - start,
+                expire > 0 ? now + TimeUnit.SECONDS.toMillis(expire) : 0);
+        if (expire > 0) {
+            cacheService.set(key, value, expire);
+        } else {
+            cacheService.set(key, value);
+        }
+        return result;
+    }
+
+    private CachedValue read(String key) {
+        return cacheService.get(key, CachedValue.class);
+    }
+
+    private boolean tryLock(DistributedLockClient lockClient, String lockName, long waitMillis)
+            throws InterruptedException {
+        try {
+            // leaseTime 为 -1 时由 Redisson 看门狗续期，加载耗时不受租期限制
+            return lockClient.tryLock(lockName, waitMillis, -1, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            log.warn("获取缓存加载锁失败，直接加载: lock={}", lockName, e);
+            return false;
+        }
+    }
+
+    private void unlock(DistributedLockClient lockClient, String lockName) {
+        try {
+            lockClient.unlock(lockName);
+        } catch (RuntimeException e) {
+            log.warn("释放缓存加载锁失败: lock={}", lockName, e);
+        }
+    }
+
+    private String cacheName(Cacheable cacheable, Method method) {
+        return StringUtils.hasText(cacheable.value())
+                ? cacheable.value()
+                : method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
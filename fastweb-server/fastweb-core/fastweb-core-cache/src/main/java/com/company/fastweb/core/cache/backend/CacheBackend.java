@@ -0,0 +1,180 @@
+package com.company.fastweb.core.cache.backend;
+
+import com.company.fastweb.core.cache.model.dto.CacheKeyPageDTO;
+import org.springframework.core.Ordered;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 缓存后端 SPI
+ * <p>
+ * CacheService 在启动时按 {@link #getOrder()} 选定一个后端，此后所有读写都通过该接口直接调用，
+ * 不再在热路径上做反射分派。
+ *
+ * @author FastWeb
+ */
+public interface CacheBackend extends Ordered {
+
+    /**
+     * 后端名称（redis/caffeine/local）
+     */
+    String getName();
+
+    /**
+     * 设置缓存（永不过期）
+     */
+    void set(String key, Object value);
+
+    /**
+     * 设置缓存
+     *
+     * @param timeout 过期时间（秒），小于等于0表示永不过期
+     */
+    void set(String key, Object value, long timeout);
+
+    /**
+     * 获取缓存，不存在返回 null
+     */
+    Object get(String key);
+
+    /**
+     * 批量获取缓存，远程后端应在一次往返内完成
+     *
+     * @return 存在的键及其值，按入参顺序排列，不存在的键不会出现在结果中
+     */
+    default Map<String, Object> multiGet(Collection<String> keys) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String key : keys) {
+            Object value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 批量设置缓存，远程后端应在一次往返内完成
+     *
+     * @param timeout 过期时间（秒），小于等于0表示永不过期
+     */
+    default void multiSet(Map<String, ?> entries, long timeout) {
+        entries.forEach((key, value) -> set(key, value, timeout));
+    }
+
+    /**
+     * 批量执行一组混合操作，远程后端应放入同一个管道提交
+     *
+     * @return 各操作的结果，顺序与登记顺序一致
+     */
+    default List<Object> pipeline(Consumer<CacheBatch> operations) {
+        CacheBatch batch = new CacheBatch();
+        operations.accept(batch);
+        return batch.isEmpty() ? List.of() : execute(batch);
+    }
+
+    /**
+     * 执行已登记的批量操作，默认逐条执行
+     *
+     * @return 各操作的结果，顺序与登记顺序一致
+     */
+    default List<Object> execute(CacheBatch batch) {
+        return CacheBatch.executeSequentially(this, batch);
+    }
+
+    /**
+     * 删除缓存
+     *
+     * @return 是否删除了已存在的键
+     */
+    boolean delete(String key);
+
+    /**
+     * 批量删除缓存
+     *
+     * @return 实际删除的键数量
+     */
+    long delete(Collection<String> keys);
+
+    /**
+     * 检查缓存是否存在
+     */
+    boolean exists(String key);
+
+    /**
+     * 设置过期时间
+     *
+     * @param timeout 过期时间（秒）
+     * @return 键存在且设置成功时返回 true
+     */
+    boolean expire(String key, long timeout);
+
+    /**
+     * 获取剩余过期时间
+     *
+     * @return 剩余过期时间（秒），-1表示永不过期，-2表示不存在
+     */
+    long getExpire(String key);
+
+    /**
+     * 根据模式匹配获取键集合
+     */
+    Set<String> keys(String pattern);
+
+    /**
+     * 按模式流式遍历键，远程后端应分批拉取而不是一次性加载全部键
+     * <p>
+     * 返回的流可能持有连接或游标，调用方需在 try-with-resources 中使用。
+     *
+     * @param batchSize 每批拉取的数量提示
+     */
+    default Stream<String> scan(String pattern, int batchSize) {
+        return keys(pattern).stream();
+    }
+
+    /**
+     * 按游标分页遍历键
+     * <p>
+     * 默认实现把游标视为排序后键集合中的偏移量，仅适用于本地后端。
+     *
+     * @param cursor 游标，"0" 表示从头开始
+     * @param count  每页数量提示
+     */
+    default CacheKeyPageDTO scan(String pattern, String cursor, int count) {
+        long offset = Long.parseLong(cursor);
+        List<String> sorted = keys(pattern).stream().sorted().toList();
+        List<String> page = sorted.stream().skip(offset).limit(count).toList();
+        boolean finished = offset + page.size() >= sorted.size();
+        return CacheKeyPageDTO.builder()
+                .keys(page)
+                .cursor(finished ? CacheKeyPageDTO.INITIAL_CURSOR : String.valueOf(offset + page.size()))
+                .finished(finished)
+                .build();
+    }
+
+    /**
+     * 键数量，远程后端应直接读取服务端计数，不得遍历键空间
+     */
+    long size();
+
+    /**
+     * 服务端运行信息中的数值项（如 Redis INFO 的 used_memory、evicted_keys），本地后端返回空
+     */
+    default Map<String, Long> serverInfo() {
+        return Map.of();
+    }
+
+    /**
+     * 优先级，数值越小越优先被 CacheService 选用
+     */
+    @Override
+    default int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.fastweb.core.cache.backend;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量缓存操作
+ * <p>
+ * 只记录操作，不立即执行；由 {@link CacheBackend#pipeline} 一次性提交，Redis 后端会放入同一个管道。
+ * 执行结果按登记顺序返回：get 返回缓存值，getExpire 返回剩余秒数，其余操作返回 Boolean。
+ *
+ * @author FastWeb
+ */
+public class CacheBatch {
+
+    private final List<Operation> operations = new ArrayList<>();
+
+    public CacheBatch get(String key) {
+        return add(OperationType.GET, key, null, 0);
+    }
+
+    /**
+     * 设置缓存（永不过期）
+     */
+    public CacheBatch set(String key, Object value) {
+        return add(OperationType.SET, key, value, -1);
+    }
+
+    /**
+     * 设置缓存
+     *
+     * @param timeout 过期时间（秒），小于等于0表示永不过期
+     */
+    public CacheBatch set(String key, Object value, long timeout) {
+        return add(OperationType.SET, key, value, timeout);
+    }
+
+    public CacheBatch delete(String key) {
+        return add(OperationType.DELETE, key, null, 0);
+    }
+
+    public CacheBatch exists(String key) {
+        return add(OperationType.EXISTS, key, null, 0);
+    }
+
+    public CacheBatch expire(String key, long timeout) {
+        return add(OperationType.EXPIRE, key, null, timeout);
+    }
+
+    public CacheBatch getExpire(String key) {
+        return add(OperationType.GET_EXPIRE, key, null, 0);
+    }
+
+    public List<Operation> getOperations() {
+        return Collections.unmodifiableList(operations);
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    public int size() {
+        return operations.size();
+    }
+
+    private CacheBatch add(OperationType type, String key, Object value, long timeout) {
+        operations.add(new Operation(type, key, value, timeout));
+        return this;
+    }
+
+    /**
+     * 逐条执行批量操作，供不支持管道的后端使用
+     */
+    static List<Object> executeSequentially(CacheBackend backend, CacheBatch batch) {
+        List<Object> results = new ArrayList<>(batch.size());
+        for (Operation operation : batch.operations) {
+            results.add(switch (operation.type()) {
+                case GET -> backend.get(operation.key());
+                case SET -> {
+                    backend.set(operation.key(), operation.value(), operation.timeout());
+                    yield Boolean.TRUE;
+                }
+                case DELETE -> backend.delete(operation.key());
+                case EXISTS -> backend.exists(operation.key());
+                case EXPIRE -> backend.expire(operation.key(), operation.timeout());
+                case GET_EXPIRE -> backend.getExpire(operation.key());
+            });
+        }
+        return results;
+    }
+
+    public enum OperationType {
+        GET, SET, DELETE, EXISTS, EXPIRE, GET_EXPIRE;
+
+        /**
+         * 是否会修改缓存内容
+         */
+        public boolean isWrite() {
+            return this == SET || this == DELETE || this == EXPIRE;
+        }
+    }
+
+    /**
+     * 单条操作
+     *
+     * @param timeout 过期时间（秒），仅 SET/EXPIRE 使用
+     */
+    public record Operation(OperationType type, String key, Object value, long timeout) {
+    }
+}
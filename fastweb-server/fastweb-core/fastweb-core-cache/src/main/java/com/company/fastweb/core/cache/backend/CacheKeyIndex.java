@@ -0,0 +1,34 @@
+package com.company.fastweb.core.cache.backend;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 缓存键二级索引（标签、前缀 -> 键集合）
+ * <p>
+ * 按标签或前缀批量失效时只需取出索引中的键逐批删除，代价与索引内的键数量成正比，与键空间大小无关。
+ * 索引只记录键名，不保证与缓存数据强一致：已过期的键会在后续写入时被清理，
+ * 单独删除的键会留在索引中直到其过期时间或下一次按索引失效（届时删除不存在的键没有副作用）。
+ *
+ * @author FastWeb
+ */
+public interface CacheKeyIndex {
+
+    /**
+     * 把键登记到若干索引
+     *
+     * @param indexes 索引名
+     * @param key     缓存键
+     * @param timeout 缓存键的过期时间（秒），小于等于0表示永不过期
+     */
+    void add(Collection<String> indexes, String key, long timeout);
+
+    /**
+     * 分批取出并移除索引中的全部键
+     *
+     * @param batchSize 每批数量
+     * @param consumer  处理一批键，抛出异常时停止，未处理的键保留在索引中
+     */
+    void drain(String index, int batchSize, Consumer<List<String>> consumer);
+}
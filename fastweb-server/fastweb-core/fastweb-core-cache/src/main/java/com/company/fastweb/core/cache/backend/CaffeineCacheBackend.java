@@ -0,0 +1,189 @@
+package com.company.fastweb.core.cache.backend;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Caffeine 本地缓存后端，支持按条目设置过期时间
+ *
+ * @author FastWeb
+ */
+public class CaffeineCacheBackend implements CacheBackend {
+
+    public static final String NAME = "caffeine";
+
+    /**
+     * Caffeine 以纳秒表示“永不过期”的上限，超过该值视为不过期
+     */
+    private static final long NEVER_EXPIRE_NANOS = Long.MAX_VALUE / 2;
+
+    private final Cache<String, Object> cache;
+    private final Policy.VarExpiration<String, Object> varExpiration;
+
+    /**
+     * @param maximumSize   最大条目数
+     * @param defaultExpire 默认过期时间（秒），小于等于0表示永不过期
+     */
+    public CaffeineCacheBackend(long maximumSize, long defaultExpire) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new DefaultExpiry(defaultExpire))
+                .build();
+        this.varExpiration = cache.policy().expireVariably()
+                .orElseThrow(() -> new IllegalStateException("Caffeine variable expiration not enabled"));
+    }
+
+    public Cache<String, Object> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public void set(String key, Object value, long timeout) {
+        if (timeout > 0) {
+            varExpiration.put(key, value, timeout, TimeUnit.SECONDS);
+        } else {
+            varExpiration.put(key, value, NEVER_EXPIRE_NANOS, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Object get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public Map<String, Object> multiGet(Collection<String> keys) {
+        Map<String, Object> present = cache.getAllPresent(keys);
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            Object value = present.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void multiSet(Map<String, ?> entries, long timeout) {
+        if (timeout > 0) {
+            entries.forEach((key, value) -> varExpiration.put(key, value, timeout, TimeUnit.SECONDS));
+        } else {
+            entries.forEach((key, value) -> varExpiration.put(key, value, NEVER_EXPIRE_NANOS, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return cache.asMap().remove(key) != null;
+    }
+
+    @Override
+    public long delete(Collection<String> keys) {
+        long deleted = 0;
+        for (String key : keys) {
+            if (cache.asMap().remove(key) != null) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return cache.getIfPresent(key) != null;
+    }
+
+    @Override
+    public boolean expire(String key, long timeout) {
+        if (!exists(key)) {
+            return false;
+        }
+        varExpiration.setExpiresAfter(key, Duration.ofSeconds(timeout));
+        return true;
+    }
+
+    @Override
+    public long getExpire(String key) {
+        Optional<Duration> remaining = varExpiration.getExpiresAfter(key);
+        if (remaining.isEmpty()) {
+            return -2;
+        }
+        long nanos = remaining.get().toNanos();
+        return nanos >= NEVER_EXPIRE_NANOS / 2 ? -1 : TimeUnit.NANOSECONDS.toSeconds(nanos);
+    }
+
+    @Override
+    public Set<String> keys(String pattern) {
+        Predicate<String> matcher = KeyPatterns.compile(pattern);
+        return cache.asMap().keySet().stream()
+                .filter(matcher)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public int getOrder() {
+        return 100;
+    }
+
+    /**
+     * 未显式指定过期时间时使用默认过期时间；更新值时保留剩余时间
+     */
+    private static final class DefaultExpiry implements Expiry<String, Object> {
+
+        private final long defaultNanos;
+
+        private DefaultExpiry(long defaultExpire) {
+            this.defaultNanos = defaultExpire > 0 ? TimeUnit.SECONDS.toNanos(defaultExpire) : NEVER_EXPIRE_NANOS;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Object value, long currentTime) {
+            return defaultNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+            return defaultNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
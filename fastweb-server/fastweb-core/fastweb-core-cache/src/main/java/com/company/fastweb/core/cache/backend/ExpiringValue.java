@@ -0,0 +1,17 @@
+package com.company.fastweb.core.cache.backend;
+
+/**
+ * 自带逻辑过期时间的缓存值
+ * <p>
+ * 两级缓存从远程回填本地时，本地副本的存活时间不会超过该值的剩余时间，
+ * 使按条目指定的过期时间在两级上同时生效。
+ *
+ * @author FastWeb
+ */
+public interface ExpiringValue {
+
+    /**
+     * 逻辑过期时间戳（毫秒），小于等于 0 表示永不过期
+     */
+    long getExpireAt();
+}
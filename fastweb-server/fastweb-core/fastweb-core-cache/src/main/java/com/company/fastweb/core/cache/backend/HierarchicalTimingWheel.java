@@ -0,0 +1,163 @@
+package com.company.fastweb.core.cache.backend;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 分层时间轮，用于批量发现到期的缓存条目
+ * <p>
+ * 共 {@value #LEVELS} 层、每层 {@value #WHEEL_SIZE} 个槽，第 n 层一个槽覆盖 64^n 个 tick。
+ * 高层槽在时间推进到其起点时整体下沉到低层，第 0 层槽到期时交给回调处理。
+ * 登记（{@link #schedule}）可以在任意线程并发进行，推进（{@link #advance}）由单个清理线程执行；
+ * 并发登记时可能落入刚处理过的槽而被推迟一轮，但任何定时器都不会被提前触发。
+ * <p>
+ * 条目被覆盖、删除或淘汰时调用方取消旧定时器（{@link #cancel}）；已取消的定时器在下沉或到期时丢弃，
+ * 累计取消数超过仍在轮中的定时器数量时集中清理一次，避免频繁重写的长过期 key 使时间轮无限增长。
+ *
+ * @author FastWeb
+ */
+final class HierarchicalTimingWheel {
+
+    static final int LEVELS = 4;
+    static final int WHEEL_SIZE = 64;
+
+    private static final int BITS = 6;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    /**
+     * 触发集中清理前允许累计的取消数余量
+     */
+    private static final int CANCELLED_SLACK = 1024;
+
+    private final long tickMillis;
+    private final Bucket[][] buckets = new Bucket[LEVELS][WHEEL_SIZE];
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger cancelledSincePurge = new AtomicInteger();
+    private volatile long currentTick;
+
+    HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                buckets[level][slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * 登记定时器；已取消的定时器也会登记，在下沉或到期时丢弃
+     */
+    void schedule(Timer timer) {
+        pending.incrementAndGet();
+        place(timer, currentTick);
+    }
+
+    /**
+     * 取消定时器
+     */
+    void cancel(Timer timer) {
+        if (timer.cancelled) {
+            return;
+        }
+        timer.cancelled = true;
+        if (cancelledSincePurge.incrementAndGet() > pending.get() / 2 + CANCELLED_SLACK) {
+            purge();
+        }
+    }
+
+    /**
+     * 仍在轮中的定时器数量，包括尚未清理的已取消定时器
+     */
+    int size() {
+        return pending.get();
+    }
+
+    /**
+     * 推进到 nowMillis，把所有已到期的定时器交给 expired
+     */
+    synchronized void advance(long nowMillis, Consumer<Timer> expired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            long tick = currentTick + 1;
+            currentTick = tick;
+            // 从高层向低层下沉，保证下沉到当前槽的定时器在本 tick 内被处理
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((tick & ((1L << (BITS * level)) - 1)) == 0) {
+                    drain(buckets[level][(int) ((tick >>> (BITS * level)) & MASK)], tick, nowMillis, expired);
+                }
+            }
+            drain(buckets[0][(int) (tick & MASK)], tick, nowMillis, expired);
+        }
+    }
+
+    private void drain(Bucket bucket, long tick, long nowMillis, Consumer<Timer> expired) {
+        Timer timer;
+        while ((timer = bucket.poll()) != null) {
+            if (timer.cancelled) {
+                pending.decrementAndGet();
+            } else if (timer.expireAtMillis <= nowMillis) {
+                pending.decrementAndGet();
+                expired.accept(timer);
+            } else {
+                place(timer, tick);
+            }
+        }
+    }
+
+    /**
+     * 从所有槽中移除已取消的定时器
+     */
+    private synchronized void purge() {
+        if (cancelledSincePurge.get() <= pending.get() / 2 + CANCELLED_SLACK) {
+            return;
+        }
+        cancelledSincePurge.set(0);
+        for (Bucket[] level : buckets) {
+            for (Bucket bucket : level) {
+                bucket.removeIf(timer -> {
+                    if (timer.cancelled) {
+                        pending.decrementAndGet();
+                        return true;
+                    }
+                    return false;
+                });
+            }
+        }
+    }
+
+    private void place(Timer timer, long tick) {
+        long expireTick = Math.max(timer.expireAtMillis / tickMillis, tick + 1);
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * level;
+            if ((expireTick >>> shift) - (tick >>> shift) < WHEEL_SIZE) {
+                buckets[level][(int) ((expireTick >>> shift) & MASK)].add(timer);
+                return;
+            }
+        }
+        // 超出时间轮范围：放入最高层最远的槽，下沉时重新计算位置
+        int shift = BITS * (LEVELS - 1);
+        buckets[LEVELS - 1][(int) (((tick >>> shift) + MASK) & MASK)].add(timer);
+    }
+
+    private static final class Bucket extends ConcurrentLinkedQueue<Timer> {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * 时间轮中的定时器，仅记录 key 和到期时间，触发时由调用方核对条目的实际状态
+     */
+    static final class Timer {
+
+        final String key;
+        final long expireAtMillis;
+        volatile boolean cancelled;
+
+        Timer(String key, long expireAtMillis) {
+            this.key = key;
+            this.expireAtMillis = expireAtMillis;
+        }
+    }
+}
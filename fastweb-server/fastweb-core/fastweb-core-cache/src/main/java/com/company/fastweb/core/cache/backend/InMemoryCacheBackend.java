@@ -0,0 +1,97 @@
+package com.company.fastweb.core.cache.backend;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 进程内缓存后端，无第三方依赖，作为 Redis 不可用时的降级存储
+ * <p>
+ * 底层为 {@link LocalCacheStore}：容量有上限，过期时间与 Redis 语义一致，可在多线程下安全使用。
+ *
+ * @author FastWeb
+ */
+public class InMemoryCacheBackend implements CacheBackend {
+
+    public static final String NAME = "local";
+
+    /**
+     * 默认最大条目数
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final LocalCacheStore store;
+
+    public InMemoryCacheBackend() {
+        this(new LocalCacheStore(DEFAULT_MAXIMUM_SIZE));
+    }
+
+    public InMemoryCacheBackend(LocalCacheStore store) {
+        this.store = store;
+    }
+
+    public LocalCacheStore getStore() {
+        return store;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        store.put(key, value, -1);
+    }
+
+    @Override
+    public void set(String key, Object value, long timeout) {
+        store.put(key, value, timeout);
+    }
+
+    @Override
+    public Object get(String key) {
+        return store.get(key);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return store.remove(key);
+    }
+
+    @Override
+    public long delete(Collection<String> keys) {
+        return store.remove(keys);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return store.containsKey(key);
+    }
+
+    @Override
+    public boolean expire(String key, long timeout) {
+        return store.expire(key, timeout);
+    }
+
+    @Override
+    public long getExpire(String key) {
+        return store.getExpire(key);
+    }
+
+    @Override
+    public Set<String> keys(String pattern) {
+        return store.keys(KeyPatterns.compile(pattern));
+    }
+
+    @Override
+    public long size() {
+        return store.size();
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public void clear() {
+        store.clear();
+    }
+}
@@ -0,0 +1,72 @@
+package com.company.fastweb.core.cache.backend;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * 本地后端使用的通配符匹配，支持 * 和 ?，编译结果按模式缓存
+ *
+ * @author FastWeb
+ */
+final class KeyPatterns {
+
+    private static final int MAX_CACHED_PATTERNS = 256;
+
+    private static final Map<String, Predicate<String>> COMPILED = new ConcurrentHashMap<>();
+
+    private KeyPatterns() {
+    }
+
+    static boolean matches(String key, String pattern) {
+        return compile(pattern).test(key);
+    }
+
+    static Predicate<String> compile(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            return key -> false;
+        }
+        if ("*".equals(pattern)) {
+            return key -> true;
+        }
+        Predicate<String> predicate = COMPILED.get(pattern);
+        if (predicate != null) {
+            return predicate;
+        }
+        predicate = doCompile(pattern);
+        if (COMPILED.size() < MAX_CACHED_PATTERNS) {
+            COMPILED.put(pattern, predicate);
+        }
+        return predicate;
+    }
+
+    private static Predicate<String> doCompile(String pattern) {
+        if (pattern.indexOf('*') < 0 && pattern.indexOf('?') < 0) {
+            return pattern::equals;
+        }
+        int star = pattern.indexOf('*');
+        if (star == pattern.length() - 1 && pattern.indexOf('?') < 0) {
+            String prefix = pattern.substring(0, star);
+            return key -> key.startsWith(prefix);
+        }
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        Pattern compiled = Pattern.compile(regex.toString());
+        return key -> compiled.matcher(key).matches();
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.fastweb.core.cache.backend;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 进程内缓存键索引，用于本地后端以及 Redis 不可用的场景
+ * <p>
+ * 每个索引记录成员键及其过期时间，索引大小每翻一倍清理一次已过期成员。
+ *
+ * @author FastWeb
+ */
+public class LocalCacheKeyIndex implements CacheKeyIndex {
+
+    private static final int MIN_PRUNE_SIZE = 64;
+
+    private final Map<String, Map<String, Long>> indexes = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(Collection<String> indexes, String key, long timeout) {
+        long now = System.currentTimeMillis();
+        long expireAt = timeout > 0 ? now + timeout * 1000 : Long.MAX_VALUE;
+        for (String index : indexes) {
+            Map<String, Long> members = this.indexes.computeIfAbsent(index, name -> new ConcurrentHashMap<>());
+            members.put(key, expireAt);
+            int size = members.size();
+            if (size >= MIN_PRUNE_SIZE && Integer.bitCount(size) == 1) {
+                members.values().removeIf(memberExpireAt -> memberExpireAt <= now);
+            }
+        }
+    }
+
+    @Override
+    public void drain(String index, int batchSize, Consumer<List<String>> consumer) {
+        Map<String, Long> members = indexes.get(index);
+        if (members == null) {
+            return;
+        }
+        List<String> batch = new ArrayList<>(Math.min(batchSize, members.size()));
+        for (String key : members.keySet()) {
+            batch.add(key);
+            if (batch.size() >= batchSize) {
+                consumer.accept(batch);
+                batch.forEach(members::remove);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+            batch.forEach(members::remove);
+        }
+        indexes.computeIfPresent(index, (name, current) -> current.isEmpty() ? null : current);
+    }
+
+    /**
+     * 索引中的成员数量（含尚未清理的过期成员）
+     */
+    public int size(String index) {
+        Map<String, Long> members = indexes.get(index);
+        return members != null ? members.size() : 0;
+    }
+}
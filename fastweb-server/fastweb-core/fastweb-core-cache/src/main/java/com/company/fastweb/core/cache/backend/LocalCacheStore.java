@@ -0,0 +1,404 @@
+package com.company.fastweb.core.cache.backend;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongBiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 有界、支持按条目过期的并发本地存储
+ * <p>
+ * <ul>
+ *     <li>容量按权重限制，默认每个条目权重为 1；超出上限时按 CLOCK（二次机会）算法淘汰近期未被访问的条目</li>
+ *     <li>过期时间在读取时惰性校验，并由 {@link HierarchicalTimingWheel} 每个 tick 批量清理，
+ *     避免过期条目在无人读取时长期占用内存</li>
+ *     <li>读路径无锁，写路径只依赖 {@link ConcurrentHashMap} 的单 key 原子操作</li>
+ * </ul>
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class LocalCacheStore implements AutoCloseable {
+
+    /**
+     * 过期清理的 tick 间隔（毫秒）
+     */
+    private static final long TICK_MILLIS = 1000;
+
+    private static final long NEVER_EXPIRE = Long.MAX_VALUE;
+
+    /**
+     * 淘汰队列中允许堆积的已删除条目余量
+     */
+    private static final int CLOCK_QUEUE_SLACK = 1024;
+
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fastweb-local-cache-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long maximumWeight;
+    private final ToLongBiFunction<String, Object> weigher;
+    private final LongSupplier clock;
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final Queue<Entry> clockQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger clockQueueSize = new AtomicInteger();
+    private final AtomicLong totalWeight = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expirationCount = new AtomicLong();
+    private final HierarchicalTimingWheel timingWheel;
+    private final ScheduledFuture<?> sweepTask;
+
+    /**
+     * @param maximumSize 最大条目数
+     */
+    public LocalCacheStore(long maximumSize) {
+        this(maximumSize, (key, value) -> 1L);
+    }
+
+    /**
+     * @param maximumWeight 最大总权重
+     * @param weigher       条目权重计算函数，返回值应为正数
+     */
+    public LocalCacheStore(long maximumWeight, ToLongBiFunction<String, Object> weigher) {
+        this(maximumWeight, weigher, () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    /**
+     * @param maximumWeight 最大总权重
+     * @param weigher       条目权重计算函数，返回值应为正数
+     * @param clock         单调时钟（毫秒）
+     */
+    public LocalCacheStore(long maximumWeight, ToLongBiFunction<String, Object> weigher, LongSupplier clock) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.clock = clock;
+        this.timingWheel = new HierarchicalTimingWheel(TICK_MILLIS, clock.getAsLong());
+        WeakReference<LocalCacheStore> ref = new WeakReference<>(this);
+        this.sweepTask = SWEEPER.scheduleWithFixedDelay(() -> sweep(ref), TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 写入条目
+     *
+     * @param timeout 过期时间（秒），小于等于0表示永不过期
+     */
+    public void put(String key, Object value, long timeout) {
+        long weight = Math.max(1, weigher.applyAsLong(key, value));
+        long expireAt = expireAt(timeout);
+        HierarchicalTimingWheel.Timer timer = expireAt != NEVER_EXPIRE
+                ? new HierarchicalTimingWheel.Timer(key, expireAt) : null;
+        Entry[] inserted = new Entry[1];
+        HierarchicalTimingWheel.Timer[] replaced = new HierarchicalTimingWheel.Timer[1];
+        store.compute(key, (k, existing) -> {
+            if (existing == null) {
+                Entry entry = new Entry(key, value, weight, expireAt);
+                entry.timer = timer;
+                totalWeight.addAndGet(weight);
+                inserted[0] = entry;
+                return entry;
+            }
+            totalWeight.addAndGet(weight - existing.weight);
+            existing.value = value;
+            existing.weight = weight;
+            existing.expireAt = expireAt;
+            existing.accessed = true;
+            replaced[0] = existing.timer;
+            existing.timer = timer;
+            return existing;
+        });
+        if (inserted[0] != null) {
+            clockQueue.add(inserted[0]);
+            clockQueueSize.incrementAndGet();
+        }
+        if (replaced[0] != null) {
+            timingWheel.cancel(replaced[0]);
+        }
+        if (timer != null) {
+            timingWheel.schedule(timer);
+        }
+        if (totalWeight.get() > maximumWeight) {
+            evict();
+        }
+    }
+
+    /**
+     * 读取条目，不存在或已过期时返回 null
+     */
+    public Object get(String key) {
+        Entry entry = liveEntry(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.accessed = true;
+        return entry.value;
+    }
+
+    public boolean containsKey(String key) {
+        return liveEntry(key) != null;
+    }
+
+    public boolean remove(String key) {
+        Entry entry = store.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        onRemoved(entry);
+        return !entry.isExpired(clock.getAsLong());
+    }
+
+    public long remove(Collection<String> keys) {
+        long removed = 0;
+        for (String key : keys) {
+            if (remove(key)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 重新设置过期时间，语义与 Redis EXPIRE 一致：timeout 小于等于0时直接删除
+     *
+     * @return 条目存在时返回 true
+     */
+    public boolean expire(String key, long timeout) {
+        if (timeout <= 0) {
+            return remove(key);
+        }
+        long expireAt = expireAt(timeout);
+        long now = clock.getAsLong();
+        HierarchicalTimingWheel.Timer timer = new HierarchicalTimingWheel.Timer(key, expireAt);
+        boolean[] updated = new boolean[1];
+        HierarchicalTimingWheel.Timer[] replaced = new HierarchicalTimingWheel.Timer[1];
+        store.computeIfPresent(key, (k, entry) -> {
+            if (entry.isExpired(now)) {
+                return entry;
+            }
+            entry.expireAt = expireAt;
+            replaced[0] = entry.timer;
+            entry.timer = timer;
+            updated[0] = true;
+            return entry;
+        });
+        if (replaced[0] != null) {
+            timingWheel.cancel(replaced[0]);
+        }
+        if (updated[0]) {
+            timingWheel.schedule(timer);
+        }
+        return updated[0];
+    }
+
+    /**
+     * 获取剩余过期时间（秒），语义与 Redis TTL 一致
+     *
+     * @return -2 表示不存在，-1 表示永不过期
+     */
+    public long getExpire(String key) {
+        Entry entry = liveEntry(key);
+        if (entry == null) {
+            return -2;
+        }
+        long expireAt = entry.expireAt;
+        if (expireAt == NEVER_EXPIRE) {
+            return -1;
+        }
+        return TimeUnit.MILLISECONDS.toSeconds(Math.max(0, expireAt - clock.getAsLong()) + 999);
+    }
+
+    public Set<String> keys(Predicate<String> matcher) {
+        long now = clock.getAsLong();
+        return store.values().stream()
+                .filter(entry -> !entry.isExpired(now))
+                .map(entry -> entry.key)
+                .filter(matcher)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 条目数，可能包含尚未被清理的过期条目
+     */
+    public long size() {
+        return store.size();
+    }
+
+    public long weightedSize() {
+        return totalWeight.get();
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public long evictionCount() {
+        return evictionCount.get();
+    }
+
+    public long expirationCount() {
+        return expirationCount.get();
+    }
+
+    /**
+     * 时间轮中待处理的定时器数量
+     */
+    public long pendingTimerCount() {
+        return timingWheel.size();
+    }
+
+    public void clear() {
+        for (Entry entry : store.values()) {
+            if (store.remove(entry.key, entry)) {
+                onRemoved(entry);
+            }
+        }
+    }
+
+    /**
+     * 立即清理已到期的条目；正常情况下由后台线程每个 tick 调用
+     */
+    public void cleanUp() {
+        long now = clock.getAsLong();
+        timingWheel.advance(now, timer -> {
+            Entry entry = store.get(timer.key);
+            if (entry != null && entry.isExpired(now) && store.remove(timer.key, entry)) {
+                onRemoved(entry);
+                expirationCount.incrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        sweepTask.cancel(false);
+        clear();
+    }
+
+    private Entry liveEntry(String key) {
+        Entry entry = store.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(clock.getAsLong())) {
+            if (store.remove(key, entry)) {
+                onRemoved(entry);
+                expirationCount.incrementAndGet();
+            }
+            return null;
+        }
+        return entry;
+    }
+
+    private long expireAt(long timeout) {
+        return timeout > 0 ? clock.getAsLong() + TimeUnit.SECONDS.toMillis(timeout) : NEVER_EXPIRE;
+    }
+
+    private void onRemoved(Entry entry) {
+        entry.removed = true;
+        HierarchicalTimingWheel.Timer timer = entry.timer;
+        if (timer != null) {
+            timingWheel.cancel(timer);
+        }
+        totalWeight.addAndGet(-entry.weight);
+        // 删除频繁而淘汰很少时，队列里会堆积已删除条目，超过存活条目两倍时集中清理一次
+        if (clockQueueSize.get() > 2 * store.size() + CLOCK_QUEUE_SLACK) {
+            purgeClockQueue();
+        }
+    }
+
+    private synchronized void purgeClockQueue() {
+        if (clockQueueSize.get() <= 2 * store.size() + CLOCK_QUEUE_SLACK) {
+            return;
+        }
+        clockQueue.removeIf(entry -> {
+            if (entry.removed) {
+                clockQueueSize.decrementAndGet();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * CLOCK 淘汰：从队头取条目，近期被访问过的清除标记后放回队尾，否则淘汰
+     */
+    private void evict() {
+        while (totalWeight.get() > maximumWeight) {
+            Entry entry = clockQueue.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.removed) {
+                clockQueueSize.decrementAndGet();
+                continue;
+            }
+            if (entry.accessed) {
+                entry.accessed = false;
+                clockQueue.add(entry);
+                continue;
+            }
+            clockQueueSize.decrementAndGet();
+            if (store.remove(entry.key, entry)) {
+                onRemoved(entry);
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private static void sweep(WeakReference<LocalCacheStore> ref) {
+        LocalCacheStore store = ref.get();
+        if (store == null) {
+            // 存储已被回收，抛出异常使调度器不再执行该任务
+            throw new IllegalStateException("LocalCacheStore has been garbage collected");
+        }
+        try {
+            store.cleanUp();
+        } catch (RuntimeException e) {
+            log.warn("本地缓存过期清理失败", e);
+        }
+    }
+
+    private static final class Entry {
+
+        final String key;
+        volatile Object value;
+        volatile long weight;
+        volatile long expireAt;
+        volatile boolean accessed;
+        volatile boolean removed;
+        /**
+         * 当前有效的过期定时器，覆盖或删除时取消
+         */
+        volatile HierarchicalTimingWheel.Timer timer;
+
+        Entry(String key, Object value, long weight, long expireAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired(long now) {
+            return expireAt != NEVER_EXPIRE && expireAt <= now;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.company.fastweb.core.cache.backend;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 堆外字节存储：slab 分配器 + 按规格的 LRU 索引
+ * <p>
+ * <ul>
+ *     <li>内存按 {@code slabSize} 大小的直接内存块（slab）申请，每个 slab 按需分配给某个块规格，
+ *     切成等长的块；块规格从 {@value #MIN_CHUNK_SIZE} 字节起按 1.25 倍递增到 slabSize，值放入能容纳它的最小规格</li>
+ *     <li>总容量用尽后，某规格没有空闲块时淘汰该规格中最久未访问的条目并复用其块；
+ *     slab 分配给某个规格后不再回收（与 memcached 相同），值大小分布剧烈变化时部分规格可能偏小</li>
+ *     <li>过期时间在读取时惰性校验；超过 slabSize 的值不保存</li>
+ * </ul>
+ * 堆上只保留 key 与块地址，值不占用堆内存也不参与 GC 扫描。
+ * 所有操作在同一把锁内完成，读取是一次内存拷贝，锁持有时间与值大小成正比。
+ * 直接内存计入 {@code -XX:MaxDirectMemorySize}，slab 在存储本身被回收后随 GC 释放。
+ *
+ * @author FastWeb
+ */
+public class OffHeapSlabStore {
+
+    /**
+     * 最小块规格（字节）
+     */
+    static final int MIN_CHUNK_SIZE = 64;
+
+    private static final double GROWTH_FACTOR = 1.25;
+
+    private static final long NEVER_EXPIRE = Long.MAX_VALUE;
+
+    private final long capacity;
+    private final int slabSize;
+    private final LongSupplier clock;
+    private final SizeClass[] sizeClasses;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long usedBytes;
+    private long evictions;
+
+    /**
+     * @param capacity 堆外内存总量（字节），向下取整到 slabSize 的整数倍
+     * @param slabSize 单个 slab 大小（字节），也是可保存的最大值
+     */
+    public OffHeapSlabStore(long capacity, int slabSize) {
+        this(capacity, slabSize, System::currentTimeMillis);
+    }
+
+    /**
+     * @param capacity 堆外内存总量（字节），向下取整到 slabSize 的整数倍
+     * @param slabSize 单个 slab 大小（字节），也是可保存的最大值
+     * @param clock    时钟（毫秒）
+     */
+    public OffHeapSlabStore(long capacity, int slabSize, LongSupplier clock) {
+        if (slabSize < MIN_CHUNK_SIZE || capacity < slabSize) {
+            throw new IllegalArgumentException("堆外缓存容量配置无效: capacity=" + capacity + ", slabSize=" + slabSize);
+        }
+        this.capacity = capacity - capacity % slabSize;
+        this.slabSize = slabSize;
+        this.clock = clock;
+        List<SizeClass> classes = new ArrayList<>();
+        int chunkSize = MIN_CHUNK_SIZE;
+        while (chunkSize < slabSize) {
+            classes.add(new SizeClass(chunkSize, slabSize / chunkSize));
+            chunkSize = Math.min((int) Math.ceil(chunkSize * GROWTH_FACTOR / 8) * 8, slabSize);
+        }
+        classes.add(new SizeClass(slabSize, 1));
+        this.sizeClasses = classes.toArray(new SizeClass[0]);
+    }
+
+    /**
+     * 保存值
+     *
+     * @param ttlMillis 存活时间（毫秒），小于等于 0 表示永不过期
+     * @return 是否保存成功；值超过 slabSize 或对应规格没有可用空间时返回 false，原有值同时被删除
+     */
+    public boolean put(String key, byte[] value, long ttlMillis) {
+        lock.lock();
+        try {
+            release(entries.remove(key));
+            if (value.length > slabSize) {
+                return false;
+            }
+            SizeClass sizeClass = sizeClassFor(value.length);
+            long address = allocate(sizeClass);
+            if (address < 0) {
+                return false;
+            }
+            slabs.get(slabIndex(address)).put(offset(address), value);
+            long expireAt = ttlMillis > 0 ? clock.getAsLong() + ttlMillis : NEVER_EXPIRE;
+            Entry entry = new Entry(key, sizeClass, address, value.length, expireAt);
+            entries.put(key, entry);
+            sizeClass.lru.put(key, entry);
+            usedBytes += value.length;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 读取值，不存在或已过期时返回 null
+     */
+    public byte[] get(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expireAt <= clock.getAsLong()) {
+                release(entries.remove(key));
+                return null;
+            }
+            // 访问顺序的 LinkedHashMap 在 get 时把条目移到队尾
+            entry.sizeClass.lru.get(key);
+            byte[] value = new byte[entry.length];
+            slabs.get(slabIndex(entry.address)).get(offset(entry.address), value);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除值
+     *
+     * @return 是否存在
+     */
+    public boolean remove(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.remove(key);
+            release(entry);
+            return entry != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除全部值，已申请的 slab 保留给之后的写入
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            for (Entry entry : new ArrayList<>(entries.values())) {
+                release(entry);
+            }
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 条目数（含尚未清理的过期条目）
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 已保存值的字节数之和
+     */
+    public long usedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 已申请的直接内存字节数
+     */
+    public long allocatedBytes() {
+        lock.lock();
+        try {
+            return (long) slabs.size() * slabSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 因空间不足被淘汰的条目数
+     */
+    public long evictions() {
+        lock.lock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SizeClass sizeClassFor(int length) {
+        for (SizeClass sizeClass : sizeClasses) {
+            if (sizeClass.chunkSize >= length) {
+                return sizeClass;
+            }
+        }
+        throw new IllegalArgumentException("值超过 slab 大小: " + length);
+    }
+
+    /**
+     * 依次尝试空闲块、新 slab、淘汰同规格最久未访问的条目
+     *
+     * @return 块地址，没有可用空间时返回 -1
+     */
+    private long allocate(SizeClass sizeClass) {
+        if (sizeClass.freeCount == 0 && (long) (slabs.size() + 1) * slabSize <= capacity) {
+            int slabIndex = slabs.size();
+            slabs.add(ByteBuffer.allocateDirect(slabSize));
+            for (int i = sizeClass.chunksPerSlab - 1; i >= 0; i--) {
+                sizeClass.pushFree(address(slabIndex, i * sizeClass.chunkSize));
+            }
+        }
+        if (sizeClass.freeCount == 0) {
+            Iterator<Entry> eldest = sizeClass.lru.values().iterator();
+            if (!eldest.hasNext()) {
+                return -1;
+            }
+            Entry victim = eldest.next();
+            entries.remove(victim.key);
+            release(victim);
+            evictions++;
+        }
+        return sizeClass.popFree();
+    }
+
+    private void release(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        entry.sizeClass.lru.remove(entry.key);
+        entry.sizeClass.pushFree(entry.address);
+        usedBytes -= entry.length;
+    }
+
+    private static long address(int slabIndex, int offset) {
+        return ((long) slabIndex << 32) | offset;
+    }
+
+    private static int slabIndex(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    private static final class SizeClass {
+
+        private final int chunkSize;
+        private final int chunksPerSlab;
+        private final LinkedHashMap<String, Entry> lru = new LinkedHashMap<>(16, 0.75f, true);
+        private long[] free = new long[16];
+        private int freeCount;
+
+        SizeClass(int chunkSize, int chunksPerSlab) {
+            this.chunkSize = chunkSize;
+            this.chunksPerSlab = chunksPerSlab;
+        }
+
+        void pushFree(long address) {
+            if (freeCount == free.length) {
+                long[] grown = new long[free.length * 2];
+                System.arraycopy(free, 0, grown, 0, freeCount);
+                free = grown;
+            }
+            free[freeCount++] = address;
+        }
+
+        long popFree() {
+            return free[--freeCount];
+        }
+    }
+
+    private record Entry(String key, SizeClass sizeClass, long address, int length, long expireAt) {
+    }
+}
@@ -0,0 +1,294 @@
+package com.company.fastweb.core.cache.backend;
+
+import com.company.fastweb.core.cache.model.dto.CacheKeyPageDTO;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.async.RedisKeyAsyncCommands;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Redis 缓存后端
+ * <p>
+ * 键遍历一律使用 SCAN 分批进行，不使用会阻塞整个实例的 KEYS 命令；键数量取自 DBSIZE。
+ * 批量读取使用 MGET，带过期时间的批量写入和混合批量操作通过管道一次提交。
+ *
+ * @author FastWeb
+ */
+public class RedisCacheBackend implements CacheBackend {
+
+    public static final String NAME = "redis";
+
+    /**
+     * 内部遍历键时每批 SCAN 的 COUNT
+     */
+    public static final int DEFAULT_SCAN_COUNT = 500;
+
+    /**
+     * 单次 SCAN 的超时时间（秒）
+     */
+    private static final long SCAN_TIMEOUT_SECONDS = 10;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ValueOperations<String, Object> valueOps;
+
+    public RedisCacheBackend(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.valueOps = redisTemplate.opsForValue();
+    }
+
+    public RedisTemplate<String, Object> getRedisTemplate() {
+        return redisTemplate;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        valueOps.set(key, value);
+    }
+
+    @Override
+    public void set(String key, Object value, long timeout) {
+        if (timeout > 0) {
+            valueOps.set(key, value, Duration.ofSeconds(timeout));
+        } else {
+            valueOps.set(key, value);
+        }
+    }
+
+    @Override
+    public Object get(String key) {
+        return valueOps.get(key);
+    }
+
+    @Override
+    public Map<String, Object> multiGet(Collection<String> keys) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        List<String> keyList = new ArrayList<>(keys);
+        List<Object> values = valueOps.multiGet(keyList);
+        if (values == null) {
+            return result;
+        }
+        for (int i = 0; i < keyList.size(); i++) {
+            Object value = values.get(i);
+            if (value != null) {
+                result.put(keyList.get(i), value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void multiSet(Map<String, ?> entries, long timeout) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (timeout <= 0) {
+            valueOps.multiSet(entries);
+            return;
+        }
+        // MSET 不支持过期时间，改为在同一管道中逐个 SET EX
+        Duration ttl = Duration.ofSeconds(timeout);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                ValueOperations<String, Object> ops = cast(operations).opsForValue();
+                entries.forEach((key, value) -> ops.set(key, value, ttl));
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public List<Object> execute(CacheBatch batch) {
+        List<CacheBatch.Operation> operations = batch.getOperations();
+        List<Object> raw = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> redisOperations) {
+                RedisOperations<String, Object> ops = cast(redisOperations);
+                for (CacheBatch.Operation operation : operations) {
+                    String key = operation.key();
+                    switch (operation.type()) {
+                        case GET -> ops.opsForValue().get(key);
+                        case SET -> {
+                            if (operation.timeout() > 0) {
+                                ops.opsForValue().set(key, operation.value(), Duration.ofSeconds(operation.timeout()));
+                            } else {
+                                ops.opsForValue().set(key, operation.value());
+                            }
+                        }
+                        case DELETE -> ops.delete(key);
+                        case EXISTS -> ops.hasKey(key);
+                        case EXPIRE -> ops.expire(key, Duration.ofSeconds(operation.timeout()));
+                        case GET_EXPIRE -> ops.getExpire(key);
+                    }
+                }
+                return null;
+            }
+        });
+        // 管道返回的是连接层原始结果（如 DEL 返回删除数量），统一转换为与单条操作一致的类型
+        List<Object> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            Object value = i < raw.size() ? raw.get(i) : null;
+            results.add(switch (operations.get(i).type()) {
+                case GET -> value;
+                case DELETE -> value instanceof Number number ? number.longValue() > 0 : Boolean.TRUE.equals(value);
+                case GET_EXPIRE -> value instanceof Number number ? number.longValue() : -2L;
+                default -> Boolean.TRUE.equals(value);
+            });
+        }
+        return results;
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return Boolean.TRUE.equals(redisTemplate.delete(key));
+    }
+
+    @Override
+    public long delete(Collection<String> keys) {
+        Long deleted = redisTemplate.delete(keys);
+        return deleted != null ? deleted : 0;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+    }
+
+    @Override
+    public boolean expire(String key, long timeout) {
+        return Boolean.TRUE.equals(redisTemplate.expire(key, Duration.ofSeconds(timeout)));
+    }
+
+    @Override
+    public long getExpire(String key) {
+        Long ttl = redisTemplate.getExpire(key);
+        return ttl == null ? -2 : ttl;
+    }
+
+    @Override
+    public Set<String> keys(String pattern) {
+        try (Stream<String> keys = scan(pattern, DEFAULT_SCAN_COUNT)) {
+            return keys.collect(Collectors.toSet());
+        }
+    }
+
+    @Override
+    public Stream<String> scan(String pattern, int batchSize) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        Cursor<String> cursor = redisTemplate.scan(options);
+        return cursor.stream();
+    }
+
+    @Override
+    public CacheKeyPageDTO scan(String pattern, String cursor, int count) {
+        return redisTemplate.execute((RedisCallback<CacheKeyPageDTO>) connection -> {
+            Object nativeConnection = connection.getNativeConnection();
+            if (connection instanceof RedisClusterConnection || !(nativeConnection instanceof RedisKeyAsyncCommands)) {
+                // 集群模式下 Lettuce 的游标与节点绑定，无法由字符串恢复，退化为按偏移量遍历
+                return CacheBackend.super.scan(pattern, cursor, count);
+            }
+            @SuppressWarnings("unchecked")
+            RedisKeyAsyncCommands<byte[], byte[]> commands = (RedisKeyAsyncCommands<byte[], byte[]>) nativeConnection;
+            KeyScanCursor<byte[]> result = LettuceFutures.awaitOrCancel(
+                    commands.scan(ScanCursor.of(cursor), ScanArgs.Builder.matches(pattern).limit(count)),
+                    SCAN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            RedisSerializer<?> keySerializer = redisTemplate.getKeySerializer();
+            List<String> keys = result.getKeys().stream()
+                    .map(key -> String.valueOf(keySerializer.deserialize(key)))
+                    .toList();
+            return CacheKeyPageDTO.builder()
+                    .keys(keys)
+                    .cursor(result.isFinished() ? CacheKeyPageDTO.INITIAL_CURSOR : result.getCursor())
+                    .finished(result.isFinished())
+                    .build();
+        });
+    }
+
+    @Override
+    public long size() {
+        Long size = redisTemplate.execute((RedisCallback<Long>) connection -> connection.serverCommands().dbSize());
+        return size != null ? size : 0;
+    }
+
+    /**
+     * 解析 INFO 中的数值项；集群模式下各节点的键带有节点前缀，按字段名汇总（运行时间取最大值）
+     */
+    @Override
+    public Map<String, Long> serverInfo() {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) connection -> connection.serverCommands().info());
+        Map<String, Long> result = new LinkedHashMap<>();
+        if (info == null) {
+            return result;
+        }
+        for (String name : info.stringPropertyNames()) {
+            Long value = parseLong(info.getProperty(name));
+            if (value == null) {
+                continue;
+            }
+            String field = name.substring(name.lastIndexOf('.') + 1);
+            if ("uptime_in_seconds".equals(field)) {
+                result.merge(field, value, Math::max);
+            } else {
+                result.merge(field, value, Long::sum);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisOperations<String, Object> cast(RedisOperations<?, ?> operations) {
+        return (RedisOperations<String, Object>) operations;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && !(i == 0 && c == '-')) {
+                return null;
+            }
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
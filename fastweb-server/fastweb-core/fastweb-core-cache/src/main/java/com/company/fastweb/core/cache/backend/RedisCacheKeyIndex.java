@@ -0,0 +1,96 @@
+package com.company.fastweb.core.cache.backend;
+
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 基于 Redis 有序集合的缓存键索引
+ * <p>
+ * 每个索引是一个 ZSET：成员为缓存键，分数为该键的过期时间戳（毫秒，永不过期为 +inf）。
+ * 登记时先移除已过期成员，再把索引本身的过期时间设为成员中最晚的过期时间，
+ * 因此索引大小始终接近存活键的数量，无人写入的索引也会随最后一个成员一起过期。
+ * 每个脚本只访问索引这一个 key，可在集群模式下使用；同一个键的多个索引在一个管道内提交。
+ *
+ * @author FastWeb
+ */
+public class RedisCacheKeyIndex implements CacheKeyIndex {
+
+    /**
+     * KEYS[1] 索引；ARGV[1] 缓存键，ARGV[2] 过期时间戳（毫秒，-1 表示永不过期），ARGV[3] 当前时间戳（毫秒）
+     */
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[3])
+            local score = ARGV[2] == '-1' and '+inf' or ARGV[2]
+            redis.call('ZADD', KEYS[1], score, ARGV[1])
+            local last = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')
+            if last[2] == 'inf' then
+                redis.call('PERSIST', KEYS[1])
+            else
+                redis.call('PEXPIREAT', KEYS[1], last[2])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    /**
+     * @param keyPrefix 索引在 Redis 中的键前缀
+     */
+    public RedisCacheKeyIndex(StringRedisTemplate redisTemplate, String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public void add(Collection<String> indexes, String key, long timeout) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String expireAt = timeout > 0 ? String.valueOf(now + timeout * 1000) : "-1";
+        String nowArg = String.valueOf(now);
+        if (indexes.size() == 1) {
+            redisTemplate.execute(ADD_SCRIPT, List.of(indexKey(indexes.iterator().next())), key, expireAt, nowArg);
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (String index : indexes) {
+                    ops.execute(ADD_SCRIPT, List.of(indexKey(index)), key, expireAt, nowArg);
+                }
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void drain(String index, int batchSize, Consumer<List<String>> consumer) {
+        String indexKey = indexKey(index);
+        while (true) {
+            Set<String> members = redisTemplate.opsForZSet().range(indexKey, 0, batchSize - 1L);
+            if (members == null || members.isEmpty()) {
+                break;
+            }
+            consumer.accept(new ArrayList<>(members));
+            // 最后一个成员移除后 Redis 自动删除空的 ZSET，不再单独 DEL，以免误删清理期间新登记的成员
+            redisTemplate.opsForZSet().remove(indexKey, members.toArray());
+        }
+    }
+
+    private String indexKey(String index) {
+        return keyPrefix + index;
+    }
+}
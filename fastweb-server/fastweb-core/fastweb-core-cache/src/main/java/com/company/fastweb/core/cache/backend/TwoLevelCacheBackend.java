@@ -0,0 +1,269 @@
+package com.company.fastweb.core.cache.backend;
+
+import com.company.fastweb.core.cache.invalidation.CacheInvalidationBus;
+import com.company.fastweb.core.cache.invalidation.CacheInvalidationMessage;
+import com.company.fastweb.core.cache.model.dto.CacheKeyPageDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 两级缓存后端：本节点 Caffeine 作为一级（L1），远程后端（通常是 Redis）作为二级（L2）
+ * <p>
+ * 读请求优先命中 L1，未命中时回源 L2 并回填 L1；写入和删除先作用于 L2，再更新本地 L1，
+ * 并通过 {@link CacheInvalidationBus} 通知其它节点丢弃各自的 L1 副本。
+ * L1 条目的存活时间不超过 {@code localExpire}，它同时是跨节点不一致窗口的上限。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class TwoLevelCacheBackend implements CacheBackend {
+
+    public static final String NAME = "two-level";
+
+    private final CaffeineCacheBackend local;
+    private final CacheBackend remote;
+    private final CacheInvalidationBus invalidationBus;
+    private final long localExpire;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * @param local           一级缓存
+     * @param remote          二级缓存
+     * @param invalidationBus 失效消息总线
+     * @param localExpire     一级缓存最长存活时间（秒）
+     */
+    public TwoLevelCacheBackend(CaffeineCacheBackend local, CacheBackend remote,
+                                CacheInvalidationBus invalidationBus, long localExpire) {
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.localExpire = localExpire;
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    public CaffeineCacheBackend getLocal() {
+        return local;
+    }
+
+    public CacheBackend getRemote() {
+        return remote;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        // 先清除本地副本：远程写入失败时调用方会降级写入，不能让旧副本继续命中
+        local.delete(key);
+        remote.set(key, value);
+        local.set(key, value, localExpire);
+        publish(key);
+    }
+
+    @Override
+    public void set(String key, Object value, long timeout) {
+        local.delete(key);
+        remote.set(key, value, timeout);
+        local.set(key, value, localTimeout(timeout));
+        publish(key);
+    }
+
+    @Override
+    public Object get(String key) {
+        Object value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = remote.get(key);
+        if (value != null) {
+            promote(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public Map<String, Object> multiGet(Collection<String> keys) {
+        Map<String, Object> hits = local.multiGet(keys);
+        if (hits.size() == keys.size()) {
+            return hits;
+        }
+        List<String> misses = keys.stream().filter(key -> !hits.containsKey(key)).toList();
+        Map<String, Object> loaded = remote.multiGet(misses);
+        loaded.forEach(this::promote);
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            Object value = hits.containsKey(key) ? hits.get(key) : loaded.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void multiSet(Map<String, ?> entries, long timeout) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        local.delete(entries.keySet());
+        remote.multiSet(entries, timeout);
+        local.multiSet(entries, localTimeout(timeout));
+        publish(entries.keySet());
+    }
+
+    @Override
+    public List<Object> execute(CacheBatch batch) {
+        List<String> written = new ArrayList<>();
+        for (CacheBatch.Operation operation : batch.getOperations()) {
+            if (operation.type().isWrite()) {
+                written.add(operation.key());
+            }
+        }
+        if (!written.isEmpty()) {
+            local.delete(written);
+        }
+        List<Object> results = remote.execute(batch);
+        if (!written.isEmpty()) {
+            publish(written);
+        }
+        return results;
+    }
+
+    @Override
+    public boolean delete(String key) {
+        local.delete(key);
+        boolean deleted = remote.delete(key);
+        publish(key);
+        return deleted;
+    }
+
+    @Override
+    public long delete(Collection<String> keys) {
+        local.delete(keys);
+        long deleted = remote.delete(keys);
+        publish(keys);
+        return deleted;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return local.exists(key) || remote.exists(key);
+    }
+
+    @Override
+    public boolean expire(String key, long timeout) {
+        boolean updated = remote.expire(key, timeout);
+        if (updated) {
+            local.expire(key, localTimeout(timeout));
+        } else {
+            local.delete(key);
+        }
+        publish(key);
+        return updated;
+    }
+
+    @Override
+    public long getExpire(String key) {
+        return remote.getExpire(key);
+    }
+
+    @Override
+    public Set<String> keys(String pattern) {
+        return remote.keys(pattern);
+    }
+
+    @Override
+    public Stream<String> scan(String pattern, int batchSize) {
+        return remote.scan(pattern, batchSize);
+    }
+
+    @Override
+    public CacheKeyPageDTO scan(String pattern, String cursor, int count) {
+        return remote.scan(pattern, cursor, count);
+    }
+    @Override
+    public long size() {
+        return remote.size();
+    }
+
+    @Override
+    public Map<String, Long> serverInfo() {
+        return remote.serverInfo();
+    }
+
+    @Override
+    public int getOrder() {
+        return -100;
+    }
+
+    private long localTimeout(long timeout) {
+        return timeout > 0 ? Math.min(timeout, localExpire) : localExpire;
+    }
+
+    /**
+     * 远程命中后回填本地，{@link ExpiringValue} 的本地存活时间不超过其剩余时间
+     */
+    private void promote(String key, Object value) {
+        if (value instanceof ExpiringValue expiring && expiring.getExpireAt() > 0) {
+            long remainingMillis = expiring.getExpireAt() - System.currentTimeMillis();
+            if (remainingMillis <= 0) {
+                return;
+            }
+            local.set(key, value, localTimeout(TimeUnit.MILLISECONDS.toSeconds(remainingMillis + 999)));
+            return;
+        }
+        local.set(key, value, localExpire);
+    }
+
+    private void publish(String key) {
+        try {
+            invalidationBus.publish(CacheInvalidationMessage.builder()
+                    .origin(nodeId)
+                    .cacheName(CacheInvalidationMessage.SERVICE_CACHE_NAME)
+                    .key(key)
+                    .build());
+        } catch (RuntimeException e) {
+            // 发布失败时其它节点的 L1 仍会在 localExpire 后过期
+            log.warn("发布缓存失效消息失败: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private void publish(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            invalidationBus.publish(CacheInvalidationMessage.builder()
+                    .origin(nodeId)
+                    .cacheName(CacheInvalidationMessage.SERVICE_CACHE_NAME)
+                    .keys(List.copyOf(keys))
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("发布缓存失效消息失败: keys={}, error={}", keys.size(), e.getMessage());
+        }
+    }
+
+    private void onInvalidation(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.getOrigin())
+                || !CacheInvalidationMessage.SERVICE_CACHE_NAME.equals(message.getCacheName())) {
+            return;
+        }
+        if (message.isClearAll()) {
+            local.clear();
+        } else {
+            local.delete(message.getAllKeys());
+        }
+    }
+}
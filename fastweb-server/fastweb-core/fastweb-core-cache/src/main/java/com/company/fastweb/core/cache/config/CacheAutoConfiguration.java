@@ -1,15 +1,43 @@
 package com.company.fastweb.core.cache.config;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.company.fastweb.core.cache.backend.CacheBackend;
+import com.company.fastweb.core.cache.backend.CacheKeyIndex;
+import com.company.fastweb.core.cache.backend.CaffeineCacheBackend;
+import com.company.fastweb.core.cache.backend.OffHeapSlabStore;
+import com.company.fastweb.core.cache.backend.RedisCacheBackend;
+import com.company.fastweb.core.cache.backend.RedisCacheKeyIndex;
+import com.company.fastweb.core.cache.backend.TwoLevelCacheBackend;
+import com.company.fastweb.core.cache.hotkey.HotKeyDetector;
+import com.company.fastweb.core.cache.hotkey.HotKeyReplicator;
+import com.company.fastweb.core.cache.invalidation.CacheInvalidationBus;
+import com.company.fastweb.core.cache.invalidation.RedisCacheInvalidationBus;
+import com.company.fastweb.core.cache.metrics.CacheMetricsBinder;
+import com.company.fastweb.core.cache.metrics.CacheStatisticsRecorder;
+import com.company.fastweb.core.cache.metrics.LockMetricsBinder;
+import com.company.fastweb.core.cache.metrics.LockStatisticsRecorder;
+import com.company.fastweb.core.cache.serializer.CacheSerializers;
+import com.company.fastweb.core.cache.service.AsyncCacheService;
+import com.company.fastweb.core.cache.service.impl.AsyncCacheServiceImpl;
+import com.company.fastweb.core.cache.support.CacheRefreshExecutor;
+import com.company.fastweb.core.cache.support.CircuitBreakerRegistry;
+import com.company.fastweb.core.cache.support.EstimatedSizeWeigher;
+import com.company.fastweb.core.cache.support.LocalCacheBudget;
+import com.company.fastweb.core.cache.support.OffHeapCacheTier;
+import com.company.fastweb.core.cache.support.RemoteCacheLoader;
+import com.company.fastweb.core.cache.support.TwoLevelCacheManager;
+import com.company.fastweb.core.cache.warmup.CacheWarmUpEngine;
+import com.company.fastweb.core.cache.warmup.CacheWarmUpLoader;
+import com.company.fastweb.core.cache.warmup.HotKeySnapshotStore;
+import com.company.fastweb.core.cache.warmup.HotKeyTracker;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -23,21 +51,25 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.util.CollectionUtils;
-import org.springframework.cache.support.SimpleCacheManager;
+import reactor.core.publisher.Mono;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 缓存自动配置
@@ -51,6 +83,77 @@ import java.util.stream.Collectors;
 @EnableConfigurationProperties({FastWebCacheProperties.class})
 public class CacheAutoConfiguration {
 
+    /**
+     * CacheService 运行时统计（命中率、各操作耗时分布）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheStatisticsRecorder cacheStatisticsRecorder() {
+        return new CacheStatisticsRecorder();
+    }
+
+    /**
+     * DistributedLockClient 加锁统计（等待/持有时间分布、竞争最激烈的锁）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LockStatisticsRecorder lockStatisticsRecorder(FastWebCacheProperties fastWebCacheProperties) {
+        FastWebCacheProperties.LockConfig lock = fastWebCacheProperties.getLock();
+        LockStatisticsRecorder recorder = new LockStatisticsRecorder(lock.getSlowHoldThreshold(),
+                lock.getContentionThreshold(), lock.isCaptureStack());
+        // 每个阈值周期检查一次，未释放的慢持有最迟在两倍阈值时输出警告
+        recorder.start(Duration.ofMillis(Math.max(lock.getSlowHoldThreshold(), 1)));
+        return recorder;
+    }
+
+    /**
+     * CacheService 远程后端熔断器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "fastweb.cache.circuit-breaker", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CircuitBreakerRegistry circuitBreakerRegistry(FastWebCacheProperties fastWebCacheProperties) {
+        FastWebCacheProperties.CircuitBreakerConfig circuitBreaker = fastWebCacheProperties.getCircuitBreaker();
+        return new CircuitBreakerRegistry(circuitBreaker.getFailureThreshold(),
+                Duration.ofSeconds(circuitBreaker.getOpenDuration()), circuitBreaker.getHalfOpenCalls());
+    }
+
+    /**
+     * 缓存后台刷新线程池（refresh-ahead / stale-while-revalidate）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheRefreshExecutor cacheRefreshExecutor(FastWebCacheProperties fastWebCacheProperties) {
+        FastWebCacheProperties.RefreshConfig refresh = fastWebCacheProperties.getRefresh();
+        return new CacheRefreshExecutor(refresh.getPoolSize(), refresh.getQueueCapacity());
+    }
+
+    /**
+     * Micrometer 指标导出（当 Micrometer 存在时才启用）
+     */
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    public static class MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public CacheMetricsBinder cacheMetricsBinder(CacheStatisticsRecorder cacheStatisticsRecorder,
+                                                     ObjectProvider<CacheBackend> cacheBackends,
+                                                     ObjectProvider<HotKeyReplicator> hotKeyReplicator,
+                                                     ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry) {
+            return new CacheMetricsBinder(cacheStatisticsRecorder, () -> cacheBackends.orderedStream()
+                    .findFirst()
+                    .map(CacheBackend::serverInfo)
+                    .orElse(Map.of()), hotKeyReplicator.getIfAvailable(), circuitBreakerRegistry.getIfAvailable());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public LockMetricsBinder lockMetricsBinder(LockStatisticsRecorder lockStatisticsRecorder) {
+            return new LockMetricsBinder(lockStatisticsRecorder);
+        }
+    }
+
     /**
      * Redis 相关配置（当 Redis 类存在时才启用）
      */
@@ -61,6 +164,8 @@ public class CacheAutoConfiguration {
 
         private final FastWebCacheProperties fastWebCacheProperties;
         private final RedisConnectionFactory redisConnectionFactory;
+        private final Map<FastWebCacheProperties.SerializationConfig, RedisSerializer<Object>> valueSerializers =
+                new ConcurrentHashMap<>();
 
         /**
          * Redis模板配置
@@ -71,8 +176,8 @@ public class CacheAutoConfiguration {
             RedisTemplate<String, Object> template = new RedisTemplate<>();
             template.setConnectionFactory(redisConnectionFactory);
 
-            // 配置Jackson序列化器
-            Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = createJackson2JsonRedisSerializer();
+            // 值序列化器，格式与压缩方式由 fastweb.cache.serialization 决定
+            RedisSerializer<Object> valueSerializer = valueSerializer(null);
 
             // String序列化器
             StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
@@ -81,10 +186,8 @@ public class CacheAutoConfiguration {
             template.setKeySerializer(stringRedisSerializer);
             // hash的key也采用String的序列化方式
             template.setHashKeySerializer(stringRedisSerializer);
-            // value序列化方式采用jackson
-            template.setValueSerializer(jackson2JsonRedisSerializer);
-            // hash的value序列化方式采用jackson
-            template.setHashValueSerializer(jackson2JsonRedisSerializer);
+            template.setValueSerializer(valueSerializer);
+            template.setHashValueSerializer(valueSerializer);
 
             template.afterPropertiesSet();
             
@@ -104,10 +207,39 @@ public class CacheAutoConfiguration {
         }
 
         /**
-         * Redis缓存管理器
+         * Redis 缓存后端（供 CacheService 直接调用）
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public RedisCacheBackend redisCacheBackend(RedisTemplate<String, Object> redisTemplate) {
+            return new RedisCacheBackend(redisTemplate);
+        }
+
+        /**
+         * 标签、前缀索引（CacheService 按标签或前缀批量清除时使用）
+         */
+        @Bean
+        @ConditionalOnMissingBean(CacheKeyIndex.class)
+        public RedisCacheKeyIndex redisCacheKeyIndex(StringRedisTemplate stringRedisTemplate) {
+            return new RedisCacheKeyIndex(stringRedisTemplate, fastWebCacheProperties.getIndex().getKeyPrefix());
+        }
+
+        /**
+         * 基于 Redis Pub/Sub 的缓存失效消息总线（近端缓存使用）
+         */
+        @Bean
+        @ConditionalOnMissingBean(CacheInvalidationBus.class)
+        @ConditionalOnProperty(prefix = "fastweb.cache.near", name = "enabled", havingValue = "true", matchIfMissing = true)
+        public RedisCacheInvalidationBus redisCacheInvalidationBus(StringRedisTemplate stringRedisTemplate) {
+            return new RedisCacheInvalidationBus(redisConnectionFactory, stringRedisTemplate,
+                    fastWebCacheProperties.getNear().getChannel());
+        }
+
+        /**
+         * Redis缓存管理器（作为 cacheManager 的二级缓存）
          */
         @Bean
-        @ConditionalOnMissingBean(CacheManager.class)
+        @ConditionalOnMissingBean(name = "redisCacheManager")
         public CacheManager redisCacheManager() {
             return createRedisCacheManager();
         }
@@ -134,26 +266,91 @@ public class CacheAutoConfiguration {
         }
 
         private RedisCacheConfiguration createRedisCacheConfiguration(FastWebCacheProperties.CacheConfig config) {
-            long ttl = config != null ? config.getExpireTime() : 3600;
+            // 启用软过期时 Redis 按硬过期时间保留，软过期时间记录在值中
+            long ttl = config != null ? config.hardExpireTime() : 3600;
             return RedisCacheConfiguration.defaultCacheConfig()
                     .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(createJackson2JsonRedisSerializer()))
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                            valueSerializer(config != null ? config.getSerialization() : null)))
                     .entryTtl(Duration.ofSeconds(ttl))
                     .disableCachingNullValues();
         }
 
-        private Jackson2JsonRedisSerializer<Object> createJackson2JsonRedisSerializer() {
-            Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer =
-                    new Jackson2JsonRedisSerializer<>(Object.class);
+        private RedisSerializer<Object> valueSerializer(FastWebCacheProperties.SerializationConfig config) {
+            FastWebCacheProperties.SerializationConfig global = fastWebCacheProperties.getSerialization();
+            FastWebCacheProperties.SerializationConfig effective = config != null ? config : global;
+            return valueSerializers.computeIfAbsent(effective, c -> CacheSerializers.create(
+                    c.getFormat(), c.getCompression(), c.getCompressionThreshold(), global.getTypeAliases()));
+        }
+    }
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-            objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
-                    ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
-            objectMapper.registerModule(new JavaTimeModule());
+    /**
+     * 近端缓存配置：Caffeine 一级 + Redis 二级，CacheService 优先使用
+     */
+    @RequiredArgsConstructor
+    @ConditionalOnClass(Caffeine.class)
+    @ConditionalOnProperty(prefix = "fastweb.cache.near", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static class NearCacheConfiguration {
+
+        private final FastWebCacheProperties fastWebCacheProperties;
 
-            jackson2JsonRedisSerializer.setObjectMapper(objectMapper);
-            return jackson2JsonRedisSerializer;
+        /**
+         * 两级缓存后端，一级缓存为独立的 Caffeine 实例，不注册为 Bean
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean({RedisCacheBackend.class, CacheInvalidationBus.class})
+        public TwoLevelCacheBackend twoLevelCacheBackend(RedisCacheBackend redisCacheBackend,
+                                                         CacheInvalidationBus cacheInvalidationBus) {
+            FastWebCacheProperties.NearCacheConfig near = fastWebCacheProperties.getNear();
+            CaffeineCacheBackend local = new CaffeineCacheBackend(near.getMaximumSize(), near.getLocalExpireTime());
+            log.info("FastWeb near cache configured: localExpireTime={}s, maximumSize={}",
+                    near.getLocalExpireTime(), near.getMaximumSize());
+            return new TwoLevelCacheBackend(local, redisCacheBackend, cacheInvalidationBus, near.getLocalExpireTime());
+        }
+    }
+
+    /**
+     * 异步缓存服务配置：基于 Lettuce 响应式连接，启用近端缓存时与其共用一级缓存
+     */
+    @RequiredArgsConstructor
+    @ConditionalOnClass({ReactiveRedisTemplate.class, Mono.class, Caffeine.class})
+    @ConditionalOnProperty(prefix = "fastweb.cache.async", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static class AsyncCacheConfiguration {
+
+        private final FastWebCacheProperties fastWebCacheProperties;
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(RedisCacheBackend.class)
+        @SuppressWarnings("unchecked")
+        public AsyncCacheService asyncCacheService(RedisConnectionFactory redisConnectionFactory,
+                                                   RedisTemplate<String, Object> redisTemplate,
+                                                   ObjectProvider<TwoLevelCacheBackend> twoLevelCacheBackend,
+                                                   ObjectProvider<CacheInvalidationBus> cacheInvalidationBus,
+                                                   CacheStatisticsRecorder cacheStatisticsRecorder) {
+            if (!(redisConnectionFactory instanceof ReactiveRedisConnectionFactory reactiveConnectionFactory)) {
+                throw new IllegalStateException("AsyncCacheService 需要 Lettuce 连接工厂，当前为 "
+                        + redisConnectionFactory.getClass().getName() + "，可设置 fastweb.cache.async.enabled=false 关闭");
+            }
+            RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+            ReactiveRedisTemplate<String, Object> reactiveTemplate = new ReactiveRedisTemplate<>(reactiveConnectionFactory,
+                    RedisSerializationContext.<String, Object>newSerializationContext(new StringRedisSerializer())
+                            .value(valueSerializer)
+                            .hashValue(valueSerializer)
+                            .build());
+
+            FastWebCacheProperties.AsyncConfig async = fastWebCacheProperties.getAsync();
+            FastWebCacheProperties.NearCacheConfig near = fastWebCacheProperties.getNear();
+            TwoLevelCacheBackend nearBackend = twoLevelCacheBackend.getIfAvailable();
+            CaffeineCacheBackend local = nearBackend != null
+                    ? nearBackend.getLocal()
+                    : new CaffeineCacheBackend(near.getMaximumSize(), near.getLocalExpireTime());
+            log.info("FastWeb AsyncCacheService configured: timeout={}ms, fallbackToLocal={}, sharedNearCache={}",
+                    async.getTimeout(), async.isFallbackToLocal(), nearBackend != null);
+            return new AsyncCacheServiceImpl(reactiveTemplate, local, nearBackend != null,
+                    nearBackend != null ? cacheInvalidationBus.getIfAvailable() : null, cacheStatisticsRecorder,
+                    Duration.ofMillis(async.getTimeout()), async.isFallbackToLocal(), near.getLocalExpireTime());
         }
     }
 
@@ -167,63 +364,183 @@ public class CacheAutoConfiguration {
         private final FastWebCacheProperties fastWebCacheProperties;
 
         /**
-         * 缓存管理器配置 - 优先本地缓存，其次 Redis 缓存
+         * 缓存管理器配置 - 一级本地缓存，二级 Redis 缓存（可用时）
          */
         @Bean
         @Primary
-        @ConditionalOnMissingBean
-        public CacheManager cacheManager() {
-            List<CacheManager> cacheManagers = new java.util.ArrayList<>();
-
-            // 优先添加 Caffeine 本地缓存
+        @ConditionalOnMissingBean(name = "cacheManager")
+        public CacheManager cacheManager(@Qualifier("redisCacheManager") ObjectProvider<CacheManager> redisCacheManager,
+                                         ObjectProvider<CacheInvalidationBus> cacheInvalidationBus,
+                                         CacheRefreshExecutor cacheRefreshExecutor,
+                                         ObjectProvider<HotKeyTracker> hotKeyTracker,
+                                         ObjectProvider<LocalCacheBudget> localCacheBudget) {
+            LocalCacheBudget budget = localCacheBudget.getIfAvailable();
+            CacheManager remoteManager = redisCacheManager.getIfAvailable();
+            CacheInvalidationBus invalidationBus = cacheInvalidationBus.getIfAvailable();
+            List<CaffeineCache> caffeineCaches = new ArrayList<>();
+            List<String> remoteDisabledNames = new ArrayList<>();
+            Map<String, Long> softExpireMillis = new LinkedHashMap<>();
+            Map<String, OffHeapCacheTier> offHeapTiers = new LinkedHashMap<>();
             if (!CollectionUtils.isEmpty(fastWebCacheProperties.getConfigs())) {
-                List<CaffeineCache> caffeineCaches = fastWebCacheProperties.getConfigs().values().stream()
-                        .filter(config -> config.getLocal() != null && config.getLocal().isEnabled())
-                        .map(this::createCaffeineCache)
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toList());
-
-                if (!caffeineCaches.isEmpty()) {
-                    SimpleCacheManager simpleCacheManager = new SimpleCacheManager();
-                    simpleCacheManager.setCaches(caffeineCaches);
-                    cacheManagers.add(simpleCacheManager); // Caffeine作为一级缓存
-                    log.info("FastWeb Caffeine Cache Manager configured with caches: {}", 
-                            caffeineCaches.stream().map(CaffeineCache::getName).toList());
-                }
+                fastWebCacheProperties.getConfigs().forEach((key, config) -> {
+                    String name = config.getName() != null ? config.getName() : key;
+                    if (config.getLocal() != null && config.getLocal().isEnabled()) {
+                        RemoteCacheLoader reloader = remoteManager != null && config.refreshEnabled()
+                                ? new RemoteCacheLoader(() -> remoteManager.getCache(name), cacheRefreshExecutor)
+                                : null;
+                        caffeineCaches.add(createCaffeineCache(name, config, reloader, budget));
+                        if (config.getOffHeap() != null && config.getOffHeap().isEnabled() && isNearCopy(config)) {
+                            offHeapTiers.put(name, createOffHeapTier(config));
+                        }
+                    }
+                    if (config.getRedis() != null && !config.getRedis().isEnabled()) {
+                        remoteDisabledNames.add(name);
+                    }
+                    if (config.refreshEnabled()) {
+                        softExpireMillis.put(name, Duration.ofSeconds(config.softExpireTime()).toMillis());
+                    }
+                });
             }
 
-            // 尝试添加 Redis 缓存（如果可用）
-            try {
-                Class.forName("org.springframework.data.redis.core.RedisTemplate");
-                // Redis 可用，但需要运行时检查是否有 RedisConnectionFactory
-                // 这里暂时不添加，由 RedisConfiguration 处理
-                log.info("Redis classes available, Redis cache may be configured separately");
-            } catch (ClassNotFoundException e) {
-                log.info("Redis classes not available, using Caffeine cache only");
+            if (budget != null) {
+                budget.allocate();
+                budget.start(Duration.ofSeconds(fastWebCacheProperties.getBudget().getRebalanceInterval()));
             }
 
-            if (cacheManagers.isEmpty()) {
-                // 如果没有任何缓存管理器，创建一个空的本地缓存管理器
-                log.warn("No cache managers configured, creating minimal Caffeine cache manager");
-                SimpleCacheManager simpleCacheManager = new SimpleCacheManager();
-                simpleCacheManager.setCaches(List.of());
-                cacheManagers.add(simpleCacheManager);
-            }
+            TwoLevelCacheManager twoLevelCacheManager = new TwoLevelCacheManager(caffeineCaches, remoteManager,
+                    remoteDisabledNames, invalidationBus, softExpireMillis, cacheRefreshExecutor);
+            twoLevelCacheManager.setOffHeapTiers(offHeapTiers);
+            hotKeyTracker.ifAvailable(twoLevelCacheManager::setHotKeyTracker);
 
-            CompositeCacheManager compositeCacheManager = new CompositeCacheManager(cacheManagers.toArray(new CacheManager[0]));
+            CompositeCacheManager compositeCacheManager = new CompositeCacheManager(twoLevelCacheManager);
             compositeCacheManager.setFallbackToNoOpCache(true);
-            
-            log.info("FastWeb Composite Cache Manager configured with {} managers", cacheManagers.size());
+
+            log.info("FastWeb Cache Manager configured: local={}, offHeap={}, remote={}, invalidation={}, refresh={}",
+                    caffeineCaches.stream().map(CaffeineCache::getName).toList(), offHeapTiers.keySet(),
+                    remoteManager != null, invalidationBus != null, softExpireMillis.keySet());
             return compositeCacheManager;
         }
 
-        private CaffeineCache createCaffeineCache(FastWebCacheProperties.CacheConfig cacheConfig) {
+        /**
+         * 本地缓存全局内存预算（启用时）
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "fastweb.cache.budget", name = "enabled", havingValue = "true")
+        public LocalCacheBudget localCacheBudget() {
+            FastWebCacheProperties.BudgetConfig budget = fastWebCacheProperties.getBudget();
+            return new LocalCacheBudget(budget.getMaximumWeight(), budget.getMinShare(), budget.getStep());
+        }
+
+        /**
+         * 热点 key 统计（启用预热时）
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "fastweb.cache.warmup", name = "enabled", havingValue = "true")
+        public HotKeyTracker hotKeyTracker() {
+            return new HotKeyTracker(fastWebCacheProperties.getWarmup().getKeysPerCache());
+        }
+
+        /**
+         * CacheService 热点 key 检测与本地副本（启用时）
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "fastweb.cache.hot-key", name = "enabled", havingValue = "true")
+        public HotKeyReplicator hotKeyReplicator() {
+            FastWebCacheProperties.HotKeyConfig hotKey = fastWebCacheProperties.getHotKey();
+            long bucketMillis = Math.max(Duration.ofSeconds(hotKey.getWindow()).toMillis() / hotKey.getBuckets(), 1);
+            HotKeyDetector detector = new HotKeyDetector(hotKey.getBuckets(), bucketMillis, hotKey.getThreshold(),
+                    hotKey.getMaxHotKeys(), hotKey.getExpectedKeys());
+            return new HotKeyReplicator(detector, hotKey.getMaxHotKeys(), Duration.ofSeconds(hotKey.getLocalTtl()));
+        }
+
+        /**
+         * 缓存预热引擎：启动时按快照回填，运行期间定时保存快照
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(HotKeyTracker.class)
+        public CacheWarmUpEngine cacheWarmUpEngine(CacheManager cacheManager, HotKeyTracker hotKeyTracker,
+                                                   ObjectProvider<CacheWarmUpLoader> loaders) {
+            FastWebCacheProperties.WarmUpConfig warmup = fastWebCacheProperties.getWarmup();
+            return new CacheWarmUpEngine(cacheManager, hotKeyTracker,
+                    new HotKeySnapshotStore(Path.of(warmup.getSnapshotFile())), loaders.orderedStream().toList(),
+                    warmup.getConcurrency(), Duration.ofSeconds(warmup.getTimeout()),
+                    Duration.ofSeconds(warmup.getSnapshotInterval()));
+        }
+
+        /**
+         * Caffeine 缓存后端，容量与过期时间取自 default 配置
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public CaffeineCacheBackend caffeineCacheBackend() {
+            FastWebCacheProperties.CacheConfig defaultConfig = fastWebCacheProperties.getConfigs() != null
+                    ? fastWebCacheProperties.getConfigs().get("default") : null;
+            long maximumSize = defaultConfig != null && defaultConfig.getLocal() != null
+                    ? defaultConfig.getLocal().getMaximumSize() : 1000;
+            long expireTime = defaultConfig != null ? defaultConfig.getExpireTime() : 3600;
+            return new CaffeineCacheBackend(maximumSize, expireTime);
+        }
+
+        /**
+         * @param reloader 不为 null 且作为近端副本时，本地副本在过期前从 Redis 异步刷新
+         * @param budget   不为 null 时容量由全局内存预算分配
+         */
+        private CaffeineCache createCaffeineCache(String name, FastWebCacheProperties.CacheConfig cacheConfig,
+                                                  RemoteCacheLoader reloader, LocalCacheBudget budget) {
             FastWebCacheProperties.LocalCacheConfig localConfig = cacheConfig.getLocal();
+            long expireTime = localExpireTime(cacheConfig);
             Caffeine<Object, Object> caffeineBuilder = Caffeine.newBuilder()
                     .initialCapacity(localConfig.getInitialCapacity())
-                    .maximumSize(localConfig.getMaximumSize())
-                    .expireAfterWrite(Duration.ofSeconds(cacheConfig.getExpireTime()));
-            return new CaffeineCache(cacheConfig.getName(), caffeineBuilder.build());
+                    .expireAfterWrite(Duration.ofSeconds(expireTime));
+            if (budget != null) {
+                budget.configure(name, caffeineBuilder, localConfig.getMaximumWeight());
+            } else if (localConfig.getMaximumWeight() > 0) {
+                caffeineBuilder.maximumWeight(localConfig.getMaximumWeight()).weigher(new EstimatedSizeWeigher());
+            } else {
+                caffeineBuilder.maximumSize(localConfig.getMaximumSize());
+            }
+            Cache<Object, Object> nativeCache;
+            if (reloader != null && isNearCopy(cacheConfig)) {
+                caffeineBuilder.refreshAfterWrite(Duration.ofSeconds(Math.max(expireTime / 2, 1)));
+                nativeCache = caffeineBuilder.build(reloader);
+            } else {
+                nativeCache = caffeineBuilder.build();
+            }
+            return budget != null ? budget.createCache(name, nativeCache) : new CaffeineCache(name, nativeCache);
+        }
+
+        /**
+         * 堆外层与 Redis 使用相同的序列化配置，存活时间与本地副本一致
+         */
+        private OffHeapCacheTier createOffHeapTier(FastWebCacheProperties.CacheConfig cacheConfig) {
+            FastWebCacheProperties.OffHeapCacheConfig offHeapConfig = cacheConfig.getOffHeap();
+            FastWebCacheProperties.SerializationConfig global = fastWebCacheProperties.getSerialization();
+            FastWebCacheProperties.SerializationConfig serialization = cacheConfig.getSerialization() != null
+                    ? cacheConfig.getSerialization() : global;
+            return new OffHeapCacheTier(
+                    new OffHeapSlabStore(offHeapConfig.getMaximumSize(), offHeapConfig.getSlabSize()),
+                    CacheSerializers.create(serialization.getFormat(), serialization.getCompression(),
+                            serialization.getCompressionThreshold(), global.getTypeAliases()),
+                    offHeapConfig.getMinValueSize(), Duration.ofSeconds(localExpireTime(cacheConfig)).toMillis());
+        }
+
+        /**
+         * 作为近端副本时本地过期时间不超过 near.localExpireTime，以限制跨节点不一致窗口
+         */
+        private long localExpireTime(FastWebCacheProperties.CacheConfig cacheConfig) {
+            if (isNearCopy(cacheConfig)) {
+                return Math.min(cacheConfig.hardExpireTime(), fastWebCacheProperties.getNear().getLocalExpireTime());
+            }
+            return cacheConfig.hardExpireTime();
+        }
+
+        private boolean isNearCopy(FastWebCacheProperties.CacheConfig cacheConfig) {
+            boolean remoteEnabled = cacheConfig.getRedis() == null || cacheConfig.getRedis().isEnabled();
+            return fastWebCacheProperties.getNear().isEnabled() && remoteEnabled;
         }
     }
-}
\ No newline at end of file
+}
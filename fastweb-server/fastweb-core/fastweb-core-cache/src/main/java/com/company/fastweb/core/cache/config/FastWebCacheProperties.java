@@ -1,8 +1,13 @@
 package com.company.fastweb.core.cache.config;
 
+import com.company.fastweb.core.cache.serializer.CompressionAlgorithm;
+import com.company.fastweb.core.cache.serializer.SerializationFormat;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,6 +27,61 @@ public class FastWebCacheProperties {
      */
     private Map<String, CacheConfig> configs;
 
+    /**
+     * 近端缓存（本地 L1 + Redis L2）配置
+     */
+    private NearCacheConfig near = new NearCacheConfig();
+
+    /**
+     * CacheService 本地降级存储配置
+     */
+    private FallbackConfig fallback = new FallbackConfig();
+
+    /**
+     * Redis 值序列化配置，RedisTemplate 及未单独配置的缓存使用
+     */
+    private SerializationConfig serialization = new SerializationConfig();
+
+    /**
+     * 缓存后台刷新线程池配置（refresh-ahead / stale-while-revalidate 使用）
+     */
+    private RefreshConfig refresh = new RefreshConfig();
+
+    /**
+     * 基于热点 key 快照的启动预热配置
+     */
+    private WarmUpConfig warmup = new WarmUpConfig();
+
+    /**
+     * 本地缓存全局内存预算配置
+     */
+    private BudgetConfig budget = new BudgetConfig();
+
+    /**
+     * CacheService 标签与前缀索引配置
+     */
+    private IndexConfig index = new IndexConfig();
+
+    /**
+     * CacheService 热点 key 检测与本地副本配置
+     */
+    private HotKeyConfig hotKey = new HotKeyConfig();
+
+    /**
+     * AsyncCacheService 配置
+     */
+    private AsyncConfig async = new AsyncConfig();
+
+    /**
+     * CacheService 远程后端熔断配置
+     */
+    private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+
+    /**
+     * DistributedLockClient 配置
+     */
+    private LockConfig lock = new LockConfig();
+
     @Data
     public static class CacheConfig {
         /**
@@ -43,6 +103,47 @@ public class FastWebCacheProperties {
          * Redis缓存配置
          */
         private RedisCacheConfig redis;
+
+        /**
+         * 堆外缓存配置，位于本地缓存与 Redis 之间，只在近端缓存模式下生效
+         */
+        private OffHeapCacheConfig offHeap;
+
+        /**
+         * 该缓存的 Redis 值序列化配置，为空时使用全局配置
+         */
+        private SerializationConfig serialization;
+
+        /**
+         * 写入多久后提前刷新（秒），0 表示不提前刷新；需小于 expireTime 才生效
+         */
+        private long refreshAfterWrite = 0;
+
+        /**
+         * 过期后仍可返回旧值并后台刷新的时间（秒），0 表示不启用
+         */
+        private long staleWhileRevalidate = 0;
+
+        /**
+         * 是否启用软过期刷新
+         */
+        public boolean refreshEnabled() {
+            return refreshAfterWrite > 0 || staleWhileRevalidate > 0;
+        }
+
+        /**
+         * 软过期时间（秒）：超过后读取返回旧值并触发后台刷新
+         */
+        public long softExpireTime() {
+            return refreshAfterWrite > 0 ? Math.min(refreshAfterWrite, expireTime) : expireTime;
+        }
+
+        /**
+         * 硬过期时间（秒）：Redis 与本地存储实际保留数据的时间
+         */
+        public long hardExpireTime() {
+            return expireTime + Math.max(staleWhileRevalidate, 0);
+        }
     }
 
     @Data
@@ -58,9 +159,38 @@ public class FastWebCacheProperties {
         private int initialCapacity = 100;
 
         /**
-         * 最大容量
+         * 最大容量（条目数），设置了 maximumWeight 时不生效
          */
         private int maximumSize = 1000;
+
+        /**
+         * 最大容量（估算字节数），大于 0 时按对象估算大小而非条目数淘汰；
+         * 启用全局内存预算时作为初始分配比例
+         */
+        private long maximumWeight = 0;
+    }
+
+    @Data
+    public static class OffHeapCacheConfig {
+        /**
+         * 是否启用堆外缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 堆外内存总量（字节），计入 -XX:MaxDirectMemorySize
+         */
+        private long maximumSize = 64L * 1024 * 1024;
+
+        /**
+         * 单个 slab 大小（字节），也是堆外可保存的最大值
+         */
+        private int slabSize = 1024 * 1024;
+
+        /**
+         * 序列化后达到该字节数的值才放入堆外，较小的值仍保存在本地缓存
+         */
+        private int minValueSize = 4096;
     }
 
     @Data
@@ -75,4 +205,253 @@ public class FastWebCacheProperties {
          */
         private String keyPrefix;
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class NearCacheConfig {
+        /**
+         * 是否启用近端缓存，仅在 Redis 可用时生效
+         */
+        private boolean enabled = true;
+
+        /**
+         * 本地副本最长存活时间（秒），也是跨节点不一致窗口的上限
+         */
+        private long localExpireTime = 60;
+
+        /**
+         * 本地副本最大容量
+         */
+        private long maximumSize = 10000;
+
+        /**
+         * 失效消息的 Redis Pub/Sub 频道
+         */
+        private String channel = "fastweb:cache:invalidation";
+    }
+
+    @Data
+    public static class FallbackConfig {
+        /**
+         * 降级存储最大条目数，Redis 故障期间超出部分按近期访问情况淘汰
+         */
+        private long maximumSize = 10000;
+    }
+
+    @Data
+    public static class RefreshConfig {
+        /**
+         * 刷新线程数
+         */
+        private int poolSize = 2;
+
+        /**
+         * 等待队列长度，队列满时放弃刷新并继续返回旧值
+         */
+        private int queueCapacity = 256;
+    }
+
+    @Data
+    public static class WarmUpConfig {
+        /**
+         * 是否启用热点 key 统计与启动预热
+         */
+        private boolean enabled = false;
+
+        /**
+         * 快照文件路径，容器部署时应指向持久化卷
+         */
+        private String snapshotFile = "data/cache-hotkeys.json";
+
+        /**
+         * 快照保存间隔（秒）
+         */
+        private long snapshotInterval = 300;
+
+        /**
+         * 每个缓存保留的热点 key 数量
+         */
+        private int keysPerCache = 500;
+
+        /**
+         * 预热并发数
+         */
+        private int concurrency = 4;
+
+        /**
+         * 预热总耗时上限（秒），超时后放弃剩余 key 继续启动
+         */
+        private long timeout = 60;
+    }
+
+    @Data
+    public static class BudgetConfig {
+        /**
+         * 是否启用全局内存预算，启用后 configs 中所有本地缓存共享 maximumWeight
+         */
+        private boolean enabled = false;
+
+        /**
+         * 所有本地缓存的总容量（估算字节数）
+         */
+        private long maximumWeight = 64L * 1024 * 1024;
+
+        /**
+         * 单个缓存的最低份额（0~1）
+         */
+        private double minShare = 0.05;
+
+        /**
+         * 每次调整挪动的份额（0~1）
+         */
+        private double step = 0.05;
+
+        /**
+         * 调整间隔（秒）
+         */
+        private long rebalanceInterval = 60;
+    }
+
+    @Data
+    public static class IndexConfig {
+        /**
+         * 索引在 Redis 中的键前缀
+         */
+        private String keyPrefix = "fastweb:idx:";
+
+        /**
+         * 需要建立索引的键前缀，以这些前缀开头的键写入时登记索引，按前缀清除时无需遍历键空间
+         */
+        private List<String> prefixes = new ArrayList<>();
+    }
+
+    @Data
+    public static class HotKeyConfig {
+        /**
+         * 是否启用热点检测，仅在 CacheService 使用远程后端时生效
+         */
+        private boolean enabled = false;
+
+        /**
+         * 检测窗口（秒）
+         */
+        private long window = 10;
+
+        /**
+         * 窗口内的时间桶数量，越多窗口滑动越平滑
+         */
+        private int buckets = 10;
+
+        /**
+         * 窗口内本节点读取次数达到该值的 key 判定为热点
+         */
+        private int threshold = 1000;
+
+        /**
+         * 最多同时保留的热点数量
+         */
+        private int maxHotKeys = 100;
+
+        /**
+         * 热点本地副本存活时间（秒），也是其它节点修改后本节点可见的最大延迟
+         */
+        private long localTtl = 2;
+
+        /**
+         * 每个时间桶预计的不同 key 数量，决定计数草图的大小
+         */
+        private int expectedKeys = 4096;
+    }
+
+    @Data
+    public static class LockConfig {
+        /**
+         * 批量加锁使用的本地分段锁数量
+         */
+        private int stripes = 64;
+
+        /**
+         * 只在本 JVM 内竞争的锁名前缀，只适用于批量加锁（tryLockAll）：只加本地分段锁，不访问 Redis；
+         * 这类锁名不能通过 lock/tryLock 单独加锁
+         */
+        private List<String> localPrefixes = new ArrayList<>();
+
+        /**
+         * 持有时间超过该值时输出警告（毫秒），0 表示不检查
+         */
+        private long slowHoldThreshold = 5000;
+
+        /**
+         * 等待时间超过该值时记为一次竞争（毫秒）
+         */
+        private long contentionThreshold = 10;
+
+        /**
+         * 加锁时是否记录调用栈，慢持有警告中输出加锁位置
+         */
+        private boolean captureStack = true;
+    }
+
+    @Data
+    public static class CircuitBreakerConfig {
+        /**
+         * 是否启用熔断，仅在 CacheService 使用远程后端时生效
+         */
+        private boolean enabled = true;
+
+        /**
+         * 连续失败多少次后打开
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * 打开后多久进入半开并放行探测调用（秒）
+         */
+        private long openDuration = 10;
+
+        /**
+         * 半开时放行的探测调用数，全部成功后关闭
+         */
+        private int halfOpenCalls = 1;
+    }
+
+    @Data
+    public static class AsyncConfig {
+        /**
+         * 是否启用 AsyncCacheService，需要 Lettuce 连接工厂
+         */
+        private boolean enabled = true;
+
+        /**
+         * 未指定超时时间的调用使用的超时时间（毫秒）
+         */
+        private long timeout = 200;
+
+        /**
+         * 超时或 Redis 出错时是否回退到本地一级缓存，否则以异常完成
+         */
+        private boolean fallbackToLocal = true;
+    }
+
+    @Data
+    public static class SerializationConfig {
+        /**
+         * 序列化格式，SMILE 可读取 JSON 格式的已有数据
+         */
+        private SerializationFormat format = SerializationFormat.JSON;
+
+        /**
+         * 压缩算法
+         */
+        private CompressionAlgorithm compression = CompressionAlgorithm.NONE;
+
+        /**
+         * 序列化结果达到该字节数才压缩
+         */
+        private int compressionThreshold = 1024;
+
+        /**
+         * SMILE 格式的类型别名（别名 -> 类名），仅全局配置生效；别名写入后不可修改或复用
+         */
+        private Map<String, String> typeAliases = new LinkedHashMap<>();
+    }
+}
@@ -3,12 +3,15 @@ package com.company.fastweb.core.cache.controller;
 import com.company.fastweb.core.cache.converter.CacheConverter;
 import com.company.fastweb.core.cache.lock.DistributedLockClient;
 import com.company.fastweb.core.cache.model.dto.CacheInfoDTO;
+import com.company.fastweb.core.cache.model.dto.CacheKeyPageDTO;
 import com.company.fastweb.core.cache.model.dto.CacheStatisticsDTO;
 import com.company.fastweb.core.cache.model.dto.LockInfoDTO;
 import com.company.fastweb.core.cache.model.form.CacheQueryForm;
 import com.company.fastweb.core.cache.model.form.CacheSetForm;
 import com.company.fastweb.core.cache.model.vo.CacheInfoVO;
+import com.company.fastweb.core.cache.model.vo.CacheKeyPageVO;
 import com.company.fastweb.core.cache.model.vo.CacheStatisticsVO;
+import com.company.fastweb.core.cache.model.vo.HotKeyVO;
 import com.company.fastweb.core.cache.model.vo.LockInfoVO;
 import com.company.fastweb.core.cache.service.CacheService;
 import com.company.fastweb.core.common.response.ApiResult;
@@ -23,9 +26,9 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 缓存管理控制器
@@ -121,43 +124,56 @@ public class CacheController {
     }
 
     /**
-     * 根据模式查询缓存键
+     * 根据模式查询缓存键（基于 SCAN 游标分页）
      */
     @GetMapping("/keys")
-    public ResponseEntity<ApiResult<List<CacheInfoVO>>> getKeys(@Valid CacheQueryForm form) {
-        Set<String> keys = cacheService.keys(form.getPattern());
-        
-        List<CacheInfoVO> result = keys.stream()
-                .limit((long) form.getPageSize() * form.getPageNum())
-                .skip((long) (form.getPageNum() - 1) * form.getPageSize())
-                .map(key -> {
-                    CacheInfoDTO dto = CacheInfoDTO.builder()
-                            .key(key)
-                            .exists(cacheService.exists(key))
-                            .remainingTime(cacheService.getExpire(key))
-                            .cacheType("redis")
-                            .createTime(LocalDateTime.now())
-                            .build();
-                    
-                    if (form.getIncludeValue()) {
-                        dto.setValue(cacheService.get(key));
-                    }
-                    
-                    return cacheConverter.toVO(dto);
-                })
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(ApiResult.success(result));
+    public ResponseEntity<ApiResult<CacheKeyPageVO>> getKeys(@Valid CacheQueryForm form) {
+        CacheKeyPageDTO page = cacheService.scan(form.getPattern(), form.getCursor(), form.getPageSize());
+
+        // 每个键的剩余时间（及可选的值）在同一个管道内批量查询
+        List<String> keys = page.getKeys();
+        boolean includeValue = Boolean.TRUE.equals(form.getIncludeValue());
+        List<Object> results = cacheService.pipeline(batch -> keys.forEach(key -> {
+            batch.getExpire(key);
+            if (includeValue) {
+                batch.get(key);
+            }
+        }));
+
+        int step = includeValue ? 2 : 1;
+        List<CacheInfoVO> records = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            long remainingTime = ((Number) results.get(i * step)).longValue();
+            CacheInfoDTO dto = CacheInfoDTO.builder()
+                    .key(keys.get(i))
+                    .exists(remainingTime != -2)
+                    .remainingTime(remainingTime)
+                    .cacheType("redis")
+                    .createTime(LocalDateTime.now())
+                    .build();
+            if (includeValue) {
+                dto.setValue(results.get(i * step + 1));
+            }
+            records.add(cacheConverter.toVO(dto));
+        }
+
+        CacheKeyPageVO vo = CacheKeyPageVO.builder()
+                .records(records)
+                .cursor(page.getCursor())
+                .finished(page.getFinished())
+                .build();
+        return ResponseEntity.ok(ApiResult.success(vo));
     }
 
     /**
      * 批量删除缓存
      */
     @DeleteMapping("/batch")
-    public ResponseEntity<ApiResult<Void>> batchDeleteCache(@RequestBody Set<String> keys) {
-        cacheService.delete(keys);
-        log.info("批量删除缓存成功: keys={}", keys);
-        return ResponseEntity.ok(ApiResult.success(null));
+    public ResponseEntity<ApiResult<Long>> batchDeleteCache(@RequestBody Set<String> keys) {
+        List<Object> results = cacheService.pipeline(batch -> keys.forEach(batch::delete));
+        long deleted = results.stream().filter(Boolean.TRUE::equals).count();
+        log.info("批量删除缓存成功: requested={}, deleted={}", keys.size(), deleted);
+        return ResponseEntity.ok(ApiResult.success(deleted));
     }
 
     /**
@@ -175,16 +191,21 @@ public class CacheController {
      */
     @GetMapping("/statistics")
     public ResponseEntity<ApiResult<CacheStatisticsVO>> getStatistics() {
-        // 这里需要扩展CacheService接口来支持统计信息
-        CacheStatisticsDTO dto = CacheStatisticsDTO.builder()
-                .cacheType("redis")
-                .statisticsTime(LocalDateTime.now())
-                .build();
-        
+        CacheStatisticsDTO dto = cacheService.getStatistics();
+
         CacheStatisticsVO vo = cacheConverter.toStatisticsVO(dto);
         return ResponseEntity.ok(ApiResult.success(vo));
     }
 
+    /**
+     * 获取本节点当前的热点 key
+     */
+    @GetMapping("/hot-keys")
+    public ResponseEntity<ApiResult<List<HotKeyVO>>> getHotKeys() {
+        List<HotKeyVO> hotKeys = cacheConverter.toHotKeyVOList(cacheService.getHotKeys());
+        return ResponseEntity.ok(ApiResult.success(hotKeys));
+    }
+
     // ========== 分布式锁相关接口 ==========
 
     @GetMapping("/lock/info/{lockName}")
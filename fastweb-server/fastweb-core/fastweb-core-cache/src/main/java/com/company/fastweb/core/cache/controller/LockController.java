@@ -2,8 +2,11 @@ package com.company.fastweb.core.cache.controller;
 
 import com.company.fastweb.core.cache.converter.CacheConverter;
 import com.company.fastweb.core.cache.lock.DistributedLockClient;
+import com.company.fastweb.core.cache.metrics.LockPatternStatistics;
+import com.company.fastweb.core.cache.metrics.LockStatisticsRecorder;
 import com.company.fastweb.core.cache.model.dto.LockInfoDTO;
 import com.company.fastweb.core.cache.model.form.LockOperationForm;
+import com.company.fastweb.core.cache.model.vo.LockContentionVO;
 import com.company.fastweb.core.cache.model.vo.LockInfoVO;
 import com.company.fastweb.core.common.model.ApiResult;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +20,9 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -35,6 +41,7 @@ public class LockController {
 
     private final DistributedLockClient lockClient;
     private final CacheConverter cacheConverter;
+    private final LockStatisticsRecorder lockStatisticsRecorder;
 
     @PostMapping("/acquire")
     @Operation(summary = "获取锁", description = "获取分布式锁")
@@ -134,4 +141,23 @@ public class LockController {
             return ResponseEntity.ok(ApiResult.error("FORCE_UNLOCK_ERROR", "强制解锁失败: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/contended")
+    @Operation(summary = "竞争最激烈的锁", description = "本节点按竞争次数排序的锁")
+    public ResponseEntity<ApiResult<List<LockContentionVO>>> getContendedLocks(
+            @Parameter(description = "返回数量") @RequestParam(defaultValue = "10") int limit) {
+        List<LockContentionVO> locks = cacheConverter.toLockContentionVOList(
+                lockStatisticsRecorder.topContended(Math.max(limit, 1)));
+        return ResponseEntity.ok(ApiResult.success(locks));
+    }
+
+    @GetMapping("/statistics")
+    @Operation(summary = "加锁统计", description = "本节点按锁名模式统计的等待时间与持有时间分布")
+    public ResponseEntity<ApiResult<Map<String, Object>>> getLockStatistics() {
+        Map<String, Object> statistics = new TreeMap<>();
+        for (LockPatternStatistics pattern : lockStatisticsRecorder.getPatterns()) {
+            statistics.put(pattern.getPattern(), pattern.toMap());
+        }
+        return ResponseEntity.ok(ApiResult.success(statistics));
+    }
+}
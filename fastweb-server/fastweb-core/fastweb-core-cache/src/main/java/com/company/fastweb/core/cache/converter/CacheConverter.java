@@ -2,11 +2,15 @@ package com.company.fastweb.core.cache.converter;
 
 import com.company.fastweb.core.cache.model.dto.CacheInfoDTO;
 import com.company.fastweb.core.cache.model.dto.CacheStatisticsDTO;
+import com.company.fastweb.core.cache.model.dto.HotKeyDTO;
+import com.company.fastweb.core.cache.model.dto.LockContentionDTO;
 import com.company.fastweb.core.cache.model.dto.LockInfoDTO;
 import com.company.fastweb.core.cache.model.form.CacheSetForm;
 import com.company.fastweb.core.cache.model.form.LockOperationForm;
 import com.company.fastweb.core.cache.model.vo.CacheInfoVO;
 import com.company.fastweb.core.cache.model.vo.CacheStatisticsVO;
+import com.company.fastweb.core.cache.model.vo.HotKeyVO;
+import com.company.fastweb.core.cache.model.vo.LockContentionVO;
 import com.company.fastweb.core.cache.model.vo.LockInfoVO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -116,6 +120,27 @@ public interface CacheConverter {
         return sb.toString();
     }
 
+    /**
+     * 热点DTO转VO
+     */
+    @Mapping(target = "qps", expression = "java(toQps(dto))")
+    HotKeyVO toVO(HotKeyDTO dto);
+
+    /**
+     * 热点DTO列表转VO列表
+     */
+    List<HotKeyVO> toHotKeyVOList(List<HotKeyDTO> dtoList);
+
+    /**
+     * 按检测窗口折算每秒访问次数
+     */
+    default Double toQps(HotKeyDTO dto) {
+        if (dto.getWindowCount() == null || dto.getWindowMillis() == null || dto.getWindowMillis() <= 0) {
+            return 0.0;
+        }
+        return dto.getWindowCount() * 1000.0 / dto.getWindowMillis();
+    }
+
     // ========== 分布式锁相关转换 ==========
 
     /**
@@ -172,4 +197,14 @@ public interface CacheConverter {
             default -> status;
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * 锁竞争DTO转VO
+     */
+    LockContentionVO toVO(LockContentionDTO dto);
+
+    /**
+     * 锁竞争DTO列表转VO列表
+     */
+    List<LockContentionVO> toLockContentionVOList(List<LockContentionDTO> dtoList);
+}
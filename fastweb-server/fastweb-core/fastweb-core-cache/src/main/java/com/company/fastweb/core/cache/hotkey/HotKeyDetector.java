@@ -0,0 +1,217 @@
+package com.company.fastweb.core.cache.hotkey;
+
+import com.company.fastweb.core.cache.warmup.CountMinSketch;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 滑动窗口热点 key 检测
+ * <p>
+ * 窗口由 {@code bucketCount} 个时间桶组成，每个桶是一个不衰减的 {@link CountMinSketch}，
+ * 进入新的时间桶时清零最旧的桶；窗口内估算访问次数达到 {@code threshold} 的 key 判定为热点。
+ * 只有当前桶的计数达到 {@code threshold / bucketCount} 时才累加整个窗口，
+ * 窗口内总数达到阈值的 key 至少有一个桶满足该条件，普通 key 的记录开销只有一次草图计数。
+ * 热点最多保留 {@code capacity} 个，已满时替换窗口计数最小的热点；
+ * 连续一个窗口没有再达到阈值的热点自动移除。
+ *
+ * @author FastWeb
+ */
+public class HotKeyDetector {
+
+    private final CountMinSketch[] buckets;
+    private final long bucketMillis;
+    private final int threshold;
+    private final int bucketThreshold;
+    private final int capacity;
+    private final LongSupplier clock;
+    private final AtomicLong currentTick;
+    private final Map<String, HotKey> hotKeys = new ConcurrentHashMap<>();
+    private final AtomicLong promotions = new AtomicLong();
+
+    /**
+     * @param bucketCount  窗口内的时间桶数量
+     * @param bucketMillis 每个时间桶的长度（毫秒）
+     * @param threshold    窗口内判定为热点的访问次数
+     * @param capacity     最多保留的热点数量
+     * @param expectedKeys 每个时间桶预计的不同 key 数量
+     */
+    public HotKeyDetector(int bucketCount, long bucketMillis, int threshold, int capacity, int expectedKeys) {
+        this(bucketCount, bucketMillis, threshold, capacity, expectedKeys, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock 时钟（毫秒）
+     */
+    public HotKeyDetector(int bucketCount, long bucketMillis, int threshold, int capacity, int expectedKeys,
+                          LongSupplier clock) {
+        if (bucketCount < 1 || bucketMillis < 1 || threshold < 1 || capacity < 1) {
+            throw new IllegalArgumentException("热点检测参数无效: bucketCount=" + bucketCount
+                    + ", bucketMillis=" + bucketMillis + ", threshold=" + threshold + ", capacity=" + capacity);
+        }
+        this.buckets = new CountMinSketch[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new CountMinSketch(expectedKeys, false);
+        }
+        this.bucketMillis = bucketMillis;
+        this.threshold = threshold;
+        this.bucketThreshold = Math.max(threshold / bucketCount, 1);
+        this.capacity = capacity;
+        this.clock = clock;
+        this.currentTick = new AtomicLong(clock.getAsLong() / bucketMillis);
+    }
+
+    /**
+     * 记录一次访问
+     *
+     * @return 该 key 当前是否为热点
+     */
+    public boolean record(String key) {
+        long tick = advance();
+        int current = buckets[(int) (tick % buckets.length)].increment(key);
+        if (current < bucketThreshold) {
+            return isHot(key, tick);
+        }
+        long windowCount = 0;
+        for (CountMinSketch bucket : buckets) {
+            windowCount += bucket.estimate(key);
+        }
+        if (windowCount < threshold) {
+            return isHot(key, tick);
+        }
+        HotKey hotKey = hotKeys.get(key);
+        if (hotKey != null) {
+            hotKey.windowCount = windowCount;
+            hotKey.lastHotTick = tick;
+            return true;
+        }
+        return promote(key, windowCount, tick);
+    }
+
+    /**
+     * 该 key 当前是否为热点（不计入访问次数）
+     */
+    public boolean isHot(String key) {
+        return isHot(key, advance());
+    }
+
+    /**
+     * 当前热点，按窗口访问次数从高到低排序
+     */
+    public List<HotKey> hotKeys() {
+        long tick = advance();
+        return hotKeys.values().stream()
+                .filter(hotKey -> !expired(hotKey, tick))
+                .sorted(Comparator.comparingLong(HotKey::getWindowCount).reversed())
+                .toList();
+    }
+
+    /**
+     * 累计判定为热点的次数
+     */
+    public long getPromotions() {
+        return promotions.get();
+    }
+
+    /**
+     * 窗口长度（毫秒）
+     */
+    public long getWindowMillis() {
+        return bucketMillis * buckets.length;
+    }
+
+    private boolean promote(String key, long windowCount, long tick) {
+        synchronized (hotKeys) {
+            if (hotKeys.containsKey(key)) {
+                return true;
+            }
+            if (hotKeys.size() >= capacity) {
+                HotKey coldest = hotKeys.values().stream()
+                        .min(Comparator.comparingLong(HotKey::getWindowCount))
+                        .orElseThrow();
+                if (coldest.windowCount >= windowCount) {
+                    return false;
+                }
+                hotKeys.remove(coldest.key);
+            }
+            hotKeys.put(key, new HotKey(key, windowCount, clock.getAsLong(), tick));
+            promotions.incrementAndGet();
+            return true;
+        }
+    }
+
+    private boolean isHot(String key, long tick) {
+        HotKey hotKey = hotKeys.get(key);
+        if (hotKey == null) {
+            return false;
+        }
+        if (expired(hotKey, tick)) {
+            hotKeys.remove(key, hotKey);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean expired(HotKey hotKey, long tick) {
+        return tick - hotKey.lastHotTick >= buckets.length;
+    }
+
+    /**
+     * 进入新的时间桶时清零其间经过的桶
+     *
+     * @return 当前时间桶编号
+     */
+    private long advance() {
+        long tick = clock.getAsLong() / bucketMillis;
+        long previous = currentTick.get();
+        if (tick <= previous || !currentTick.compareAndSet(previous, tick)) {
+            return Math.max(tick, currentTick.get());
+        }
+        long from = Math.max(previous + 1, tick - buckets.length + 1);
+        for (long t = from; t <= tick; t++) {
+            buckets[(int) (t % buckets.length)].clear();
+        }
+        hotKeys.values().removeIf(hotKey -> expired(hotKey, tick));
+        return tick;
+    }
+
+    /**
+     * 热点 key 及其窗口访问次数
+     */
+    public static final class HotKey {
+
+        private final String key;
+        private final long detectedAt;
+        private volatile long windowCount;
+        private volatile long lastHotTick;
+
+        HotKey(String key, long windowCount, long detectedAt, long lastHotTick) {
+            this.key = key;
+            this.windowCount = windowCount;
+            this.detectedAt = detectedAt;
+            this.lastHotTick = lastHotTick;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * 最近一次判定时的窗口访问次数（估算值）
+         */
+        public long getWindowCount() {
+            return windowCount;
+        }
+
+        /**
+         * 判定为热点的时间戳（毫秒）
+         */
+        public long getDetectedAt() {
+            return detectedAt;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.company.fastweb.core.cache.hotkey;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 热点 key 本地副本
+ * <p>
+ * CacheService 每次读取先经 {@link HotKeyDetector} 计数，被判定为热点的 key 在本节点保留一份短时副本，
+ * 之后的读取直接返回副本，不再访问 Redis，避免单个分片被同一个 key 打满。
+ * 本节点的写入、删除会立即清除副本；其它节点的修改最多延迟 {@code localTtl} 后可见，
+ * 因此 localTtl 应保持在秒级。
+ * <p>
+ * 读取远程前通过 {@link #version} 取得 key 的版本号，每次清除副本都会递增版本号（按 key 散列分段计数），
+ * 加载期间发生过清除时 {@link #onLoad} 放弃复制，避免把并发写入之前读到的旧值留作副本。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class HotKeyReplicator {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final HotKeyDetector detector;
+    private final Cache<String, Object> replicas;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final LongAdder localHits = new LongAdder();
+
+    /**
+     * @param localTtl 本地副本存活时间
+     */
+    public HotKeyReplicator(HotKeyDetector detector, int maximumSize, Duration localTtl) {
+        this.detector = detector;
+        this.replicas = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(localTtl)
+                .build();
+    }
+
+    /**
+     * 记录一次读取，是热点且有本地副本时返回副本
+     */
+    public Object get(String key) {
+        if (!detector.record(key)) {
+            return null;
+        }
+        Object value = replicas.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 从远程读取前调用，返回传给 {@link #onLoad} 的版本号
+     */
+    public long version(String key) {
+        return versions.get(stripe(key));
+    }
+
+    /**
+     * 从远程读取后调用，是热点且读取期间未被清除时保存本地副本
+     *
+     * @param version 读取前 {@link #version} 返回的版本号
+     */
+    public void onLoad(String key, Object value, long version) {
+        if (value == null || !detector.isHot(key)) {
+            return;
+        }
+        int stripe = stripe(key);
+        boolean[] replicated = new boolean[1];
+        // 在映射的锁内核对版本号，与 invalidate 中"先递增版本、再清除副本"配合，过期的读取结果不会留下
+        replicas.asMap().compute(key, (k, existing) -> {
+            if (existing != null || versions.get(stripe) != version) {
+                return existing;
+            }
+            replicated[0] = true;
+            return value;
+        });
+        if (replicated[0]) {
+            log.debug("热点 key 已复制到本地: key={}", key);
+        }
+    }
+
+    public void invalidate(String key) {
+        versions.incrementAndGet(stripe(key));
+        replicas.invalidate(key);
+    }
+
+    public void invalidate(Collection<String> keys) {
+        keys.forEach(key -> versions.incrementAndGet(stripe(key)));
+        replicas.invalidateAll(keys);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        replicas.invalidateAll();
+    }
+
+    /**
+     * 当前热点
+     */
+    public List<HotKeyDetector.HotKey> hotKeys() {
+        return detector.hotKeys();
+    }
+
+    /**
+     * 是否持有该 key 的本地副本
+     */
+    public boolean isReplicated(String key) {
+        return replicas.getIfPresent(key) != null;
+    }
+
+    /**
+     * 由本地副本直接返回的读取次数
+     */
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    /**
+     * 累计判定为热点的次数
+     */
+    public long getPromotions() {
+        return detector.getPromotions();
+    }
+
+    /**
+     * 当前本地副本数量
+     */
+    public long getReplicaCount() {
+        return replicas.estimatedSize();
+    }
+
+    public HotKeyDetector getDetector() {
+        return detector;
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+}
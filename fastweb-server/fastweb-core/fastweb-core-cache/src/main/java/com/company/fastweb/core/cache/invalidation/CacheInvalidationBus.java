@@ -0,0 +1,23 @@
+package com.company.fastweb.core.cache.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * 本地缓存失效消息总线
+ * <p>
+ * 节点写入或删除远程缓存后发布失效消息，其它节点收到后丢弃各自的本地副本。
+ *
+ * @author FastWeb
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * 发布失效消息
+     */
+    void publish(CacheInvalidationMessage message);
+
+    /**
+     * 订阅失效消息
+     */
+    void subscribe(Consumer<CacheInvalidationMessage> listener);
+}
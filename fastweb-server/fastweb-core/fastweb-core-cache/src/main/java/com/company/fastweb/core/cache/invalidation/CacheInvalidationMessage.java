@@ -0,0 +1,69 @@
+package com.company.fastweb.core.cache.invalidation;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 本地缓存失效消息
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+
+    /**
+     * CacheService 键空间使用的缓存名称
+     */
+    public static final String SERVICE_CACHE_NAME = "__cache_service__";
+
+    /**
+     * 发送方节点ID，接收方据此忽略自己发出的消息
+     */
+    private String origin;
+
+    /**
+     * 缓存名称
+     */
+    private String cacheName;
+
+    /**
+     * 缓存键，与 keys 均为空时表示清空整个缓存
+     */
+    private String key;
+
+    /**
+     * 批量失效的缓存键，批量写入时合并为一条消息
+     */
+    private List<String> keys;
+
+    @JsonIgnore
+    public boolean isClearAll() {
+        return key == null && (keys == null || keys.isEmpty());
+    }
+
+    /**
+     * 本消息涉及的全部键
+     */
+    @JsonIgnore
+    public Collection<String> getAllKeys() {
+        if (keys == null || keys.isEmpty()) {
+            return key != null ? List.of(key) : List.of();
+        }
+        if (key == null) {
+            return keys;
+        }
+        List<String> all = new ArrayList<>(keys);
+        all.add(key);
+        return all;
+    }
+}
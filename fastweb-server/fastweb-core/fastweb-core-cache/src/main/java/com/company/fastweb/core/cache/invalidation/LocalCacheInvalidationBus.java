@@ -0,0 +1,34 @@
+package com.company.fastweb.core.cache.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 进程内失效消息总线，单节点部署或测试时使用
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<Consumer<CacheInvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        for (Consumer<CacheInvalidationMessage> listener : listeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("处理缓存失效消息失败: cacheName={}, key={}", message.getCacheName(), message.getKey(), e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,83 @@
+package com.company.fastweb.core.cache.invalidation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 基于 Redis Pub/Sub 的失效消息总线
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class RedisCacheInvalidationBus implements CacheInvalidationBus, InitializingBean, DisposableBean {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String channel;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Consumer<CacheInvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+
+    public RedisCacheInvalidationBus(RedisConnectionFactory connectionFactory,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     String channel) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.channel = channel;
+        this.container.setConnectionFactory(connectionFactory);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        container.addMessageListener((message, pattern) -> dispatch(message.getBody()), new ChannelTopic(channel));
+        container.afterPropertiesSet();
+        container.start();
+        log.info("FastWeb cache invalidation bus subscribed: channel={}", channel);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.warn("序列化缓存失效消息失败: cacheName={}, key={}", message.getCacheName(), message.getKey(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+
+    private void dispatch(byte[] body) {
+        CacheInvalidationMessage message;
+        try {
+            message = objectMapper.readValue(new String(body, StandardCharsets.UTF_8), CacheInvalidationMessage.class);
+        } catch (Exception e) {
+            log.warn("解析缓存失效消息失败", e);
+            return;
+        }
+        for (Consumer<CacheInvalidationMessage> listener : listeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("处理缓存失效消息失败: cacheName={}, key={}", message.getCacheName(), message.getKey(), e);
+            }
+        }
+    }
+}
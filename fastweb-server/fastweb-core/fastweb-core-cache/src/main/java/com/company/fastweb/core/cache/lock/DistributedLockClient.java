@@ -1,18 +1,46 @@
 package com.company.fastweb.core.cache.lock;
 
+import org.redisson.RedissonObject;
+import org.redisson.api.RFencedLock;
 import org.redisson.api.RLock;
+import org.redisson.api.RScript;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import com.company.fastweb.core.cache.config.FastWebCacheProperties;
+import com.company.fastweb.core.cache.metrics.LockStatisticsRecorder;
 import com.company.fastweb.core.cache.model.dto.LockInfoDTO;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.time.LocalDateTime;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Redisson 分布式锁客户端
+ * <p>
+ * {@code *Fenced} 方法使用 Redisson 的 fencing lock，每次加锁返回单调递增的 token（{@link FencedLease}），
+ * 配合 {@link FencingTokenGuard} 拒绝租约过期后的迟到写入，因此可以使用较短的租约。
+ * fencing lock 与普通锁是不同的 Redis 对象，同一锁名不要混用两种加锁方式。
+ * <p>
+ * {@link #tryLockAll} 批量加锁：先按段编号顺序获取本地分段锁，同一 JVM 内的竞争在本地排队；
+ * 再用一个 Lua 脚本按锁名排序后一次性在 Redis 上加全部锁，要么全部成功要么全部不加，不会出现持有一部分等待另一部分的死锁。
+ * Redis 上的锁与 {@link RLock} 格式相同，可以与 {@link #tryLock} 等方法互斥。
+ * 以 fastweb.cache.lock.localPrefixes 中前缀开头的锁名只在本 JVM 内竞争，只加本地分段锁，不访问 Redis；
+ * 这类锁名只能通过 {@link #tryLockAll} 获取，{@link #lock}、{@link #tryLock} 会拒绝，
+ * 否则同一锁名分别加在本地与 Redis 上，彼此不互斥。
+ * <p>
+ * 各加锁方法（含 fencing lock 与批量加锁）的等待时间、持有时间和竞争情况记录到 {@link LockStatisticsRecorder}，
+ * 持有时间在 {@link #unlock}、{@link FencedLease#close()} 或 {@link MultiLockLease#close()} 释放时计算。
  */
 @Slf4j
 @Component
@@ -20,36 +48,276 @@ import lombok.extern.slf4j.Slf4j;
 @ConditionalOnBean(RedissonClient.class)
 public class DistributedLockClient {
 
+    /**
+     * 按顺序检查全部锁名，任一被其它持有者占用时返回其序号（从 1 开始），否则全部加锁（可重入）并返回 0
+     */
+    private static final String LOCK_ALL_SCRIPT = """
+            for i, key in ipairs(KEYS) do
+                if redis.call('exists', key) == 1 and redis.call('hexists', key, ARGV[2]) == 0 then
+                    return i
+                end
+            end
+            for i, key in ipairs(KEYS) do
+                redis.call('hincrby', key, ARGV[2], 1)
+                redis.call('pexpire', key, ARGV[1])
+            end
+            return 0
+            """;
+
+    /**
+     * 释放本持有者的全部锁，计数归零时删除并通知 Redisson 中等待该锁的客户端
+     */
+    private static final String UNLOCK_ALL_SCRIPT = """
+            for i, key in ipairs(KEYS) do
+                if redis.call('hexists', key, ARGV[1]) == 1 then
+                    if redis.call('hincrby', key, ARGV[1], -1) <= 0 then
+                        redis.call('del', key)
+                        redis.call('publish', ARGV[i + 1], 0)
+                    end
+                end
+            end
+            return 0
+            """;
+
+    /**
+     * tryLockAll 重试的最大退避时间（毫秒）
+     */
+    private static final long MAX_BACKOFF_MILLIS = 100;
+
     private final RedissonClient redissonClient;
+    private final StripedLocks stripedLocks;
+    private final List<String> localPrefixes;
+    private final LockStatisticsRecorder statistics;
 
-    public DistributedLockClient(RedissonClient redissonClient) {
+    @Autowired
+    public DistributedLockClient(RedissonClient redissonClient, ObjectProvider<FastWebCacheProperties> propertiesProvider,
+                                 ObjectProvider<LockStatisticsRecorder> statisticsProvider) {
+        this(redissonClient, propertiesProvider.getIfAvailable(FastWebCacheProperties::new).getLock(),
+                statisticsProvider.getIfAvailable());
+    }
+
+    /**
+     * @param lock       分段锁数量、本地锁名前缀等配置
+     * @param statistics 加锁统计，可为 null
+     */
+    public DistributedLockClient(RedissonClient redissonClient, FastWebCacheProperties.LockConfig lock,
+                                 LockStatisticsRecorder statistics) {
         this.redissonClient = redissonClient;
+        this.stripedLocks = new StripedLocks(lock.getStripes());
+        this.localPrefixes = List.copyOf(lock.getLocalPrefixes());
+        this.statistics = statistics;
     }
 
     public RLock lock(String lockName) {
+        checkNotLocalOnly(lockName);
         RLock lock = redissonClient.getLock(lockName);
+        long start = System.nanoTime();
         lock.lock();
+        recordAcquired(lockName, start, -1, TimeUnit.MILLISECONDS);
         return lock;
     }
 
     public RLock lock(String lockName, long leaseTime, TimeUnit unit) {
+        checkNotLocalOnly(lockName);
         RLock lock = redissonClient.getLock(lockName);
+        long start = System.nanoTime();
         lock.lock(leaseTime, unit);
+        recordAcquired(lockName, start, leaseTime, unit);
         return lock;
     }
 
     public boolean tryLock(String lockName, long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
+        checkNotLocalOnly(lockName);
         RLock lock = redissonClient.getLock(lockName);
-        return lock.tryLock(waitTime, leaseTime, unit);
+        long start = System.nanoTime();
+        boolean acquired = lock.tryLock(waitTime, leaseTime, unit);
+        if (acquired) {
+            recordAcquired(lockName, start, leaseTime, unit);
+        } else {
+            recordFailed(lockName, start);
+        }
+        return acquired;
+    }
+
+    /**
+     * 立即尝试获取 fencing lock，不等待
+     *
+     * @param leaseTime 租约时间，-1 表示由看门狗自动续期
+     * @return 获取失败时返回 null
+     */
+    public FencedLease tryLockFenced(String lockName, long leaseTime, TimeUnit unit) {
+        return tryLockFenced(lockName, 0, leaseTime, unit);
+    }
+
+    /**
+     * 在等待时间内尝试获取 fencing lock
+     *
+     * @param leaseTime 租约时间，-1 表示由看门狗自动续期
+     * @return 获取失败时返回 null
+     */
+    public FencedLease tryLockFenced(String lockName, long waitTime, long leaseTime, TimeUnit unit) {
+        RFencedLock lock = redissonClient.getFencedLock(lockName);
+        long start = System.nanoTime();
+        Long token = lock.tryLockAndGetToken(waitTime, leaseTime, unit);
+        if (token == null) {
+            recordFailed(lockName, start);
+            return null;
+        }
+        recordAcquired(lockName, start, leaseTime, unit);
+        return new FencedLease(lockName, token, lock, this);
+    }
+
+    /**
+     * 阻塞获取 fencing lock
+     *
+     * @param leaseTime 租约时间，-1 表示由看门狗自动续期
+     */
+    public FencedLease lockFenced(String lockName, long leaseTime, TimeUnit unit) {
+        RFencedLock lock = redissonClient.getFencedLock(lockName);
+        long start = System.nanoTime();
+        Long token = lock.lockAndGetToken(leaseTime, unit);
+        recordAcquired(lockName, start, leaseTime, unit);
+        return new FencedLease(lockName, token, lock, this);
+    }
+
+    /**
+     * 锁名当前的 fencing token（最近一次加锁获得的值），没有加锁过时返回 null
+     */
+    public Long getFencingToken(String lockName) {
+        return redissonClient.getFencedLock(lockName).getToken();
+    }
+
+    /**
+     * 批量加锁，全部获得或全部不获得
+     * <p>
+     * Redis 集群模式下一个脚本内的键必须位于同一个 slot，批量加锁的锁名需使用相同的 hash tag，如 {@code {order}:1}。
+     *
+     * @param lockNames 锁名，重复的只加一次
+     * @param waitTime  等待时间，包括本地分段锁与 Redis 锁
+     * @param leaseTime 租约时间，必须大于 0（批量锁没有看门狗续期）
+     * @return 获取失败时返回 null
+     */
+    public MultiLockLease tryLockAll(Collection<String> lockNames, long waitTime, long leaseTime, TimeUnit unit)
+            throws InterruptedException {
+        if (leaseTime <= 0) {
+            throw new IllegalArgumentException("批量加锁必须指定租约时间: leaseTime=" + leaseTime);
+        }
+        List<String> names = List.copyOf(new TreeSet<>(lockNames));
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(waitTime);
+        List<ReentrantLock> localLocks = new ArrayList<>();
+        boolean acquired = false;
+        try {
+            for (int index : stripedLocks.indexesOf(names)) {
+                ReentrantLock stripe = stripedLocks.get(index);
+                if (!stripe.tryLock(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+                    return null;
+                }
+                localLocks.add(stripe);
+            }
+            List<String> redisNames = names.stream().filter(name -> !isLocalOnly(name)).toList();
+            long threadId = Thread.currentThread().getId();
+            if (!redisNames.isEmpty() && !lockAll(redisNames, threadId, unit.toMillis(leaseTime), deadline)) {
+                return null;
+            }
+            acquired = true;
+            names.forEach(name -> recordAcquired(name, start, leaseTime, unit));
+            return new MultiLockLease(names, redisNames, localLocks, this, threadId);
+        } finally {
+            if (!acquired) {
+                for (int i = localLocks.size() - 1; i >= 0; i--) {
+                    localLocks.get(i).unlock();
+                }
+                names.forEach(name -> recordFailed(name, start));
+            }
+        }
+    }
+
+    private boolean lockAll(List<String> lockNames, long threadId, long leaseMillis, long deadline)
+            throws InterruptedException {
+        List<Object> keys = new ArrayList<>(lockNames);
+        String owner = redissonClient.getId() + ":" + threadId;
+        long backoff = 5;
+        while (true) {
+            Long conflict = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                    LOCK_ALL_SCRIPT, RScript.ReturnType.INTEGER, keys, String.valueOf(leaseMillis), owner);
+            if (conflict != null && conflict == 0L) {
+                return true;
+            }
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                log.debug("批量加锁超时: locks={}, conflict={}", lockNames.size(),
+                        conflict != null ? lockNames.get(conflict.intValue() - 1) : null);
+                return false;
+            }
+            Thread.sleep(Math.min(ThreadLocalRandom.current().nextLong(1, backoff + 1), remaining));
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * 释放 {@link #tryLockAll} 在 Redis 上加的锁
+     */
+    void unlockAll(List<String> lockNames, long threadId) {
+        List<Object> keys = new ArrayList<>(lockNames);
+        Object[] args = new Object[lockNames.size() + 1];
+        args[0] = redissonClient.getId() + ":" + threadId;
+        for (int i = 0; i < lockNames.size(); i++) {
+            args[i + 1] = RedissonObject.prefixName("redisson_lock__channel", lockNames.get(i));
+        }
+        redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, UNLOCK_ALL_SCRIPT,
+                RScript.ReturnType.INTEGER, keys, args);
+    }
+
+    private boolean isLocalOnly(String lockName) {
+        for (String prefix : localPrefixes) {
+            if (lockName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 仅本地竞争的锁名只加本地分段锁，单个加锁走 Redis 会与批量加锁失去互斥
+     */
+    private void checkNotLocalOnly(String lockName) {
+        if (isLocalOnly(lockName)) {
+            throw new IllegalArgumentException("仅本地竞争的锁名只能通过 tryLockAll 加锁: " + lockName);
+        }
     }
 
     public void unlock(String lockName) {
         redissonClient.getLock(lockName).unlock();
+        recordReleased(lockName);
     }
 
     public void unlock(RLock lock) {
         if (lock != null && lock.isHeldByCurrentThread()) {
             lock.unlock();
+            recordReleased(lock.getName());
+        }
+    }
+
+    /**
+     * 记录当前线程释放锁，供 {@link FencedLease} 与 {@link MultiLockLease} 关闭时调用
+     */
+    void recordReleased(String lockName) {
+        if (statistics != null) {
+            statistics.recordReleased(lockName);
+        }
+    }
+
+    private void recordAcquired(String lockName, long startNanos, long leaseTime, TimeUnit unit) {
+        if (statistics != null) {
+            long leaseNanos = leaseTime > 0 ? unit.toNanos(leaseTime) : -1;
+            statistics.recordAcquired(lockName, System.nanoTime() - startNanos, leaseNanos);
+        }
+    }
+
+    private void recordFailed(String lockName, long startNanos) {
+        if (statistics != null) {
+            statistics.recordFailed(lockName, System.nanoTime() - startNanos);
         }
     }
 
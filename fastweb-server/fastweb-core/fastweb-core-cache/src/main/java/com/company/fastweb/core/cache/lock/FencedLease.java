@@ -0,0 +1,57 @@
+package com.company.fastweb.core.cache.lock;
+
+import org.redisson.api.RFencedLock;
+
+/**
+ * 带 fencing token 的锁持有凭证
+ * <p>
+ * 每次成功加锁都从 Redis 获得一个比此前所有加锁都大的 token。持有者在租约内做的每次写入都应带上
+ * {@link #getToken()}，由 {@link FencingTokenGuard} 或存储端比较 token，拒绝已被后来者取代的写入——
+ * 即使持有者因 GC 停顿等原因在租约过期后才执行写入，也不会覆盖新持有者的数据。
+ * 可用于 try-with-resources，关闭时释放本线程持有的锁。
+ *
+ * @author FastWeb
+ */
+public final class FencedLease implements AutoCloseable {
+
+    private final String lockName;
+    private final long token;
+    private final RFencedLock lock;
+    private final DistributedLockClient client;
+
+    FencedLease(String lockName, long token, RFencedLock lock, DistributedLockClient client) {
+        this.lockName = lockName;
+        this.token = token;
+        this.lock = lock;
+        this.client = client;
+    }
+
+    public String getLockName() {
+        return lockName;
+    }
+
+    /**
+     * 本次加锁的 fencing token，同一锁名下单调递增
+     */
+    public long getToken() {
+        return token;
+    }
+
+    /**
+     * 锁是否仍由本线程持有；返回 true 也不代表写入安全，写入仍需校验 token
+     */
+    public boolean isHeld() {
+        return lock.isHeldByCurrentThread();
+    }
+
+    /**
+     * 释放锁，租约已过期或锁不由本线程持有时忽略
+     */
+    @Override
+    public void close() {
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+            client.recordReleased(lockName);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.company.fastweb.core.cache.lock;
+
+import java.util.function.Supplier;
+
+/**
+ * fencing token 校验
+ * <p>
+ * 为每个受保护的资源记录已见过的最大 token，小于该值的写入视为过期持有者的写入而被拒绝，
+ * 相同 token 可以重复写入。校验与写入不是同一个原子操作：校验通过后才被取代的持有者仍可能完成一次写入，
+ * 存储本身支持条件写入时（如数据库 {@code WHERE fence_token <= ?}）应同时把 token 写入数据并由存储比较。
+ *
+ * @author FastWeb
+ */
+public interface FencingTokenGuard {
+
+    /**
+     * 校验并记录 token
+     *
+     * @param resource 受保护的资源，通常与锁名相同
+     * @param token    {@link FencedLease#getToken()}
+     * @return token 不小于已记录的最大值时返回 true
+     */
+    boolean accept(String resource, long token);
+
+    /**
+     * 校验 token，过期时抛出 {@link StaleFencingTokenException}
+     */
+    default void check(String resource, long token) {
+        if (!accept(resource, token)) {
+            throw new StaleFencingTokenException(resource, token);
+        }
+    }
+
+    /**
+     * 校验 token 通过后执行写入
+     */
+    default <T> T write(String resource, long token, Supplier<T> writer) {
+        check(resource, token);
+        return writer.get();
+    }
+
+    /**
+     * 使用租约的锁名与 token 校验后执行写入
+     */
+    default <T> T write(FencedLease lease, Supplier<T> writer) {
+        return write(lease.getLockName(), lease.getToken(), writer);
+    }
+}
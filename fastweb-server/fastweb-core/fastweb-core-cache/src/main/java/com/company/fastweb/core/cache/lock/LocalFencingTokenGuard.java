@@ -0,0 +1,20 @@
+package com.company.fastweb.core.cache.lock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内 fencing token 校验，适用于只在本节点写入的资源
+ *
+ * @author FastWeb
+ */
+public class LocalFencingTokenGuard implements FencingTokenGuard {
+
+    private final Map<String, Long> highest = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean accept(String resource, long token) {
+        long current = highest.merge(resource, token, Math::max);
+        return token >= current;
+    }
+}
@@ -0,0 +1,65 @@
+package com.company.fastweb.core.cache.lock;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link DistributedLockClient#tryLockAll} 获得的一组锁
+ * <p>
+ * 持有本地分段锁，因此必须由加锁线程关闭；可用于 try-with-resources。
+ *
+ * @author FastWeb
+ */
+public final class MultiLockLease implements AutoCloseable {
+
+    private final List<String> lockNames;
+    private final List<String> redisLockNames;
+    private final List<ReentrantLock> localLocks;
+    private final DistributedLockClient client;
+    private final long threadId;
+    private boolean closed;
+
+    MultiLockLease(List<String> lockNames, List<String> redisLockNames, List<ReentrantLock> localLocks,
+                   DistributedLockClient client, long threadId) {
+        this.lockNames = lockNames;
+        this.redisLockNames = redisLockNames;
+        this.localLocks = localLocks;
+        this.client = client;
+        this.threadId = threadId;
+    }
+
+    /**
+     * 全部锁名，按加锁顺序排列
+     */
+    public List<String> getLockNames() {
+        return lockNames;
+    }
+
+    /**
+     * 其中在 Redis 上加锁的锁名（其余只加了本地锁）
+     */
+    public List<String> getRedisLockNames() {
+        return redisLockNames;
+    }
+
+    /**
+     * 释放全部锁，重复调用时忽略
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (!redisLockNames.isEmpty()) {
+                client.unlockAll(redisLockNames, threadId);
+            }
+        } finally {
+            for (int i = localLocks.size() - 1; i >= 0; i--) {
+                localLocks.get(i).unlock();
+            }
+            lockNames.forEach(client::recordReleased);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.company.fastweb.core.cache.lock;
+
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 基于 Redis 的 fencing token 校验，多个节点写入同一资源时使用
+ * <p>
+ * 每个资源的最大 token 保存在 {@code fastweb:fence:<resource>}，比较与更新在一个 Lua 脚本内完成。
+ * 该键不设过期时间，与 Redisson 保存 token 计数器的键保持一致。
+ *
+ * @author FastWeb
+ */
+@Component
+@ConditionalOnClass(RedissonClient.class)
+@ConditionalOnBean(RedissonClient.class)
+public class RedisFencingTokenGuard implements FencingTokenGuard {
+
+    private static final String KEY_PREFIX = "fastweb:fence:";
+
+    private static final String ACCEPT_SCRIPT = """
+            local current = redis.call('get', KEYS[1])
+            if current and tonumber(current) > tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('set', KEYS[1], ARGV[1])
+            return 1
+            """;
+
+    private final RedissonClient redissonClient;
+
+    public RedisFencingTokenGuard(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    @Override
+    public boolean accept(String resource, long token) {
+        Long accepted = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, ACCEPT_SCRIPT,
+                RScript.ReturnType.INTEGER, List.of(KEY_PREFIX + resource), String.valueOf(token));
+        return accepted != null && accepted == 1L;
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.fastweb.core.cache.lock;
+
+/**
+ * fencing token 已被更大的 token 取代，说明锁已被其它持有者获得
+ *
+ * @author FastWeb
+ */
+public class StaleFencingTokenException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String resource;
+    private final long token;
+
+    public StaleFencingTokenException(String resource, long token) {
+        super("fencing token 已过期: resource=" + resource + ", token=" + token);
+        this.resource = resource;
+        this.token = token;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public long getToken() {
+        return token;
+    }
+}
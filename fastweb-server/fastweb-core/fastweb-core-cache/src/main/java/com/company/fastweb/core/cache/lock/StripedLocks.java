@@ -0,0 +1,54 @@
+package com.company.fastweb.core.cache.lock;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 进程内分段锁
+ * <p>
+ * 锁名按哈希映射到固定数量的 {@link ReentrantLock}，不同锁名可能落在同一段上（只会多等待，不会失去互斥）。
+ * 同一批锁名按段编号从小到大加锁，多个线程批量加锁时不会因顺序不一致而死锁。
+ *
+ * @author FastWeb
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * @param stripes 段数，向上取整为 2 的幂
+     */
+    public StripedLocks(int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 锁名对应的段编号
+     */
+    public int indexOf(String lockName) {
+        int h = lockName.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    public ReentrantLock get(int index) {
+        return stripes[index];
+    }
+
+    /**
+     * 一批锁名对应的段编号，去重并从小到大排序
+     */
+    public int[] indexesOf(Collection<String> lockNames) {
+        return lockNames.stream().mapToInt(this::indexOf).distinct().sorted().toArray();
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+}
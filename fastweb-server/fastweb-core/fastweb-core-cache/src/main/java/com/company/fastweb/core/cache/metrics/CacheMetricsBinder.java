@@ -0,0 +1,175 @@
+package com.company.fastweb.core.cache.metrics;
+
+import com.company.fastweb.core.cache.hotkey.HotKeyReplicator;
+import com.company.fastweb.core.cache.support.CircuitBreaker;
+import com.company.fastweb.core.cache.support.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 将 {@link CacheStatisticsRecorder} 及缓存服务端信息导出为 Micrometer 指标
+ * <p>
+ * 耗时分布以 Gauge 形式导出分位值（微秒），不在热路径上重复记录 Timer。
+ * 启用热点检测时同时导出热点数量、本地副本命中次数；启用熔断时按后端导出熔断状态与拒绝次数。
+ *
+ * @author FastWeb
+ */
+public class CacheMetricsBinder implements MeterBinder {
+
+    private static final String PREFIX = "fastweb.cache";
+
+    /**
+     * 服务端信息的缓存时间，避免每个 Gauge 采集都执行一次 INFO
+     */
+    private static final long SERVER_INFO_TTL_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final CacheStatisticsRecorder recorder;
+    private final Supplier<Map<String, Long>> serverInfoSupplier;
+    private final HotKeyReplicator hotKeyReplicator;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private volatile Map<String, Long> serverInfo = Map.of();
+    private volatile long serverInfoLoadedAt;
+
+    /**
+     * @param recorder           运行时统计
+     * @param serverInfoSupplier 缓存服务端信息（如 Redis INFO），可为 null
+     */
+    public CacheMetricsBinder(CacheStatisticsRecorder recorder, Supplier<Map<String, Long>> serverInfoSupplier) {
+        this(recorder, serverInfoSupplier, null);
+    }
+
+    /**
+     * @param recorder           运行时统计
+     * @param serverInfoSupplier 缓存服务端信息（如 Redis INFO），可为 null
+     * @param hotKeyReplicator   热点 key 本地副本，可为 null
+     */
+    public CacheMetricsBinder(CacheStatisticsRecorder recorder, Supplier<Map<String, Long>> serverInfoSupplier,
+                              HotKeyReplicator hotKeyReplicator) {
+        this(recorder, serverInfoSupplier, hotKeyReplicator, null);
+    }
+
+    /**
+     * @param recorder           运行时统计
+     * @param serverInfoSupplier 缓存服务端信息（如 Redis INFO），可为 null
+     * @param hotKeyReplicator   热点 key 本地副本，可为 null
+     * @param circuitBreakers    远程后端熔断器，可为 null
+     */
+    public CacheMetricsBinder(CacheStatisticsRecorder recorder, Supplier<Map<String, Long>> serverInfoSupplier,
+                              HotKeyReplicator hotKeyReplicator, CircuitBreakerRegistry circuitBreakers) {
+        this.recorder = recorder;
+        this.serverInfoSupplier = serverInfoSupplier;
+        this.hotKeyReplicator = hotKeyReplicator;
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        recorder.addListener(
+                cache -> bindCache(registry, cache),
+                (cache, operation) -> bindOperation(registry, cache, operation));
+        if (serverInfoSupplier != null) {
+            bindServerInfo(registry, "memory.used", "used_memory", "bytes");
+            bindServerInfo(registry, "memory.max", "maxmemory", "bytes");
+            bindServerInfo(registry, "evicted.keys", "evicted_keys", null);
+            bindServerInfo(registry, "expired.keys", "expired_keys", null);
+            bindServerInfo(registry, "connected.clients", "connected_clients", null);
+        }
+        if (hotKeyReplicator != null) {
+            bindHotKeys(registry);
+        }
+        if (circuitBreakers != null) {
+            circuitBreakers.addListener(breaker -> bindCircuitBreaker(registry, breaker));
+        }
+    }
+
+    private void bindCircuitBreaker(MeterRegistry registry, CircuitBreaker breaker) {
+        Tags tags = Tags.of("backend", breaker.getName());
+        Gauge.builder(PREFIX + ".circuit.state", breaker, b -> b.getState().code())
+                .tags(tags)
+                .description("远程后端熔断状态：0 关闭，1 打开，2 半开")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + ".circuit.rejected", breaker, CircuitBreaker::getRejectedCalls)
+                .tags(tags)
+                .description("熔断期间直接使用本地存储的调用次数")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + ".circuit.opened", breaker, CircuitBreaker::getOpenCount)
+                .tags(tags)
+                .description("熔断累计打开次数")
+                .register(registry);
+    }
+
+    private void bindHotKeys(MeterRegistry registry) {
+        Gauge.builder(PREFIX + ".hotkeys", hotKeyReplicator, replicator -> replicator.hotKeys().size())
+                .description("当前热点 key 数量")
+                .register(registry);
+        Gauge.builder(PREFIX + ".hotkey.replicas", hotKeyReplicator, HotKeyReplicator::getReplicaCount)
+                .description("热点 key 本地副本数量")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + ".hotkey.local.hits", hotKeyReplicator, HotKeyReplicator::getLocalHits)
+                .description("由热点本地副本直接返回的读取次数")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + ".hotkey.promotions", hotKeyReplicator, HotKeyReplicator::getPromotions)
+                .description("判定为热点的累计次数")
+                .register(registry);
+    }
+
+    private void bindCache(MeterRegistry registry, CacheNameStatistics cache) {
+        FunctionCounter.builder(PREFIX + ".requests", cache, CacheNameStatistics::getHits)
+                .tags(Tags.of("cache", cache.getName(), "result", "hit"))
+                .description("CacheService 读取命中次数")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + ".requests", cache, CacheNameStatistics::getMisses)
+                .tags(Tags.of("cache", cache.getName(), "result", "miss"))
+                .description("CacheService 读取未命中次数")
+                .register(registry);
+    }
+
+    private void bindOperation(MeterRegistry registry, CacheNameStatistics cache, OperationStatistics operation) {
+        Tags tags = Tags.of("cache", cache.getName(), "operation", operation.getOperation().tagValue());
+        FunctionCounter.builder(PREFIX + ".operations", operation, OperationStatistics::getCalls)
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder(PREFIX + ".operation.errors", operation, OperationStatistics::getErrors)
+                .tags(tags)
+                .register(registry);
+        bindLatency(registry, tags, operation, "0.5", snapshot -> snapshot.p50());
+        bindLatency(registry, tags, operation, "0.95", snapshot -> snapshot.p95());
+        bindLatency(registry, tags, operation, "0.99", snapshot -> snapshot.p99());
+        bindLatency(registry, tags, operation, "max", snapshot -> snapshot.max());
+    }
+
+    private void bindLatency(MeterRegistry registry, Tags tags, OperationStatistics operation, String quantile,
+                             ToDoubleFunction<OperationStatistics.LatencySnapshot> value) {
+        Gauge.builder(PREFIX + ".operation.latency", operation, op -> value.applyAsDouble(op.snapshot()))
+                .tags(tags.and("quantile", quantile))
+                .baseUnit("microseconds")
+                .register(registry);
+    }
+
+    private void bindServerInfo(MeterRegistry registry, String name, String field, String baseUnit) {
+        Gauge.builder(PREFIX + ".server." + name, this, binder -> binder.serverInfo().getOrDefault(field, 0L))
+                .baseUnit(baseUnit)
+                .register(registry);
+    }
+
+    private Map<String, Long> serverInfo() {
+        long now = System.nanoTime();
+        if (now - serverInfoLoadedAt > SERVER_INFO_TTL_NANOS) {
+            serverInfoLoadedAt = now;
+            try {
+                serverInfo = serverInfoSupplier.get();
+            } catch (RuntimeException e) {
+                serverInfo = Map.of();
+            }
+        }
+        return serverInfo;
+    }
+}
@@ -0,0 +1,85 @@
+package com.company.fastweb.core.cache.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 单个缓存名称的命中统计及各操作的耗时统计
+ *
+ * @author FastWeb
+ */
+public class CacheNameStatistics {
+
+    private static final CacheOperation[] OPERATIONS = CacheOperation.values();
+
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicReferenceArray<OperationStatistics> operations =
+            new AtomicReferenceArray<>(OPERATIONS.length);
+    private final Consumer<OperationStatistics> onCreate;
+
+    CacheNameStatistics(String name, Consumer<OperationStatistics> onCreate) {
+        this.name = name;
+        this.onCreate = onCreate;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void recordHits(long count) {
+        hits.add(count);
+    }
+
+    void recordMisses(long count) {
+        misses.add(count);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * 获取操作统计，首次使用时创建
+     */
+    OperationStatistics operation(CacheOperation operation) {
+        OperationStatistics statistics = operations.get(operation.ordinal());
+        if (statistics != null) {
+            return statistics;
+        }
+        OperationStatistics created = new OperationStatistics(operation);
+        if (operations.compareAndSet(operation.ordinal(), null, created)) {
+            onCreate.accept(created);
+            return created;
+        }
+        return operations.get(operation.ordinal());
+    }
+
+    /**
+     * 已发生过的操作统计
+     */
+    public List<OperationStatistics> getOperations() {
+        List<OperationStatistics> result = new ArrayList<>();
+        for (int i = 0; i < operations.length(); i++) {
+            OperationStatistics statistics = operations.get(i);
+            if (statistics != null) {
+                result.add(statistics);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,27 @@
+package com.company.fastweb.core.cache.metrics;
+
+/**
+ * 统计时区分的缓存操作类型
+ *
+ * @author FastWeb
+ */
+public enum CacheOperation {
+
+    GET,
+    SET,
+    DELETE,
+    EXISTS,
+    EXPIRE,
+    GET_EXPIRE,
+    MULTI_GET,
+    MULTI_SET,
+    PIPELINE,
+    SCAN;
+
+    /**
+     * 用作指标标签的小写名称
+     */
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,131 @@
+package com.company.fastweb.core.cache.metrics;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * CacheService 运行时统计
+ * <p>
+ * 以键的第一段（{@code user:1} 中的 {@code user}）作为缓存名称，分别统计命中、未命中以及各操作耗时。
+ * 不含分隔符的键归入 {@value #DEFAULT_CACHE_NAME}；缓存名称数超过 {@value #MAX_CACHE_NAMES}
+ * 后新出现的名称归入 {@value #OTHER_CACHE_NAME}，避免指标维度失控。
+ *
+ * @author FastWeb
+ */
+public class CacheStatisticsRecorder {
+
+    public static final String DEFAULT_CACHE_NAME = "default";
+    public static final String OTHER_CACHE_NAME = "other";
+    public static final int MAX_CACHE_NAMES = 64;
+
+    private static final char SEPARATOR = ':';
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, CacheNameStatistics> caches = new ConcurrentHashMap<>();
+    private final List<Consumer<CacheNameStatistics>> cacheListeners = new CopyOnWriteArrayList<>();
+    private final List<BiConsumer<CacheNameStatistics, OperationStatistics>> operationListeners =
+            new CopyOnWriteArrayList<>();
+
+    /**
+     * 由缓存键推导缓存名称
+     */
+    public static String cacheNameOf(String key) {
+        if (key == null) {
+            return DEFAULT_CACHE_NAME;
+        }
+        int index = key.indexOf(SEPARATOR);
+        return index > 0 ? key.substring(0, index) : DEFAULT_CACHE_NAME;
+    }
+
+    public void recordHits(String cacheName, long count) {
+        if (count > 0) {
+            forCache(cacheName).recordHits(count);
+        }
+    }
+
+    public void recordMisses(String cacheName, long count) {
+        if (count > 0) {
+            forCache(cacheName).recordMisses(count);
+        }
+    }
+
+    /**
+     * 按键所属的缓存名称记录一次读取，批量读取中的键可能属于不同缓存，需逐个记录
+     */
+    public void recordLookup(String key, boolean hit) {
+        if (hit) {
+            recordHits(cacheNameOf(key), 1);
+        } else {
+            recordMisses(cacheNameOf(key), 1);
+        }
+    }
+
+    public void recordLatency(String cacheName, CacheOperation operation, long elapsedNanos) {
+        forCache(cacheName).operation(operation).record(elapsedNanos);
+    }
+
+    public void recordError(String cacheName, CacheOperation operation) {
+        forCache(cacheName).operation(operation).recordError();
+    }
+
+    public long getHitCount() {
+        return caches.values().stream().mapToLong(CacheNameStatistics::getHits).sum();
+    }
+
+    public long getMissCount() {
+        return caches.values().stream().mapToLong(CacheNameStatistics::getMisses).sum();
+    }
+
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public Collection<CacheNameStatistics> getCaches() {
+        return caches.values();
+    }
+
+    /**
+     * 统计开始至今的秒数
+     */
+    public long getUptimeSeconds() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 监听新出现的缓存名称与操作，已存在的会立即回调一次（用于注册 Micrometer 指标）
+     */
+    public void addListener(Consumer<CacheNameStatistics> onCache,
+                            BiConsumer<CacheNameStatistics, OperationStatistics> onOperation) {
+        cacheListeners.add(onCache);
+        operationListeners.add(onOperation);
+        for (CacheNameStatistics cache : caches.values()) {
+            onCache.accept(cache);
+            cache.getOperations().forEach(operation -> onOperation.accept(cache, operation));
+        }
+    }
+
+    private CacheNameStatistics forCache(String cacheName) {
+        CacheNameStatistics statistics = caches.get(cacheName);
+        if (statistics != null) {
+            return statistics;
+        }
+        String name = caches.size() >= MAX_CACHE_NAMES ? OTHER_CACHE_NAME : cacheName;
+        return caches.computeIfAbsent(name, this::create);
+    }
+
+    private CacheNameStatistics create(String name) {
+        CacheNameStatistics[] holder = new CacheNameStatistics[1];
+        holder[0] = new CacheNameStatistics(name,
+                operation -> operationListeners.forEach(listener -> listener.accept(holder[0], operation)));
+        cacheListeners.forEach(listener -> listener.accept(holder[0]));
+        return holder[0];
+    }
+}
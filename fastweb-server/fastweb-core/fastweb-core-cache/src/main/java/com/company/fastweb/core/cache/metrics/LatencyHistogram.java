@@ -0,0 +1,58 @@
+package com.company.fastweb.core.cache.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 耗时分布（微秒）
+ * <p>
+ * 热路径只写入 HdrHistogram {@link Recorder}，不加锁；读取快照时才把 Recorder 的区间直方图合并到累计直方图中。
+ *
+ * @author FastWeb
+ */
+public class LatencyHistogram {
+
+    /**
+     * 有效数字位数，2 位即 1% 精度，单个直方图约十余 KB
+     */
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final long highestTrackableMicros;
+    private final Recorder recorder;
+    private final Histogram cumulative;
+    private Histogram interval;
+
+    /**
+     * @param highestTrackable 可记录的最大耗时，超出部分按最大值记录
+     */
+    public LatencyHistogram(long highestTrackable, TimeUnit unit) {
+        this.highestTrackableMicros = unit.toMicros(highestTrackable);
+        this.recorder = new Recorder(highestTrackableMicros, SIGNIFICANT_DIGITS);
+        this.cumulative = new Histogram(highestTrackableMicros, SIGNIFICANT_DIGITS);
+    }
+
+    public void record(long elapsedNanos) {
+        long micros = Math.min(Math.max(1, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)), highestTrackableMicros);
+        recorder.recordValue(micros);
+    }
+
+    /**
+     * 自启动以来的耗时分布（微秒）
+     */
+    public synchronized OperationStatistics.LatencySnapshot snapshot() {
+        interval = recorder.getIntervalHistogram(interval);
+        cumulative.add(interval);
+        if (cumulative.getTotalCount() == 0) {
+            return OperationStatistics.LatencySnapshot.EMPTY;
+        }
+        return new OperationStatistics.LatencySnapshot(
+                cumulative.getTotalCount(),
+                cumulative.getMean(),
+                cumulative.getValueAtPercentile(50),
+                cumulative.getValueAtPercentile(95),
+                cumulative.getValueAtPercentile(99),
+                cumulative.getMaxValue());
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.fastweb.core.cache.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 将 {@link LockStatisticsRecorder} 按锁名模式导出为 Micrometer 指标
+ * <p>
+ * 与缓存操作耗时相同，等待/持有时间以 Gauge 形式导出分位值（微秒）。
+ *
+ * @author FastWeb
+ */
+public class LockMetricsBinder implements MeterBinder {
+
+    private static final String PREFIX = "fastweb.lock";
+
+    private final LockStatisticsRecorder recorder;
+
+    public LockMetricsBinder(LockStatisticsRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        recorder.addListener(pattern -> bindPattern(registry, pattern));
+        FunctionCounter.builder(PREFIX + ".holds.evicted", recorder, LockStatisticsRecorder::getEvictedHolds)
+                .description("超过租约时间未释放而被清除的持有记录数")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + ".holds.untracked", recorder, LockStatisticsRecorder::getUntrackedHolds)
+                .description("跟踪数量达到上限、未统计持有时间的加锁次数")
+                .register(registry);
+    }
+
+    private void bindPattern(MeterRegistry registry, LockPatternStatistics pattern) {
+        Tags tags = Tags.of("pattern", pattern.getPattern());
+        FunctionCounter.builder(PREFIX + ".acquisitions", pattern, LockPatternStatistics::getAcquisitions)
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder(PREFIX + ".failures", pattern, LockPatternStatistics::getFailures)
+                .tags(tags)
+                .description("等待超时未获得锁的次数")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + ".slow.holds", pattern, LockPatternStatistics::getSlowHolds)
+                .tags(tags)
+                .description("持有时间超过阈值的次数")
+                .register(registry);
+        bindLatency(registry, "wait", tags, pattern, LockPatternStatistics::waitSnapshot);
+        bindLatency(registry, "hold", tags, pattern, LockPatternStatistics::holdSnapshot);
+    }
+
+    private void bindLatency(MeterRegistry registry, String name, Tags tags, LockPatternStatistics pattern,
+                             Function<LockPatternStatistics, OperationStatistics.LatencySnapshot> snapshot) {
+        bindQuantile(registry, name, tags, pattern, snapshot, "0.5", OperationStatistics.LatencySnapshot::p50);
+        bindQuantile(registry, name, tags, pattern, snapshot, "0.95", OperationStatistics.LatencySnapshot::p95);
+        bindQuantile(registry, name, tags, pattern, snapshot, "0.99", OperationStatistics.LatencySnapshot::p99);
+        bindQuantile(registry, name, tags, pattern, snapshot, "max", OperationStatistics.LatencySnapshot::max);
+    }
+
+    private void bindQuantile(MeterRegistry registry, String name, Tags tags, LockPatternStatistics pattern,
+                              Function<LockPatternStatistics, OperationStatistics.LatencySnapshot> snapshot,
+                              String quantile, ToDoubleFunction<OperationStatistics.LatencySnapshot> value) {
+        Gauge.builder(PREFIX + "." + name + ".time", pattern, p -> value.applyAsDouble(snapshot.apply(p)))
+                .tags(tags.and("quantile", quantile))
+                .baseUnit("microseconds")
+                .register(registry);
+    }
+}
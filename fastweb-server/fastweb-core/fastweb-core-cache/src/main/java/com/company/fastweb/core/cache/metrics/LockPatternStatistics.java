@@ -0,0 +1,93 @@
+package com.company.fastweb.core.cache.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 同一锁名模式下的加锁次数、失败次数、等待时间与持有时间分布
+ *
+ * @author FastWeb
+ */
+public class LockPatternStatistics {
+
+    /**
+     * 可记录的最大等待/持有时间（分钟），超出部分按最大值记录
+     */
+    private static final long HIGHEST_TRACKABLE_MINUTES = 30;
+
+    private final String pattern;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder slowHolds = new LongAdder();
+    private final LatencyHistogram waitTime = new LatencyHistogram(HIGHEST_TRACKABLE_MINUTES, TimeUnit.MINUTES);
+    private final LatencyHistogram holdTime = new LatencyHistogram(HIGHEST_TRACKABLE_MINUTES, TimeUnit.MINUTES);
+
+    LockPatternStatistics(String pattern) {
+        this.pattern = pattern;
+    }
+
+    void recordAcquired(long waitNanos) {
+        acquisitions.increment();
+        waitTime.record(waitNanos);
+    }
+
+    void recordFailed(long waitNanos) {
+        failures.increment();
+        waitTime.record(waitNanos);
+    }
+
+    void recordReleased(long holdNanos, boolean slow) {
+        holdTime.record(holdNanos);
+        if (slow) {
+            slowHolds.increment();
+        }
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    /**
+     * 等待超时未获得锁的次数
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * 持有时间超过阈值的次数
+     */
+    public long getSlowHolds() {
+        return slowHolds.sum();
+    }
+
+    /**
+     * 等待时间分布（微秒），包括获取失败的调用
+     */
+    public OperationStatistics.LatencySnapshot waitSnapshot() {
+        return waitTime.snapshot();
+    }
+
+    /**
+     * 持有时间分布（微秒），只统计经 DistributedLockClient 释放的锁
+     */
+    public OperationStatistics.LatencySnapshot holdSnapshot() {
+        return holdTime.snapshot();
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("acquisitions", getAcquisitions());
+        map.put("failures", getFailures());
+        map.put("slowHolds", getSlowHolds());
+        map.put("wait", waitSnapshot().toMap());
+        map.put("hold", holdSnapshot().toMap());
+        return map;
+    }
+}
@@ -0,0 +1,387 @@
+package com.company.fastweb.core.cache.metrics;
+
+import com.company.fastweb.core.cache.model.dto.LockContentionDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * DistributedLockClient 本地加锁统计
+ * <p>
+ * <ul>
+ *     <li>按锁名模式（含数字的段替换为 {@code *}，如 {@code order:*:pay}）统计等待时间与持有时间分布；
+ *     模式数超过 {@value #MAX_PATTERNS} 后新出现的模式归入 {@value #OTHER_PATTERN}</li>
+ *     <li>获取失败或等待时间超过 contentionThreshold 的加锁记为一次竞争，按具体锁名累计，
+ *     最多跟踪 {@value #MAX_CONTENDED_LOCKS} 个锁名，用于查看竞争最激烈的锁</li>
+ *     <li>持有时间超过 slowHoldThreshold 的锁输出 WARN，开启 captureStack 时附带加锁时的调用栈：
+ *     调用 {@link #start} 后定时检查尚未释放的持有记录，每个持有只警告一次；未警告过的在释放时警告</li>
+ * </ul>
+ * 持有时间以同一线程在 DistributedLockClient 上的加锁与解锁配对计算，可重入加锁在最外层释放时记录；
+ * 直接调用 {@code RLock.unlock()} 释放的锁不统计持有时间。
+ * <p>
+ * 租约到期、持有线程异常退出等未经 DistributedLockClient 释放的持有记录，超过租约时间
+ * （未指定租约时为 {@value #UNLEASED_HOLD_MINUTES} 分钟）后视为失效：同一线程再次加锁时直接替换，
+ * 跟踪数量达到上限时集中清除，清除数与因上限未能跟踪的加锁数分别累计并输出日志。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class LockStatisticsRecorder implements AutoCloseable {
+
+    public static final String OTHER_PATTERN = "other";
+    public static final int MAX_PATTERNS = 64;
+    public static final int MAX_CONTENDED_LOCKS = 1024;
+
+    /**
+     * 同时跟踪的持有记录上限，防止未经 DistributedLockClient 释放的锁无限累积
+     */
+    private static final int MAX_TRACKED_HOLDS = 10_000;
+
+    /**
+     * 未指定租约（看门狗续期）的持有记录视为失效的时间
+     */
+    private static final long UNLEASED_HOLD_MINUTES = 30;
+
+    /**
+     * 跟踪数量达到上限时两次清除之间的最小间隔
+     */
+    private static final long EVICT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long slowHoldThresholdNanos;
+    private final long contentionThresholdNanos;
+    private final boolean captureStack;
+    private final Map<String, LockPatternStatistics> patterns = new ConcurrentHashMap<>();
+    private final Map<String, Contention> contentions = new ConcurrentHashMap<>();
+    private final Map<HoldKey, Hold> holds = new ConcurrentHashMap<>();
+    private final List<Consumer<LockPatternStatistics>> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder evictedHolds = new LongAdder();
+    private final LongAdder untrackedHolds = new LongAdder();
+    private final AtomicLong lastEvictNanos = new AtomicLong(System.nanoTime() - EVICT_INTERVAL_NANOS);
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param slowHoldThresholdMillis   持有时间超过该值时输出警告（毫秒），小于等于 0 表示不检查
+     * @param contentionThresholdMillis 等待时间超过该值时记为一次竞争（毫秒）
+     * @param captureStack              加锁时是否记录调用栈，用于慢持有警告
+     */
+    public LockStatisticsRecorder(long slowHoldThresholdMillis, long contentionThresholdMillis, boolean captureStack) {
+        this.slowHoldThresholdNanos = slowHoldThresholdMillis > 0
+                ? TimeUnit.MILLISECONDS.toNanos(slowHoldThresholdMillis) : Long.MAX_VALUE;
+        this.contentionThresholdNanos = TimeUnit.MILLISECONDS.toNanos(contentionThresholdMillis);
+        this.captureStack = captureStack && slowHoldThresholdMillis > 0;
+    }
+
+    /**
+     * 由锁名推导锁名模式：以 {@code :} 分段，含数字的段替换为 {@code *}
+     */
+    public static String patternOf(String lockName) {
+        if (lockName == null || lockName.isEmpty()) {
+            return OTHER_PATTERN;
+        }
+        StringBuilder pattern = new StringBuilder(lockName.length());
+        int start = 0;
+        while (start <= lockName.length()) {
+            int end = lockName.indexOf(':', start);
+            if (end < 0) {
+                end = lockName.length();
+            }
+            if (start > 0) {
+                pattern.append(':');
+            }
+            boolean variable = false;
+            for (int i = start; i < end && !variable; i++) {
+                variable = Character.isDigit(lockName.charAt(i));
+            }
+            pattern.append(variable ? "*" : lockName.substring(start, end));
+            start = end + 1;
+        }
+        return pattern.toString();
+    }
+
+    /**
+     * 记录一次成功加锁，开始计算持有时间
+     */
+    public void recordAcquired(String lockName, long waitNanos) {
+        recordAcquired(lockName, waitNanos, -1);
+    }
+
+    /**
+     * 记录一次成功加锁，开始计算持有时间
+     *
+     * @param leaseNanos 租约时间（纳秒），小于等于 0 表示由看门狗自动续期
+     */
+    public void recordAcquired(String lockName, long waitNanos, long leaseNanos) {
+        forPattern(patternOf(lockName)).recordAcquired(waitNanos);
+        if (waitNanos >= contentionThresholdNanos) {
+            recordContention(lockName, waitNanos, false);
+        }
+        long now = System.nanoTime();
+        HoldKey key = new HoldKey(lockName, Thread.currentThread().getId());
+        Hold hold = holds.get(key);
+        if (hold != null && !hold.isStale(now)) {
+            hold.reentrancy++;
+            return;
+        }
+        if (hold != null) {
+            // 上次加锁未经本类释放（租约到期等），线程被复用后重新开始计算
+            holds.remove(key, hold);
+            evictedHolds.increment();
+        } else if (holds.size() >= MAX_TRACKED_HOLDS && (!evictStaleHolds(now) || holds.size() >= MAX_TRACKED_HOLDS)) {
+            untrackedHolds.increment();
+            return;
+        }
+        long leaseTime = leaseNanos > 0 ? leaseNanos : TimeUnit.MINUTES.toNanos(UNLEASED_HOLD_MINUTES);
+        holds.put(key, new Hold(now, now + leaseTime, captureStack ? new Throwable("加锁位置") : null));
+    }
+
+    /**
+     * 记录一次等待超时未获得锁
+     */
+    public void recordFailed(String lockName, long waitNanos) {
+        forPattern(patternOf(lockName)).recordFailed(waitNanos);
+        recordContention(lockName, waitNanos, true);
+    }
+
+    /**
+     * 记录当前线程释放锁，持有时间超过阈值时输出警告
+     */
+    public void recordReleased(String lockName) {
+        HoldKey key = new HoldKey(lockName, Thread.currentThread().getId());
+        Hold hold = holds.get(key);
+        if (hold == null) {
+            return;
+        }
+        if (hold.reentrancy > 0) {
+            hold.reentrancy--;
+            return;
+        }
+        holds.remove(key);
+        long holdNanos = System.nanoTime() - hold.acquiredAt;
+        boolean slow = holdNanos >= slowHoldThresholdNanos;
+        forPattern(patternOf(lockName)).recordReleased(holdNanos, slow);
+        if (slow && hold.warned) {
+            log.info("持有时间过长的锁已释放: lock={}, held={}ms", lockName, TimeUnit.NANOSECONDS.toMillis(holdNanos));
+        } else if (slow) {
+            if (hold.stack != null) {
+                log.warn("锁持有时间过长: lock={}, held={}ms, threshold={}ms", lockName,
+                        TimeUnit.NANOSECONDS.toMillis(holdNanos), TimeUnit.NANOSECONDS.toMillis(slowHoldThresholdNanos),
+                        hold.stack);
+            } else {
+                log.warn("锁持有时间过长: lock={}, held={}ms, threshold={}ms", lockName,
+                        TimeUnit.NANOSECONDS.toMillis(holdNanos), TimeUnit.NANOSECONDS.toMillis(slowHoldThresholdNanos));
+            }
+        }
+    }
+
+    /**
+     * 开始定时检查尚未释放的慢持有，未设置 slowHoldThreshold 时不启动
+     */
+    public void start(Duration interval) {
+        if (slowHoldThresholdNanos == Long.MAX_VALUE) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fastweb-lock-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                warnSlowHolds();
+            } catch (RuntimeException e) {
+                log.warn("检查锁持有时间失败", e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 对持有时间已超过 slowHoldThreshold 且尚未释放的锁输出警告，每个持有只警告一次
+     *
+     * @return 本次新警告的数量
+     */
+    public int warnSlowHolds() {
+        long now = System.nanoTime();
+        int warned = 0;
+        for (Map.Entry<HoldKey, Hold> entry : holds.entrySet()) {
+            Hold hold = entry.getValue();
+            long holdNanos = now - hold.acquiredAt;
+            if (hold.warned || holdNanos < slowHoldThresholdNanos || hold.isStale(now)) {
+                continue;
+            }
+            hold.warned = true;
+            warned++;
+            HoldKey key = entry.getKey();
+            if (hold.stack != null) {
+                log.warn("锁持有时间过长，尚未释放: lock={}, thread={}, held={}ms, threshold={}ms", key.lockName(),
+                        key.threadId(), TimeUnit.NANOSECONDS.toMillis(holdNanos),
+                        TimeUnit.NANOSECONDS.toMillis(slowHoldThresholdNanos), hold.stack);
+            } else {
+                log.warn("锁持有时间过长，尚未释放: lock={}, thread={}, held={}ms, threshold={}ms", key.lockName(),
+                        key.threadId(), TimeUnit.NANOSECONDS.toMillis(holdNanos),
+                        TimeUnit.NANOSECONDS.toMillis(slowHoldThresholdNanos));
+            }
+        }
+        return warned;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public Collection<LockPatternStatistics> getPatterns() {
+        return patterns.values();
+    }
+
+    /**
+     * 超过租约时间未释放而被清除的持有记录数
+     */
+    public long getEvictedHolds() {
+        return evictedHolds.sum();
+    }
+
+    /**
+     * 跟踪数量达到上限、未统计持有时间的加锁次数
+     */
+    public long getUntrackedHolds() {
+        return untrackedHolds.sum();
+    }
+
+    /**
+     * 竞争次数最多的锁
+     *
+     * @param limit 返回数量
+     */
+    public List<LockContentionDTO> topContended(int limit) {
+        return contentions.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Contention> entry) -> entry.getValue().count.sum())
+                        .reversed())
+                .limit(limit)
+                .map(entry -> {
+                    Contention contention = entry.getValue();
+                    long count = contention.count.sum();
+                    return LockContentionDTO.builder()
+                            .lockName(entry.getKey())
+                            .pattern(patternOf(entry.getKey()))
+                            .contentions(count)
+                            .failures(contention.failures.sum())
+                            .avgWaitMillis(count > 0 ? contention.waitNanos.sum() / 1e6 / count : 0.0)
+                            .maxWaitMillis(TimeUnit.NANOSECONDS.toMillis(contention.maxWaitNanos.get()))
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * 监听新出现的锁名模式，已存在的会立即回调一次（用于注册 Micrometer 指标）
+     */
+    public void addListener(Consumer<LockPatternStatistics> listener) {
+        listeners.add(listener);
+        patterns.values().forEach(listener);
+    }
+
+    /**
+     * 清除超过租约时间的持有记录，距上次清除不足 {@link #EVICT_INTERVAL_NANOS} 时跳过
+     *
+     * @return 是否执行了清除
+     */
+    private boolean evictStaleHolds(long now) {
+        long last = lastEvictNanos.get();
+        if (now - last < EVICT_INTERVAL_NANOS || !lastEvictNanos.compareAndSet(last, now)) {
+            return false;
+        }
+        int evicted = 0;
+        for (Map.Entry<HoldKey, Hold> entry : holds.entrySet()) {
+            if (entry.getValue().isStale(now) && holds.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        evictedHolds.add(evicted);
+        if (holds.size() >= MAX_TRACKED_HOLDS) {
+            log.warn("锁持有记录达到上限，新的加锁不再统计持有时间: tracked={}, evicted={}, untracked={}",
+                    holds.size(), evicted, untrackedHolds.sum());
+        } else if (evicted > 0) {
+            log.info("已清除超过租约时间未释放的锁持有记录: evicted={}", evicted);
+        }
+        return true;
+    }
+
+    private void recordContention(String lockName, long waitNanos, boolean failed) {
+        Contention contention = contentions.get(lockName);
+        if (contention == null) {
+            if (contentions.size() >= MAX_CONTENDED_LOCKS) {
+                return;
+            }
+            contention = contentions.computeIfAbsent(lockName, name -> new Contention());
+        }
+        contention.count.increment();
+        contention.waitNanos.add(waitNanos);
+        contention.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        if (failed) {
+            contention.failures.increment();
+        }
+    }
+
+    private LockPatternStatistics forPattern(String pattern) {
+        LockPatternStatistics statistics = patterns.get(pattern);
+        if (statistics != null) {
+            return statistics;
+        }
+        String name = patterns.size() >= MAX_PATTERNS ? OTHER_PATTERN : pattern;
+        return patterns.computeIfAbsent(name, this::create);
+    }
+
+    private LockPatternStatistics create(String pattern) {
+        LockPatternStatistics statistics = new LockPatternStatistics(pattern);
+        listeners.forEach(listener -> listener.accept(statistics));
+        return statistics;
+    }
+
+    private record HoldKey(String lockName, long threadId) {
+    }
+
+    /**
+     * reentrancy 只由持有锁的线程读写，清除时只读取不可变字段；warned 由定时检查设置
+     */
+    private static final class Hold {
+
+        private final long acquiredAt;
+        private final long staleAt;
+        private final Throwable stack;
+        private int reentrancy;
+        private volatile boolean warned;
+
+        Hold(long acquiredAt, long staleAt, Throwable stack) {
+            this.acquiredAt = acquiredAt;
+            this.staleAt = staleAt;
+            this.stack = stack;
+        }
+
+        boolean isStale(long now) {
+            return now - staleAt > 0;
+        }
+    }
+
+    private static final class Contention {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+    }
+}
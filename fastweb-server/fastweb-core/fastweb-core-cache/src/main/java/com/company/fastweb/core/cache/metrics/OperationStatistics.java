@@ -0,0 +1,77 @@
+package com.company.fastweb.core.cache.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个缓存名称下某一种操作的调用次数、失败次数和耗时分布
+ * <p>
+ * 热路径只写入 {@link LongAdder} 和 {@link LatencyHistogram}，两者都不加锁。
+ *
+ * @author FastWeb
+ */
+public class OperationStatistics {
+
+    /**
+     * 可记录的最大耗时（分钟），超出部分按最大值记录
+     */
+    private static final long HIGHEST_TRACKABLE_MINUTES = 1;
+
+    private final CacheOperation operation;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram(HIGHEST_TRACKABLE_MINUTES, TimeUnit.MINUTES);
+
+    OperationStatistics(CacheOperation operation) {
+        this.operation = operation;
+    }
+
+    public CacheOperation getOperation() {
+        return operation;
+    }
+
+    void record(long elapsedNanos) {
+        calls.increment();
+        latency.record(elapsedNanos);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * 自启动以来的耗时分布（微秒）
+     */
+    public LatencySnapshot snapshot() {
+        return latency.snapshot();
+    }
+
+    /**
+     * 耗时分布快照，单位为微秒
+     */
+    public record LatencySnapshot(long count, double mean, long p50, long p95, long p99, long max) {
+
+        static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0, 0, 0, 0);
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("meanMicros", Math.round(mean));
+            map.put("p50Micros", p50);
+            map.put("p95Micros", p95);
+            map.put("p99Micros", p99);
+            map.put("maxMicros", max);
+            return map;
+        }
+    }
+}
@@ -54,6 +54,11 @@ public class CacheInfoDTO {
      */
     private Long size;
 
+    /**
+     * 是否存在
+     */
+    private Boolean exists;
+
     /**
      * 扩展属性
      */
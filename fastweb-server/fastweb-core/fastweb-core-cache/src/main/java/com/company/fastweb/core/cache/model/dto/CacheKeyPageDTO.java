@@ -0,0 +1,40 @@
+package com.company.fastweb.core.cache.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 按游标分页的缓存键传输对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheKeyPageDTO {
+
+    /**
+     * 起始游标，"0" 表示从头开始
+     */
+    public static final String INITIAL_CURSOR = "0";
+
+    /**
+     * 本页的键
+     */
+    private List<String> keys;
+
+    /**
+     * 下一页游标，为 "0" 时表示遍历结束
+     */
+    private String cursor;
+
+    /**
+     * 是否遍历结束
+     */
+    private Boolean finished;
+}
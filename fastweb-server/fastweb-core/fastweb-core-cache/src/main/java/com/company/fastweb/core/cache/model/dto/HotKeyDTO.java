@@ -0,0 +1,45 @@
+package com.company.fastweb.core.cache.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 热点 key 信息传输对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotKeyDTO {
+
+    /**
+     * 缓存键
+     */
+    private String key;
+
+    /**
+     * 检测窗口内的访问次数（估算值）
+     */
+    private Long windowCount;
+
+    /**
+     * 检测窗口长度（毫秒）
+     */
+    private Long windowMillis;
+
+    /**
+     * 判定为热点的时间
+     */
+    private LocalDateTime detectedTime;
+
+    /**
+     * 本节点是否持有本地副本
+     */
+    private Boolean replicated;
+}
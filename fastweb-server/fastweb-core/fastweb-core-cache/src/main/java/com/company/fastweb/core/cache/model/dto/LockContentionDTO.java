@@ -0,0 +1,48 @@
+package com.company.fastweb.core.cache.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 锁竞争信息传输对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LockContentionDTO {
+
+    /**
+     * 锁名称
+     */
+    private String lockName;
+
+    /**
+     * 锁名模式
+     */
+    private String pattern;
+
+    /**
+     * 竞争次数（获取失败或等待超过阈值）
+     */
+    private Long contentions;
+
+    /**
+     * 等待超时未获得锁的次数
+     */
+    private Long failures;
+
+    /**
+     * 竞争时的平均等待时间（毫秒）
+     */
+    private Double avgWaitMillis;
+
+    /**
+     * 最长等待时间（毫秒）
+     */
+    private Long maxWaitMillis;
+}
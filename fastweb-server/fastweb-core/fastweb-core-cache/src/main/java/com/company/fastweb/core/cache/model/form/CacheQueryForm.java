@@ -31,13 +31,12 @@ public class CacheQueryForm {
     private String cacheType = "all";
 
     /**
-     * 页码
+     * 游标，首页传 "0"，后续传上一页返回的游标
      */
-    @Min(value = 1, message = "页码不能小于1")
-    private Integer pageNum = 1;
+    private String cursor = "0";
 
     /**
-     * 页大小
+     * 页大小（每次 SCAN 的 COUNT，实际返回条数可能略多或略少）
      */
     @Min(value = 1, message = "页大小不能小于1")
     @Max(value = 1000, message = "页大小不能超过1000")
@@ -0,0 +1,35 @@
+package com.company.fastweb.core.cache.model.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 按游标分页的缓存键视图对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheKeyPageVO {
+
+    /**
+     * 本页缓存信息
+     */
+    private List<CacheInfoVO> records;
+
+    /**
+     * 下一页游标，为 "0" 时表示遍历结束
+     */
+    private String cursor;
+
+    /**
+     * 是否遍历结束
+     */
+    private Boolean finished;
+}
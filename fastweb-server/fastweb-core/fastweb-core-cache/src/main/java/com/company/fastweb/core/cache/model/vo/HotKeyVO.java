@@ -0,0 +1,45 @@
+package com.company.fastweb.core.cache.model.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 热点 key 视图对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotKeyVO {
+
+    /**
+     * 缓存键
+     */
+    private String key;
+
+    /**
+     * 检测窗口内的访问次数（估算值）
+     */
+    private Long windowCount;
+
+    /**
+     * 按窗口折算的每秒访问次数
+     */
+    private Double qps;
+
+    /**
+     * 判定为热点的时间
+     */
+    private LocalDateTime detectedTime;
+
+    /**
+     * 本节点是否持有本地副本
+     */
+    private Boolean replicated;
+}
@@ -0,0 +1,147 @@
+package com.company.fastweb.core.cache.serializer;
+
+import com.company.fastweb.core.cache.support.CachedValue;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.impl.StdTypeResolverBuilder;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Redis 值序列化器工厂
+ * <p>
+ * Smile 格式下常用类型使用内置短 ID，业务类型可通过 {@code typeAliases} 注册别名；
+ * 别名一旦写入 Redis 就不能再修改或复用，否则已有数据无法正确读取。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public final class CacheSerializers {
+
+    private static final PolymorphicTypeValidator VALIDATOR = LaissezFaireSubTypeValidator.instance;
+
+    /**
+     * Smile 格式的类型 ID 属性名
+     */
+    private static final String TYPE_PROPERTY = "@t";
+
+    private static final Map<String, Class<?>> BUILTIN_ALIASES = Map.ofEntries(
+            Map.entry("al", ArrayList.class),
+            Map.entry("ll", LinkedList.class),
+            Map.entry("hm", HashMap.class),
+            Map.entry("lhm", LinkedHashMap.class),
+            Map.entry("tm", TreeMap.class),
+            Map.entry("hs", HashSet.class),
+            Map.entry("lhs", LinkedHashSet.class),
+            Map.entry("ts", TreeSet.class),
+            Map.entry("d", Date.class),
+            Map.entry("bd", BigDecimal.class),
+            Map.entry("bi", BigInteger.class),
+            Map.entry("cv", CachedValue.class));
+
+    private CacheSerializers() {
+    }
+
+    /**
+     * 创建值序列化器
+     *
+     * @param format               序列化格式
+     * @param compression          压缩算法
+     * @param compressionThreshold 压缩阈值（字节）
+     * @param typeAliases          Smile 类型别名：别名 -> 类名
+     */
+    public static RedisSerializer<Object> create(SerializationFormat format, CompressionAlgorithm compression,
+                                                 int compressionThreshold, Map<String, String> typeAliases) {
+        RedisSerializer<Object> json = json();
+        RedisSerializer<Object> serializer = format == SerializationFormat.SMILE
+                ? new SmileRedisSerializer(smileMapper(typeAliases), json)
+                : json;
+        if (compression == CompressionAlgorithm.LZ4 && !CompressingRedisSerializer.isLz4Available()) {
+            log.warn("lz4-java 不存在，Redis 值压缩改用 DEFLATE");
+            compression = CompressionAlgorithm.DEFLATE;
+        }
+        return compression == CompressionAlgorithm.NONE
+                ? serializer
+                : new CompressingRedisSerializer(serializer, compression, compressionThreshold);
+    }
+
+    /**
+     * 带类名的 JSON 序列化器（原有格式）
+     */
+    public static RedisSerializer<Object> json() {
+        Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
+        serializer.setObjectMapper(jsonMapper());
+        return serializer;
+    }
+
+    public static ObjectMapper jsonMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.activateDefaultTyping(VALIDATOR, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        objectMapper.registerModule(new JavaTimeModule());
+        return objectMapper;
+    }
+
+    /**
+     * @param typeAliases 自定义类型别名：别名 -> 类名，可为 null
+     */
+    public static ObjectMapper smileMapper(Map<String, String> typeAliases) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper(smileFactory);
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        StdTypeResolverBuilder typer = new ObjectMapper.DefaultTypeResolverBuilder(
+                ObjectMapper.DefaultTyping.NON_FINAL, VALIDATOR)
+                .init(JsonTypeInfo.Id.CUSTOM, new RegisteredTypeIdResolver(resolveAliases(typeAliases), VALIDATOR))
+                .inclusion(JsonTypeInfo.As.PROPERTY)
+                .typeProperty(TYPE_PROPERTY);
+        objectMapper.setDefaultTyping(typer);
+        objectMapper.registerModule(new JavaTimeModule());
+        return objectMapper;
+    }
+
+    /**
+     * 合并内置与自定义别名，别名或类型重复时启动失败
+     */
+    private static Map<String, Class<?>> resolveAliases(Map<String, String> typeAliases) {
+        Map<String, Class<?>> aliases = new HashMap<>(BUILTIN_ALIASES);
+        if (typeAliases == null) {
+            return aliases;
+        }
+        ClassLoader classLoader = CacheSerializers.class.getClassLoader();
+        typeAliases.forEach((alias, className) -> {
+            Class<?> type = ClassUtils.resolveClassName(className, classLoader);
+            if (aliases.containsKey(alias)) {
+                throw new IllegalStateException("Redis 序列化类型别名重复: " + alias);
+            }
+            if (aliases.containsValue(type)) {
+                throw new IllegalStateException("Redis 序列化类型重复注册: " + className);
+            }
+            aliases.put(alias, type);
+        });
+        return aliases;
+    }
+}
@@ -0,0 +1,150 @@
+package com.company.fastweb.core.cache.serializer;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 压缩包装序列化器
+ * <p>
+ * 序列化结果达到阈值且压缩后确实更小时才压缩，压缩帧格式为 {@code [算法标记 1 字节][原始长度 4 字节][压缩数据]}。
+ * 算法标记取 JSON 与 Smile 都不会作为首字节出现的值，读取时据此识别，
+ * 未压缩数据直接交给被包装的序列化器，因此调整算法或阈值不影响已有数据的读取。
+ *
+ * @author FastWeb
+ */
+public class CompressingRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte LZ4_MARKER = 0x01;
+    static final byte DEFLATE_MARKER = 0x02;
+
+    private static final int HEADER_LENGTH = 5;
+
+    private final RedisSerializer<Object> delegate;
+    private final CompressionAlgorithm algorithm;
+    private final int threshold;
+
+    /**
+     * @param delegate  实际序列化器
+     * @param algorithm 写入时使用的压缩算法
+     * @param threshold 压缩阈值（字节）
+     */
+    public CompressingRedisSerializer(RedisSerializer<Object> delegate, CompressionAlgorithm algorithm, int threshold) {
+        this.delegate = delegate;
+        this.algorithm = algorithm;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes == null || bytes.length < threshold || algorithm == CompressionAlgorithm.NONE) {
+            return bytes;
+        }
+        byte[] compressed = algorithm == CompressionAlgorithm.LZ4 ? Lz4.compress(bytes) : deflate(bytes);
+        return compressed.length < bytes.length ? compressed : bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length <= HEADER_LENGTH) {
+            return delegate.deserialize(bytes);
+        }
+        return switch (bytes[0]) {
+            case LZ4_MARKER -> delegate.deserialize(Lz4.decompress(bytes));
+            case DEFLATE_MARKER -> delegate.deserialize(inflate(bytes));
+            default -> delegate.deserialize(bytes);
+        };
+    }
+
+    /**
+     * lz4-java 是否存在
+     */
+    public static boolean isLz4Available() {
+        try {
+            Class.forName("net.jpountz.lz4.LZ4Factory", false, CompressingRedisSerializer.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + HEADER_LENGTH);
+            out.write(DEFLATE_MARKER);
+            out.writeBytes(ByteBuffer.allocate(4).putInt(bytes.length).array());
+            byte[] buffer = new byte[Math.min(bytes.length, 8192)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        try {
+            byte[] result = new byte[originalLength(bytes)];
+            inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+            int length = inflater.inflate(result);
+            if (length != result.length) {
+                throw new SerializationException("Corrupted deflate payload");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Could not inflate: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int originalLength(byte[] bytes) {
+        return ByteBuffer.wrap(bytes, 1, 4).getInt();
+    }
+
+    /**
+     * LZ4 编解码，单独成类以便 lz4-java 不存在时不加载
+     */
+    private static final class Lz4 {
+
+        private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+        private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+        private Lz4() {
+        }
+
+        private static byte[] compress(byte[] bytes) {
+            byte[] frame = new byte[HEADER_LENGTH + COMPRESSOR.maxCompressedLength(bytes.length)];
+            frame[0] = LZ4_MARKER;
+            ByteBuffer.wrap(frame, 1, 4).putInt(bytes.length);
+            int length = COMPRESSOR.compress(bytes, 0, bytes.length, frame, HEADER_LENGTH);
+            byte[] result = new byte[HEADER_LENGTH + length];
+            System.arraycopy(frame, 0, result, 0, result.length);
+            return result;
+        }
+
+        private static byte[] decompress(byte[] bytes) {
+            try {
+                byte[] result = new byte[originalLength(bytes)];
+                DECOMPRESSOR.decompress(bytes, HEADER_LENGTH, result, 0, result.length);
+                return result;
+            } catch (RuntimeException e) {
+                throw new SerializationException("Could not decompress LZ4: " + e.getMessage(), e);
+            }
+        }
+    }
+}
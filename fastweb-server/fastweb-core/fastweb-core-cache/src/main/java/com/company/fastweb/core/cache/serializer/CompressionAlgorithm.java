@@ -0,0 +1,21 @@
+package com.company.fastweb.core.cache.serializer;
+
+/**
+ * Redis 值的压缩算法
+ *
+ * @author FastWeb
+ */
+public enum CompressionAlgorithm {
+
+    NONE,
+
+    /**
+     * LZ4，压缩与解压都很快，需要 lz4-java
+     */
+    LZ4,
+
+    /**
+     * JDK 自带 Deflate，压缩率更高但更慢
+     */
+    DEFLATE
+}
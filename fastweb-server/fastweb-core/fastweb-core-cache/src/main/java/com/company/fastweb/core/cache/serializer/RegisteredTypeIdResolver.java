@@ -0,0 +1,61 @@
+package com.company.fastweb.core.cache.serializer;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.TypeIdResolverBase;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 注册类型使用短 ID，未注册类型回退为完整类名
+ *
+ * @author FastWeb
+ */
+class RegisteredTypeIdResolver extends TypeIdResolverBase {
+
+    private final Map<Class<?>, String> idsByType;
+    private final Map<String, Class<?>> typesById;
+    private final ClassNameIdResolver classNameResolver;
+
+    RegisteredTypeIdResolver(Map<String, Class<?>> aliases, PolymorphicTypeValidator validator) {
+        super(TypeFactory.defaultInstance().constructType(Object.class), TypeFactory.defaultInstance());
+        this.typesById = Map.copyOf(aliases);
+        Map<Class<?>, String> ids = new HashMap<>();
+        aliases.forEach((id, type) -> ids.put(type, id));
+        this.idsByType = Map.copyOf(ids);
+        this.classNameResolver = new ClassNameIdResolver(_baseType, _typeFactory, validator);
+    }
+
+    @Override
+    public String idFromValue(Object value) {
+        return idFromValueAndType(value, value.getClass());
+    }
+
+    @Override
+    public String idFromValueAndType(Object value, Class<?> suggestedType) {
+        String id = idsByType.get(suggestedType);
+        return id != null ? id : classNameResolver.idFromValueAndType(value, suggestedType);
+    }
+
+    @Override
+    public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+        Class<?> type = typesById.get(id);
+        return type != null ? context.constructType(type) : classNameResolver.typeFromId(context, id);
+    }
+
+    @Override
+    public String getDescForKnownTypeIds() {
+        return "registered type id or class name";
+    }
+
+    @Override
+    public JsonTypeInfo.Id getMechanism() {
+        return JsonTypeInfo.Id.CUSTOM;
+    }
+}
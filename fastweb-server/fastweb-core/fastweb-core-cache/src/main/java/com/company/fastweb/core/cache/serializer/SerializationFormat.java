@@ -0,0 +1,19 @@
+package com.company.fastweb.core.cache.serializer;
+
+/**
+ * Redis 值的序列化格式
+ *
+ * @author FastWeb
+ */
+public enum SerializationFormat {
+
+    /**
+     * 带类名的 JSON，可读性好，兼容旧数据
+     */
+    JSON,
+
+    /**
+     * Smile 二进制 JSON，类型使用注册的短 ID，属性名与重复字符串共享引用
+     */
+    SMILE
+}
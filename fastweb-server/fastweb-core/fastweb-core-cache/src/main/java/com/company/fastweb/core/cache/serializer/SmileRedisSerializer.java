@@ -0,0 +1,69 @@
+package com.company.fastweb.core.cache.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * Smile 二进制序列化器
+ * <p>
+ * 读取时按 Smile 头部识别格式，不是 Smile 的数据交给 {@code fallback}（通常是 JSON 序列化器），
+ * 因此从 JSON 切换到 Smile 后仍能读取已有数据。
+ *
+ * @author FastWeb
+ */
+public class SmileRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+    private final ObjectMapper smileMapper;
+    private final RedisSerializer<Object> fallback;
+
+    /**
+     * @param smileMapper 基于 SmileFactory 的 ObjectMapper
+     * @param fallback    非 Smile 数据的反序列化器，可为 null
+     */
+    public SmileRedisSerializer(ObjectMapper smileMapper, RedisSerializer<Object> fallback) {
+        this.smileMapper = smileMapper;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            return smileMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (!isSmile(bytes)) {
+            if (fallback == null) {
+                throw new SerializationException("Not a Smile payload");
+            }
+            return fallback.deserialize(bytes);
+        }
+        try {
+            return smileMapper.readValue(bytes, Object.class);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isSmile(byte[] bytes) {
+        return bytes.length >= SMILE_HEADER.length
+                && bytes[0] == SMILE_HEADER[0]
+                && bytes[1] == SMILE_HEADER[1]
+                && bytes[2] == SMILE_HEADER[2];
+    }
+}
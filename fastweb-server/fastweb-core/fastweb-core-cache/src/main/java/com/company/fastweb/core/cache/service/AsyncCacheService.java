@@ -0,0 +1,91 @@
+package com.company.fastweb.core.cache.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步缓存服务接口
+ * <p>
+ * 所有方法立即返回，不占用调用线程等待 Redis，调用方可以同时发起缓存读取与其它 I/O。
+ * 每次调用都有超时时间（不指定时使用 fastweb.cache.async.timeout），超时或 Redis 出错时按
+ * fastweb.cache.async.fallbackToLocal 回退到本地一级缓存，否则以异常完成。
+ * <p>
+ * 返回的 Future 在 Redis 客户端的 I/O 线程上完成，后续回调中不要执行阻塞操作，
+ * 需要阻塞时使用 {@code thenApplyAsync} 等方法切换到业务线程池。
+ *
+ * @author FastWeb
+ */
+public interface AsyncCacheService {
+
+    /**
+     * 获取缓存
+     *
+     * @param key 缓存键
+     * @return 缓存值，不存在时为 null
+     */
+    CompletableFuture<Object> get(String key);
+
+    /**
+     * 获取缓存
+     *
+     * @param key     缓存键
+     * @param timeout 本次调用的超时时间
+     * @return 缓存值，不存在时为 null
+     */
+    CompletableFuture<Object> get(String key, Duration timeout);
+
+    /**
+     * 设置缓存
+     *
+     * @param key    缓存键
+     * @param value  缓存值
+     * @param expire 过期时间（秒），小于等于0表示永不过期
+     */
+    CompletableFuture<Void> set(String key, Object value, long expire);
+
+    /**
+     * 设置缓存
+     *
+     * @param key     缓存键
+     * @param value   缓存值
+     * @param expire  过期时间（秒），小于等于0表示永不过期
+     * @param timeout 本次调用的超时时间
+     */
+    CompletableFuture<Void> set(String key, Object value, long expire, Duration timeout);
+
+    /**
+     * 批量获取缓存
+     *
+     * @param keys 缓存键
+     * @return 存在的键值对，顺序与 keys 一致
+     */
+    CompletableFuture<Map<String, Object>> multiGet(Collection<String> keys);
+
+    /**
+     * 批量获取缓存
+     *
+     * @param keys    缓存键
+     * @param timeout 本次调用的超时时间
+     * @return 存在的键值对，顺序与 keys 一致
+     */
+    CompletableFuture<Map<String, Object>> multiGet(Collection<String> keys, Duration timeout);
+
+    /**
+     * 删除缓存
+     *
+     * @param keys 缓存键
+     * @return 实际删除的数量
+     */
+    CompletableFuture<Long> delete(Collection<String> keys);
+
+    /**
+     * 删除缓存
+     *
+     * @param keys    缓存键
+     * @param timeout 本次调用的超时时间
+     * @return 实际删除的数量
+     */
+    CompletableFuture<Long> delete(Collection<String> keys, Duration timeout);
+}
@@ -1,8 +1,16 @@
 package com.company.fastweb.core.cache.service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.company.fastweb.core.cache.backend.CacheBatch;
+import com.company.fastweb.core.cache.model.dto.CacheKeyPageDTO;
 import com.company.fastweb.core.cache.model.dto.CacheStatisticsDTO;
+import com.company.fastweb.core.cache.model.dto.HotKeyDTO;
 
 /**
  * 缓存服务接口
@@ -29,6 +37,16 @@ public interface CacheService {
      */
     void set(String key, Object value, long timeout);
 
+    /**
+     * 设置缓存并打上标签，之后可通过 {@link #invalidateByTag} 按标签批量删除
+     * 
+     * @param key     缓存键
+     * @param value   缓存值
+     * @param timeout 过期时间（秒），小于等于0表示永不过期
+     * @param tags    标签，如 user:42、tenant:7
+     */
+    void set(String key, Object value, long timeout, Collection<String> tags);
+
     /**
      * 获取缓存
      * 
@@ -46,6 +64,33 @@ public interface CacheService {
      */
     String get(String key);
 
+    /**
+     * 批量获取缓存（Redis 下为一次 MGET）
+     * 
+     * @param keys 缓存键集合
+     * @return 存在的键及其值，按入参顺序排列
+     */
+    Map<String, Object> multiGet(Collection<String> keys);
+
+    /**
+     * 批量设置缓存（Redis 下在一个管道内提交）
+     * 
+     * @param entries 键值对
+     * @param timeout 过期时间（秒），小于等于0表示永不过期
+     */
+    void multiSet(Map<String, ?> entries, long timeout);
+
+    /**
+     * 批量执行一组混合操作（Redis 下在一个管道内提交）
+     * <pre>
+     * List&lt;Object&gt; results = cacheService.pipeline(batch -&gt; keys.forEach(batch::get));
+     * </pre>
+     * 
+     * @param operations 登记操作的回调
+     * @return 各操作的结果，顺序与登记顺序一致
+     */
+    List<Object> pipeline(Consumer<CacheBatch> operations);
+
     /**
      * 删除缓存
      * 
@@ -78,12 +123,30 @@ public interface CacheService {
     long getExpire(String key);
 
     /**
-     * 清空指定缓存区域
+     * 清空指定缓存区域，即删除所有以 {@code cacheName:} 开头的键
      * 
      * @param cacheName 缓存区域名称
      */
     void clear(String cacheName);
 
+    /**
+     * 删除带有指定标签的全部缓存，代价与该标签下的键数量成正比
+     * 
+     * @param tag 标签
+     * @return 删除的键数量
+     */
+    long invalidateByTag(String tag);
+
+    /**
+     * 删除以指定前缀开头的全部缓存
+     * <p>
+     * 前缀配置在 fastweb.cache.index.prefixes 中时按索引删除，否则退化为 SCAN 遍历。
+     * 
+     * @param prefix 键前缀，如 tenant:7:
+     * @return 删除的键数量
+     */
+    long invalidateByPrefix(String prefix);
+
     /**
      * 获取缓存信息
      * 
@@ -99,6 +162,27 @@ public interface CacheService {
      */
     Set<String> keys(String pattern);
 
+    /**
+     * 按模式流式遍历键（基于 SCAN，不会阻塞 Redis）
+     * <p>
+     * 返回的流持有 Redis 游标，必须在 try-with-resources 中使用。
+     * 
+     * @param pattern   匹配模式（支持通配符 *）
+     * @param batchSize 每批拉取的数量
+     * @return 匹配的键流
+     */
+    Stream<String> scan(String pattern, int batchSize);
+
+    /**
+     * 按游标分页遍历键
+     * 
+     * @param pattern 匹配模式（支持通配符 *）
+     * @param cursor  游标，首页传 "0"
+     * @param count   每页数量（提示值）
+     * @return 本页的键和下一页游标
+     */
+    CacheKeyPageDTO scan(String pattern, String cursor, int count);
+
     /**
      * 批量删除缓存
      * 
@@ -121,6 +205,13 @@ public interface CacheService {
      */
     CacheStatisticsDTO getStatistics();
 
+    /**
+     * 获取本节点检测到的热点 key
+     * 
+     * @return 热点 key，按访问次数从高到低排序；未启用热点检测时为空
+     */
+    List<HotKeyDTO> getHotKeys();
+
     /**
      * 获取缓存大小（键的数量）
      * 
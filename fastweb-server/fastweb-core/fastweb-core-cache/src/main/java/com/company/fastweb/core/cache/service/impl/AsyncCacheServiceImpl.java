@@ -0,0 +1,249 @@
+package com.company.fastweb.core.cache.service.impl;
+
+import com.company.fastweb.core.cache.backend.CaffeineCacheBackend;
+import com.company.fastweb.core.cache.invalidation.CacheInvalidationBus;
+import com.company.fastweb.core.cache.invalidation.CacheInvalidationMessage;
+import com.company.fastweb.core.cache.metrics.CacheOperation;
+import com.company.fastweb.core.cache.metrics.CacheStatisticsRecorder;
+import com.company.fastweb.core.cache.service.AsyncCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 基于 Lettuce 响应式客户端的异步缓存服务
+ * <p>
+ * 一级缓存（L1）是本节点的 Caffeine：与近端缓存共用时（{@code localFirst}）读取先查 L1，
+ * 写入和删除同时通过 {@link CacheInvalidationBus} 通知其它节点；
+ * 单独使用时 L1 只保存最近从 Redis 读到或写入的值，仅在超时、出错时作为降级数据返回，可能比 Redis 旧。
+ * <p>
+ * 写入和删除的回调会发布失效消息（阻塞调用），因此先切换到 {@code boundedElastic} 线程，不占用 Lettuce I/O 线程。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class AsyncCacheServiceImpl implements AsyncCacheService {
+
+    private final ReactiveRedisOperations<String, Object> redis;
+    private final CaffeineCacheBackend local;
+    private final boolean localFirst;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheStatisticsRecorder statistics;
+    private final Duration defaultTimeout;
+    private final boolean fallbackToLocal;
+    private final long localExpire;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * @param local           一级缓存
+     * @param localFirst      一级缓存是否与其它节点保持一致，是则读取优先命中一级缓存
+     * @param invalidationBus 失效消息总线，可为 null
+     * @param defaultTimeout  未指定超时时间的调用使用的超时时间
+     * @param fallbackToLocal 超时或出错时是否回退到一级缓存
+     * @param localExpire     一级缓存条目存活时间（秒）
+     */
+    public AsyncCacheServiceImpl(ReactiveRedisOperations<String, Object> redis, CaffeineCacheBackend local,
+                                 boolean localFirst, CacheInvalidationBus invalidationBus,
+                                 CacheStatisticsRecorder statistics, Duration defaultTimeout,
+                                 boolean fallbackToLocal, long localExpire) {
+        this.redis = redis;
+        this.local = local;
+        this.localFirst = localFirst;
+        this.invalidationBus = invalidationBus;
+        this.statistics = statistics;
+        this.defaultTimeout = defaultTimeout;
+        this.fallbackToLocal = fallbackToLocal;
+        this.localExpire = localExpire;
+    }
+
+    @Override
+    public CompletableFuture<Object> get(String key) {
+        return get(key, defaultTimeout);
+    }
+
+    @Override
+    public CompletableFuture<Object> get(String key, Duration timeout) {
+        String cacheName = CacheStatisticsRecorder.cacheNameOf(key);
+        if (localFirst) {
+            Object cached = local.get(key);
+            if (cached != null) {
+                statistics.recordHits(cacheName, 1);
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        long start = System.nanoTime();
+        return redis.opsForValue().get(key)
+                .timeout(timeout)
+                .toFuture()
+                .handle((value, error) -> {
+                    statistics.recordLatency(cacheName, CacheOperation.GET, System.nanoTime() - start);
+                    if (error != null) {
+                        value = fallback(key, CacheOperation.GET, error, () -> local.get(key));
+                    } else if (value != null) {
+                        local.set(key, value, localExpire);
+                    }
+                    if (value != null) {
+                        statistics.recordHits(cacheName, 1);
+                    } else {
+                        statistics.recordMisses(cacheName, 1);
+                    }
+                    return value;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> set(String key, Object value, long expire) {
+        return set(key, value, expire, defaultTimeout);
+    }
+
+    @Override
+    public CompletableFuture<Void> set(String key, Object value, long expire, Duration timeout) {
+        String cacheName = CacheStatisticsRecorder.cacheNameOf(key);
+        long start = System.nanoTime();
+        return (expire > 0
+                ? redis.opsForValue().set(key, value, Duration.ofSeconds(expire))
+                : redis.opsForValue().set(key, value))
+                .timeout(timeout)
+                // 失效消息通过阻塞的 RedisTemplate 发布，不能在 Lettuce I/O 线程上执行
+                .publishOn(Schedulers.boundedElastic())
+                .toFuture()
+                .handle((result, error) -> {
+                    statistics.recordLatency(cacheName, CacheOperation.SET, System.nanoTime() - start);
+                    if (error != null) {
+                        // 与同步 CacheService 一致：Redis 不可用时写入本地，本节点之后的读取能看到这次写入
+                        return fallback(key, CacheOperation.SET, error, () -> {
+                            local.set(key, value, localTimeout(expire));
+                            return null;
+                        });
+                    }
+                    local.set(key, value, localTimeout(expire));
+                    publish(List.of(key));
+                    return null;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> multiGet(Collection<String> keys) {
+        return multiGet(keys, defaultTimeout);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> multiGet(Collection<String> keys, Duration timeout) {
+        if (keys == null || keys.isEmpty()) {
+            return CompletableFuture.completedFuture(new LinkedHashMap<>());
+        }
+        List<String> orderedKeys = List.copyOf(keys);
+        String cacheName = CacheStatisticsRecorder.cacheNameOf(orderedKeys.get(0));
+        Map<String, Object> hits = localFirst ? local.multiGet(orderedKeys) : Map.of();
+        if (hits.size() == orderedKeys.size()) {
+            orderedKeys.forEach(key -> statistics.recordLookup(key, true));
+            return CompletableFuture.completedFuture(new LinkedHashMap<>(hits));
+        }
+        List<String> misses = new ArrayList<>(orderedKeys.size() - hits.size());
+        for (String key : orderedKeys) {
+            if (!hits.containsKey(key)) {
+                misses.add(key);
+            }
+        }
+        long start = System.nanoTime();
+        return redis.opsForValue().multiGet(misses)
+                .timeout(timeout)
+                .toFuture()
+                .handle((values, error) -> {
+                    statistics.recordLatency(cacheName, CacheOperation.MULTI_GET, System.nanoTime() - start);
+                    Map<String, Object> loaded;
+                    if (error != null) {
+                        loaded = fallback(orderedKeys.get(0), CacheOperation.MULTI_GET, error,
+                                () -> local.multiGet(misses));
+                    } else {
+                        loaded = new LinkedHashMap<>();
+                        for (int i = 0; i < misses.size() && values != null && i < values.size(); i++) {
+                            if (values.get(i) != null) {
+                                loaded.put(misses.get(i), values.get(i));
+                            }
+                        }
+                        loaded.forEach((key, value) -> local.set(key, value, localExpire));
+                    }
+                    Map<String, Object> result = new LinkedHashMap<>();
+                    for (String key : orderedKeys) {
+                        Object value = hits.containsKey(key) ? hits.get(key) : loaded.get(key);
+                        if (value != null) {
+                            result.put(key, value);
+                        }
+                        statistics.recordLookup(key, value != null);
+                    }
+                    return result;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Long> delete(Collection<String> keys) {
+        return delete(keys, defaultTimeout);
+    }
+
+    @Override
+    public CompletableFuture<Long> delete(Collection<String> keys, Duration timeout) {
+        if (keys == null || keys.isEmpty()) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        List<String> keyList = List.copyOf(keys);
+        String cacheName = CacheStatisticsRecorder.cacheNameOf(keyList.get(0));
+        long start = System.nanoTime();
+        return redis.delete(keyList.toArray(new String[0]))
+                .timeout(timeout)
+                .publishOn(Schedulers.boundedElastic())
+                .toFuture()
+                .handle((deleted, error) -> {
+                    statistics.recordLatency(cacheName, CacheOperation.DELETE, System.nanoTime() - start);
+                    long localDeleted = local.delete(keyList);
+                    if (error != null) {
+                        return fallback(keyList.get(0), CacheOperation.DELETE, error, () -> localDeleted);
+                    }
+                    publish(keyList);
+                    return deleted != null ? deleted : 0L;
+                });
+    }
+
+    /**
+     * 记录失败并按配置返回一级缓存的结果，不回退时以原异常完成
+     */
+    private <T> T fallback(String key, CacheOperation operation, Throwable error, Supplier<T> localResult) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        statistics.recordError(CacheStatisticsRecorder.cacheNameOf(key), operation);
+        if (!fallbackToLocal) {
+            throw cause instanceof CompletionException completion ? completion : new CompletionException(cause);
+        }
+        log.warn("异步缓存 {} 操作失败，回退到本地缓存: key={}, error={}", operation.tagValue(), key, cause.toString());
+        return localResult.get();
+    }
+
+    private long localTimeout(long expire) {
+        return expire > 0 ? Math.min(expire, localExpire) : localExpire;
+    }
+
+    private void publish(List<String> keys) {
+        if (invalidationBus == null) {
+            return;
+        }
+        try {
+            invalidationBus.publish(CacheInvalidationMessage.builder()
+                    .origin(nodeId)
+                    .cacheName(CacheInvalidationMessage.SERVICE_CACHE_NAME)
+                    .keys(keys)
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("发布缓存失效消息失败: keys={}, error={}", keys.size(), e.getMessage());
+        }
+    }
+}
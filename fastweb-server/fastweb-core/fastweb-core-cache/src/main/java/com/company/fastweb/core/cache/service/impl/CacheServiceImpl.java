@@ -1,235 +1,372 @@
 package com.company.fastweb.core.cache.service.impl;
 
-import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 
+import com.company.fastweb.core.cache.backend.CacheBackend;
+import com.company.fastweb.core.cache.backend.CacheBatch;
+import com.company.fastweb.core.cache.backend.CacheKeyIndex;
+import com.company.fastweb.core.cache.backend.InMemoryCacheBackend;
+import com.company.fastweb.core.cache.backend.LocalCacheKeyIndex;
+import com.company.fastweb.core.cache.backend.LocalCacheStore;
+import com.company.fastweb.core.cache.config.FastWebCacheProperties;
+import com.company.fastweb.core.cache.hotkey.HotKeyReplicator;
+import com.company.fastweb.core.cache.metrics.CacheNameStatistics;
+import com.company.fastweb.core.cache.metrics.CacheOperation;
+import com.company.fastweb.core.cache.metrics.CacheStatisticsRecorder;
+import com.company.fastweb.core.cache.metrics.OperationStatistics;
 import com.company.fastweb.core.cache.service.CacheService;
+import com.company.fastweb.core.cache.support.CircuitBreaker;
+import com.company.fastweb.core.cache.support.CircuitBreakerRegistry;
+import com.company.fastweb.core.cache.model.dto.CacheKeyPageDTO;
 import com.company.fastweb.core.cache.model.dto.CacheStatisticsDTO;
+import com.company.fastweb.core.cache.model.dto.HotKeyDTO;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * 缓存服务实现，优先使用 Redis；当 RedisTemplate 不存在时降级为本地 Map（仅用于开发测试）
+ * 缓存服务实现
+ * <p>
+ * 启动时从容器中按优先级选定一个 {@link CacheBackend}（两级近端缓存优先，其次 Redis、Caffeine），
+ * 都不存在时降级为进程内存储；远程后端操作失败时回退到进程内存储。
+ * 每次操作的耗时、失败次数以及读取命中情况都记录到 {@link CacheStatisticsRecorder}。
+ * 带标签的键以及以 fastweb.cache.index.prefixes 中前缀开头的键写入时登记到 {@link CacheKeyIndex}，
+ * 按标签或前缀清除时取出索引中的键分批删除。
+ * 启用热点检测时，远程后端上被判定为热点的 key 由 {@link HotKeyReplicator} 在本节点保留短时副本。
+ * 远程后端由 {@link CircuitBreaker} 保护：连续失败后熔断打开，期间所有操作直接使用进程内存储，
+ * 不再逐次等待连接超时，经过 openDuration 后放行少量探测调用决定是否恢复。
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 @ConditionalOnProperty(prefix = "fastweb.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class CacheServiceImpl implements CacheService {
 
-    private final ApplicationContext applicationContext;
-    private final Map<String, Object> localCache = new HashMap<>();
-    private Object redisTemplate; // 动态获取 RedisTemplate
+    /**
+     * 按模式统计键数量时每批 SCAN 的数量
+     */
+    private static final int SCAN_BATCH_SIZE = 500;
 
     /**
-     * 获取 RedisTemplate 实例，如果不存在则返回 null
+     * 按索引或前缀清除时每批删除的数量
      */
-    private Object getRedisTemplate() {
-        if (redisTemplate == null) {
-            try {
-                // 尝试通过 ApplicationContext 获取 RedisTemplate Bean
-                redisTemplate = applicationContext.getBean("redisTemplate");
-                log.debug("RedisTemplate found and initialized");
-            } catch (Exception e) {
-                // RedisTemplate 不存在，继续使用本地缓存
-                log.debug("RedisTemplate not available, using local cache");
-                redisTemplate = new Object(); // 标记为已尝试
-            }
-        }
-        return redisTemplate instanceof org.springframework.data.redis.core.RedisTemplate ? redisTemplate : null;
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    private static final String TAG_INDEX = "tag:";
+    private static final String PREFIX_INDEX = "prefix:";
+
+    private final InMemoryCacheBackend localBackend;
+    private final CacheBackend backend;
+    private final CacheStatisticsRecorder statistics;
+    private final CacheKeyIndex keyIndex;
+    private final List<String> indexedPrefixes;
+    private final HotKeyReplicator hotKeys;
+    private final CircuitBreaker circuitBreaker;
+
+    @Autowired
+    public CacheServiceImpl(ObjectProvider<CacheBackend> backendProvider,
+                            ObjectProvider<FastWebCacheProperties> propertiesProvider,
+                            ObjectProvider<CacheStatisticsRecorder> statisticsProvider,
+                            ObjectProvider<CacheKeyIndex> keyIndexProvider,
+                            ObjectProvider<HotKeyReplicator> hotKeyProvider,
+                            ObjectProvider<CircuitBreakerRegistry> circuitBreakerProvider) {
+        FastWebCacheProperties properties = propertiesProvider.getIfAvailable();
+        long fallbackSize = Optional.ofNullable(properties)
+                .map(p -> p.getFallback().getMaximumSize())
+                .orElse(InMemoryCacheBackend.DEFAULT_MAXIMUM_SIZE);
+        this.localBackend = new InMemoryCacheBackend(new LocalCacheStore(fallbackSize));
+        this.backend = backendProvider.orderedStream().findFirst().orElse(localBackend);
+        this.statistics = statisticsProvider.getIfAvailable(CacheStatisticsRecorder::new);
+        CacheKeyIndex index = keyIndexProvider.getIfAvailable();
+        // 后端为进程内存储时索引也放在进程内，否则 Redis 中的索引会指向别处不存在的键
+        this.keyIndex = index != null && backend != localBackend ? index : new LocalCacheKeyIndex();
+        this.indexedPrefixes = properties != null ? List.copyOf(properties.getIndex().getPrefixes()) : List.of();
+        // 进程内后端本身就在本地，不需要热点副本
+        this.hotKeys = backend != localBackend ? hotKeyProvider.getIfAvailable() : null;
+        CircuitBreakerRegistry breakers = circuitBreakerProvider.getIfAvailable();
+        this.circuitBreaker = breakers != null && backend != localBackend ? breakers.get(backend.getName()) : null;
+        log.info("FastWeb CacheService initialized with backend: {}", backend.getName());
     }
 
     @Override
     public void set(String key, Object value) {
-        Object template = getRedisTemplate();
-        if (template != null) {
-            try {
-                // 使用反射调用 RedisTemplate 的方法
-                Object ops = template.getClass().getMethod("opsForValue").invoke(template);
-                ops.getClass().getMethod("set", Object.class, Object.class).invoke(ops, key, value);
-            } catch (Exception e) {
-                log.warn("Redis set operation failed, falling back to local cache", e);
-                localCache.put(key, value);
-            }
-        } else {
-            localCache.put(key, value);
-        }
+        execute(key, CacheOperation.SET, target -> {
+            target.set(key, value);
+            return null;
+        });
+        evictReplica(key);
+        index(key, -1, List.of());
     }
 
     @Override
     public void set(String key, Object value, long timeout) {
-        Object template = getRedisTemplate();
-        if (template != null) {
-            try {
-                Object ops = template.getClass().getMethod("opsForValue").invoke(template);
-                ops.getClass().getMethod("set", Object.class, Object.class, Duration.class)
-                    .invoke(ops, key, value, Duration.ofSeconds(timeout));
-            } catch (Exception e) {
-                log.warn("Redis set with timeout operation failed, falling back to local cache", e);
-                localCache.put(key, value);
-            }
-        } else {
-            localCache.put(key, value);
-        }
+        set(key, value, timeout, List.of());
+    }
+
+    @Override
+    public void set(String key, Object value, long timeout, Collection<String> tags) {
+        execute(key, CacheOperation.SET, target -> {
+            target.set(key, value, timeout);
+            return null;
+        });
+        evictReplica(key);
+        index(key, timeout, tags);
     }
 
     @Override
     public <T> T get(String key, Class<T> clazz) {
-        Object value;
-        Object template = getRedisTemplate();
-        if (template != null) {
-            try {
-                Object ops = template.getClass().getMethod("opsForValue").invoke(template);
-                value = ops.getClass().getMethod("get", Object.class).invoke(ops, key);
-            } catch (Exception e) {
-                log.warn("Redis get operation failed, falling back to local cache", e);
-                value = localCache.get(key);
-            }
-        } else {
-            value = localCache.get(key);
-        }
-        
+        Object value = getValue(key);
         if (value == null) return null;
         if (clazz.isInstance(value)) {
             return clazz.cast(value);
         }
-        if (value instanceof String && clazz == String.class) {
-            return clazz.cast(value);
-        }
         return null;
     }
 
     @Override
     public String get(String key) {
-        Object value;
-        Object template = getRedisTemplate();
-        if (template != null) {
-            try {
-                Object ops = template.getClass().getMethod("opsForValue").invoke(template);
-                value = ops.getClass().getMethod("get", Object.class).invoke(ops, key);
-            } catch (Exception e) {
-                log.warn("Redis get operation failed, falling back to local cache", e);
-                value = localCache.get(key);
+        Object value = getValue(key);
+        return value != null ? String.valueOf(value) : null;
+    }
+
+    private Object getValue(String key) {
+        Object value = hotKeys != null ? hotKeys.get(key) : null;
+        if (value == null) {
+            long version = hotKeys != null ? hotKeys.version(key) : 0L;
+            value = execute(key, CacheOperation.GET, target -> target.get(key));
+            if (hotKeys != null) {
+                hotKeys.onLoad(key, value, version);
             }
+        }
+        String cacheName = CacheStatisticsRecorder.cacheNameOf(key);
+        if (value != null) {
+            statistics.recordHits(cacheName, 1);
         } else {
-            value = localCache.get(key);
+            statistics.recordMisses(cacheName, 1);
         }
-        return value != null ? String.valueOf(value) : null;
+        return value;
     }
 
     @Override
-    public void delete(String key) {
-        Object template = getRedisTemplate();
-        if (template != null) {
-            try {
-                template.getClass().getMethod("delete", Object.class).invoke(template, key);
-            } catch (Exception e) {
-                log.warn("Redis delete operation failed, falling back to local cache", e);
-                localCache.remove(key);
-            }
-        } else {
-            localCache.remove(key);
+    public Map<String, Object> multiGet(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        String firstKey = keys.iterator().next();
+        Map<String, Object> values = execute(firstKey, CacheOperation.MULTI_GET, target -> target.multiGet(keys));
+        for (String key : keys) {
+            statistics.recordLookup(key, values.containsKey(key));
         }
+        return values;
     }
 
     @Override
-    public boolean exists(String key) {
-        Object template = getRedisTemplate();
-        if (template != null) {
-            try {
-                Boolean has = (Boolean) template.getClass().getMethod("hasKey", Object.class).invoke(template, key);
-                return has != null && has;
-            } catch (Exception e) {
-                log.warn("Redis exists operation failed, falling back to local cache", e);
-                return localCache.containsKey(key);
-            }
-        } else {
-            return localCache.containsKey(key);
+    public void multiSet(Map<String, ?> entries, long timeout) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        execute(entries.keySet().iterator().next(), CacheOperation.MULTI_SET, target -> {
+            target.multiSet(entries, timeout);
+            return null;
+        });
+        if (hotKeys != null) {
+            hotKeys.invalidate(entries.keySet());
         }
+        entries.keySet().forEach(key -> index(key, timeout, List.of()));
     }
 
     @Override
-    public void expire(String key, long timeout) {
-        Object template = getRedisTemplate();
-        if (template != null) {
-            try {
-                template.getClass().getMethod("expire", Object.class, Duration.class)
-                    .invoke(template, key, Duration.ofSeconds(timeout));
-            } catch (Exception e) {
-                log.warn("Redis expire operation failed", e);
+    public List<Object> pipeline(Consumer<CacheBatch> operations) {
+        CacheBatch batch = new CacheBatch();
+        operations.accept(batch);
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+        String firstKey = batch.getOperations().get(0).key();
+        List<Object> results = execute(firstKey, CacheOperation.PIPELINE, target -> target.execute(batch));
+        for (CacheBatch.Operation operation : batch.getOperations()) {
+            if (operation.type() == CacheBatch.OperationType.SET) {
+                index(operation.key(), operation.timeout(), List.of());
+            }
+            if (operation.type() != CacheBatch.OperationType.GET) {
+                evictReplica(operation.key());
+            }
+        }
+        for (int i = 0; i < results.size(); i++) {
+            CacheBatch.Operation operation = batch.getOperations().get(i);
+            if (operation.type() == CacheBatch.OperationType.GET) {
+                statistics.recordLookup(operation.key(), results.get(i) != null);
             }
         }
-        // 本地Map不支持过期，忽略
+        return results;
+    }
+
+    @Override
+    public void delete(String key) {
+        execute(key, CacheOperation.DELETE, target -> target.delete(key));
+        evictReplica(key);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return execute(key, CacheOperation.EXISTS, target -> target.exists(key));
+    }
+
+    @Override
+    public void expire(String key, long timeout) {
+        execute(key, CacheOperation.EXPIRE, target -> target.expire(key, timeout));
+        evictReplica(key);
     }
 
     @Override
     public long getExpire(String key) {
-        Object template = getRedisTemplate();
-        if (template != null) {
-            try {
-                Long ttl = (Long) template.getClass().getMethod("getExpire", Object.class).invoke(template, key);
-                return ttl == null ? -2 : ttl;
-            } catch (Exception e) {
-                log.warn("Redis getExpire operation failed", e);
-                return exists(key) ? -1 : -2;
-            }
-        } else {
-            return exists(key) ? -1 : -2;
-        }
+        return execute(key, CacheOperation.GET_EXPIRE, target -> target.getExpire(key));
     }
 
     @Override
     public void clear(String cacheName) {
-        // 简化处理：对于 Redis，建议按前缀清理；这里为了示例仅清理本地Map
-        localCache.clear();
+        long deleted = invalidateByPrefix(cacheName + ":");
+        log.debug("清空缓存区域: cacheName={}, deleted={}", cacheName, deleted);
+    }
+
+    @Override
+    public long invalidateByTag(String tag) {
+        return invalidateIndex(TAG_INDEX + tag);
+    }
+
+    @Override
+    public long invalidateByPrefix(String prefix) {
+        if (indexedPrefixes.contains(prefix)) {
+            return invalidateIndex(PREFIX_INDEX + prefix);
+        }
+        log.debug("前缀未建立索引，按 SCAN 遍历删除: prefix={}", prefix);
+        long deleted = 0;
+        try (Stream<String> keys = scan(prefix + "*", SCAN_BATCH_SIZE)) {
+            List<String> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+            Iterator<String> iterator = keys.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() >= DELETE_BATCH_SIZE) {
+                    deleted += deleteBatch(batch);
+                    batch = new ArrayList<>(DELETE_BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                deleted += deleteBatch(batch);
+            }
+        }
+        if (backend != localBackend) {
+            localBackend.delete(localBackend.keys(prefix + "*"));
+        }
+        return deleted;
+    }
+
+    private long invalidateIndex(String index) {
+        AtomicLong deleted = new AtomicLong();
+        keyIndex.drain(index, DELETE_BATCH_SIZE, keys -> deleted.addAndGet(deleteBatch(keys)));
+        return deleted.get();
+    }
+
+    /**
+     * 删除一批键，同时清理降级存储中可能存在的副本
+     */
+    private long deleteBatch(List<String> keys) {
+        long deleted = execute(keys.get(0), CacheOperation.DELETE, target -> target.delete(keys));
+        if (backend != localBackend) {
+            localBackend.delete(keys);
+        }
+        if (hotKeys != null) {
+            hotKeys.invalidate(keys);
+        }
+        return deleted;
+    }
+
+    private void evictReplica(String key) {
+        if (hotKeys != null) {
+            hotKeys.invalidate(key);
+        }
+    }
+
+    /**
+     * 登记标签索引及匹配的前缀索引；索引写入失败只影响之后的批量清除，不影响本次写入
+     */
+    private void index(String key, long timeout, Collection<String> tags) {
+        List<String> indexes = new ArrayList<>();
+        if (tags != null) {
+            tags.forEach(tag -> indexes.add(TAG_INDEX + tag));
+        }
+        for (String prefix : indexedPrefixes) {
+            if (key.startsWith(prefix)) {
+                indexes.add(PREFIX_INDEX + prefix);
+            }
+        }
+        if (indexes.isEmpty()) {
+            return;
+        }
+        try {
+            keyIndex.add(indexes, key, timeout);
+        } catch (RuntimeException e) {
+            log.warn("登记缓存键索引失败: key={}, indexes={}", key, indexes, e);
+        }
     }
 
     @Override
     public Map<String, Object> getInfo() {
         Map<String, Object> info = new HashMap<>();
-        Object template = getRedisTemplate();
-        info.put("backend", template != null ? "redis" : "local");
-        if (template != null) {
+        info.put("backend", backend.getName());
+        if (!circuitOpen()) {
             try {
-                Object connectionFactory = template.getClass().getMethod("getConnectionFactory").invoke(template);
-                Object connection = connectionFactory.getClass().getMethod("getConnection").invoke(connectionFactory);
-                Long dbSize = (Long) connection.getClass().getMethod("dbSize").invoke(connection);
-                info.put("redis.dbsize", dbSize);
-            } catch (Exception e) {
-                log.warn("获取Redis信息失败", e);
+                info.put(backend.getName() + ".size", backend.size());
+            } catch (RuntimeException e) {
+                log.warn("获取缓存后端信息失败: backend={}, error={}", backend.getName(), e.toString());
             }
-        } else {
-            info.put("local.size", localCache.size());
         }
+        if (backend != localBackend) {
+            info.put("local.size", localBackend.size());
+        }
+        if (circuitBreaker != null) {
+            info.put("circuitBreaker", circuitBreaker.toMap());
+        }
+        info.put("hitRate", statistics.getHitRate());
         return info;
     }
 
     @Override
     public Set<String> keys(String pattern) {
-        Object template = getRedisTemplate();
-        if (template != null) {
+        return execute(pattern, CacheOperation.SCAN, target -> target.keys(pattern));
+    }
+
+    @Override
+    public Stream<String> scan(String pattern, int batchSize) {
+        long start = System.nanoTime();
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
             try {
-                Set<String> keys = (Set<String>) template.getClass().getMethod("keys", Object.class).invoke(template, pattern);
-                return keys != null ? keys : new HashSet<>();
-            } catch (Exception e) {
-                log.warn("Redis keys operation failed, falling back to local cache", e);
-                return localCache.keySet().stream()
-                    .filter(key -> matchPattern(key, pattern))
-                    .collect(Collectors.toSet());
+                return localBackend.scan(pattern, batchSize);
+            } finally {
+                statistics.recordLatency(CacheStatisticsRecorder.cacheNameOf(pattern), CacheOperation.SCAN,
+                        System.nanoTime() - start);
             }
-        } else {
-            return localCache.keySet().stream()
-                .filter(key -> matchPattern(key, pattern))
-                .collect(Collectors.toSet());
         }
+        // 后端返回的是惰性流，失败可能发生在遍历过程中，因此在迭代器上处理失败与熔断
+        ScanIterator iterator = new ScanIterator(pattern, batchSize, start);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    @Override
+    public CacheKeyPageDTO scan(String pattern, String cursor, int count) {
+        return execute(pattern, CacheOperation.SCAN, target -> target.scan(pattern, cursor, count));
     }
 
     @Override
@@ -237,16 +374,9 @@ public class CacheServiceImpl implements CacheService {
         if (keys == null || keys.isEmpty()) {
             return;
         }
-        Object template = getRedisTemplate();
-        if (template != null) {
-            try {
-                template.getClass().getMethod("delete", Collection.class).invoke(template, keys);
-            } catch (Exception e) {
-                log.warn("Redis batch delete operation failed, falling back to local cache", e);
-                keys.forEach(localCache::remove);
-            }
-        } else {
-            keys.forEach(localCache::remove);
+        execute(keys.iterator().next(), CacheOperation.DELETE, target -> target.delete(keys));
+        if (hotKeys != null) {
+            hotKeys.invalidate(keys);
         }
     }
 
@@ -255,91 +385,270 @@ public class CacheServiceImpl implements CacheService {
         return exists(key);
     }
 
-    /**
-     * 简单的通配符匹配，支持 * 通配符
-     */
-    private boolean matchPattern(String key, String pattern) {
-        if (pattern == null || pattern.isEmpty()) {
-            return false;
-        }
-        if ("*".equals(pattern)) {
-            return true;
-        }
-        if (!pattern.contains("*")) {
-            return key.equals(pattern);
-        }
-        
-        String regex = pattern.replace("*", ".*");
-        return key.matches(regex);
-    }
-
     @Override
     public CacheStatisticsDTO getStatistics() {
-        Object template = getRedisTemplate();
-        if (template != null) {
-            // Redis统计信息
+        CacheBackend target = backend;
+        long totalKeys;
+        Map<String, Long> serverInfo;
+        if (circuitOpen()) {
+            target = localBackend;
+            totalKeys = localBackend.size();
+            serverInfo = Map.of();
+        } else {
             try {
-                org.springframework.data.redis.core.RedisTemplate<String, Object> redisTemplate = 
-                    (org.springframework.data.redis.core.RedisTemplate<String, Object>) template;
-                
-                // 获取Redis信息（这里简化处理，实际可以通过Redis INFO命令获取更详细信息）
-                Set<String> keys = redisTemplate.keys("*");
-                long totalKeys = keys != null ? keys.size() : 0;
-                
-                return CacheStatisticsDTO.builder()
-                        .cacheType("redis")
-                        .totalKeys(totalKeys)
-                        .usedMemory(0L) // 需要通过Redis INFO命令获取
-                        .maxMemory(0L)
-                        .memoryUsageRate(0.0)
-                        .hitCount(0L)
-                        .missCount(0L)
-                        .hitRate(0.0)
-                        .connectionCount(1)
-                        .uptime(0L)
-                        .statisticsTime(LocalDateTime.now())
-                        .build();
-            } catch (Exception e) {
-                log.warn("获取Redis统计信息失败", e);
+                totalKeys = backend.size();
+                serverInfo = backend.serverInfo();
+            } catch (RuntimeException e) {
+                log.warn("获取缓存统计信息失败: backend={}, error={}", backend.getName(), e.toString());
+                target = localBackend;
+                totalKeys = localBackend.size();
+                serverInfo = Map.of();
             }
         }
-        
-        // 本地缓存统计信息
+
+        long usedMemory = serverInfo.getOrDefault("used_memory", 0L);
+        long maxMemory = serverInfo.getOrDefault("maxmemory", 0L);
+        Map<String, Object> additionalInfo = new LinkedHashMap<>();
+        additionalInfo.put("evictedKeys", serverInfo.getOrDefault("evicted_keys", 0L));
+        additionalInfo.put("expiredKeys", serverInfo.getOrDefault("expired_keys", 0L));
+        additionalInfo.put("keyspaceHits", serverInfo.getOrDefault("keyspace_hits", 0L));
+        additionalInfo.put("keyspaceMisses", serverInfo.getOrDefault("keyspace_misses", 0L));
+        additionalInfo.put("localFallback", Map.of(
+                "size", localBackend.size(),
+                "evictions", localBackend.getStore().evictionCount(),
+                "expirations", localBackend.getStore().expirationCount()));
+        if (hotKeys != null) {
+            additionalInfo.put("hotKeys", Map.of(
+                    "count", hotKeys.hotKeys().size(),
+                    "replicas", hotKeys.getReplicaCount(),
+                    "localHits", hotKeys.getLocalHits(),
+                    "promotions", hotKeys.getPromotions()));
+        }
+        if (circuitBreaker != null) {
+            additionalInfo.put("circuitBreaker", circuitBreaker.toMap());
+        }
+        additionalInfo.put("caches", cacheStatistics());
+
         return CacheStatisticsDTO.builder()
-                .cacheType("local")
-                .totalKeys((long) localCache.size())
-                .usedMemory(0L)
-                .maxMemory(0L)
-                .memoryUsageRate(0.0)
-                .hitCount(0L)
-                .missCount(0L)
-                .hitRate(0.0)
-                .connectionCount(0)
-                .uptime(0L)
+                .cacheType(target.getName())
+                .totalKeys(totalKeys)
+                .usedMemory(usedMemory)
+                .maxMemory(maxMemory)
+                .memoryUsageRate(maxMemory > 0 ? (double) usedMemory / maxMemory : 0.0)
+                .hitCount(statistics.getHitCount())
+                .missCount(statistics.getMissCount())
+                .hitRate(statistics.getHitRate())
+                .connectionCount(serverInfo.getOrDefault("connected_clients", 0L).intValue())
+                .uptime(serverInfo.getOrDefault("uptime_in_seconds", statistics.getUptimeSeconds()))
                 .statisticsTime(LocalDateTime.now())
+                .additionalInfo(additionalInfo)
                 .build();
     }
 
     @Override
-    public long size() {
-        Object template = getRedisTemplate();
-        if (template != null) {
-            try {
-                org.springframework.data.redis.core.RedisTemplate<String, Object> redisTemplate = 
-                    (org.springframework.data.redis.core.RedisTemplate<String, Object>) template;
-                Set<String> keys = redisTemplate.keys("*");
-                return keys != null ? keys.size() : 0;
-            } catch (Exception e) {
-                log.warn("获取Redis缓存大小失败", e);
-                return 0;
+    public List<HotKeyDTO> getHotKeys() {
+        if (hotKeys == null) {
+            return List.of();
+        }
+        long windowMillis = hotKeys.getDetector().getWindowMillis();
+        return hotKeys.hotKeys().stream()
+                .map(hotKey -> HotKeyDTO.builder()
+                        .key(hotKey.getKey())
+                        .windowCount(hotKey.getWindowCount())
+                        .windowMillis(windowMillis)
+                        .detectedTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(hotKey.getDetectedAt()),
+                                ZoneId.systemDefault()))
+                        .replicated(hotKeys.isReplicated(hotKey.getKey()))
+                        .build())
+                .toList();
+    }
+
+    /**
+     * 按缓存名称汇总命中率及各操作的耗时分布
+     */
+    private Map<String, Object> cacheStatistics() {
+        Map<String, Object> caches = new TreeMap<>();
+        for (CacheNameStatistics cache : statistics.getCaches()) {
+            Map<String, Object> operations = new LinkedHashMap<>();
+            for (OperationStatistics operation : cache.getOperations()) {
+                Map<String, Object> detail = new LinkedHashMap<>();
+                detail.put("calls", operation.getCalls());
+                detail.put("errors", operation.getErrors());
+                detail.put("latency", operation.snapshot().toMap());
+                operations.put(operation.getOperation().tagValue(), detail);
             }
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("hits", cache.getHits());
+            detail.put("misses", cache.getMisses());
+            detail.put("hitRate", cache.getHitRate());
+            detail.put("operations", operations);
+            caches.put(cache.getName(), detail);
+        }
+        return caches;
+    }
+
+    @Override
+    public long size() {
+        if (circuitOpen()) {
+            return localBackend.size();
+        }
+        try {
+            return backend.size();
+        } catch (RuntimeException e) {
+            log.warn("获取缓存大小失败: backend={}, error={}", backend.getName(), e.toString());
+            return 0;
         }
-        return localCache.size();
     }
 
     @Override
     public long size(String pattern) {
-        Set<String> keys = keys(pattern);
-        return keys.size();
+        if (pattern == null || "*".equals(pattern)) {
+            return size();
+        }
+        try (Stream<String> keys = scan(pattern, SCAN_BATCH_SIZE)) {
+            return keys.count();
+        }
+    }
+
+    /**
+     * 熔断器是否处于打开或半开状态；此时统计类操作不访问远程后端，也不占用探测名额
+     */
+    private boolean circuitOpen() {
+        return circuitBreaker != null && circuitBreaker.getState() != CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * 在选定后端上执行操作并记录耗时，失败时记录错误并回退到本地降级存储；熔断打开时直接使用本地降级存储
+     */
+    private <T> T execute(String key, CacheOperation operation, Function<CacheBackend, T> action) {
+        String cacheName = CacheStatisticsRecorder.cacheNameOf(key);
+        long start = System.nanoTime();
+        boolean remote = circuitBreaker == null || circuitBreaker.tryAcquire();
+        try {
+            if (!remote) {
+                return action.apply(localBackend);
+            }
+            T result = action.apply(backend);
+            if (circuitBreaker != null) {
+                circuitBreaker.onSuccess();
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (!remote) {
+                throw e;
+            }
+            onRemoteFailure(cacheName, operation, e);
+            return action.apply(localBackend);
+        } finally {
+            statistics.recordLatency(cacheName, operation, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 记录远程后端操作失败并通知熔断器，调用方随后回退到本地降级存储
+     */
+    private void onRemoteFailure(String cacheName, CacheOperation operation, RuntimeException e) {
+        statistics.recordError(cacheName, operation);
+        if (circuitBreaker != null) {
+            circuitBreaker.onFailure(e);
+        }
+        // 完整堆栈只在 DEBUG 输出，后端不可用时不会每次请求都打印一遍
+        log.warn("Cache backend [{}] {} operation failed, falling back to local cache: {}",
+                backend.getName(), operation.tagValue(), e.toString());
+        log.debug("Cache backend [{}] {} operation failure detail", backend.getName(), operation.tagValue(), e);
+    }
+
+    /**
+     * 遍历远程后端的 SCAN 结果，遍历中失败时记录错误、通知熔断器并改为遍历本地降级存储；
+     * 遍历完或流关闭时才向熔断器报告成功并记录耗时
+     */
+    private final class ScanIterator implements Iterator<String> {
+
+        private final String pattern;
+        private final int batchSize;
+        private final String cacheName;
+        private final long start;
+        private Stream<String> source;
+        private Iterator<String> delegate;
+        private boolean fallback;
+        private boolean completed;
+
+        ScanIterator(String pattern, int batchSize, long start) {
+            this.pattern = pattern;
+            this.batchSize = batchSize;
+            this.cacheName = CacheStatisticsRecorder.cacheNameOf(pattern);
+            this.start = start;
+            try {
+                this.source = backend.scan(pattern, batchSize);
+                this.delegate = source.iterator();
+            } catch (RuntimeException e) {
+                fallBack(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                boolean hasNext = delegate.hasNext();
+                if (!hasNext) {
+                    complete();
+                }
+                return hasNext;
+            } catch (RuntimeException e) {
+                if (fallback) {
+                    throw e;
+                }
+                fallBack(e);
+                return hasNext();
+            }
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return delegate.next();
+            } catch (RuntimeException e) {
+                if (fallback) {
+                    throw e;
+                }
+                fallBack(e);
+                return next();
+            }
+        }
+
+        void close() {
+            complete();
+            if (source != null) {
+                source.close();
+            }
+        }
+
+        private void fallBack(RuntimeException e) {
+            onRemoteFailure(cacheName, CacheOperation.SCAN, e);
+            fallback = true;
+            if (source != null) {
+                try {
+                    source.close();
+                } catch (RuntimeException closeError) {
+                    log.debug("Failed to close scan cursor on backend [{}]", backend.getName(), closeError);
+                }
+            }
+            source = localBackend.scan(pattern, batchSize);
+            delegate = source.iterator();
+        }
+
+        private void complete() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            if (!fallback && circuitBreaker != null) {
+                circuitBreaker.onSuccess();
+            }
+            statistics.recordLatency(cacheName, CacheOperation.SCAN, System.nanoTime() - start);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package com.company.fastweb.core.cache.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 缓存后台刷新线程池
+ * <p>
+ * 线程数与队列长度都有上限，队列满时直接放弃本次刷新（调用方继续使用旧值），
+ * 不会阻塞用户请求，也不会因为刷新堆积耗尽内存。
+ * 不实现 {@link java.util.concurrent.Executor}，避免影响 Spring Boot 默认任务线程池的自动配置。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class CacheRefreshExecutor implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param poolSize      刷新线程数
+     * @param queueCapacity 等待队列长度
+     */
+    public CacheRefreshExecutor(int poolSize, int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "fastweb-cache-refresh-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 提交刷新任务
+     *
+     * @return 队列已满或已关闭时返回 false
+     */
+    public boolean execute(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.debug("缓存刷新队列已满，放弃本次刷新");
+            return false;
+        }
+    }
+
+    /**
+     * 异步执行，队列已满时返回以 {@code fallback} 完成的 Future
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, T fallback) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.debug("缓存刷新队列已满，放弃本次刷新");
+            return CompletableFuture.completedFuture(fallback);
+        }
+    }
+
+    /**
+     * 因队列已满被放弃的刷新次数
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
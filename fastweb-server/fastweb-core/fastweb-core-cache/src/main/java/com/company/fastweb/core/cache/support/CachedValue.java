@@ -0,0 +1,52 @@
+package com.company.fastweb.core.cache.support;
+
+import com.company.fastweb.core.cache.backend.ExpiringValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link com.company.fastweb.core.cache.annotation.Cacheable} 写入的缓存值
+ * <p>
+ * 除方法返回值外还记录本次加载耗时与逻辑过期时间，用于 XFetch 概率提前刷新：
+ * 越接近过期、加载越慢，越可能由某个读请求提前重新加载，从而避免同一时刻集中过期。
+ * 同时可以区分“缓存了 null”与“未缓存”。
+ *
+ * @author FastWeb
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedValue implements ExpiringValue {
+
+    /**
+     * 方法返回值
+     */
+    private Object value;
+
+    /**
+     * 加载耗时（毫秒）
+     */
+    private long loadTime;
+
+    /**
+     * 逻辑过期时间戳（毫秒），小于等于 0 表示永不过期
+     */
+    private long expireAt;
+
+    /**
+     * XFetch：{@code now - loadTime * beta * ln(rand) >= expireAt} 时提前刷新
+     *
+     * @param beta 提前刷新系数，小于等于 0 表示关闭
+     */
+    public boolean shouldRefresh(double beta, long now) {
+        if (beta <= 0 || expireAt <= 0) {
+            return false;
+        }
+        // 取 (0, 1]，避免 ln(0)
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return now - Math.max(loadTime, 1) * beta * Math.log(random) >= expireAt;
+    }
+}
@@ -0,0 +1,196 @@
+package com.company.fastweb.core.cache.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 远程缓存后端熔断器
+ * <p>
+ * <ul>
+ *     <li>关闭（CLOSED）：正常调用，连续失败达到 {@code failureThreshold} 次后打开</li>
+ *     <li>打开（OPEN）：直接拒绝调用，调用方只使用本地存储，不再等待连接超时；经过 {@code openDuration} 后进入半开</li>
+ *     <li>半开（HALF_OPEN）：最多放行 {@code halfOpenCalls} 个探测调用，全部成功后关闭，任一失败重新打开</li>
+ * </ul>
+ * 关闭状态下的判断只读取一个 volatile 字段，状态切换在锁内完成。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED(0), OPEN(1), HALF_OPEN(2);
+
+        private final int code;
+
+        State(int code) {
+            this.code = code;
+        }
+
+        /**
+         * 指标中使用的数值
+         */
+        public int code() {
+            return code;
+        }
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+    private long openCount;
+
+    /**
+     * @param name             熔断的后端名称
+     * @param failureThreshold 打开所需的连续失败次数
+     * @param openDuration     打开后多久进入半开
+     * @param halfOpenCalls    半开时放行的探测调用数
+     */
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, int halfOpenCalls) {
+        this(name, failureThreshold, openDuration, halfOpenCalls, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock 时钟（毫秒）
+     */
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, int halfOpenCalls,
+                          LongSupplier clock) {
+        if (failureThreshold < 1 || halfOpenCalls < 1 || openDuration.isNegative()) {
+            throw new IllegalArgumentException("熔断参数无效: failureThreshold=" + failureThreshold
+                    + ", openDuration=" + openDuration + ", halfOpenCalls=" + halfOpenCalls);
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openDuration.toMillis();
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+    }
+
+    /**
+     * 申请一次调用，返回 true 时调用结束后必须调用 {@link #onSuccess()} 或 {@link #onFailure(Throwable)}
+     *
+     * @return 是否允许调用远程后端
+     */
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && clock.getAsLong() - openedAt >= openMillis) {
+                state = State.HALF_OPEN;
+                probesStarted = 0;
+                probesSucceeded = 0;
+                log.info("缓存后端 [{}] 熔断进入半开，开始探测", name);
+            }
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.HALF_OPEN && probesStarted < halfOpenCalls) {
+                probesStarted++;
+                return true;
+            }
+        }
+        rejectedCalls.increment();
+        return false;
+    }
+
+    /**
+     * 记录一次成功调用
+     */
+    public void onSuccess() {
+        if (state == State.CLOSED) {
+            if (consecutiveFailures.get() != 0) {
+                consecutiveFailures.set(0);
+            }
+            return;
+        }
+        synchronized (this) {
+            if (state == State.HALF_OPEN && ++probesSucceeded >= halfOpenCalls) {
+                state = State.CLOSED;
+                consecutiveFailures.set(0);
+                log.info("缓存后端 [{}] 探测成功，熔断关闭", name);
+            }
+        }
+    }
+
+    /**
+     * 记录一次失败调用
+     */
+    public void onFailure(Throwable error) {
+        if (state == State.CLOSED && consecutiveFailures.incrementAndGet() < failureThreshold) {
+            return;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                log.warn("缓存后端 [{}] 探测失败，熔断重新打开 {}ms: {}", name, openMillis, String.valueOf(error));
+            } else {
+                log.warn("缓存后端 [{}] 连续失败 {} 次，熔断打开 {}ms，期间只使用本地缓存: {}",
+                        name, consecutiveFailures.get(), openMillis, String.valueOf(error));
+            }
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            openCount++;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 当前连续失败次数
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * 打开或半开期间被拒绝的调用次数
+     */
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    /**
+     * 累计打开次数
+     */
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+
+    /**
+     * 状态概要，用于 getInfo 等诊断输出
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("state", state.name());
+        info.put("consecutiveFailures", consecutiveFailures.get());
+        info.put("rejectedCalls", rejectedCalls.sum());
+        info.put("openCount", openCount);
+        if (state != State.CLOSED) {
+            info.put("openedAt", openedAt);
+        }
+        return info;
+    }
+}
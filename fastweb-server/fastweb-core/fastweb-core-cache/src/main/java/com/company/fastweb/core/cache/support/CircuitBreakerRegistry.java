@@ -0,0 +1,63 @@
+package com.company.fastweb.core.cache.support;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 按缓存后端名称管理熔断器，所有熔断器使用同一组参数
+ *
+ * @author FastWeb
+ */
+public class CircuitBreakerRegistry {
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final List<Consumer<CircuitBreaker>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param failureThreshold 打开所需的连续失败次数
+     * @param openDuration     打开后多久进入半开
+     * @param halfOpenCalls    半开时放行的探测调用数
+     */
+    public CircuitBreakerRegistry(int failureThreshold, Duration openDuration, int halfOpenCalls) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * 获取或创建指定后端的熔断器
+     */
+    public CircuitBreaker get(String backendName) {
+        CircuitBreaker existing = breakers.get(backendName);
+        if (existing != null) {
+            return existing;
+        }
+        CircuitBreaker created = new CircuitBreaker(backendName, failureThreshold, openDuration, halfOpenCalls);
+        existing = breakers.putIfAbsent(backendName, created);
+        if (existing != null) {
+            return existing;
+        }
+        listeners.forEach(listener -> listener.accept(created));
+        return created;
+    }
+
+    public Collection<CircuitBreaker> getAll() {
+        return breakers.values();
+    }
+
+    /**
+     * 注册熔断器创建监听，已存在的熔断器立即回调
+     */
+    public void addListener(Consumer<CircuitBreaker> listener) {
+        listeners.add(listener);
+        breakers.values().forEach(listener);
+    }
+}
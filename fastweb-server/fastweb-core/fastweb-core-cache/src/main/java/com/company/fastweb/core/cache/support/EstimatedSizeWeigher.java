@@ -0,0 +1,168 @@
+package com.company.fastweb.core.cache.support;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按估算内存占用（字节）计算权重的 Caffeine Weigher
+ * <p>
+ * 估算基于 64 位 JVM + 压缩指针的对象布局，只求量级正确：
+ * 字符串按 Latin-1 计，集合抽样前 {@value #SAMPLE_SIZE} 个元素按平均值外推，
+ * 普通对象通过反射遍历字段（字段列表按类缓存），递归深度不超过 {@value #MAX_DEPTH}。
+ * JDK 内部类型无法反射时按固定大小计。
+ *
+ * @author FastWeb
+ */
+public class EstimatedSizeWeigher implements Weigher<Object, Object> {
+
+    private static final int HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int SAMPLE_SIZE = 16;
+    private static final int MAX_DEPTH = 4;
+    private static final int OPAQUE_SIZE = 64;
+
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                    } catch (RuntimeException e) {
+                        return null;
+                    }
+                    fields.add(field);
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    @Override
+    public int weigh(Object key, Object value) {
+        try {
+            long size = estimate(key) + estimate(value);
+            return (int) Math.min(size, Integer.MAX_VALUE);
+        } catch (RuntimeException e) {
+            // 估算失败不能影响写入
+            return OPAQUE_SIZE;
+        }
+    }
+
+    /**
+     * 估算对象占用的字节数
+     */
+    public static long estimate(Object value) {
+        return estimate(value, 0);
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null || value instanceof Enum<?> || value instanceof Class<?>) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            return align(HEADER + 24 + s.length());
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return HEADER + 8;
+        }
+        if (value instanceof Temporal) {
+            return HEADER + 24;
+        }
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            return estimateArray(value, type.getComponentType(), depth);
+        }
+        if (depth >= MAX_DEPTH) {
+            return OPAQUE_SIZE;
+        }
+        if (value instanceof Collection<?> collection) {
+            return HEADER + 32 + (long) collection.size() * REFERENCE * 4
+                    + sample(collection.iterator(), collection.size(), depth);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return HEADER + 48 + (long) map.size() * (HEADER + REFERENCE * 4)
+                    + sample(map.keySet().iterator(), map.size(), depth)
+                    + sample(map.values().iterator(), map.size(), depth);
+        }
+        return estimateFields(value, type, depth);
+    }
+
+    private static long estimateArray(Object array, Class<?> componentType, int depth) {
+        int length = Array.getLength(array);
+        if (componentType.isPrimitive()) {
+            int elementSize = componentType == long.class || componentType == double.class ? 8
+                    : componentType == int.class || componentType == float.class ? 4
+                    : componentType == short.class || componentType == char.class ? 2 : 1;
+            return align(HEADER + (long) length * elementSize);
+        }
+        if (depth >= MAX_DEPTH) {
+            return align(HEADER + (long) length * REFERENCE);
+        }
+        return align(HEADER + (long) length * REFERENCE) + sample(new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < length;
+            }
+
+            @Override
+            public Object next() {
+                return Array.get(array, index++);
+            }
+        }, length, depth);
+    }
+
+    private static long estimateFields(Object value, Class<?> type, int depth) {
+        Field[] fields = FIELDS.get(type);
+        if (fields == null) {
+            return OPAQUE_SIZE;
+        }
+        long size = HEADER;
+        for (Field field : fields) {
+            Class<?> fieldType = field.getType();
+            if (fieldType.isPrimitive()) {
+                size += fieldType == long.class || fieldType == double.class ? 8 : 4;
+                continue;
+            }
+            size += REFERENCE;
+            try {
+                size += estimate(field.get(value), depth + 1);
+            } catch (IllegalAccessException e) {
+                size += OPAQUE_SIZE;
+            }
+        }
+        return align(size);
+    }
+
+    /**
+     * 抽样估算元素大小，按平均值外推到全部元素
+     */
+    private static long sample(Iterator<?> iterator, int total, int depth) {
+        long sampled = 0;
+        int count = 0;
+        while (count < SAMPLE_SIZE && iterator.hasNext()) {
+            sampled += estimate(iterator.next(), depth + 1);
+            count++;
+        }
+        return count == 0 ? 0 : sampled * total / count;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
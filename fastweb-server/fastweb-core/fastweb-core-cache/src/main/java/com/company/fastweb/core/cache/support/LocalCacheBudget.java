@@ -0,0 +1,288 @@
+package com.company.fastweb.core.cache.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地缓存全局内存预算
+ * <p>
+ * 参与预算的缓存都按 {@link EstimatedSizeWeigher} 估算的字节数限制容量，各缓存容量之和恒等于总预算。
+ * 每个缓存记录最近因容量被淘汰的 key（幽灵表），之后对这些 key 的未命中说明“再多一点容量就能命中”，
+ * 按单位容量的幽灵命中数衡量边际命中率；定时从边际命中率最低的缓存挪出一份容量给最高的缓存，
+ * 每个缓存保留不低于 {@code minShare} 的份额。
+ * <p>
+ * 使用方式：先对每个缓存调用 {@link #configure} 设置 Caffeine 构建器，构建后用 {@link #createCache} 包装，
+ * 全部注册完成后调用 {@link #allocate} 分配初始容量，再调用 {@link #start} 开始定时调整。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class LocalCacheBudget implements AutoCloseable {
+
+    private static final int GHOST_CAPACITY = 10_000;
+
+    private final long maximumWeight;
+    private final double minShare;
+    private final double stepRatio;
+    private final Map<String, Member> members = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param maximumWeight 总预算（字节）
+     * @param minShare      单个缓存最低份额（0~1）
+     * @param stepRatio     每次调整挪动的份额（0~1）
+     */
+    public LocalCacheBudget(long maximumWeight, double minShare, double stepRatio) {
+        this.maximumWeight = maximumWeight;
+        this.minShare = minShare;
+        this.stepRatio = stepRatio;
+    }
+
+    /**
+     * 设置按权重限制容量，并监听容量淘汰
+     *
+     * @param requestedWeight 该缓存配置的 maximumWeight，用于按比例分配初始容量；0 表示平均分配
+     */
+    public Caffeine<Object, Object> configure(String name, Caffeine<Object, Object> builder, long requestedWeight) {
+        Member member = new Member(name, requestedWeight);
+        if (members.putIfAbsent(name, member) != null) {
+            throw new IllegalStateException("本地缓存重复注册内存预算: " + name);
+        }
+        return builder.maximumWeight(maximumWeight)
+                .weigher(new EstimatedSizeWeigher())
+                .evictionListener((key, value, cause) -> member.onEviction(key, cause));
+    }
+
+    /**
+     * 包装为记录幽灵命中的 Spring Cache
+     */
+    public CaffeineCache createCache(String name, Cache<Object, Object> cache) {
+        Member member = members.get(name);
+        if (member == null) {
+            throw new IllegalStateException("本地缓存未注册内存预算: " + name);
+        }
+        member.eviction = cache.policy().eviction().orElseThrow();
+        return new BudgetedCaffeineCache(name, cache, member);
+    }
+
+    /**
+     * 按配置比例分配初始容量，总和等于预算
+     * <p>
+     * 按比例分到的容量低于最低份额的缓存取最低份额，剩余预算在其余缓存之间重新按比例分配，直到没有缓存低于最低份额；
+     * 取整余下的字节数分给最后一个按比例分配的缓存。
+     */
+    public void allocate() {
+        List<Member> active = activeMembers();
+        if (active.isEmpty()) {
+            return;
+        }
+        // 未配置容量的缓存按已配置缓存的平均值参与分配，都未配置时平均分配
+        long requested = active.stream().mapToLong(m -> m.requestedWeight).sum();
+        long configured = active.stream().filter(m -> m.requestedWeight > 0).count();
+        double defaultWeight = requested > 0 ? (double) requested / configured : 1;
+        Map<Member, Double> weights = new LinkedHashMap<>();
+        active.forEach(member -> weights.put(member,
+                member.requestedWeight > 0 ? (double) member.requestedWeight : defaultWeight));
+
+        long minWeight = minWeight();
+        if (minWeight * active.size() > maximumWeight) {
+            log.warn("本地缓存最低份额之和超过总预算，忽略最低份额: minShare={}, caches={}", minShare, active.size());
+            minWeight = 0;
+        }
+        Map<Member, Long> shares = new LinkedHashMap<>();
+        long remaining = maximumWeight;
+        boolean floored;
+        do {
+            floored = false;
+            double totalWeight = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+            for (Map.Entry<Member, Double> entry : weights.entrySet()) {
+                if (remaining * entry.getValue() / totalWeight < minWeight) {
+                    shares.put(entry.getKey(), minWeight);
+                    remaining -= minWeight;
+                    weights.remove(entry.getKey());
+                    floored = true;
+                    break;
+                }
+            }
+        } while (floored && !weights.isEmpty());
+
+        if (!weights.isEmpty()) {
+            double totalWeight = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+            long assigned = 0;
+            Member last = null;
+            for (Map.Entry<Member, Double> entry : weights.entrySet()) {
+                long share = (long) (remaining * entry.getValue() / totalWeight);
+                shares.put(entry.getKey(), share);
+                assigned += share;
+                last = entry.getKey();
+            }
+            shares.merge(last, remaining - assigned, Long::sum);
+        }
+        shares.forEach((member, share) -> member.eviction.setMaximum(share));
+        log.info("本地缓存内存预算已分配: total={}, allocations={}", maximumWeight, allocations());
+    }
+
+    /**
+     * 开始定时调整
+     */
+    public void start(Duration interval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fastweb-cache-budget");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                rebalance();
+            } catch (RuntimeException e) {
+                log.warn("本地缓存内存预算调整失败", e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 把一份容量从边际命中率最低的缓存挪给最高的缓存
+     *
+     * @return 是否发生了调整
+     */
+    public synchronized boolean rebalance() {
+        List<Member> active = activeMembers();
+        if (active.size() < 2) {
+            return false;
+        }
+        Member receiver = null;
+        double receiverScore = 0;
+        Map<Member, Double> scores = new LinkedHashMap<>();
+        for (Member member : active) {
+            double score = member.ghostHits.sumThenReset() / (double) Math.max(member.eviction.getMaximum(), 1);
+            scores.put(member, score);
+            if (score > receiverScore) {
+                receiver = member;
+                receiverScore = score;
+            }
+        }
+        if (receiver == null) {
+            return false;
+        }
+        long step = Math.max((long) (maximumWeight * stepRatio), 1);
+        Member donor = null;
+        double donorScore = receiverScore;
+        for (Map.Entry<Member, Double> entry : scores.entrySet()) {
+            Member member = entry.getKey();
+            if (member != receiver && entry.getValue() < donorScore
+                    && member.eviction.getMaximum() - step >= minWeight()) {
+                donor = member;
+                donorScore = entry.getValue();
+            }
+        }
+        if (donor == null) {
+            return false;
+        }
+        donor.eviction.setMaximum(donor.eviction.getMaximum() - step);
+        receiver.eviction.setMaximum(receiver.eviction.getMaximum() + step);
+        log.debug("本地缓存容量调整: {} -> {}, step={}", donor.name, receiver.name, step);
+        return true;
+    }
+
+    /**
+     * 当前各缓存的容量上限（字节）
+     */
+    public Map<String, Long> allocations() {
+        Map<String, Long> allocations = new LinkedHashMap<>();
+        activeMembers().forEach(member -> allocations.put(member.name, member.eviction.getMaximum()));
+        return allocations;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private long minWeight() {
+        return (long) (maximumWeight * minShare);
+    }
+
+    private List<Member> activeMembers() {
+        List<Member> active = new ArrayList<>();
+        members.values().stream()
+                .filter(member -> member.eviction != null)
+                .sorted((a, b) -> a.name.compareTo(b.name))
+                .forEach(active::add);
+        return active;
+    }
+
+    private static final class Member {
+
+        private final String name;
+        private final long requestedWeight;
+        private final Cache<Object, Boolean> ghosts = Caffeine.newBuilder().maximumSize(GHOST_CAPACITY).build();
+        private final LongAdder ghostHits = new LongAdder();
+        private volatile Policy.Eviction<Object, Object> eviction;
+
+        Member(String name, long requestedWeight) {
+            this.name = name;
+            this.requestedWeight = requestedWeight;
+        }
+
+        void onEviction(Object key, RemovalCause cause) {
+            if (cause == RemovalCause.SIZE) {
+                ghosts.put(key, Boolean.TRUE);
+            }
+        }
+
+        void onMiss(Object key) {
+            if (ghosts.asMap().remove(key) != null) {
+                ghostHits.increment();
+            }
+        }
+    }
+
+    /**
+     * 未命中时检查幽灵表的 CaffeineCache
+     */
+    private static final class BudgetedCaffeineCache extends CaffeineCache {
+
+        private final Member member;
+
+        BudgetedCaffeineCache(String name, Cache<Object, Object> cache, Member member) {
+            super(name, cache);
+            this.member = member;
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            Object value = super.lookup(key);
+            if (value == null) {
+                member.onMiss(key);
+            }
+            return value;
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return super.get(key, () -> {
+                member.onMiss(key);
+                return valueLoader.call();
+            });
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.company.fastweb.core.cache.support;
+
+import com.company.fastweb.core.cache.backend.OffHeapSlabStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * {@link TwoLevelCache} 的堆外层，位于 Caffeine 与远程缓存之间
+ * <p>
+ * 值按远程缓存相同的序列化器转换为字节保存在 {@link OffHeapSlabStore}；
+ * 序列化后不小于 {@code minValueSize} 的大值只保存在堆外，较小的值仍由 Caffeine 保存，
+ * 以免为小值付出每次读取都反序列化的代价。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class OffHeapCacheTier {
+
+    private final OffHeapSlabStore store;
+    private final RedisSerializer<Object> serializer;
+    private final int minValueSize;
+    private final long ttlMillis;
+
+    /**
+     * @param minValueSize 序列化后达到该字节数的值才放入堆外
+     * @param ttlMillis    堆外副本存活时间（毫秒）
+     */
+    public OffHeapCacheTier(OffHeapSlabStore store, RedisSerializer<Object> serializer,
+                            int minValueSize, long ttlMillis) {
+        this.store = store;
+        this.serializer = serializer;
+        this.minValueSize = minValueSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public OffHeapSlabStore getStore() {
+        return store;
+    }
+
+    /**
+     * 读取堆外副本，不存在或无法反序列化时返回 null
+     */
+    public Object get(String key) {
+        byte[] bytes = store.get(key);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return serializer.deserialize(bytes);
+        } catch (SerializationException e) {
+            log.warn("堆外缓存反序列化失败，已删除: key={}, error={}", key, e.getMessage());
+            store.remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * 大值放入堆外，小值或无法放入时删除原有的堆外副本
+     *
+     * @return 是否已放入堆外（调用方据此决定是否保留 Caffeine 副本）
+     */
+    public boolean put(String key, Object value) {
+        byte[] bytes;
+        try {
+            bytes = serializer.serialize(value);
+        } catch (SerializationException e) {
+            log.warn("堆外缓存序列化失败: key={}, error={}", key, e.getMessage());
+            store.remove(key);
+            return false;
+        }
+        if (bytes == null || bytes.length < minValueSize) {
+            store.remove(key);
+            return false;
+        }
+        return store.put(key, bytes, ttlMillis);
+    }
+
+    public void evict(String key) {
+        store.remove(key);
+    }
+
+    public void clear() {
+        store.clear();
+    }
+}
@@ -0,0 +1,166 @@
+package com.company.fastweb.core.cache.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 支持软过期的缓存装饰器（refresh-ahead / stale-while-revalidate）
+ * <p>
+ * 写入时把值包装为 {@link CachedValue}，其过期时间为软过期时间；底层缓存（Redis）按硬过期时间淘汰。
+ * 读取时：
+ * <ul>
+ *     <li>未到软过期：直接返回；</li>
+ *     <li>已过软过期、带加载器（{@code @Cacheable(sync = true)}）：返回旧值，并在 {@link CacheRefreshExecutor}
+ *     上后台重新加载，同一 key 同时只有一个刷新任务；</li>
+ *     <li>已过软过期、不带加载器：视为未命中，由调用方同步加载。</li>
+ * </ul>
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class RefreshingCache implements Cache {
+
+    private final Cache delegate;
+    private final long softExpireMillis;
+    private final CacheRefreshExecutor refreshExecutor;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param delegate         底层缓存
+     * @param softExpireMillis 软过期时间（毫秒）
+     * @param refreshExecutor  后台刷新线程池
+     */
+    public RefreshingCache(Cache delegate, long softExpireMillis, CacheRefreshExecutor refreshExecutor) {
+        this.delegate = delegate;
+        this.softExpireMillis = softExpireMillis;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null || !(wrapper.get() instanceof CachedValue cached)) {
+            return wrapper;
+        }
+        return isStale(cached) ? null : new SimpleValueWrapper(cached.getValue());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            if (wrapper.get() instanceof CachedValue cached) {
+                if (isStale(cached)) {
+                    refreshAsync(key, valueLoader);
+                }
+                return (T) cached.getValue();
+            }
+            return (T) wrapper.get();
+        }
+        Object stored = delegate.get(key, () -> load(valueLoader));
+        return (T) (stored instanceof CachedValue cached ? cached.getValue() : stored);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, wrap(value, 0));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, wrap(value, 0));
+        if (existing != null && existing.get() instanceof CachedValue cached) {
+            return new SimpleValueWrapper(cached.getValue());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private boolean isStale(CachedValue cached) {
+        return cached.getExpireAt() > 0 && System.currentTimeMillis() >= cached.getExpireAt();
+    }
+
+    private void refreshAsync(Object key, Callable<?> valueLoader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        boolean submitted = refreshExecutor.execute(() -> {
+            try {
+                delegate.put(key, load(valueLoader));
+            } catch (Exception e) {
+                log.warn("缓存后台刷新失败，继续使用旧值: cacheName={}, key={}", getName(), key, e);
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+        if (!submitted) {
+            refreshing.remove(key);
+        }
+    }
+
+    private Object load(Callable<?> valueLoader) throws Exception {
+        long start = System.currentTimeMillis();
+        Object value = valueLoader.call();
+        return wrap(value, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * null 不包装，是否允许缓存 null 仍由底层缓存决定
+     */
+    private Object wrap(Object value, long loadTime) {
+        if (value == null) {
+            return null;
+        }
+        return new CachedValue(value, loadTime, System.currentTimeMillis() + softExpireMillis);
+    }
+}
@@ -0,0 +1,48 @@
+package com.company.fastweb.core.cache.support;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 近端缓存一级副本的异步刷新加载器
+ * <p>
+ * 配合 Caffeine 的 {@code refreshAfterWrite} 使用：热点 key 的本地副本到期前在 {@link CacheRefreshExecutor}
+ * 上从 Redis 重新读取，读请求继续返回旧副本，不再因本地过期而同步访问 Redis。
+ * 未命中时 {@link #load} 返回 null，仍由 {@link TwoLevelCache} 负责回源。
+ * Redis 中数据已不存在时刷新结果为 null，本地副本随之移除。
+ *
+ * @author FastWeb
+ */
+public class RemoteCacheLoader implements CacheLoader<Object, Object> {
+
+    private final Supplier<Cache> remote;
+    private final CacheRefreshExecutor refreshExecutor;
+
+    /**
+     * @param remote          远程缓存，延迟获取
+     * @param refreshExecutor 后台刷新线程池
+     */
+    public RemoteCacheLoader(Supplier<Cache> remote, CacheRefreshExecutor refreshExecutor) {
+        this.remote = remote;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public Object load(Object key) {
+        return null;
+    }
+
+    @Override
+    public CompletableFuture<Object> asyncReload(Object key, Object oldValue, Executor executor) {
+        // 队列已满时保留旧副本，等下一个刷新周期
+        return refreshExecutor.supplyAsync(() -> {
+            Cache cache = remote.get();
+            Cache.ValueWrapper wrapper = cache != null ? cache.get(key) : null;
+            return wrapper != null ? wrapper.get() : null;
+        }, oldValue);
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.fastweb.core.cache.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 同一 key 的并发加载合并（single-flight）
+ * <p>
+ * 同一时刻每个 key 只有第一个调用方真正执行加载，其余调用方等待并共享它的结果或异常；
+ * 加载结束后立即移除，下一次调用重新加载，因此不会缓存任何结果。
+ *
+ * @author FastWeb
+ */
+public class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * 执行或加入同一 key 正在进行的加载
+     *
+     * @param key    合并维度
+     * @param loader 实际加载逻辑
+     * @return 加载结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Loader<T> loader) throws Throwable {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            return (T) await(inFlight);
+        }
+        return run(key, call, loader);
+    }
+
+    /**
+     * 同一 key 没有正在进行的加载时才执行，否则不等待直接返回 fallback
+     *
+     * @param key      合并维度
+     * @param loader   实际加载逻辑
+     * @param fallback 已有加载在进行时的返回值
+     * @return 加载结果或 fallback
+     */
+    public <T> T executeIfIdle(String key, Loader<T> loader, T fallback) throws Throwable {
+        if (calls.containsKey(key)) {
+            return fallback;
+        }
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        if (calls.putIfAbsent(key, call) != null) {
+            return fallback;
+        }
+        return run(key, call, loader);
+    }
+
+    /**
+     * 当前正在加载的 key 数量
+     */
+    public int inFlight() {
+        return calls.size();
+    }
+
+    private <T> T run(String key, CompletableFuture<Object> call, Loader<T> loader) throws Throwable {
+        try {
+            T value = loader.load();
+            call.complete(value);
+            return value;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> call) throws Throwable {
+        try {
+            return call.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 允许抛出受检异常的加载逻辑
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        T load() throws Throwable;
+    }
+}
@@ -0,0 +1,227 @@
+package com.company.fastweb.core.cache.support;
+
+import com.company.fastweb.core.cache.invalidation.CacheInvalidationBus;
+import com.company.fastweb.core.cache.invalidation.CacheInvalidationMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 两级 Spring Cache：Caffeine 作为一级，远程缓存（通常是 RedisCache）作为二级
+ * <p>
+ * 一级缓存的 key 统一转换为字符串，与 RedisCache 的 key 转换方式保持一致，
+ * 以便失效消息中的 key 能够直接定位本地副本。
+ * 配置了 {@link OffHeapCacheTier} 时大值保存在堆外而不是 Caffeine，读取顺序为 Caffeine、堆外、远程缓存。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final CaffeineCache local;
+    private final Cache remote;
+    private final CacheInvalidationBus invalidationBus;
+    private final String nodeId;
+    private final OffHeapCacheTier offHeap;
+    private final SingleFlight singleFlight;
+
+    public TwoLevelCache(String name, CaffeineCache local, Cache remote,
+                         CacheInvalidationBus invalidationBus, String nodeId) {
+        this(name, local, null, remote, invalidationBus, nodeId);
+    }
+
+    /**
+     * @param offHeap 堆外层，可为 null
+     */
+    public TwoLevelCache(String name, CaffeineCache local, OffHeapCacheTier offHeap, Cache remote,
+                         CacheInvalidationBus invalidationBus, String nodeId) {
+        this.name = name;
+        this.local = local;
+        this.offHeap = offHeap;
+        this.singleFlight = offHeap != null ? new SingleFlight() : null;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    public CaffeineCache getLocal() {
+        return local;
+    }
+
+    public Cache getRemote() {
+        return remote;
+    }
+
+    public OffHeapCacheTier getOffHeap() {
+        return offHeap;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper wrapper = local.get(localKey);
+        if (wrapper != null) {
+            return wrapper;
+        }
+        if (offHeap != null) {
+            Object value = offHeap.get(localKey);
+            if (value != null) {
+                return new SimpleValueWrapper(value);
+            }
+        }
+        wrapper = remote.get(key);
+        if (wrapper != null) {
+            putLocal(localKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        if (offHeap == null) {
+            // 同一节点上并发未命中的请求由 Caffeine 合并为一次二级缓存读取
+            return local.get(localKey, () -> remote.get(key, valueLoader));
+        }
+        ValueWrapper wrapper = local.get(localKey);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        Object cached = offHeap.get(localKey);
+        if (cached != null) {
+            return (T) cached;
+        }
+        // 大值不能经 Caffeine 加载（加载结果会留在堆上），改由 SingleFlight 合并并发未命中
+        try {
+            return singleFlight.execute(localKey, () -> {
+                T value = remote.get(key, valueLoader);
+                if (value != null) {
+                    putLocal(localKey, value);
+                }
+                return value;
+            });
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        putLocal(localKey(key), value);
+        publish(localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing == null) {
+            putLocal(localKey(key), value);
+            publish(localKey(key));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocal(localKey(key));
+        publish(localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        evictLocal(localKey(key));
+        publish(localKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        publish(null);
+    }
+
+    /**
+     * 处理其它节点发来的失效消息，只影响本地副本
+     */
+    void onInvalidation(CacheInvalidationMessage message) {
+        if (message.isClearAll()) {
+            clearLocal();
+        } else {
+            message.getAllKeys().forEach(this::evictLocal);
+        }
+    }
+
+    /**
+     * 大值放入堆外，其余放入 Caffeine，两处只保留一份
+     */
+    private void putLocal(String localKey, Object value) {
+        if (offHeap != null && offHeap.put(localKey, value)) {
+            local.evict(localKey);
+        } else {
+            local.put(localKey, value);
+        }
+    }
+
+    private void evictLocal(String localKey) {
+        local.evict(localKey);
+        if (offHeap != null) {
+            offHeap.evict(localKey);
+        }
+    }
+
+    private void clearLocal() {
+        local.clear();
+        if (offHeap != null) {
+            offHeap.clear();
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private void publish(String key) {
+        try {
+            invalidationBus.publish(CacheInvalidationMessage.builder()
+                    .origin(nodeId)
+                    .cacheName(name)
+                    .key(key)
+                    .build());
+        } catch (RuntimeException e) {
+            // 发布失败时其它节点的本地副本会在过期后自然淘汰
+            log.warn("发布缓存失效消息失败: cacheName={}, key={}, error={}", name, key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.company.fastweb.core.cache.support;
+
+import com.company.fastweb.core.cache.invalidation.CacheInvalidationBus;
+import com.company.fastweb.core.cache.invalidation.CacheInvalidationMessage;
+import com.company.fastweb.core.cache.warmup.HotKeyTracker;
+import com.company.fastweb.core.cache.warmup.HotKeyTrackingCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 两级缓存管理器
+ * <p>
+ * 同时配置了本地缓存和 Redis 缓存的缓存名返回 {@link TwoLevelCache}；
+ * 只有其中一级时直接返回该级缓存；远程缓存管理器为空时退化为纯本地缓存，
+ * 失效消息总线为空时只使用远程缓存。两级缓存可再配置 {@link OffHeapCacheTier} 保存大值。
+ * 配置了软过期时间的缓存名再包装为 {@link RefreshingCache}；设置了 {@link HotKeyTracker} 时最外层记录读访问。
+ *
+ * @author FastWeb
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, CaffeineCache> localCaches = new ConcurrentHashMap<>();
+    private final CacheManager remoteManager;
+    private final Set<String> remoteDisabledNames;
+    private final CacheInvalidationBus invalidationBus;
+    private final Map<String, Long> softExpireMillis;
+    private final CacheRefreshExecutor refreshExecutor;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+    private Map<String, OffHeapCacheTier> offHeapTiers = Map.of();
+    private HotKeyTracker hotKeyTracker;
+
+    /**
+     * @param localCaches         本地缓存
+     * @param remoteManager       远程缓存管理器，可为 null
+     * @param remoteDisabledNames 不使用远程缓存的缓存名
+     * @param invalidationBus     失效消息总线，远程缓存管理器为 null 时可为 null
+     */
+    public TwoLevelCacheManager(Collection<CaffeineCache> localCaches, CacheManager remoteManager,
+                                Collection<String> remoteDisabledNames, CacheInvalidationBus invalidationBus) {
+        this(localCaches, remoteManager, remoteDisabledNames, invalidationBus, Map.of(), null);
+    }
+
+    /**
+     * @param localCaches         本地缓存
+     * @param remoteManager       远程缓存管理器，可为 null
+     * @param remoteDisabledNames 不使用远程缓存的缓存名
+     * @param invalidationBus     失效消息总线，远程缓存管理器为 null 时可为 null
+     * @param softExpireMillis    缓存名 -> 软过期时间（毫秒）
+     * @param refreshExecutor     后台刷新线程池，softExpireMillis 为空时可为 null
+     */
+    public TwoLevelCacheManager(Collection<CaffeineCache> localCaches, CacheManager remoteManager,
+                                Collection<String> remoteDisabledNames, CacheInvalidationBus invalidationBus,
+                                Map<String, Long> softExpireMillis, CacheRefreshExecutor refreshExecutor) {
+        localCaches.forEach(cache -> this.localCaches.put(cache.getName(), cache));
+        this.remoteManager = remoteManager;
+        this.remoteDisabledNames = Set.copyOf(remoteDisabledNames);
+        this.invalidationBus = invalidationBus;
+        this.softExpireMillis = Map.copyOf(softExpireMillis);
+        this.refreshExecutor = refreshExecutor;
+        if (remoteManager != null && invalidationBus != null) {
+            invalidationBus.subscribe(this::onInvalidation);
+        }
+    }
+
+    /**
+     * 设置热点 key 统计，需在首次获取缓存之前调用
+     */
+    public void setHotKeyTracker(HotKeyTracker hotKeyTracker) {
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    /**
+     * 设置各缓存的堆外层（缓存名 -> 堆外层），只对两级缓存生效，需在首次获取缓存之前调用
+     */
+    public void setOffHeapTiers(Map<String, OffHeapCacheTier> offHeapTiers) {
+        this.offHeapTiers = Map.copyOf(offHeapTiers);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache created = createCache(name);
+        if (created == null) {
+            return null;
+        }
+        Cache previous = caches.putIfAbsent(name, created);
+        return previous != null ? previous : created;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(localCaches.keySet());
+        names.addAll(caches.keySet());
+        if (remoteManager != null) {
+            names.addAll(remoteManager.getCacheNames());
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    private Cache createCache(String name) {
+        Cache cache = createTieredCache(name);
+        Long softExpire = softExpireMillis.get(name);
+        if (cache != null && softExpire != null && refreshExecutor != null) {
+            cache = new RefreshingCache(cache, softExpire, refreshExecutor);
+        }
+        if (cache != null && hotKeyTracker != null) {
+            cache = new HotKeyTrackingCache(cache, hotKeyTracker);
+        }
+        return cache;
+    }
+
+    private Cache createTieredCache(String name) {
+        CaffeineCache local = localCaches.get(name);
+        Cache remote = remoteManager != null && !remoteDisabledNames.contains(name)
+                ? remoteManager.getCache(name) : null;
+        if (local != null && remote != null && invalidationBus != null) {
+            return new TwoLevelCache(name, local, offHeapTiers.get(name), remote, invalidationBus, nodeId);
+        }
+        // 未启用失效通知时不能持有本地副本，否则各节点之间会长期不一致
+        return remote != null ? remote : local;
+    }
+
+    private void onInvalidation(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.getOrigin())) {
+            return;
+        }
+        Cache cache = caches.get(message.getCacheName());
+        if (cache instanceof HotKeyTrackingCache trackingCache) {
+            cache = trackingCache.getDelegate();
+        }
+        if (cache instanceof RefreshingCache refreshingCache) {
+            cache = refreshingCache.getDelegate();
+        }
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.onInvalidation(message);
+        }
+    }
+}
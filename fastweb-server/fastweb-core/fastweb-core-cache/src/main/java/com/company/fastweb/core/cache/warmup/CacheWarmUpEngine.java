@@ -0,0 +1,163 @@
+package com.company.fastweb.core.cache.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 缓存预热引擎
+ * <p>
+ * 启动时（ApplicationRunner 阶段，早于就绪状态切换为 ACCEPTING_TRAFFIC）读取上次保存的热点 key 快照，
+ * 按缓存名交给对应的 {@link CacheWarmUpLoader} 并行回填，并发数与总耗时都有上限；
+ * 运行期间定时把 {@link HotKeyTracker} 的统计写入快照文件，停机时再写一次。
+ * <p>
+ * 回填走 {@link Cache#get(Object, java.util.concurrent.Callable)}：Redis 中已有的数据直接提升到本地，
+ * 只有缺失的 key 才调用加载器。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class CacheWarmUpEngine implements ApplicationRunner, DisposableBean {
+
+    private final CacheManager cacheManager;
+    private final HotKeyTracker tracker;
+    private final HotKeySnapshotStore store;
+    private final Map<String, CacheWarmUpLoader> loaders = new HashMap<>();
+    private final int concurrency;
+    private final Duration timeout;
+    private final Duration snapshotInterval;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param concurrency      预热并发数
+     * @param timeout          预热总耗时上限，超时后未完成的 key 放弃
+     * @param snapshotInterval 快照保存间隔
+     */
+    public CacheWarmUpEngine(CacheManager cacheManager, HotKeyTracker tracker, HotKeySnapshotStore store,
+                             List<CacheWarmUpLoader> loaders, int concurrency, Duration timeout,
+                             Duration snapshotInterval) {
+        this.cacheManager = cacheManager;
+        this.tracker = tracker;
+        this.store = store;
+        loaders.forEach(loader -> {
+            CacheWarmUpLoader previous = this.loaders.putIfAbsent(loader.getCacheName(), loader);
+            if (previous != null) {
+                throw new IllegalStateException("缓存预热加载器重复: " + loader.getCacheName());
+            }
+        });
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fastweb-cache-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::saveSnapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 按快照预热
+     *
+     * @return 成功回填的 key 数量
+     */
+    public int warmUp() {
+        Map<String, List<String>> snapshot = store.load();
+        if (snapshot.isEmpty()) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "fastweb-cache-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            snapshot.forEach((cacheName, keys) -> {
+                CacheWarmUpLoader loader = loaders.get(cacheName);
+                Cache cache = loader != null ? cacheManager.getCache(cacheName) : null;
+                if (cache == null) {
+                    return;
+                }
+                for (String key : keys) {
+                    futures.add(executor.submit(() -> {
+                        if (load(cache, loader, key)) {
+                            loaded.incrementAndGet();
+                        } else {
+                            skipped.incrementAndGet();
+                        }
+                    }));
+                }
+            });
+            executor.shutdown();
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("缓存预热超时，放弃剩余 {} 个 key", futures.stream().filter(f -> !f.isDone()).count());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("缓存预热完成: loaded={}, skipped={}, cost={}ms", loaded.get(), skipped.get(),
+                System.currentTimeMillis() - start);
+        return loaded.get();
+    }
+
+    /**
+     * 保存当前热点 key 快照
+     */
+    public void saveSnapshot() {
+        Map<String, List<String>> hotKeys = tracker.snapshot();
+        if (hotKeys.isEmpty()) {
+            return;
+        }
+        try {
+            store.save(hotKeys);
+        } catch (IOException e) {
+            log.warn("热点 key 快照保存失败: {}", store.getFile(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        saveSnapshot();
+    }
+
+    private boolean load(Cache cache, CacheWarmUpLoader loader, String key) {
+        try {
+            Object cacheKey = loader.resolveKey(key);
+            return cache.get(cacheKey, () -> loader.load(cacheKey)) != null;
+        } catch (Exception e) {
+            log.debug("缓存预热失败: cacheName={}, key={}", cache.getName(), key, e);
+            return false;
+        }
+    }
+}
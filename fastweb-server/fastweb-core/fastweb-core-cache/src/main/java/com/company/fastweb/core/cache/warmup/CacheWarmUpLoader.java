@@ -0,0 +1,28 @@
+package com.company.fastweb.core.cache.warmup;
+
+/**
+ * 缓存预热加载器，注册为 Bean 后启动时按热点 key 快照回填对应缓存
+ * <p>
+ * 快照中的 key 是缓存 key 的字符串形式，需要时通过 {@link #resolveKey} 转换回原始类型。
+ *
+ * @author FastWeb
+ */
+public interface CacheWarmUpLoader {
+
+    /**
+     * 负责预热的缓存名
+     */
+    String getCacheName();
+
+    /**
+     * 把快照中的字符串 key 转换为缓存 key，默认原样使用
+     */
+    default Object resolveKey(String key) {
+        return key;
+    }
+
+    /**
+     * 加载 key 对应的值，返回 null 表示不预热该 key
+     */
+    Object load(Object key) throws Exception;
+}
@@ -0,0 +1,105 @@
+package com.company.fastweb.core.cache.warmup;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 计数最小草图（Count-Min Sketch），用固定内存估算访问频率
+ * <p>
+ * 估算值只会偏大不会偏小；默认累计计数达到 {@code 10 * width} 次后所有计数减半，
+ * 让频率随时间衰减，旧热点逐渐让位于新热点。不衰减的实例由调用方通过 {@link #clear()} 整体清零（如滑动窗口的桶）。
+ * 并发计数不加锁，减半过程中的少量计数丢失可以接受。
+ *
+ * @author FastWeb
+ */
+public class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final int width;
+    private final int mask;
+    private final AtomicIntegerArray table;
+    private final AtomicLong additions = new AtomicLong();
+    private final long resetThreshold;
+
+    /**
+     * @param expectedKeys 预计需要区分的 key 数量，宽度取不小于它的 2 的幂
+     */
+    public CountMinSketch(int expectedKeys) {
+        this(expectedKeys, true);
+    }
+
+    /**
+     * @param expectedKeys 预计需要区分的 key 数量，宽度取不小于它的 2 的幂
+     * @param aging        是否在累计计数达到阈值后减半
+     */
+    public CountMinSketch(int expectedKeys, boolean aging) {
+        int size = Integer.highestOneBit(Math.max(expectedKeys, 16) - 1) << 1;
+        this.width = size;
+        this.mask = size - 1;
+        this.table = new AtomicIntegerArray(SEEDS.length * size);
+        this.resetThreshold = aging ? 10L * size : Long.MAX_VALUE;
+    }
+
+    /**
+     * 计数加一
+     *
+     * @return 加一后的估算频率
+     */
+    public int increment(Object key) {
+        int hash = spread(key.hashCode());
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            min = Math.min(min, table.incrementAndGet(indexOf(hash, row)));
+        }
+        if (additions.incrementAndGet() >= resetThreshold) {
+            reset();
+        }
+        return min;
+    }
+
+    /**
+     * 估算频率
+     */
+    public int estimate(Object key) {
+        int hash = spread(key.hashCode());
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            min = Math.min(min, table.get(indexOf(hash, row)));
+        }
+        return min;
+    }
+
+    /**
+     * 所有计数清零，清零过程中的并发计数可能部分保留
+     */
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, 0);
+        }
+        additions.set(0);
+    }
+
+    private void reset() {
+        long current = additions.get();
+        if (current < resetThreshold || !additions.compareAndSet(current, current / 2)) {
+            return;
+        }
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, table.get(i) >>> 1);
+        }
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * width + ((int) h & mask);
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
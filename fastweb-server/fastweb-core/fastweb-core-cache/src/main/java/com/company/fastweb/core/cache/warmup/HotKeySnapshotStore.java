@@ -0,0 +1,73 @@
+package com.company.fastweb.core.cache.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 热点 key 快照文件读写
+ * <p>
+ * 先写临时文件再原子替换，进程中途退出也不会留下半个文件；文件损坏时按无快照处理。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class HotKeySnapshotStore {
+
+    private final Path file;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public HotKeySnapshotStore(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 保存快照
+     */
+    public void save(Map<String, List<String>> hotKeys) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), new HotKeySnapshot(System.currentTimeMillis(), hotKeys));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 读取快照，文件不存在或无法解析时返回空
+     */
+    public Map<String, List<String>> load() {
+        if (!Files.isRegularFile(file)) {
+            return Map.of();
+        }
+        try {
+            HotKeySnapshot snapshot = objectMapper.readValue(file.toFile(), HotKeySnapshot.class);
+            return snapshot.caches() != null ? snapshot.caches() : Map.of();
+        } catch (IOException e) {
+            log.warn("热点 key 快照无法读取，跳过预热: {}", file, e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * @param createdAt 生成时间（毫秒）
+     * @param caches    缓存名 -> 热点 key（按频率从高到低）
+     */
+    record HotKeySnapshot(long createdAt, Map<String, List<String>> caches) {
+    }
+}
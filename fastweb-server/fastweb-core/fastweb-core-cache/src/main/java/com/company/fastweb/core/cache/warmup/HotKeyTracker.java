@@ -0,0 +1,108 @@
+package com.company.fastweb.core.cache.warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按缓存名统计热点 key
+ * <p>
+ * 每个缓存一个 {@link CountMinSketch} 估算频率，另外保留最多 {@code 2 * capacity} 个候选 key；
+ * 候选超限时按估算频率保留前 {@code capacity} 个，此后低于入选门槛的 key 不再进入候选。
+ * key 统一转换为字符串，过长的 key 不统计。
+ *
+ * @author FastWeb
+ */
+public class HotKeyTracker {
+
+    private static final int MAX_KEY_LENGTH = 256;
+
+    private final int capacity;
+    private final Map<String, CacheHotKeys> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity 每个缓存保留的热点 key 数量
+     */
+    public HotKeyTracker(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 记录一次访问
+     */
+    public void record(String cacheName, Object key) {
+        if (key == null) {
+            return;
+        }
+        String keyString = key.toString();
+        if (keyString.length() > MAX_KEY_LENGTH) {
+            return;
+        }
+        caches.computeIfAbsent(cacheName, name -> new CacheHotKeys(capacity)).record(keyString);
+    }
+
+    /**
+     * 指定缓存的热点 key，按估算频率从高到低
+     */
+    public List<String> hottest(String cacheName, int limit) {
+        CacheHotKeys hotKeys = caches.get(cacheName);
+        return hotKeys != null ? hotKeys.hottest(limit) : List.of();
+    }
+
+    /**
+     * 所有缓存的热点 key
+     */
+    public Map<String, List<String>> snapshot() {
+        Map<String, List<String>> snapshot = new LinkedHashMap<>();
+        caches.forEach((name, hotKeys) -> {
+            List<String> keys = hotKeys.hottest(capacity);
+            if (!keys.isEmpty()) {
+                snapshot.put(name, keys);
+            }
+        });
+        return snapshot;
+    }
+
+    private static final class CacheHotKeys {
+
+        private final int capacity;
+        private final CountMinSketch sketch;
+        private final Map<String, Integer> candidates = new ConcurrentHashMap<>();
+        private volatile int admission;
+
+        CacheHotKeys(int capacity) {
+            this.capacity = capacity;
+            this.sketch = new CountMinSketch(capacity * 16);
+        }
+
+        void record(String key) {
+            int frequency = sketch.increment(key);
+            if (frequency < admission && !candidates.containsKey(key)) {
+                return;
+            }
+            candidates.put(key, frequency);
+            if (candidates.size() > capacity * 2) {
+                trim();
+            }
+        }
+
+        List<String> hottest(int limit) {
+            List<Map.Entry<String, Integer>> entries = new ArrayList<>(candidates.size());
+            candidates.keySet().forEach(key -> entries.add(Map.entry(key, sketch.estimate(key))));
+            entries.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()));
+            return entries.stream().limit(limit).map(Map.Entry::getKey).toList();
+        }
+
+        private synchronized void trim() {
+            if (candidates.size() <= capacity * 2) {
+                return;
+            }
+            List<String> keep = hottest(capacity);
+            candidates.keySet().retainAll(keep);
+            admission = keep.isEmpty() ? 0 : sketch.estimate(keep.get(keep.size() - 1));
+        }
+    }
+}
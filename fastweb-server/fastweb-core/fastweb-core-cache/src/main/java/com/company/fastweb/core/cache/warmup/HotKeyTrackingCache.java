@@ -0,0 +1,83 @@
+package com.company.fastweb.core.cache.warmup;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 记录读访问的缓存装饰器，访问频率交给 {@link HotKeyTracker} 统计
+ *
+ * @author FastWeb
+ */
+public class HotKeyTrackingCache implements Cache {
+
+    private final Cache delegate;
+    private final HotKeyTracker tracker;
+
+    public HotKeyTrackingCache(Cache delegate, HotKeyTracker tracker) {
+        this.delegate = delegate;
+        this.tracker = tracker;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        tracker.record(getName(), key);
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        tracker.record(getName(), key);
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        tracker.record(getName(), key);
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
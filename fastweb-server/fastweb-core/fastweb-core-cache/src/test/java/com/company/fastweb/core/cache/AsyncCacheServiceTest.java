@@ -0,0 +1,133 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.backend.CaffeineCacheBackend;
+import com.company.fastweb.core.cache.metrics.CacheStatisticsRecorder;
+import com.company.fastweb.core.cache.service.AsyncCacheService;
+import com.company.fastweb.core.cache.service.impl.AsyncCacheServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * AsyncCacheService 超时与本地降级测试
+ */
+public class AsyncCacheServiceTest {
+
+    private final FakeRedis redis = new FakeRedis();
+    private final CaffeineCacheBackend local = new CaffeineCacheBackend(1000, 60);
+
+    @Test
+    void testReadWriteThroughRedis() throws Exception {
+        AsyncCacheService service = service(true);
+
+        service.set("user:1", "alice", 60).get(1, TimeUnit.SECONDS);
+        Assertions.assertEquals("alice", redis.store.get("user:1"));
+        Assertions.assertEquals("alice", service.get("user:1").get(1, TimeUnit.SECONDS));
+
+        redis.store.put("user:2", "bob");
+        Map<String, Object> values = service.multiGet(List.of("user:2", "user:3", "user:1")).get(1, TimeUnit.SECONDS);
+        Assertions.assertEquals(List.of("user:2", "user:1"), new ArrayList<>(values.keySet()));
+
+        Assertions.assertEquals(2L, service.delete(List.of("user:1", "user:2")).get(1, TimeUnit.SECONDS));
+        Assertions.assertNull(service.get("user:1").get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testTimeoutFallsBackToLocal() throws Exception {
+        AsyncCacheService service = service(true);
+        redis.store.put("user:1", "alice");
+        Assertions.assertEquals("alice", service.get("user:1").get(1, TimeUnit.SECONDS));
+
+        redis.stalled = true;
+        long start = System.nanoTime();
+        Object value = service.get("user:1", Duration.ofMillis(50)).get(1, TimeUnit.SECONDS);
+        Assertions.assertEquals("alice", value, "Redis 无响应时返回一级缓存中的值");
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(900));
+        Assertions.assertNull(service.get("user:2", Duration.ofMillis(50)).get(1, TimeUnit.SECONDS));
+
+        // 写入失败时仍写入本地，本节点之后的读取能看到
+        service.set("user:3", "carol", 60, Duration.ofMillis(50)).get(1, TimeUnit.SECONDS);
+        Assertions.assertEquals("carol", local.get("user:3"));
+        Assertions.assertFalse(redis.store.containsKey("user:3"));
+    }
+
+    @Test
+    void testTimeoutWithoutFallbackCompletesExceptionally() {
+        AsyncCacheService service = service(false);
+        local.set("user:1", "stale", 60);
+        redis.stalled = true;
+
+        CompletableFuture<Object> future = service.get("user:1", Duration.ofMillis(50));
+        Assertions.assertThrows(Exception.class, () -> future.get(1, TimeUnit.SECONDS));
+        Assertions.assertTrue(future.isCompletedExceptionally());
+        Assertions.assertThrows(CompletionException.class, future::join);
+    }
+
+    private AsyncCacheService service(boolean fallbackToLocal) {
+        return new AsyncCacheServiceImpl(redis.operations(), local, false, null, new CacheStatisticsRecorder(),
+                Duration.ofMillis(200), fallbackToLocal, 60);
+    }
+
+    /**
+     * 以 Map 模拟 Redis，stalled 时所有命令都不返回
+     */
+    @SuppressWarnings("unchecked")
+    private static final class FakeRedis {
+
+        private final Map<String, Object> store = new ConcurrentHashMap<>();
+        private volatile boolean stalled;
+
+        ReactiveRedisOperations<String, Object> operations() {
+            ReactiveValueOperations<String, Object> values = (ReactiveValueOperations<String, Object>) Proxy.newProxyInstance(
+                    getClass().getClassLoader(), new Class<?>[]{ReactiveValueOperations.class},
+                    (proxy, method, args) -> respond(() -> switch (method.getName()) {
+                        case "get" -> store.get((String) args[0]);
+                        case "set" -> {
+                            store.put((String) args[0], args[1]);
+                            yield Boolean.TRUE;
+                        }
+                        case "multiGet" -> {
+                            List<Object> result = new ArrayList<>();
+                            for (Object key : (List<?>) args[0]) {
+                                result.add(store.get((String) key));
+                            }
+                            yield result;
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    }));
+            return (ReactiveRedisOperations<String, Object>) Proxy.newProxyInstance(
+                    getClass().getClassLoader(), new Class<?>[]{ReactiveRedisOperations.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "opsForValue" -> values;
+                        case "delete" -> respond(() -> {
+                            long deleted = 0;
+                            for (Object key : (Object[]) args[0]) {
+                                deleted += store.remove((String) key) != null ? 1 : 0;
+                            }
+                            return deleted;
+                        });
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private Mono<Object> respond(Supplier<Object> command) {
+            if (stalled) {
+                return Mono.never();
+            }
+            return Mono.justOrEmpty(command.get());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.annotation.CacheEvict;
+import com.company.fastweb.core.cache.annotation.Cacheable;
+import com.company.fastweb.core.cache.aspect.CacheEvictAspect;
+import com.company.fastweb.core.cache.aspect.CacheableAspect;
+import com.company.fastweb.core.cache.backend.CacheBackend;
+import com.company.fastweb.core.cache.backend.CacheKeyIndex;
+import com.company.fastweb.core.cache.config.FastWebCacheProperties;
+import com.company.fastweb.core.cache.hotkey.HotKeyReplicator;
+import com.company.fastweb.core.cache.lock.DistributedLockClient;
+import com.company.fastweb.core.cache.metrics.CacheStatisticsRecorder;
+import com.company.fastweb.core.cache.service.CacheService;
+import com.company.fastweb.core.cache.service.impl.CacheServiceImpl;
+import com.company.fastweb.core.cache.support.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link CacheEvict} 切面及注解 SpEL 求值测试
+ */
+public class CacheEvictAspectTest {
+
+    private CacheService cacheService;
+    private UserRepository target;
+    private UserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        cacheService = new CacheServiceImpl(
+                beanFactory.getBeanProvider(CacheBackend.class),
+                beanFactory.getBeanProvider(FastWebCacheProperties.class),
+                beanFactory.getBeanProvider(CacheStatisticsRecorder.class),
+                beanFactory.getBeanProvider(CacheKeyIndex.class),
+                beanFactory.getBeanProvider(HotKeyReplicator.class),
+                beanFactory.getBeanProvider(CircuitBreakerRegistry.class));
+        target = new UserRepository();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CacheableAspect(cacheService, beanFactory.getBeanProvider(DistributedLockClient.class)));
+        factory.addAspect(new CacheEvictAspect(cacheService));
+        repository = factory.getProxy();
+    }
+
+    @Test
+    void testEvictAfterInvocation() {
+        repository.find(1L);
+        repository.find(1L);
+        Assertions.assertEquals(1, target.loads.get());
+
+        repository.update(1L, "alice");
+        repository.find(1L);
+        Assertions.assertEquals(2, target.loads.get());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> repository.updateFailing(1L));
+        repository.find(1L);
+        Assertions.assertEquals(2, target.loads.get(), "方法异常时不清除");
+    }
+
+    @Test
+    void testEvictBeforeInvocation() {
+        repository.find(1L);
+        Assertions.assertThrows(IllegalStateException.class, () -> repository.removeFailing(1L));
+        repository.find(1L);
+        Assertions.assertEquals(2, target.loads.get());
+    }
+
+    @Test
+    void testEvictConditionWithResult() {
+        repository.find(1L);
+        Assertions.assertFalse(repository.delete(1L, false));
+        Assertions.assertTrue(cacheService.exists("user:1"), "#result 为 false 时不清除");
+        Assertions.assertTrue(repository.delete(1L, true));
+        Assertions.assertFalse(cacheService.exists("user:1"));
+    }
+
+    @Test
+    void testEvictAllEntries() {
+        for (long id = 0; id < 1200; id++) {
+            repository.find(id);
+        }
+        repository.findByName("bob");
+        cacheService.set("order:1", "o1");
+
+        repository.clear();
+        Assertions.assertEquals(0, cacheService.size("user:*"));
+        Assertions.assertTrue(cacheService.exists("order:1"));
+    }
+
+    @Test
+    void testCompiledExpressionsAcrossCalls() {
+        for (int i = 0; i < 5; i++) {
+            repository.findByName("bob");
+        }
+        Assertions.assertEquals(1, target.loads.get());
+        Assertions.assertTrue(cacheService.exists("user:name:BOB"));
+        Assertions.assertTrue(cacheService.getExpire("user:name:BOB") <= 60);
+    }
+
+    public static class UserRepository {
+
+        final AtomicInteger loads = new AtomicInteger();
+
+        @Cacheable(value = "user", key = "#id")
+        public String find(Long id) {
+            loads.incrementAndGet();
+            return "user-" + id;
+        }
+
+        @Cacheable(value = "user", key = "'name:' + #name.toUpperCase()", expire = 60)
+        public String findByName(String name) {
+            loads.incrementAndGet();
+            return name;
+        }
+
+        @CacheEvict(value = "user", key = "#p0")
+        public void update(Long id, String name) {
+        }
+
+        @CacheEvict(value = "user", key = "#id")
+        public void updateFailing(Long id) {
+            throw new IllegalStateException("update failed");
+        }
+
+        @CacheEvict(value = "user", key = "#id", beforeInvocation = true)
+        public void removeFailing(Long id) {
+            throw new IllegalStateException("remove failed");
+        }
+
+        @CacheEvict(value = "user", key = "#id", condition = "#result")
+        public boolean delete(Long id, boolean deleted) {
+            return deleted;
+        }
+
+        @CacheEvict(value = "user", allEntries = true)
+        public void clear() {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.RedisTemplateSerializationTest.User;
+import com.company.fastweb.core.cache.serializer.CacheSerializers;
+import com.company.fastweb.core.cache.serializer.CompressionAlgorithm;
+import com.company.fastweb.core.cache.serializer.SerializationFormat;
+import com.company.fastweb.core.cache.support.CachedValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 值序列化器测试：格式互读、压缩与类型别名
+ */
+public class CacheSerializerTest {
+
+    private static final Map<String, String> ALIASES = Map.of("u", User.class.getName());
+
+    private static List<User> users(int count) {
+        List<User> users = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            users.add(new User(i, "user-" + i, LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i)));
+        }
+        return users;
+    }
+
+    @Test
+    void testRoundTripAllCombinations() {
+        User user = new User(1L, "Tom", LocalDateTime.now());
+        List<User> users = users(200);
+        for (SerializationFormat format : SerializationFormat.values()) {
+            for (CompressionAlgorithm compression : CompressionAlgorithm.values()) {
+                RedisSerializer<Object> serializer = CacheSerializers.create(format, compression, 256, ALIASES);
+                Assertions.assertEquals(user, serializer.deserialize(serializer.serialize(user)), format + "/" + compression);
+                Assertions.assertEquals(users, serializer.deserialize(serializer.serialize(users)), format + "/" + compression);
+                Assertions.assertNull(serializer.deserialize(serializer.serialize(null)));
+            }
+        }
+    }
+
+    @Test
+    void testSmileSmallerAndReadsLegacyJson() {
+        List<User> users = users(50);
+        RedisSerializer<Object> json = CacheSerializers.json();
+        RedisSerializer<Object> smile = CacheSerializers.create(SerializationFormat.SMILE, CompressionAlgorithm.NONE, 0, ALIASES);
+
+        byte[] jsonBytes = json.serialize(users);
+        byte[] smileBytes = smile.serialize(users);
+        Assertions.assertTrue(smileBytes.length * 2 < jsonBytes.length,
+                "smile=" + smileBytes.length + ", json=" + jsonBytes.length);
+        Assertions.assertFalse(new String(smileBytes).contains(User.class.getName()), "注册类型不写入类名");
+        Assertions.assertEquals(users, smile.deserialize(jsonBytes));
+    }
+
+    @Test
+    void testCompressionThresholdAndCrossRead() {
+        RedisSerializer<Object> plain = CacheSerializers.create(SerializationFormat.SMILE, CompressionAlgorithm.NONE, 0, ALIASES);
+        RedisSerializer<Object> lz4 = CacheSerializers.create(SerializationFormat.SMILE, CompressionAlgorithm.LZ4, 512, ALIASES);
+        RedisSerializer<Object> deflate = CacheSerializers.create(SerializationFormat.SMILE, CompressionAlgorithm.DEFLATE, 512, ALIASES);
+
+        User small = new User(1L, "Tom", null);
+        Assertions.assertArrayEquals(plain.serialize(small), lz4.serialize(small), "低于阈值不压缩");
+
+        List<User> large = users(500);
+        byte[] lz4Bytes = lz4.serialize(large);
+        byte[] deflateBytes = deflate.serialize(large);
+        Assertions.assertTrue(lz4Bytes.length < plain.serialize(large).length);
+        Assertions.assertEquals(large, deflate.deserialize(lz4Bytes));
+        Assertions.assertEquals(large, lz4.deserialize(deflateBytes));
+        Assertions.assertEquals(large, lz4.deserialize(plain.serialize(large)));
+    }
+
+    @Test
+    void testCachedValueAndCollections() {
+        RedisSerializer<Object> smile = CacheSerializers.create(SerializationFormat.SMILE, CompressionAlgorithm.NONE, 0, null);
+        Map<String, Object> map = new HashMap<>();
+        map.put("list", new ArrayList<>(List.of("a", "b")));
+        CachedValue value = new CachedValue(map, 12, 1000L);
+
+        Object restored = smile.deserialize(smile.serialize(value));
+        Assertions.assertInstanceOf(CachedValue.class, restored);
+        Assertions.assertEquals(value, restored);
+    }
+
+    @Test
+    void testDuplicateAliasRejected() {
+        Assertions.assertThrows(IllegalStateException.class, () -> CacheSerializers.create(
+                SerializationFormat.SMILE, CompressionAlgorithm.NONE, 0, Map.of("al", User.class.getName())));
+    }
+}
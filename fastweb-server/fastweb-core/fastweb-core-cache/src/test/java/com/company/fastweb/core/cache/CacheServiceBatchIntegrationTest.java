@@ -0,0 +1,50 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.service.CacheService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CacheServiceBatchIntegrationTest extends BaseCacheIntegrationTest {
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Test
+    void testMultiGetMultiSet() {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            entries.put("batch:user:" + i, "user-" + i);
+        }
+        cacheService.multiSet(entries, 600);
+
+        List<String> keys = List.of("batch:user:0", "batch:user:missing", "batch:user:199");
+        Map<String, Object> values = cacheService.multiGet(keys);
+        Assertions.assertEquals(List.of("batch:user:0", "batch:user:199"), List.copyOf(values.keySet()));
+        Assertions.assertEquals("user-199", values.get("batch:user:199"));
+        Assertions.assertTrue(cacheService.getExpire("batch:user:0") > 0);
+
+        cacheService.delete(entries.keySet());
+    }
+
+    @Test
+    void testPipeline() {
+        List<Object> results = cacheService.pipeline(batch -> batch
+                .set("batch:p:1", "v1", 600)
+                .set("batch:p:2", "v2")
+                .get("batch:p:1")
+                .exists("batch:p:2")
+                .getExpire("batch:p:2")
+                .delete("batch:p:1")
+                .delete("batch:p:missing")
+                .expire("batch:p:2", 60));
+
+        Assertions.assertEquals(List.of(true, true, "v1", true, -1L, true, false, true), results);
+        Assertions.assertNull(cacheService.get("batch:p:1"));
+        cacheService.delete("batch:p:2");
+    }
+}
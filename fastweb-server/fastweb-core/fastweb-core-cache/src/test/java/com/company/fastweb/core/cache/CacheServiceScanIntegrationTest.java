@@ -0,0 +1,43 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.model.dto.CacheKeyPageDTO;
+import com.company.fastweb.core.cache.service.CacheService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class CacheServiceScanIntegrationTest extends BaseCacheIntegrationTest {
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Test
+    void testScanAndCursorPaging() {
+        int total = 1200;
+        for (int i = 0; i < total; i++) {
+            cacheService.set("scan:test:" + i, i, 600);
+        }
+
+        try (Stream<String> keys = cacheService.scan("scan:test:*", 100)) {
+            Assertions.assertEquals(total, keys.distinct().count());
+        }
+        Assertions.assertEquals(total, cacheService.size("scan:test:*"));
+        Assertions.assertTrue(cacheService.size() >= total);
+
+        Set<String> paged = new HashSet<>();
+        String cursor = CacheKeyPageDTO.INITIAL_CURSOR;
+        do {
+            CacheKeyPageDTO page = cacheService.scan("scan:test:*", cursor, 200);
+            paged.addAll(page.getKeys());
+            cursor = page.getCursor();
+        } while (!CacheKeyPageDTO.INITIAL_CURSOR.equals(cursor));
+        Assertions.assertEquals(total, paged.size());
+
+        cacheService.delete(paged);
+        Assertions.assertEquals(0, cacheService.size("scan:test:*"));
+    }
+}
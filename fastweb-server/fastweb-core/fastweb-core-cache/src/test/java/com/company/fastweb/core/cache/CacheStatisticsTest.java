@@ -0,0 +1,155 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.backend.CacheBackend;
+import com.company.fastweb.core.cache.backend.CacheKeyIndex;
+import com.company.fastweb.core.cache.config.FastWebCacheProperties;
+import com.company.fastweb.core.cache.hotkey.HotKeyReplicator;
+import com.company.fastweb.core.cache.metrics.CacheMetricsBinder;
+import com.company.fastweb.core.cache.metrics.CacheNameStatistics;
+import com.company.fastweb.core.cache.metrics.CacheOperation;
+import com.company.fastweb.core.cache.metrics.CacheStatisticsRecorder;
+import com.company.fastweb.core.cache.metrics.OperationStatistics;
+import com.company.fastweb.core.cache.model.dto.CacheStatisticsDTO;
+import com.company.fastweb.core.cache.service.impl.CacheServiceImpl;
+import com.company.fastweb.core.cache.support.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 缓存统计测试：命中率、耗时分布及 Micrometer 导出
+ */
+public class CacheStatisticsTest {
+
+    @Test
+    void testCacheNameOf() {
+        Assertions.assertEquals("user", CacheStatisticsRecorder.cacheNameOf("user:1"));
+        Assertions.assertEquals("user", CacheStatisticsRecorder.cacheNameOf("user:1:profile"));
+        Assertions.assertEquals(CacheStatisticsRecorder.DEFAULT_CACHE_NAME, CacheStatisticsRecorder.cacheNameOf("plain"));
+        Assertions.assertEquals(CacheStatisticsRecorder.DEFAULT_CACHE_NAME, CacheStatisticsRecorder.cacheNameOf(":x"));
+        Assertions.assertEquals(CacheStatisticsRecorder.DEFAULT_CACHE_NAME, CacheStatisticsRecorder.cacheNameOf(null));
+    }
+
+    @Test
+    void testLatencyPercentiles() {
+        CacheStatisticsRecorder recorder = new CacheStatisticsRecorder();
+        for (int i = 1; i <= 100; i++) {
+            recorder.recordLatency("user", CacheOperation.GET, TimeUnit.MICROSECONDS.toNanos(i * 10L));
+        }
+        recorder.recordError("user", CacheOperation.GET);
+
+        OperationStatistics get = recorder.getCaches().iterator().next().getOperations().get(0);
+        OperationStatistics.LatencySnapshot snapshot = get.snapshot();
+        Assertions.assertEquals(100, get.getCalls());
+        Assertions.assertEquals(1, get.getErrors());
+        Assertions.assertEquals(100, snapshot.count());
+        Assertions.assertEquals(500, snapshot.p50(), 10);
+        Assertions.assertEquals(990, snapshot.p99(), 20);
+        Assertions.assertEquals(1000, snapshot.max(), 20);
+
+        // 再次取快照不应重复累计
+        Assertions.assertEquals(100, get.snapshot().count());
+    }
+
+    @Test
+    void testCacheNameCardinalityBounded() {
+        CacheStatisticsRecorder recorder = new CacheStatisticsRecorder();
+        for (int i = 0; i < CacheStatisticsRecorder.MAX_CACHE_NAMES * 2; i++) {
+            recorder.recordHits("cache" + i, 1);
+        }
+        Assertions.assertEquals(CacheStatisticsRecorder.MAX_CACHE_NAMES + 1, recorder.getCaches().size());
+        Assertions.assertEquals(CacheStatisticsRecorder.MAX_CACHE_NAMES * 2, recorder.getHitCount());
+    }
+
+    @Test
+    void testServiceStatistics() {
+        CacheStatisticsRecorder recorder = new CacheStatisticsRecorder();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("cacheStatisticsRecorder", recorder);
+        CacheServiceImpl cacheService = new CacheServiceImpl(
+                beanFactory.getBeanProvider(CacheBackend.class),
+                beanFactory.getBeanProvider(FastWebCacheProperties.class),
+                beanFactory.getBeanProvider(CacheStatisticsRecorder.class),
+                beanFactory.getBeanProvider(CacheKeyIndex.class),
+                beanFactory.getBeanProvider(HotKeyReplicator.class),
+                beanFactory.getBeanProvider(CircuitBreakerRegistry.class));
+
+        cacheService.set("user:1", "alice");
+        cacheService.set("user:2", "bob");
+        Assertions.assertEquals("alice", cacheService.get("user:1"));
+        Assertions.assertNull(cacheService.get("user:3"));
+        Assertions.assertEquals(1, cacheService.multiGet(List.of("user:2", "user:4")).size());
+
+        CacheStatisticsDTO statistics = cacheService.getStatistics();
+        Assertions.assertEquals(2, statistics.getHitCount());
+        Assertions.assertEquals(2, statistics.getMissCount());
+        Assertions.assertEquals(0.5, statistics.getHitRate(), 1e-9);
+        Assertions.assertEquals(2, statistics.getTotalKeys());
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> caches = (Map<String, Object>) statistics.getAdditionalInfo().get("caches");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> user = (Map<String, Object>) caches.get("user");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> operations = (Map<String, Object>) user.get("operations");
+        Assertions.assertTrue(operations.keySet().containsAll(List.of("set", "get", "multi_get")));
+    }
+
+    @Test
+    void testBatchReadsRecordedPerCache() {
+        CacheStatisticsRecorder recorder = new CacheStatisticsRecorder();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("cacheStatisticsRecorder", recorder);
+        CacheServiceImpl cacheService = new CacheServiceImpl(
+                beanFactory.getBeanProvider(CacheBackend.class),
+                beanFactory.getBeanProvider(FastWebCacheProperties.class),
+                beanFactory.getBeanProvider(CacheStatisticsRecorder.class),
+                beanFactory.getBeanProvider(CacheKeyIndex.class),
+                beanFactory.getBeanProvider(HotKeyReplicator.class),
+                beanFactory.getBeanProvider(CircuitBreakerRegistry.class));
+
+        cacheService.set("user:1", "alice");
+        cacheService.set("order:1", "o1");
+        cacheService.multiGet(List.of("user:1", "order:1", "order:2"));
+        cacheService.pipeline(batch -> batch.get("order:1").get("user:2"));
+
+        Map<String, CacheNameStatistics> caches = recorder.getCaches().stream()
+                .collect(Collectors.toMap(CacheNameStatistics::getName, cache -> cache));
+        Assertions.assertEquals(1, caches.get("user").getHits());
+        Assertions.assertEquals(1, caches.get("user").getMisses());
+        Assertions.assertEquals(2, caches.get("order").getHits());
+        Assertions.assertEquals(1, caches.get("order").getMisses());
+    }
+
+    @Test
+    void testMicrometerBinding() {
+        CacheStatisticsRecorder recorder = new CacheStatisticsRecorder();
+        recorder.recordHits("user", 3);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CacheMetricsBinder(recorder, () -> Map.of("used_memory", 1024L)).bindTo(registry);
+
+        // 绑定之后出现的缓存名称与操作也应注册
+        recorder.recordMisses("order", 2);
+        recorder.recordLatency("order", CacheOperation.SET, TimeUnit.MILLISECONDS.toNanos(2));
+
+        Assertions.assertEquals(3, registry.get("fastweb.cache.requests")
+                .tags("cache", "user", "result", "hit").functionCounter().count());
+        Assertions.assertEquals(2, registry.get("fastweb.cache.requests")
+                .tags("cache", "order", "result", "miss").functionCounter().count());
+        Assertions.assertEquals(1, registry.get("fastweb.cache.operations")
+                .tags("cache", "order", "operation", "set").functionCounter().count());
+        Assertions.assertEquals(2000, registry.get("fastweb.cache.operation.latency")
+                .tags("cache", "order", "operation", "set", "quantile", "max").gauge().value(), 50);
+        Assertions.assertEquals(1024, registry.get("fastweb.cache.server.memory.used").gauge().value());
+
+        CacheNameStatistics order = recorder.getCaches().stream()
+                .filter(cache -> "order".equals(cache.getName())).findFirst().orElseThrow();
+        Assertions.assertEquals(0.0, order.getHitRate());
+    }
+}
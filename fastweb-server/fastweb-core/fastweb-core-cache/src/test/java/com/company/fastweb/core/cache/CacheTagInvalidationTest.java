@@ -0,0 +1,117 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.backend.CacheBackend;
+import com.company.fastweb.core.cache.backend.CacheKeyIndex;
+import com.company.fastweb.core.cache.backend.LocalCacheKeyIndex;
+import com.company.fastweb.core.cache.config.FastWebCacheProperties;
+import com.company.fastweb.core.cache.hotkey.HotKeyReplicator;
+import com.company.fastweb.core.cache.metrics.CacheStatisticsRecorder;
+import com.company.fastweb.core.cache.service.impl.CacheServiceImpl;
+import com.company.fastweb.core.cache.support.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按标签、前缀批量清除测试
+ */
+public class CacheTagInvalidationTest {
+
+    private CacheServiceImpl cacheService;
+
+    @BeforeEach
+    void setUp() {
+        FastWebCacheProperties properties = new FastWebCacheProperties();
+        properties.getIndex().setPrefixes(List.of("user:"));
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("fastWebCacheProperties", properties);
+        cacheService = new CacheServiceImpl(
+                beanFactory.getBeanProvider(CacheBackend.class),
+                beanFactory.getBeanProvider(FastWebCacheProperties.class),
+                beanFactory.getBeanProvider(CacheStatisticsRecorder.class),
+                beanFactory.getBeanProvider(CacheKeyIndex.class),
+                beanFactory.getBeanProvider(HotKeyReplicator.class),
+                beanFactory.getBeanProvider(CircuitBreakerRegistry.class));
+    }
+
+    @Test
+    void testInvalidateByTag() {
+        for (int i = 0; i < 1200; i++) {
+            cacheService.set("product:" + i, i, 60, List.of(i % 2 == 0 ? "even" : "odd", "all"));
+        }
+        cacheService.set("other", "x");
+
+        Assertions.assertEquals(600, cacheService.invalidateByTag("even"));
+        Assertions.assertFalse(cacheService.hasKey("product:0"));
+        Assertions.assertTrue(cacheService.hasKey("product:1"));
+        Assertions.assertEquals(0, cacheService.invalidateByTag("even"), "索引已清空");
+        Assertions.assertEquals(0, cacheService.invalidateByTag("missing"));
+
+        // 已删除的键仍留在 all 索引中，再次删除没有副作用
+        Assertions.assertEquals(600, cacheService.invalidateByTag("all"));
+        Assertions.assertTrue(cacheService.hasKey("other"));
+    }
+
+    @Test
+    void testInvalidateByIndexedAndScannedPrefix() {
+        cacheService.multiSet(Map.of("user:1", "a", "user:2", "b"), 60);
+        cacheService.set("user:3", "c");
+        cacheService.set("order:1", "x");
+        cacheService.set("order:2", "y");
+        cacheService.set("orders", "z");
+
+        Assertions.assertEquals(3, cacheService.invalidateByPrefix("user:"));
+        Assertions.assertFalse(cacheService.hasKey("user:3"));
+
+        Assertions.assertEquals(2, cacheService.invalidateByPrefix("order:"));
+        Assertions.assertTrue(cacheService.hasKey("orders"));
+    }
+
+    @Test
+    void testClearDeletesOnlyCacheRegion() {
+        cacheService.set("dict:1", "a");
+        cacheService.set("dict:2", "b");
+        cacheService.set("user:1", "c");
+
+        cacheService.clear("dict");
+        Assertions.assertFalse(cacheService.hasKey("dict:1"));
+        Assertions.assertFalse(cacheService.hasKey("dict:2"));
+        Assertions.assertTrue(cacheService.hasKey("user:1"));
+    }
+
+    @Test
+    void testLocalIndexDrainsInBatchesAndKeepsUnprocessedKeys() {
+        LocalCacheKeyIndex index = new LocalCacheKeyIndex();
+        for (int i = 0; i < 10; i++) {
+            index.add(List.of("tag:a"), "k" + i, 60);
+        }
+        List<Integer> batches = new ArrayList<>();
+        index.drain("tag:a", 4, keys -> batches.add(keys.size()));
+        Assertions.assertEquals(List.of(4, 4, 2), batches);
+        Assertions.assertEquals(0, index.size("tag:a"));
+
+        for (int i = 0; i < 10; i++) {
+            index.add(List.of("tag:a"), "k" + i, 60);
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> index.drain("tag:a", 4, keys -> {
+            throw new IllegalStateException("删除失败");
+        }));
+        Assertions.assertEquals(10, index.size("tag:a"), "处理失败的键保留在索引中");
+    }
+
+    @Test
+    void testLocalIndexPrunesExpiredMembers() throws InterruptedException {
+        LocalCacheKeyIndex index = new LocalCacheKeyIndex();
+        for (int i = 0; i < 63; i++) {
+            index.add(List.of("tag:a"), "short" + i, 1);
+        }
+        Thread.sleep(1100);
+        index.add(List.of("tag:a"), "long", 60);
+        Assertions.assertEquals(1, index.size("tag:a"));
+    }
+}
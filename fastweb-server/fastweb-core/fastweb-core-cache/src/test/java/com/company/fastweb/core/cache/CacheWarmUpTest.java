@@ -0,0 +1,144 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.support.TwoLevelCacheManager;
+import com.company.fastweb.core.cache.warmup.CacheWarmUpEngine;
+import com.company.fastweb.core.cache.warmup.CacheWarmUpLoader;
+import com.company.fastweb.core.cache.warmup.CountMinSketch;
+import com.company.fastweb.core.cache.warmup.HotKeySnapshotStore;
+import com.company.fastweb.core.cache.warmup.HotKeyTracker;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 热点 key 统计与启动预热测试
+ */
+public class CacheWarmUpTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSketchNeverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(8192);
+        for (int i = 0; i < 500; i++) {
+            for (int j = 0; j <= i % 10; j++) {
+                sketch.increment("k" + i);
+            }
+        }
+        for (int i = 0; i < 500; i++) {
+            Assertions.assertTrue(sketch.estimate("k" + i) >= i % 10 + 1);
+        }
+        Assertions.assertEquals(0, sketch.estimate("absent"), "宽度足够时未出现的 key 估算为 0");
+    }
+
+    @Test
+    void testTrackerKeepsHottestKeys() {
+        HotKeyTracker tracker = new HotKeyTracker(10);
+        for (int round = 0; round < 50; round++) {
+            for (int hot = 0; hot < 5; hot++) {
+                tracker.record("user", "hot-" + hot);
+            }
+            for (int cold = 0; cold < 20; cold++) {
+                tracker.record("user", "cold-" + round + "-" + cold);
+            }
+        }
+        List<String> hottest = tracker.hottest("user", 5);
+        Assertions.assertEquals(Set.of("hot-0", "hot-1", "hot-2", "hot-3", "hot-4"), Set.copyOf(hottest));
+        Assertions.assertTrue(tracker.hottest("user", 100).size() <= 20);
+        Assertions.assertEquals(List.of(), tracker.hottest("dict", 5));
+    }
+
+    @Test
+    void testSnapshotRoundTripAndCorruptFile() throws Exception {
+        HotKeySnapshotStore store = new HotKeySnapshotStore(tempDir.resolve("snapshot/hotkeys.json"));
+        Assertions.assertEquals(Map.of(), store.load());
+
+        store.save(Map.of("user", List.of("1", "2")));
+        Assertions.assertEquals(Map.of("user", List.of("1", "2")), store.load());
+
+        Files.writeString(store.getFile(), "{broken");
+        Assertions.assertEquals(Map.of(), store.load());
+    }
+
+    @Test
+    void testWarmUpReplaysSnapshotThroughLoaders() throws Exception {
+        HotKeyTracker tracker = new HotKeyTracker(100);
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(
+                List.of(caffeineCache("user"), caffeineCache("dict")), null, List.of(), null);
+        manager.setHotKeyTracker(tracker);
+        HotKeySnapshotStore store = new HotKeySnapshotStore(tempDir.resolve("hotkeys.json"));
+
+        // 上一个实例：访问产生热点并保存快照
+        Cache user = manager.getCache("user");
+        for (long id = 1; id <= 3; id++) {
+            user.get(id);
+        }
+        manager.getCache("dict").get("gender");
+        CacheWarmUpEngine previous = new CacheWarmUpEngine(manager, tracker, store, List.of(),
+                2, Duration.ofSeconds(5), Duration.ofMinutes(5));
+        previous.saveSnapshot();
+
+        // 新实例：按快照回填，没有加载器的缓存跳过
+        TwoLevelCacheManager fresh = new TwoLevelCacheManager(List.of(caffeineCache("user")), null, List.of(), null);
+        AtomicInteger loads = new AtomicInteger();
+        CacheWarmUpLoader loader = new CacheWarmUpLoader() {
+            @Override
+            public String getCacheName() {
+                return "user";
+            }
+
+            @Override
+            public Object resolveKey(String key) {
+                return Long.valueOf(key);
+            }
+
+            @Override
+            public Object load(Object key) {
+                loads.incrementAndGet();
+                return key.equals(3L) ? null : "user-" + key;
+            }
+        };
+        CacheWarmUpEngine engine = new CacheWarmUpEngine(fresh, new HotKeyTracker(100), store, List.of(loader),
+                2, Duration.ofSeconds(5), Duration.ofMinutes(5));
+
+        Assertions.assertEquals(2, engine.warmUp());
+        Assertions.assertEquals(3, loads.get());
+        Assertions.assertEquals("user-1", fresh.getCache("user").get(1L, String.class));
+        Assertions.assertEquals("user-2", fresh.getCache("user").get(2L, String.class));
+    }
+
+    @Test
+    void testDuplicateLoaderRejected() {
+        CacheWarmUpLoader loader = new CacheWarmUpLoader() {
+            @Override
+            public String getCacheName() {
+                return "user";
+            }
+
+            @Override
+            public Object load(Object key) {
+                return key;
+            }
+        };
+        Assertions.assertThrows(IllegalStateException.class, () -> new CacheWarmUpEngine(
+                new TwoLevelCacheManager(List.of(), null, List.of(), null), new HotKeyTracker(10),
+                new HotKeySnapshotStore(tempDir.resolve("x.json")), List.of(loader, loader),
+                1, Duration.ofSeconds(1), Duration.ofMinutes(1)));
+    }
+
+    private static CaffeineCache caffeineCache(String name) {
+        return new CaffeineCache(name, Caffeine.newBuilder().maximumSize(100).build());
+    }
+}
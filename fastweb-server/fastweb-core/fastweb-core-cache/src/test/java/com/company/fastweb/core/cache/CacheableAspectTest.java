@@ -0,0 +1,187 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.annotation.Cacheable;
+import com.company.fastweb.core.cache.aspect.CacheableAspect;
+import com.company.fastweb.core.cache.backend.CacheBackend;
+import com.company.fastweb.core.cache.backend.CacheKeyIndex;
+import com.company.fastweb.core.cache.config.FastWebCacheProperties;
+import com.company.fastweb.core.cache.hotkey.HotKeyReplicator;
+import com.company.fastweb.core.cache.lock.DistributedLockClient;
+import com.company.fastweb.core.cache.metrics.CacheStatisticsRecorder;
+import com.company.fastweb.core.cache.service.CacheService;
+import com.company.fastweb.core.cache.service.impl.CacheServiceImpl;
+import com.company.fastweb.core.cache.support.CachedValue;
+import com.company.fastweb.core.cache.support.CircuitBreakerRegistry;
+import com.company.fastweb.core.cache.support.SingleFlight;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Cacheable} 切面测试：并发加载合并、XFetch 提前刷新、条件与空值处理
+ */
+public class CacheableAspectTest {
+
+    private CacheService cacheService;
+    private Loader target;
+    private Loader loader;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        cacheService = new CacheServiceImpl(
+                beanFactory.getBeanProvider(CacheBackend.class),
+                beanFactory.getBeanProvider(FastWebCacheProperties.class),
+                beanFactory.getBeanProvider(CacheStatisticsRecorder.class),
+                beanFactory.getBeanProvider(CacheKeyIndex.class),
+                beanFactory.getBeanProvider(HotKeyReplicator.class),
+                beanFactory.getBeanProvider(CircuitBreakerRegistry.class));
+        target = new Loader();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CacheableAspect(cacheService, beanFactory.getBeanProvider(DistributedLockClient.class)));
+        loader = factory.getProxy();
+    }
+
+    @Test
+    void testConcurrentMissesLoadOnce() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return loader.slow(1L);
+                }));
+            }
+            start.countDown();
+            for (Future<String> future : futures) {
+                Assertions.assertEquals("user-1", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(1, target.slowCalls.get());
+        Assertions.assertEquals("user-1", loader.slow(1L));
+        Assertions.assertEquals(1, target.slowCalls.get());
+        Assertions.assertNotNull(cacheService.get("user:1", CachedValue.class));
+    }
+
+    @Test
+    void testLoaderFailureSharedAndNotCached() {
+        Assertions.assertThrows(IllegalStateException.class, () -> loader.failing(1L));
+        Assertions.assertThrows(IllegalStateException.class, () -> loader.failing(1L));
+        Assertions.assertEquals(2, target.failingCalls.get());
+    }
+
+    @Test
+    void testEarlyRefresh() {
+        loader.eager(1L);
+        loader.eager(1L);
+        // beta 极大时每次命中都会触发提前刷新
+        Assertions.assertEquals(2, target.eagerCalls.get());
+
+        CachedValue value = cacheService.get("eager:1", CachedValue.class);
+        Assertions.assertTrue(value.shouldRefresh(1.0, value.getExpireAt()));
+        Assertions.assertFalse(value.shouldRefresh(0, value.getExpireAt()));
+        Assertions.assertFalse(new CachedValue("v", 10, 0).shouldRefresh(1.0, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testConditionUnlessAndNullValues() {
+        loader.conditional(-1L);
+        loader.conditional(-1L);
+        Assertions.assertEquals(2, target.conditionalCalls.get(), "condition 不满足时不走缓存");
+
+        loader.conditional(2L);
+        loader.conditional(2L);
+        Assertions.assertEquals(4, target.conditionalCalls.get(), "unless 满足时不写缓存");
+
+        loader.conditional(1L);
+        loader.conditional(1L);
+        Assertions.assertEquals(5, target.conditionalCalls.get());
+
+        Assertions.assertNull(loader.nullable(1L));
+        Assertions.assertNull(loader.nullable(1L));
+        Assertions.assertEquals(1, target.nullableCalls.get(), "允许空值时缓存 null");
+    }
+
+    @Test
+    void testSingleFlightExecuteIfIdle() throws Throwable {
+        SingleFlight singleFlight = new SingleFlight();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread leader = new Thread(() -> {
+            try {
+                singleFlight.execute("k", () -> {
+                    loading.countDown();
+                    release.await();
+                    return "fresh";
+                });
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        leader.start();
+        loading.await();
+        Assertions.assertEquals(1, singleFlight.inFlight());
+        Assertions.assertEquals("stale", singleFlight.executeIfIdle("k", () -> "other", "stale"));
+        release.countDown();
+        leader.join();
+        Assertions.assertEquals(0, singleFlight.inFlight());
+        Assertions.assertEquals("other", singleFlight.executeIfIdle("k", () -> "other", "stale"));
+    }
+
+    public static class Loader {
+
+        final AtomicInteger slowCalls = new AtomicInteger();
+        final AtomicInteger failingCalls = new AtomicInteger();
+        final AtomicInteger eagerCalls = new AtomicInteger();
+        final AtomicInteger conditionalCalls = new AtomicInteger();
+        final AtomicInteger nullableCalls = new AtomicInteger();
+
+        @Cacheable(value = "user", key = "#id")
+        public String slow(Long id) throws InterruptedException {
+            slowCalls.incrementAndGet();
+            Thread.sleep(200);
+            return "user-" + id;
+        }
+
+        @Cacheable(value = "failing", key = "#id")
+        public String failing(Long id) {
+            failingCalls.incrementAndGet();
+            throw new IllegalStateException("db down");
+        }
+
+        @Cacheable(value = "eager", key = "#id", earlyRefreshBeta = 1e12)
+        public String eager(Long id) {
+            eagerCalls.incrementAndGet();
+            return "eager-" + id;
+        }
+
+        @Cacheable(value = "conditional", key = "#id", condition = "#id > 0", unless = "#result.endsWith('2')")
+        public String conditional(Long id) {
+            conditionalCalls.incrementAndGet();
+            return "value-" + id;
+        }
+
+        @Cacheable(value = "nullable", key = "#id", allowNullValues = true)
+        public String nullable(Long id) {
+            nullableCalls.incrementAndGet();
+            return null;
+        }
+    }
+}
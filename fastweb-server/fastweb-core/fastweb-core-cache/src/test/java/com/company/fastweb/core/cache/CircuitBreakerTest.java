@@ -0,0 +1,174 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.backend.CacheBackend;
+import com.company.fastweb.core.cache.backend.CacheKeyIndex;
+import com.company.fastweb.core.cache.backend.InMemoryCacheBackend;
+import com.company.fastweb.core.cache.config.FastWebCacheProperties;
+import com.company.fastweb.core.cache.hotkey.HotKeyReplicator;
+import com.company.fastweb.core.cache.metrics.CacheStatisticsRecorder;
+import com.company.fastweb.core.cache.service.impl.CacheServiceImpl;
+import com.company.fastweb.core.cache.support.CircuitBreaker;
+import com.company.fastweb.core.cache.support.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 远程后端熔断测试
+ */
+public class CircuitBreakerTest {
+
+    @Test
+    void testOpensAfterConsecutiveFailuresAndProbes() {
+        AtomicLong now = new AtomicLong(0);
+        CircuitBreaker breaker = new CircuitBreaker("redis", 3, Duration.ofSeconds(10), 2, now::get);
+        RuntimeException error = new IllegalStateException("connection refused");
+
+        breaker.onFailure(error);
+        breaker.onFailure(error);
+        breaker.onSuccess();
+        breaker.onFailure(error);
+        breaker.onFailure(error);
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "成功调用重置连续失败计数");
+        breaker.onFailure(error);
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Assertions.assertFalse(breaker.tryAcquire());
+
+        now.set(10_000);
+        Assertions.assertTrue(breaker.tryAcquire());
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        Assertions.assertTrue(breaker.tryAcquire());
+        Assertions.assertFalse(breaker.tryAcquire(), "半开时只放行 halfOpenCalls 个探测");
+        breaker.onSuccess();
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess();
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        Assertions.assertEquals(2, breaker.getRejectedCalls());
+        Assertions.assertEquals(1, breaker.getOpenCount());
+    }
+
+    @Test
+    void testFailedProbeReopens() {
+        AtomicLong now = new AtomicLong(0);
+        CircuitBreaker breaker = new CircuitBreaker("redis", 1, Duration.ofSeconds(10), 1, now::get);
+        breaker.onFailure(new IllegalStateException("down"));
+
+        now.set(10_000);
+        Assertions.assertTrue(breaker.tryAcquire());
+        breaker.onFailure(new IllegalStateException("still down"));
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        now.set(19_999);
+        Assertions.assertFalse(breaker.tryAcquire(), "重新打开后重新计时");
+        Assertions.assertEquals(2, breaker.getOpenCount());
+    }
+
+    @Test
+    void testCacheServiceSkipsRemoteWhileOpen() throws InterruptedException {
+        FlakyBackend remote = new FlakyBackend();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("remote", remote);
+        beanFactory.addBean("circuitBreakerRegistry", new CircuitBreakerRegistry(3, Duration.ofMillis(200), 1));
+        CacheServiceImpl cacheService = new CacheServiceImpl(
+                beanFactory.getBeanProvider(CacheBackend.class),
+                beanFactory.getBeanProvider(FastWebCacheProperties.class),
+                beanFactory.getBeanProvider(CacheStatisticsRecorder.class),
+                beanFactory.getBeanProvider(CacheKeyIndex.class),
+                beanFactory.getBeanProvider(HotKeyReplicator.class),
+                beanFactory.getBeanProvider(CircuitBreakerRegistry.class));
+
+        remote.down = true;
+        for (int i = 0; i < 10; i++) {
+            cacheService.set("user:" + i, "v" + i);
+        }
+        Assertions.assertEquals(3, remote.calls.get(), "熔断打开后不再访问远程后端");
+        Assertions.assertEquals("v9", cacheService.get("user:9"), "打开期间读写本地降级存储");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> info = (Map<String, Object>) cacheService.getInfo().get("circuitBreaker");
+        Assertions.assertEquals("OPEN", info.get("state"));
+
+        remote.down = false;
+        Thread.sleep(250);
+        cacheService.set("user:1", "recovered");
+        Assertions.assertEquals(4, remote.calls.get(), "经过 openDuration 后放行探测调用");
+        Assertions.assertEquals("recovered", cacheService.get("user:1"));
+        Assertions.assertEquals(5, remote.calls.get(), "探测成功后恢复访问远程后端");
+    }
+
+    @Test
+    void testScanFailureDuringIterationOpensBreaker() {
+        FlakyBackend remote = new FlakyBackend();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("remote", remote);
+        beanFactory.addBean("circuitBreakerRegistry", new CircuitBreakerRegistry(1, Duration.ofSeconds(10), 1));
+        CacheServiceImpl cacheService = new CacheServiceImpl(
+                beanFactory.getBeanProvider(CacheBackend.class),
+                beanFactory.getBeanProvider(FastWebCacheProperties.class),
+                beanFactory.getBeanProvider(CacheStatisticsRecorder.class),
+                beanFactory.getBeanProvider(CacheKeyIndex.class),
+                beanFactory.getBeanProvider(HotKeyReplicator.class),
+                beanFactory.getBeanProvider(CircuitBreakerRegistry.class));
+        cacheService.set("user:1", "v1");
+        cacheService.set("user:2", "v2");
+
+        remote.scanBreaks = true;
+        List<String> keys;
+        try (Stream<String> stream = cacheService.scan("user:*", 10)) {
+            keys = stream.toList();
+        }
+        Assertions.assertEquals(1, keys.size(), "遍历中断开后改为遍历本地降级存储");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> info = (Map<String, Object>) cacheService.getInfo().get("circuitBreaker");
+        Assertions.assertEquals("OPEN", info.get("state"), "遍历中的失败同样计入熔断");
+    }
+
+    private static final class FlakyBackend extends InMemoryCacheBackend {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean down;
+        private volatile boolean scanBreaks;
+
+        @Override
+        public String getName() {
+            return "redis";
+        }
+
+        @Override
+        public void set(String key, Object value) {
+            check();
+            super.set(key, value);
+        }
+
+        @Override
+        public Object get(String key) {
+            check();
+            return super.get(key);
+        }
+
+        @Override
+        public Stream<String> scan(String pattern, int batchSize) {
+            check();
+            Stream<String> keys = super.scan(pattern, batchSize);
+            if (!scanBreaks) {
+                return keys;
+            }
+            // 返回第一个键后连接断开
+            return Stream.concat(keys.limit(1), Stream.generate(() -> {
+                throw new IllegalStateException("Connection reset by peer");
+            }));
+        }
+
+        private void check() {
+            calls.incrementAndGet();
+            if (down) {
+                throw new IllegalStateException("Unable to connect to Redis");
+            }
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.company.fastweb.core.cache;
 
 import com.company.fastweb.core.cache.lock.DistributedLockClient;
+import com.company.fastweb.core.cache.lock.FencedLease;
+import com.company.fastweb.core.cache.lock.FencingTokenGuard;
+import com.company.fastweb.core.cache.lock.MultiLockLease;
+import com.company.fastweb.core.cache.lock.StaleFencingTokenException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 public class DistributedLockClientIntegrationTest extends BaseCacheIntegrationTest {
@@ -12,6 +18,9 @@ public class DistributedLockClientIntegrationTest extends BaseCacheIntegrationTe
     @Autowired(required = false)
     private DistributedLockClient lockClient;
 
+    @Autowired(required = false)
+    private FencingTokenGuard fencingTokenGuard;
+
     @Test
     void testLockUnlock() {
         if (lockClient == null) {
@@ -38,4 +47,54 @@ public class DistributedLockClientIntegrationTest extends BaseCacheIntegrationTe
         TimeUnit.SECONDS.sleep(3);
         Assertions.assertFalse(lockClient.isLocked(key));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFencedLockTokenIncreases() {
+        if (lockClient == null || fencingTokenGuard == null) {
+            return;
+        }
+        String key = "lock:test:fenced";
+        long first;
+        try (FencedLease lease = lockClient.lockFenced(key, 5, TimeUnit.SECONDS)) {
+            first = lease.getToken();
+            Assertions.assertEquals(1, fencingTokenGuard.write(lease, () -> 1));
+        }
+        FencedLease second = lockClient.tryLockFenced(key, 5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(second);
+        try (second) {
+            Assertions.assertTrue(second.getToken() > first);
+            Assertions.assertEquals(second.getToken(), lockClient.getFencingToken(key));
+            fencingTokenGuard.check(key, second.getToken());
+            // 前一个持有者迟到的写入被拒绝
+            Assertions.assertThrows(StaleFencingTokenException.class, () -> fencingTokenGuard.check(key, first));
+        }
+    }
+
+    @Test
+    void testTryLockAllIsAllOrNothing() throws Exception {
+        if (lockClient == null) {
+            return;
+        }
+        List<String> names = List.of("lock:test:batch:3", "lock:test:batch:1", "lock:test:batch:2");
+        // 其它线程持有其中一个锁时整批失败，且不残留其余锁
+        CompletableFuture.runAsync(() -> lockClient.lock("lock:test:batch:2", 2, TimeUnit.SECONDS)).get();
+        Assertions.assertNull(lockClient.tryLockAll(names, 100, 5000, TimeUnit.MILLISECONDS));
+        Assertions.assertFalse(lockClient.isLocked("lock:test:batch:1"));
+
+        try (MultiLockLease lease = lockClient.tryLockAll(names, 3000, 5000, TimeUnit.MILLISECONDS)) {
+            Assertions.assertNotNull(lease);
+            Assertions.assertEquals(List.of("lock:test:batch:1", "lock:test:batch:2", "lock:test:batch:3"),
+                    lease.getLockNames());
+            Assertions.assertTrue(lockClient.isLocked("lock:test:batch:3"));
+            // 与 RLock 互斥
+            Assertions.assertFalse(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return lockClient.tryLock("lock:test:batch:1", 0, 1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }).get());
+        }
+        Assertions.assertFalse(lockClient.isLocked("lock:test:batch:1"));
+    }
+}
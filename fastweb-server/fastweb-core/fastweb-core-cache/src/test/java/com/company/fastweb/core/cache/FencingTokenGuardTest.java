@@ -0,0 +1,32 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.lock.FencingTokenGuard;
+import com.company.fastweb.core.cache.lock.LocalFencingTokenGuard;
+import com.company.fastweb.core.cache.lock.StaleFencingTokenException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * fencing token 校验测试
+ */
+public class FencingTokenGuardTest {
+
+    @Test
+    void testRejectsStaleToken() {
+        FencingTokenGuard guard = new LocalFencingTokenGuard();
+        List<String> writes = new ArrayList<>();
+
+        guard.write("order:1", 33, () -> writes.add("a"));
+        guard.write("order:1", 34, () -> writes.add("b"));
+        guard.write("order:1", 34, () -> writes.add("c"));
+        StaleFencingTokenException stale = Assertions.assertThrows(StaleFencingTokenException.class,
+                () -> guard.write("order:1", 33, () -> writes.add("late")));
+
+        Assertions.assertEquals(List.of("a", "b", "c"), writes, "过期持有者的写入不执行");
+        Assertions.assertEquals(33, stale.getToken());
+        Assertions.assertTrue(guard.accept("order:2", 1), "不同资源互不影响");
+    }
+}
@@ -0,0 +1,158 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.backend.CacheBackend;
+import com.company.fastweb.core.cache.backend.CacheKeyIndex;
+import com.company.fastweb.core.cache.backend.InMemoryCacheBackend;
+import com.company.fastweb.core.cache.config.FastWebCacheProperties;
+import com.company.fastweb.core.cache.hotkey.HotKeyDetector;
+import com.company.fastweb.core.cache.hotkey.HotKeyReplicator;
+import com.company.fastweb.core.cache.metrics.CacheStatisticsRecorder;
+import com.company.fastweb.core.cache.model.dto.HotKeyDTO;
+import com.company.fastweb.core.cache.service.impl.CacheServiceImpl;
+import com.company.fastweb.core.cache.support.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 滑动窗口热点检测及热点本地副本测试
+ */
+public class HotKeyDetectionTest {
+
+    @Test
+    void testDetectsKeyOverThresholdWithinWindow() {
+        AtomicLong now = new AtomicLong(0);
+        HotKeyDetector detector = new HotKeyDetector(5, 1000, 100, 10, 1024, now::get);
+
+        for (int i = 0; i < 99; i++) {
+            Assertions.assertFalse(detector.record("config:global"));
+            detector.record("user:" + i);
+        }
+        Assertions.assertTrue(detector.record("config:global"));
+        Assertions.assertEquals(List.of("config:global"),
+                detector.hotKeys().stream().map(HotKeyDetector.HotKey::getKey).toList());
+        Assertions.assertEquals(1, detector.getPromotions());
+    }
+
+    @Test
+    void testWindowSlidesAndHotKeyExpires() {
+        AtomicLong now = new AtomicLong(0);
+        HotKeyDetector detector = new HotKeyDetector(5, 1000, 100, 10, 1024, now::get);
+
+        // 每秒 30 次，分散在多个桶中累计超过阈值
+        boolean hot = false;
+        for (int second = 0; second < 4 && !hot; second++) {
+            now.set(second * 1000L);
+            for (int i = 0; i < 30; i++) {
+                hot = detector.record("k");
+            }
+        }
+        Assertions.assertTrue(hot, "窗口内累计达到阈值");
+
+        // 每秒 10 次低于阈值，整个窗口过去后不再是热点
+        for (int second = 4; second < 10; second++) {
+            now.set(second * 1000L);
+            for (int i = 0; i < 10; i++) {
+                detector.record("k");
+            }
+        }
+        Assertions.assertFalse(detector.isHot("k"));
+        Assertions.assertTrue(detector.hotKeys().isEmpty());
+    }
+
+    @Test
+    void testCapacityReplacesColdestHotKey() {
+        AtomicLong now = new AtomicLong(0);
+        HotKeyDetector detector = new HotKeyDetector(1, 10_000, 10, 2, 1024, now::get);
+        record(detector, "a", 10);
+        record(detector, "b", 20);
+        Assertions.assertFalse(record(detector, "c", 10), "不比已有热点更热时不替换");
+        Assertions.assertTrue(record(detector, "c", 5));
+        Assertions.assertFalse(detector.isHot("a"));
+        Assertions.assertTrue(detector.isHot("b"));
+    }
+
+    @Test
+    void testReplicatesHotKeyLocally() {
+        CountingBackend remote = new CountingBackend();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("remote", remote);
+        beanFactory.addBean("hotKeyReplicator", new HotKeyReplicator(
+                new HotKeyDetector(10, 1000, 50, 10, 1024), 10, Duration.ofSeconds(30)));
+        CacheServiceImpl cacheService = new CacheServiceImpl(
+                beanFactory.getBeanProvider(CacheBackend.class),
+                beanFactory.getBeanProvider(FastWebCacheProperties.class),
+                beanFactory.getBeanProvider(CacheStatisticsRecorder.class),
+                beanFactory.getBeanProvider(CacheKeyIndex.class),
+                beanFactory.getBeanProvider(HotKeyReplicator.class),
+                beanFactory.getBeanProvider(CircuitBreakerRegistry.class));
+
+        cacheService.set("config:global", "v1");
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals("v1", cacheService.get("config:global"));
+        }
+        Assertions.assertEquals(50, remote.reads.get(), "判定为热点后由本地副本返回");
+
+        List<HotKeyDTO> hotKeys = cacheService.getHotKeys();
+        Assertions.assertEquals(1, hotKeys.size());
+        Assertions.assertEquals("config:global", hotKeys.get(0).getKey());
+        Assertions.assertTrue(hotKeys.get(0).getReplicated());
+
+        cacheService.set("config:global", "v2");
+        Assertions.assertEquals("v2", cacheService.get("config:global"), "本节点写入立即清除副本");
+        Assertions.assertEquals(51, remote.reads.get());
+
+        cacheService.delete("config:global");
+        Assertions.assertNull(cacheService.get("config:global"));
+    }
+
+    @Test
+    void testLoadRacingInvalidationIsNotReplicated() {
+        HotKeyReplicator replicator = new HotKeyReplicator(
+                new HotKeyDetector(10, 1000, 5, 10, 1024), 10, Duration.ofSeconds(30));
+        for (int i = 0; i < 5; i++) {
+            replicator.get("k");
+        }
+
+        // 读取远程期间本节点写入并清除了副本，读到的旧值不能再留作副本
+        long version = replicator.version("k");
+        replicator.invalidate("k");
+        replicator.onLoad("k", "stale", version);
+        Assertions.assertFalse(replicator.isReplicated("k"));
+
+        replicator.onLoad("k", "fresh", replicator.version("k"));
+        Assertions.assertEquals("fresh", replicator.get("k"));
+    }
+
+    private static boolean record(HotKeyDetector detector, String key, int times) {
+        boolean hot = false;
+        for (int i = 0; i < times; i++) {
+            hot = detector.record(key);
+        }
+        return hot;
+    }
+
+    /**
+     * 统计读取次数的“远程”后端
+     */
+    private static final class CountingBackend extends InMemoryCacheBackend {
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public Object get(String key) {
+            reads.incrementAndGet();
+            return super.get(key);
+        }
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+    }
+}
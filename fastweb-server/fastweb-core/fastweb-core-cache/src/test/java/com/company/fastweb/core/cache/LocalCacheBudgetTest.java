@@ -0,0 +1,120 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.RedisTemplateSerializationTest.User;
+import com.company.fastweb.core.cache.support.EstimatedSizeWeigher;
+import com.company.fastweb.core.cache.support.LocalCacheBudget;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按估算大小限制容量与全局内存预算测试
+ */
+public class LocalCacheBudgetTest {
+
+    @Test
+    void testWeigherScalesWithPayload() {
+        long small = EstimatedSizeWeigher.estimate("a");
+        long large = EstimatedSizeWeigher.estimate("a".repeat(10_000));
+        Assertions.assertTrue(large > 10_000 && large < 10_200, "large=" + large);
+        Assertions.assertTrue(small < 100);
+
+        List<User> users = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            users.add(new User(i, "user-" + i, LocalDateTime.now()));
+        }
+        long one = EstimatedSizeWeigher.estimate(users.get(0));
+        long all = EstimatedSizeWeigher.estimate(users);
+        Assertions.assertTrue(all > one * 900 && all < one * 1500, "one=" + one + ", all=" + all);
+        Assertions.assertTrue(new EstimatedSizeWeigher().weigh("k", new byte[4096]) > 4096);
+    }
+
+    @Test
+    void testInitialAllocationFollowsRequestedWeight() {
+        LocalCacheBudget budget = new LocalCacheBudget(1_000_000, 0.05, 0.05);
+        budgetedCache(budget, "user", 300_000);
+        budgetedCache(budget, "dict", 100_000);
+        budget.allocate();
+
+        Assertions.assertEquals(Map.of("dict", 250_000L, "user", 750_000L), budget.allocations());
+    }
+
+    @Test
+    void testAllocationWithFloorsStaysWithinBudget() {
+        LocalCacheBudget budget = new LocalCacheBudget(1_000_000, 0.1, 0.05);
+        budgetedCache(budget, "user", 900_000);
+        budgetedCache(budget, "dict", 50_000);
+        budgetedCache(budget, "region", 30_000);
+        budgetedCache(budget, "config", 20_000);
+        budget.allocate();
+
+        // 三个缓存取最低份额，剩余预算全部分给 user
+        Assertions.assertEquals(Map.of("user", 700_000L, "dict", 100_000L, "region", 100_000L, "config", 100_000L),
+                budget.allocations());
+
+        LocalCacheBudget equal = new LocalCacheBudget(100_000, 0.1, 0.05);
+        budgetedCache(equal, "a", 0);
+        budgetedCache(equal, "b", 0);
+        budgetedCache(equal, "c", 0);
+        equal.allocate();
+        Assertions.assertEquals(100_000L, equal.allocations().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void testRebalanceMovesCapacityToCacheWithGhostHits() {
+        LocalCacheBudget budget = new LocalCacheBudget(100_000, 0.1, 0.1);
+        CaffeineCache hot = budgetedCache(budget, "hot", 0);
+        CaffeineCache cold = budgetedCache(budget, "cold", 0);
+        budget.allocate();
+
+        // hot 的工作集超过其份额，被淘汰的 key 随后再次被访问
+        String payload = "x".repeat(1000);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 200; i++) {
+                if (hot.get(i) == null) {
+                    hot.put(i, payload);
+                }
+            }
+            ((Cache<?, ?>) hot.getNativeCache()).cleanUp();
+        }
+        cold.put("k", "v");
+        cold.get("k");
+
+        Assertions.assertTrue(budget.rebalance());
+        Map<String, Long> allocations = budget.allocations();
+        Assertions.assertEquals(60_000L, allocations.get("hot"));
+        Assertions.assertEquals(40_000L, allocations.get("cold"));
+
+        // 没有新的幽灵命中时不调整
+        Assertions.assertFalse(budget.rebalance());
+
+        // 不会低于最低份额
+        for (int i = 0; i < 10; i++) {
+            for (int k = 200; k < 400; k++) {
+                if (hot.get(k) == null) {
+                    hot.put(k, payload);
+                }
+            }
+            ((Cache<?, ?>) hot.getNativeCache()).cleanUp();
+            for (int k = 200; k < 400; k++) {
+                hot.get(k);
+            }
+            budget.rebalance();
+        }
+        Assertions.assertEquals(10_000L, budget.allocations().get("cold"));
+        Assertions.assertEquals(100_000L, budget.allocations().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private static CaffeineCache budgetedCache(LocalCacheBudget budget, String name, long requestedWeight) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().executor(Runnable::run);
+        budget.configure(name, builder, requestedWeight);
+        return budget.createCache(name, builder.build());
+    }
+}
@@ -0,0 +1,148 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.backend.LocalCacheStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地降级存储测试，使用手动时钟驱动过期
+ */
+public class LocalCacheStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private LocalCacheStore newStore(long maximumSize) {
+        return new LocalCacheStore(maximumSize, (key, value) -> 1L, clock::get);
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    @Test
+    void testTtlHonoured() {
+        LocalCacheStore store = newStore(100);
+        store.put("k1", "v1", 10);
+        store.put("k2", "v2", -1);
+
+        Assertions.assertEquals(10, store.getExpire("k1"));
+        Assertions.assertEquals(-1, store.getExpire("k2"));
+        Assertions.assertEquals(-2, store.getExpire("absent"));
+
+        advanceSeconds(10);
+        Assertions.assertNull(store.get("k1"));
+        Assertions.assertEquals(-2, store.getExpire("k1"));
+        Assertions.assertEquals("v2", store.get("k2"));
+    }
+
+    @Test
+    void testExpireUpdatesTtl() {
+        LocalCacheStore store = newStore(100);
+        store.put("k1", "v1", -1);
+
+        Assertions.assertTrue(store.expire("k1", 5));
+        Assertions.assertEquals(5, store.getExpire("k1"));
+        Assertions.assertFalse(store.expire("absent", 5));
+
+        Assertions.assertTrue(store.expire("k1", 0));
+        Assertions.assertFalse(store.containsKey("k1"));
+    }
+
+    @Test
+    void testTimingWheelSweepsUnreadEntries() {
+        LocalCacheStore store = newStore(100);
+        store.put("short", "v", 2);
+        store.put("long", "v", 5000);
+        store.put("forever", "v", -1);
+
+        advanceSeconds(3);
+        store.cleanUp();
+        Assertions.assertEquals(2, store.size());
+
+        // 跨越第 1、2 层时间轮，验证下沉后仍能按时清理
+        advanceSeconds(5000);
+        store.cleanUp();
+        Assertions.assertEquals(1, store.size());
+        Assertions.assertEquals(2, store.expirationCount());
+    }
+
+    @Test
+    void testRewriteDoesNotExpireEarly() {
+        LocalCacheStore store = newStore(100);
+        store.put("k1", "v1", 2);
+        store.put("k1", "v2", 100);
+
+        advanceSeconds(3);
+        store.cleanUp();
+        Assertions.assertEquals("v2", store.get("k1"));
+    }
+
+    @Test
+    void testRewritesDoNotAccumulateTimers() {
+        LocalCacheStore store = newStore(100);
+        for (int i = 0; i < 100_000; i++) {
+            store.put("k" + (i % 10), "v" + i, 3600);
+        }
+        store.expire("k0", 7200);
+        store.remove("k1");
+
+        // 被覆盖、续期或删除的定时器会被集中清理，不会随写入次数增长
+        Assertions.assertTrue(store.pendingTimerCount() < 5_000, "pending timers: " + store.pendingTimerCount());
+        advanceSeconds(3601);
+        store.cleanUp();
+        Assertions.assertEquals(1, store.size());
+        Assertions.assertEquals("v99990", store.get("k0"));
+    }
+
+    @Test
+    void testBoundedByWeight() {
+        LocalCacheStore store = new LocalCacheStore(10, (key, value) -> ((String) value).length(), clock::get);
+        store.put("a", "12345", -1);
+        store.put("b", "12345", -1);
+        Assertions.assertEquals(10, store.weightedSize());
+
+        store.get("a");
+        store.put("c", "123", -1);
+        Assertions.assertTrue(store.weightedSize() <= 10);
+        Assertions.assertEquals("12345", store.get("a"));
+        Assertions.assertNull(store.get("b"));
+        Assertions.assertEquals(1, store.evictionCount());
+    }
+
+    @Test
+    void testConcurrentWritesStayBounded() throws Exception {
+        LocalCacheStore store = newStore(1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        String key = "k" + thread + ":" + i;
+                        store.put(key, i, i % 2 == 0 ? 60 : -1);
+                        store.get("k" + thread + ":" + (i / 2));
+                        if (i % 7 == 0) {
+                            store.remove(key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertTrue(store.size() <= 1000);
+        Assertions.assertEquals(store.size(), store.weightedSize());
+    }
+}
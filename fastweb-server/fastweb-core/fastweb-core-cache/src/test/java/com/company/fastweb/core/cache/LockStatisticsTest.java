@@ -0,0 +1,103 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.metrics.LockPatternStatistics;
+import com.company.fastweb.core.cache.metrics.LockStatisticsRecorder;
+import com.company.fastweb.core.cache.model.dto.LockContentionDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式锁等待/持有时间统计与竞争分析测试
+ */
+public class LockStatisticsTest {
+
+    @Test
+    void testPatternOfReplacesVariableSegments() {
+        Assertions.assertEquals("order:*:pay", LockStatisticsRecorder.patternOf("order:1024:pay"));
+        Assertions.assertEquals("cache:user:*", LockStatisticsRecorder.patternOf("cache:user:u42"));
+        Assertions.assertEquals("job", LockStatisticsRecorder.patternOf("job"));
+    }
+
+    @Test
+    void testRecordsWaitAndHoldPerPattern() throws InterruptedException {
+        LockStatisticsRecorder recorder = new LockStatisticsRecorder(20, 10, true);
+
+        recorder.recordAcquired("order:1", TimeUnit.MILLISECONDS.toNanos(1));
+        recorder.recordAcquired("order:1", 0);
+        recorder.recordReleased("order:1");
+        Thread.sleep(30);
+        recorder.recordReleased("order:1");
+        recorder.recordAcquired("order:2", TimeUnit.MILLISECONDS.toNanos(2));
+        recorder.recordReleased("order:2");
+
+        LockPatternStatistics order = recorder.getPatterns().iterator().next();
+        Assertions.assertEquals("order:*", order.getPattern());
+        Assertions.assertEquals(3, order.getAcquisitions());
+        Assertions.assertEquals(2, order.holdSnapshot().count(), "可重入加锁只在最外层释放时记录");
+        Assertions.assertEquals(1, order.getSlowHolds());
+        Assertions.assertTrue(order.holdSnapshot().max() >= TimeUnit.MILLISECONDS.toMicros(30));
+    }
+
+    @Test
+    void testStaleHoldReplacedOnNextAcquire() throws InterruptedException {
+        LockStatisticsRecorder recorder = new LockStatisticsRecorder(0, 10, false);
+
+        // 租约到期后未经 DistributedLockClient 释放，同一线程再次加锁时重新开始计算
+        recorder.recordAcquired("job:1", 0, TimeUnit.MILLISECONDS.toNanos(1));
+        Thread.sleep(5);
+        recorder.recordAcquired("job:1", 0, TimeUnit.SECONDS.toNanos(30));
+        recorder.recordReleased("job:1");
+
+        LockPatternStatistics job = recorder.getPatterns().iterator().next();
+        Assertions.assertEquals(1, job.holdSnapshot().count());
+        Assertions.assertEquals(1, recorder.getEvictedHolds());
+        Assertions.assertEquals(0, recorder.getUntrackedHolds());
+    }
+
+    @Test
+    void testUnreleasedSlowHoldWarnedOnce() throws InterruptedException {
+        LockStatisticsRecorder recorder = new LockStatisticsRecorder(20, 10, true);
+
+        recorder.recordAcquired("job:1", 0);
+        recorder.recordAcquired("job:2", 0);
+        Assertions.assertEquals(0, recorder.warnSlowHolds());
+        Thread.sleep(30);
+        Assertions.assertEquals(2, recorder.warnSlowHolds());
+        Assertions.assertEquals(0, recorder.warnSlowHolds(), "每个持有只警告一次");
+        recorder.recordReleased("job:1");
+        recorder.recordReleased("job:2");
+        Assertions.assertEquals(2, recorder.getPatterns().iterator().next().getSlowHolds());
+
+        // 定时检查已警告过的持有不再重复警告
+        try (LockStatisticsRecorder scheduled = new LockStatisticsRecorder(20, 10, false)) {
+            scheduled.start(Duration.ofMillis(5));
+            scheduled.recordAcquired("job:3", 0);
+            Thread.sleep(100);
+            Assertions.assertEquals(0, scheduled.warnSlowHolds());
+            scheduled.recordReleased("job:3");
+        }
+    }
+
+    @Test
+    void testTopContendedLocks() {
+        LockStatisticsRecorder recorder = new LockStatisticsRecorder(0, 10, false);
+        long slow = TimeUnit.MILLISECONDS.toNanos(50);
+
+        recorder.recordAcquired("stock:1", TimeUnit.MILLISECONDS.toNanos(1));
+        recorder.recordAcquired("stock:2", slow);
+        recorder.recordFailed("stock:2", slow);
+        recorder.recordFailed("stock:3", slow);
+
+        List<LockContentionDTO> top = recorder.topContended(10);
+        Assertions.assertEquals(List.of("stock:2", "stock:3"), top.stream().map(LockContentionDTO::getLockName).toList(),
+                "等待未超过阈值的加锁不计为竞争");
+        Assertions.assertEquals(2, top.get(0).getContentions());
+        Assertions.assertEquals(1, top.get(0).getFailures());
+        Assertions.assertEquals(50, top.get(0).getMaxWaitMillis());
+        Assertions.assertEquals(1, recorder.topContended(1).size());
+    }
+}
@@ -0,0 +1,129 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.backend.OffHeapSlabStore;
+import com.company.fastweb.core.cache.invalidation.LocalCacheInvalidationBus;
+import com.company.fastweb.core.cache.serializer.CacheSerializers;
+import com.company.fastweb.core.cache.serializer.CompressionAlgorithm;
+import com.company.fastweb.core.cache.serializer.SerializationFormat;
+import com.company.fastweb.core.cache.support.OffHeapCacheTier;
+import com.company.fastweb.core.cache.support.TwoLevelCache;
+import com.company.fastweb.core.cache.support.TwoLevelCacheManager;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 堆外 slab 存储及两级缓存堆外层测试
+ */
+public class OffHeapCacheTest {
+
+    @Test
+    void testSlabStoreRoundTripAndExpiry() {
+        AtomicLong now = new AtomicLong(1000);
+        OffHeapSlabStore store = new OffHeapSlabStore(4096, 1024, now::get);
+
+        byte[] value = "x".repeat(300).getBytes();
+        Assertions.assertTrue(store.put("k1", value, 100));
+        Assertions.assertArrayEquals(value, store.get("k1"));
+        Assertions.assertEquals(300, store.usedBytes());
+
+        Assertions.assertTrue(store.put("k1", new byte[]{1, 2, 3}, 100));
+        Assertions.assertArrayEquals(new byte[]{1, 2, 3}, store.get("k1"));
+        Assertions.assertEquals(3, store.usedBytes(), "覆盖时释放原有的块");
+
+        Assertions.assertFalse(store.put("big", new byte[2048], 0), "超过 slabSize 的值不保存");
+        Assertions.assertNull(store.get("big"));
+
+        now.addAndGet(100);
+        Assertions.assertNull(store.get("k1"));
+        Assertions.assertEquals(0, store.size());
+    }
+
+    @Test
+    void testSlabStoreEvictsLeastRecentlyUsedOfSameSizeClass() {
+        // 两个 slab：一个给 440 字节的规格（每个 slab 2 块），一个给小值
+        OffHeapSlabStore store = new OffHeapSlabStore(2048, 1024);
+        byte[] large = new byte[400];
+        Assertions.assertTrue(store.put("a", large, 0));
+        Assertions.assertTrue(store.put("b", large, 0));
+        Assertions.assertTrue(store.put("small", new byte[10], 0));
+        Assertions.assertEquals(2048, store.allocatedBytes());
+
+        store.get("a");
+        Assertions.assertTrue(store.put("c", large, 0));
+        Assertions.assertNull(store.get("b"), "同规格最久未访问的条目被淘汰");
+        Assertions.assertNotNull(store.get("a"));
+        Assertions.assertNotNull(store.get("small"), "其它规格不受影响");
+        Assertions.assertEquals(1, store.evictions());
+
+        Assertions.assertFalse(store.put("medium", new byte[100], 0), "没有 slab 可分配且该规格为空");
+
+        store.clear();
+        Assertions.assertEquals(0, store.size());
+        Assertions.assertEquals(0, store.usedBytes());
+        Assertions.assertTrue(store.put("d", large, 0), "清空后复用已申请的块");
+    }
+
+    @Test
+    void testTwoLevelCacheKeepsLargeValuesOffHeap() {
+        CacheManager remote = new ConcurrentMapCacheManager();
+        LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+        TwoLevelCache node1 = node(remote, bus);
+        TwoLevelCache node2 = node(remote, bus);
+
+        String large = "r".repeat(2000);
+        node1.put("big", large);
+        node1.put("small", "s");
+        Assertions.assertNull(node1.getLocal().get("big"), "大值不留在 Caffeine");
+        Assertions.assertEquals(large, node1.getOffHeap().get("big"));
+        Assertions.assertEquals("s", node1.getLocal().get("small").get());
+        Assertions.assertNull(node1.getOffHeap().get("small"));
+
+        Assertions.assertEquals(large, node2.get("big").get());
+        Assertions.assertEquals(1, node2.getOffHeap().getStore().size(), "从远程读取后放入堆外");
+
+        node1.put("big", "changed");
+        Assertions.assertNull(node2.getOffHeap().get("big"), "失效消息同时清除堆外副本");
+        Assertions.assertEquals("changed", node2.get("big").get());
+        Assertions.assertEquals("changed", node2.getLocal().get("big").get(), "变小后转入 Caffeine");
+
+        node1.evict("small");
+        Assertions.assertNull(node2.get("small"));
+    }
+
+    @Test
+    void testTwoLevelCacheLoadsLargeValueOnce() {
+        TwoLevelCache cache = node(new ConcurrentMapCacheManager(), new LocalCacheInvalidationBus());
+        AtomicInteger loads = new AtomicInteger();
+        Map<String, Object> value = Map.of("body", "b".repeat(2000));
+
+        Assertions.assertEquals(value, cache.get("k", () -> {
+            loads.incrementAndGet();
+            return value;
+        }));
+        Assertions.assertEquals(value, cache.get("k", () -> {
+            loads.incrementAndGet();
+            return value;
+        }));
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertNull(cache.getLocal().get("k"));
+    }
+
+    private static TwoLevelCache node(CacheManager remoteManager, LocalCacheInvalidationBus bus) {
+        CaffeineCache local = new CaffeineCache("report", Caffeine.newBuilder().maximumSize(100).build());
+        OffHeapCacheTier offHeap = new OffHeapCacheTier(new OffHeapSlabStore(1024 * 1024, 64 * 1024),
+                CacheSerializers.create(SerializationFormat.JSON, CompressionAlgorithm.NONE, 1024, Map.of()),
+                1024, 60_000);
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(List.of(local), remoteManager, List.of(), bus);
+        manager.setOffHeapTiers(Map.of("report", offHeap));
+        return (TwoLevelCache) manager.getCache("report");
+    }
+}
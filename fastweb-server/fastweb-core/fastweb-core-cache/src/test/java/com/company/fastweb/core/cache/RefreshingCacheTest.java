@@ -0,0 +1,149 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.invalidation.LocalCacheInvalidationBus;
+import com.company.fastweb.core.cache.support.CacheRefreshExecutor;
+import com.company.fastweb.core.cache.support.RefreshingCache;
+import com.company.fastweb.core.cache.support.RemoteCacheLoader;
+import com.company.fastweb.core.cache.support.TwoLevelCacheManager;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 软过期刷新测试：stale-while-revalidate 与近端副本异步刷新
+ */
+public class RefreshingCacheTest {
+
+    private final CacheRefreshExecutor executor = new CacheRefreshExecutor(2, 16);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void testStaleValueServedWhileRefreshing() throws Exception {
+        RefreshingCache cache = new RefreshingCache(new ConcurrentMapCache("user"), 50, executor);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Assertions.assertEquals("v1", cache.get("k1", () -> "v" + loads.incrementAndGet()));
+        Thread.sleep(80);
+
+        // 软过期后立即返回旧值，重复读取只触发一次后台刷新
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals("v1", cache.get("k1", () -> {
+                release.await();
+                return "v" + loads.incrementAndGet();
+            }));
+        }
+        release.countDown();
+        waitUntil(() -> "v2".equals(cache.get("k1", String.class)));
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testStaleValueIsMissWithoutLoader() throws Exception {
+        RefreshingCache cache = new RefreshingCache(new ConcurrentMapCache("user"), 50, executor);
+        cache.put("k1", "v1");
+        Assertions.assertEquals("v1", cache.get("k1", String.class));
+
+        Thread.sleep(80);
+        Assertions.assertNull(cache.get("k1"));
+        Assertions.assertNotNull(cache.getDelegate().get("k1"), "硬过期前底层数据仍保留");
+    }
+
+    @Test
+    void testFailedRefreshKeepsStaleValue() throws Exception {
+        RefreshingCache cache = new RefreshingCache(new ConcurrentMapCache("user"), 50, executor);
+        cache.put("k1", "v1");
+        Thread.sleep(80);
+
+        Assertions.assertEquals("v1", cache.get("k1", () -> {
+            throw new IllegalStateException("db down");
+        }));
+        Thread.sleep(50);
+        Assertions.assertEquals("v1", cache.get("k1", () -> "v2"));
+        waitUntil(() -> "v2".equals(cache.get("k1", String.class)));
+    }
+
+    @Test
+    void testCacheManagerWrapsTwoLevelCacheAndKeepsInvalidation() {
+        ConcurrentMapCacheManager remote = new ConcurrentMapCacheManager();
+        LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+        TwoLevelCacheManager node1 = new TwoLevelCacheManager(List.of(caffeineCache("user")), remote, List.of(), bus,
+                Map.of("user", 60_000L), executor);
+        TwoLevelCacheManager node2 = new TwoLevelCacheManager(List.of(caffeineCache("user")), remote, List.of(), bus,
+                Map.of("user", 60_000L), executor);
+
+        Cache cache1 = node1.getCache("user");
+        Cache cache2 = node2.getCache("user");
+        Assertions.assertInstanceOf(RefreshingCache.class, cache1);
+        cache1.put(1L, "v1");
+        Assertions.assertEquals("v1", cache2.get(1L, String.class));
+
+        cache1.put(1L, "v2");
+        Assertions.assertEquals("v2", cache2.get(1L, String.class));
+    }
+
+    @Test
+    void testNearCopyReloadedFromRemote() throws Exception {
+        ConcurrentMapCache remote = new ConcurrentMapCache("user");
+        AtomicLong ticker = new AtomicLong();
+        // 刷新任务在放行前阻塞，保证断言旧副本时刷新尚未完成
+        CountDownLatch gate = new CountDownLatch(1);
+        CaffeineCache local = new CaffeineCache("user", Caffeine.newBuilder()
+                .ticker(ticker::get)
+                .refreshAfterWrite(Duration.ofSeconds(10))
+                .expireAfterWrite(Duration.ofSeconds(60))
+                .build(new RemoteCacheLoader(() -> {
+                    try {
+                        gate.await(2, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return remote;
+                }, executor)));
+
+        Assertions.assertNull(local.get("k1"), "未命中不由一级缓存回源");
+        remote.put("k1", "v1");
+        local.put("k1", "v1");
+        remote.put("k1", "v2");
+
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        Assertions.assertEquals("v1", local.get("k1", String.class));
+        gate.countDown();
+        waitUntil(() -> "v2".equals(local.get("k1", String.class)));
+
+        remote.evict("k1");
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        local.get("k1");
+        waitUntil(() -> local.get("k1") == null);
+    }
+
+    private static CaffeineCache caffeineCache(String name) {
+        return new CaffeineCache(name, Caffeine.newBuilder().maximumSize(100).build());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "等待超时");
+            Thread.sleep(10);
+        }
+    }
+}
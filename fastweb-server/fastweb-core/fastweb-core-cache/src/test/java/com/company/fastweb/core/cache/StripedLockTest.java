@@ -0,0 +1,126 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.config.FastWebCacheProperties;
+import com.company.fastweb.core.cache.lock.DistributedLockClient;
+import com.company.fastweb.core.cache.lock.MultiLockLease;
+import com.company.fastweb.core.cache.lock.StripedLocks;
+import com.company.fastweb.core.cache.metrics.LockPatternStatistics;
+import com.company.fastweb.core.cache.metrics.LockStatisticsRecorder;
+import com.company.fastweb.core.cache.model.dto.LockContentionDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地分段锁及仅本地竞争的批量加锁测试
+ */
+public class StripedLockTest {
+
+    @Test
+    void testStripeIndexesAreSortedAndDistinct() {
+        StripedLocks locks = new StripedLocks(10);
+        Assertions.assertEquals(16, locks.size());
+
+        int[] indexes = locks.indexesOf(List.of("order:3", "order:1", "order:2", "order:1"));
+        for (int i = 1; i < indexes.length; i++) {
+            Assertions.assertTrue(indexes[i - 1] < indexes[i]);
+        }
+        Assertions.assertEquals(locks.indexOf("order:1"), locks.indexOf("order:1"));
+    }
+
+    @Test
+    void testLocalOnlyLocksSkipRedis() throws Exception {
+        // 锁名都在本地前缀下，不会访问 RedissonClient
+        DistributedLockClient client = new DistributedLockClient(null, lockConfig(16), null);
+        List<String> batchA = List.of("local:order:1", "local:order:2", "local:order:3");
+        List<String> batchB = List.of("local:order:3", "local:order:4", "local:order:1");
+
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            try (MultiLockLease lease = client.tryLockAll(batchA, 0, 10, TimeUnit.SECONDS)) {
+                Assertions.assertNotNull(lease);
+                Assertions.assertTrue(lease.getRedisLockNames().isEmpty());
+                held.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assertions.assertTrue(held.await(1, TimeUnit.SECONDS));
+        Assertions.assertNull(client.tryLockAll(batchB, 50, 10_000, TimeUnit.MILLISECONDS), "有重叠的批次在等待时间内获取失败");
+
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+        try (MultiLockLease lease = client.tryLockAll(batchB, 1, 10, TimeUnit.SECONDS)) {
+            Assertions.assertNotNull(lease);
+            Assertions.assertEquals(List.of("local:order:1", "local:order:3", "local:order:4"), lease.getLockNames());
+        }
+
+        // 单个加锁不走本地分段锁，拒绝仅本地竞争的锁名
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> client.tryLock("local:order:1", 0, 10, TimeUnit.SECONDS));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> client.lock("local:order:1"));
+    }
+
+    @Test
+    void testBatchLocksRecordedInStatistics() throws Exception {
+        LockStatisticsRecorder recorder = new LockStatisticsRecorder(0, 10, false);
+        DistributedLockClient client = new DistributedLockClient(null, lockConfig(16), recorder);
+        try (MultiLockLease lease = client.tryLockAll(List.of("local:order:1", "local:order:2"), 0, 10, TimeUnit.SECONDS)) {
+            Assertions.assertNotNull(lease);
+            CompletableFuture.runAsync(() -> {
+                try {
+                    Assertions.assertNull(client.tryLockAll(List.of("local:order:2"), 0, 10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }).get(1, TimeUnit.SECONDS);
+        }
+
+        LockPatternStatistics order = recorder.getPatterns().iterator().next();
+        Assertions.assertEquals("local:order:*", order.getPattern());
+        Assertions.assertEquals(2, order.getAcquisitions());
+        Assertions.assertEquals(2, order.holdSnapshot().count(), "关闭批量锁时逐个记录持有时间");
+        Assertions.assertEquals(List.of("local:order:2"),
+                recorder.topContended(10).stream().map(LockContentionDTO::getLockName).toList());
+    }
+
+    @Test
+    void testConcurrentBatchesInOppositeOrderDoNotDeadlock() throws Exception {
+        DistributedLockClient client = new DistributedLockClient(null, lockConfig(4), null);
+        List<String> forward = List.of("local:a", "local:b", "local:c", "local:d", "local:e");
+        List<String> backward = List.of("local:e", "local:d", "local:c", "local:b", "local:a");
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+
+        Runnable worker = () -> {
+            for (int i = 0; i < 200; i++) {
+                try (MultiLockLease lease = client.tryLockAll(i % 2 == 0 ? forward : backward, 5, 10, TimeUnit.SECONDS)) {
+                    Assertions.assertNotNull(lease);
+                    Assertions.assertEquals(1, inside.incrementAndGet());
+                    inside.decrementAndGet();
+                    completed.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        };
+        CompletableFuture.allOf(CompletableFuture.runAsync(worker), CompletableFuture.runAsync(worker))
+                .get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(400, completed.get());
+    }
+
+    private static FastWebCacheProperties.LockConfig lockConfig(int stripes) {
+        FastWebCacheProperties.LockConfig lock = new FastWebCacheProperties.LockConfig();
+        lock.setStripes(stripes);
+        lock.setLocalPrefixes(List.of("local:"));
+        return lock;
+    }
+}
@@ -0,0 +1,138 @@
+package com.company.fastweb.core.cache;
+
+import com.company.fastweb.core.cache.backend.CaffeineCacheBackend;
+import com.company.fastweb.core.cache.backend.InMemoryCacheBackend;
+import com.company.fastweb.core.cache.backend.TwoLevelCacheBackend;
+import com.company.fastweb.core.cache.invalidation.LocalCacheInvalidationBus;
+import com.company.fastweb.core.cache.support.CachedValue;
+import com.company.fastweb.core.cache.support.TwoLevelCacheManager;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 两级缓存测试：两个“节点”共享同一个二级存储与进程内失效总线
+ */
+public class TwoLevelCacheTest {
+
+    @Test
+    void testBackendInvalidatesOtherNode() {
+        InMemoryCacheBackend remote = new InMemoryCacheBackend();
+        LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+        TwoLevelCacheBackend node1 = new TwoLevelCacheBackend(new CaffeineCacheBackend(100, 60), remote, bus, 60);
+        TwoLevelCacheBackend node2 = new TwoLevelCacheBackend(new CaffeineCacheBackend(100, 60), remote, bus, 60);
+
+        node1.set("k1", "v1");
+        Assertions.assertEquals("v1", node2.get("k1"));
+        Assertions.assertEquals("v1", node2.getLocal().get("k1"));
+
+        node1.set("k1", "v2");
+        Assertions.assertNull(node2.getLocal().get("k1"));
+        Assertions.assertEquals("v2", node2.get("k1"));
+
+        node2.delete("k1");
+        Assertions.assertNull(node1.getLocal().get("k1"));
+        Assertions.assertNull(node1.get("k1"));
+    }
+
+    @Test
+    void testBackendBatchOperations() {
+        InMemoryCacheBackend remote = new InMemoryCacheBackend();
+        LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+        TwoLevelCacheBackend node1 = new TwoLevelCacheBackend(new CaffeineCacheBackend(100, 60), remote, bus, 60);
+        TwoLevelCacheBackend node2 = new TwoLevelCacheBackend(new CaffeineCacheBackend(100, 60), remote, bus, 60);
+
+        node1.multiSet(Map.of("k1", "v1", "k2", "v2"), 600);
+        Assertions.assertEquals(Map.of("k1", "v1", "k2", "v2"), node2.multiGet(List.of("k1", "k2", "k3")));
+        Assertions.assertEquals("v1", node2.getLocal().get("k1"));
+
+        List<Object> results = node1.pipeline(batch -> batch.set("k1", "v1b").delete("k2").get("k1"));
+        Assertions.assertEquals(List.of(true, true, "v1b"), results);
+        Assertions.assertNull(node2.getLocal().get("k1"));
+        Assertions.assertNull(node2.getLocal().get("k2"));
+        Assertions.assertEquals("v1b", node2.get("k1"));
+    }
+
+    @Test
+    void testBackendLocalTtlCappedByLocalExpire() {
+        TwoLevelCacheBackend backend = new TwoLevelCacheBackend(new CaffeineCacheBackend(100, 10),
+                new InMemoryCacheBackend(), new LocalCacheInvalidationBus(), 10);
+
+        backend.set("k1", "v1", 3600);
+        long localTtl = backend.getLocal().getExpire("k1");
+        Assertions.assertTrue(localTtl > 0 && localTtl <= 10);
+    }
+
+    @Test
+    void testFailedRemoteWriteDropsLocalCopy() {
+        InMemoryCacheBackend remote = new InMemoryCacheBackend() {
+            @Override
+            public void set(String key, Object value, long timeout) {
+                throw new IllegalStateException("remote down");
+            }
+        };
+        TwoLevelCacheBackend backend = new TwoLevelCacheBackend(new CaffeineCacheBackend(100, 60),
+                remote, new LocalCacheInvalidationBus(), 60);
+        backend.set("k1", "v1");
+        Assertions.assertEquals("v1", backend.getLocal().get("k1"));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> backend.set("k1", "v2", 60));
+        Assertions.assertNull(backend.getLocal().get("k1"), "远程写入失败后不应保留旧的本地副本");
+    }
+
+    @Test
+    void testPromotedLocalTtlCappedByValueExpiry() {
+        InMemoryCacheBackend remote = new InMemoryCacheBackend();
+        LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+        TwoLevelCacheBackend node1 = new TwoLevelCacheBackend(new CaffeineCacheBackend(100, 60), remote, bus, 60);
+        TwoLevelCacheBackend node2 = new TwoLevelCacheBackend(new CaffeineCacheBackend(100, 60), remote, bus, 60);
+
+        node1.set("k1", new CachedValue("v1", 1, System.currentTimeMillis() + 5000), 5);
+        Assertions.assertNotNull(node2.get("k1"));
+        long localTtl = node2.getLocal().getExpire("k1");
+        Assertions.assertTrue(localTtl > 0 && localTtl <= 5);
+
+        remote.set("k2", new CachedValue("v2", 1, System.currentTimeMillis() - 1000));
+        Assertions.assertNotNull(node2.get("k2"));
+        Assertions.assertNull(node2.getLocal().get("k2"), "已过期的值不回填本地");
+    }
+
+    @Test
+    void testCacheManagerInvalidatesOtherNode() {
+        ConcurrentMapCacheManager remote = new ConcurrentMapCacheManager();
+        LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+        TwoLevelCacheManager node1 = new TwoLevelCacheManager(List.of(caffeineCache("user")), remote, List.of(), bus);
+        TwoLevelCacheManager node2 = new TwoLevelCacheManager(List.of(caffeineCache("user")), remote, List.of(), bus);
+
+        Cache cache1 = node1.getCache("user");
+        Cache cache2 = node2.getCache("user");
+        cache1.put(1L, "v1");
+        Assertions.assertEquals("v1", cache2.get(1L, String.class));
+
+        cache1.put(1L, "v2");
+        Assertions.assertEquals("v2", cache2.get(1L, String.class));
+
+        cache2.clear();
+        Assertions.assertNull(cache1.get(1L));
+    }
+
+    @Test
+    void testCacheManagerWithoutBusUsesRemoteOnly() {
+        ConcurrentMapCacheManager remote = new ConcurrentMapCacheManager();
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(
+                List.of(caffeineCache("user"), caffeineCache("local")), remote, List.of("local"), null);
+
+        Assertions.assertSame(remote.getCache("user"), manager.getCache("user"));
+        Assertions.assertInstanceOf(CaffeineCache.class, manager.getCache("local"));
+    }
+
+    private static CaffeineCache caffeineCache(String name) {
+        return new CaffeineCache(name, Caffeine.newBuilder().maximumSize(100).build());
+    }
+}
@@ -0,0 +1,99 @@
+package com.company.fastweb.core.cache.benchmark;
+
+import com.company.fastweb.core.cache.backend.CacheBackend;
+import com.company.fastweb.core.cache.backend.InMemoryCacheBackend;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存分派方式基准：旧版 CacheServiceImpl 的反射调用 vs CacheBackend 直接调用
+ * <p>
+ * 两条路径落到同一种 ConcurrentHashMap 存储，差异只来自分派本身。
+ * 运行方式：在 IDE 中执行 main 方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBackendDispatchBenchmark {
+
+    private static final String KEY = "user:1";
+
+    private Object legacyTemplate;
+    private CacheBackend backend;
+
+    @Setup
+    public void setup() {
+        legacyTemplate = new LegacyTemplate();
+        backend = new InMemoryCacheBackend();
+        backend.set(KEY, "value");
+        new LegacyTemplate.ValueOps(((LegacyTemplate) legacyTemplate).store).set(KEY, "value");
+    }
+
+    @Benchmark
+    public Object reflectiveGet() throws Exception {
+        Object ops = legacyTemplate.getClass().getMethod("opsForValue").invoke(legacyTemplate);
+        return ops.getClass().getMethod("get", Object.class).invoke(ops, KEY);
+    }
+
+    @Benchmark
+    public void reflectiveSet() throws Exception {
+        Object ops = legacyTemplate.getClass().getMethod("opsForValue").invoke(legacyTemplate);
+        ops.getClass().getMethod("set", Object.class, Object.class).invoke(ops, KEY, "value");
+    }
+
+    @Benchmark
+    public Object typedGet() {
+        return backend.get(KEY);
+    }
+
+    @Benchmark
+    public void typedSet() {
+        backend.set(KEY, "value");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CacheBackendDispatchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * 模拟 RedisTemplate 的 opsForValue() 调用形态
+     */
+    public static class LegacyTemplate {
+
+        private final Map<Object, Object> store = new ConcurrentHashMap<>();
+
+        public ValueOps opsForValue() {
+            return new ValueOps(store);
+        }
+
+        public static class ValueOps {
+
+            private final Map<Object, Object> store;
+
+            ValueOps(Map<Object, Object> store) {
+                this.store = store;
+            }
+
+            public Object get(Object key) {
+                return store.get(key);
+            }
+
+            public void set(Object key, Object value) {
+                store.put(key, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.company.fastweb.core.cache.benchmark;
+
+import com.company.fastweb.core.cache.RedisTemplateSerializationTest.User;
+import com.company.fastweb.core.cache.serializer.CacheSerializers;
+import com.company.fastweb.core.cache.serializer.CompressionAlgorithm;
+import com.company.fastweb.core.cache.serializer.SerializationFormat;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 值序列化基准：原有带类名 JSON vs Smile（注册类型 ID）vs Smile + LZ4
+ * <p>
+ * 数据取自 RedisTemplateSerializationTest 的 User，分别测单个对象和 100 个对象的列表；
+ * 每种编码的序列化字节数在 Setup 阶段打印。
+ * 运行方式：在 IDE 中执行 main 方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"json", "smile", "smile-lz4"})
+    public String codec;
+
+    @Param({"1", "100"})
+    public int size;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        serializer = switch (codec) {
+            case "json" -> CacheSerializers.json();
+            case "smile" -> CacheSerializers.create(SerializationFormat.SMILE, CompressionAlgorithm.NONE, 0,
+                    Map.of("u", User.class.getName()));
+            default -> CacheSerializers.create(SerializationFormat.SMILE, CompressionAlgorithm.LZ4, 1024,
+                    Map.of("u", User.class.getName()));
+        };
+        List<User> users = new ArrayList<>();
+        for (long i = 0; i < size; i++) {
+            users.add(new User(i, "user-" + i, LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i)));
+        }
+        value = size == 1 ? users.get(0) : users;
+        bytes = serializer.serialize(value);
+        System.out.printf("%n%s size=%d bytes=%d%n", codec, size, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CacheSerializerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -1,6 +1,10 @@
 package com.company.fastweb.core.storage.config;
 
+import com.company.fastweb.core.storage.service.BatchFileUploader;
+import com.company.fastweb.core.storage.service.ChunkedUploader;
+import com.company.fastweb.core.storage.service.FileDownloader;
 import com.company.fastweb.core.storage.service.StorageService;
+import com.company.fastweb.core.storage.service.impl.ContentAddressedStorageServiceImpl;
 import com.company.fastweb.core.storage.service.impl.LocalStorageServiceImpl;
 import com.company.fastweb.core.storage.service.impl.MinioStorageServiceImpl;
 import io.minio.MinioClient;
@@ -9,6 +13,7 @@ import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -56,9 +61,29 @@ public class StorageAutoConfiguration {
          */
         @Bean
         @ConditionalOnMissingBean
-        public StorageService minioStorageService(MinioClient minioClient) {
+        public StorageService minioStorageService(MinioClient minioClient, StorageProperties properties) {
             log.info("FastWeb Storage Service (MinIO) initialized");
-            return new MinioStorageServiceImpl(minioClient);
+            return new MinioStorageServiceImpl(minioClient, properties.getUpload());
+        }
+    }
+
+    /**
+     * 内容寻址去重存储配置类
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "fastweb.storage.local", name = "deduplicate", havingValue = "true")
+    @ConditionalOnMissingBean(StorageService.class)
+    public static class ContentAddressedStorageConfiguration {
+
+        /**
+         * 内容寻址去重存储服务
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public StorageService contentAddressedStorageService(StorageProperties properties) {
+            log.info("FastWeb Storage Service (Content-Addressed) initialized: path={}",
+                    properties.getLocal().getPath());
+            return new ContentAddressedStorageServiceImpl(properties);
         }
     }
 
@@ -99,4 +124,39 @@ public class StorageAutoConfiguration {
             return new LocalStorageServiceImpl(properties);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 本地文件分片并行上传
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ChunkedUploader chunkedUploader(StorageService storageService, StorageProperties properties) {
+        return new ChunkedUploader(storageService, properties.getUpload());
+    }
+
+    /**
+     * 多文件并行上传
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public BatchFileUploader batchFileUploader(StorageService storageService, StorageProperties properties) {
+        return new BatchFileUploader(storageService, properties.getBatch());
+    }
+
+    /**
+     * 文件下载配置类（Servlet Web 环境）
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public static class FileDownloaderConfiguration {
+
+        /**
+         * 支持 Range 与条件请求的文件下载
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public FileDownloader fileDownloader(StorageService storageService) {
+            return new FileDownloader(storageService);
+        }
+    }
+}
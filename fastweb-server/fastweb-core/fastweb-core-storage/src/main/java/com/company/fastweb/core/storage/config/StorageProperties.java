@@ -3,6 +3,8 @@ package com.company.fastweb.core.storage.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * 存储配置属性
  *
@@ -27,6 +29,16 @@ public class StorageProperties {
      */
     private String defaultBucket = "fastweb";
 
+    /**
+     * 分片上传配置
+     */
+    private UploadProperties upload = new UploadProperties();
+
+    /**
+     * 批量操作配置
+     */
+    private BatchProperties batch = new BatchProperties();
+
     @Data
     public static class MinioProperties {
         /**
@@ -86,5 +98,46 @@ public class StorageProperties {
          * URL前缀
          */
         private String urlPrefix = "/api/storage";
+
+        /**
+         * 是否启用内容寻址去重存储（相同内容只保存一份，ETag 为 SHA-256 摘要）
+         */
+        private boolean deduplicate = false;
+
+        /**
+         * 文件元数据索引的后台扫描间隔，用于校正绕过存储服务的文件修改；不大于 0 时只在启动时扫描
+         */
+        private Duration indexScanInterval = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class UploadProperties {
+        /**
+         * 默认分片大小（字节），MinIO 要求除最后一片外不小于 5MB
+         */
+        private long partSize = 8 * 1024 * 1024;
+
+        /**
+         * 服务端分片上传文件时的并行度
+         */
+        private int parallelism = 4;
+
+        /**
+         * 单个分片的最大重试次数
+         */
+        private int partRetries = 3;
+
+        /**
+         * 上传会话暂存目录（本地存储为根路径下的目录，MinIO 为存储桶内的对象前缀）
+         */
+        private String stagingPrefix = ".uploads";
+    }
+
+    @Data
+    public static class BatchProperties {
+        /**
+         * 批量上传与本地批量删除的并行度
+         */
+        private int parallelism = 8;
     }
-}
\ No newline at end of file
+}
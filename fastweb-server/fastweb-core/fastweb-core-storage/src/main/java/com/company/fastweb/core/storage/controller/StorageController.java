@@ -1,18 +1,36 @@
 package com.company.fastweb.core.storage.controller;
 
 import com.company.fastweb.core.storage.converter.StorageConverter;
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.BatchResultDTO;
 import com.company.fastweb.core.storage.model.dto.FileInfoDTO;
+import com.company.fastweb.core.storage.model.dto.FileListDTO;
 import com.company.fastweb.core.storage.model.dto.StorageObjectDTO;
+import com.company.fastweb.core.storage.model.dto.UploadPartDTO;
+import com.company.fastweb.core.storage.model.dto.UploadSessionDTO;
 import com.company.fastweb.core.storage.model.form.BucketCreateForm;
 import com.company.fastweb.core.storage.model.form.FileUploadForm;
+import com.company.fastweb.core.storage.model.vo.BatchResultVO;
 import com.company.fastweb.core.storage.model.vo.FileInfoVO;
+import com.company.fastweb.core.storage.model.vo.FileListVO;
 import com.company.fastweb.core.storage.model.vo.FileUploadVO;
+import com.company.fastweb.core.storage.model.vo.UploadPartVO;
+import com.company.fastweb.core.storage.model.vo.UploadSessionVO;
+import com.company.fastweb.core.storage.service.BatchFileUploader;
+import com.company.fastweb.core.storage.service.FileDownloader;
 import com.company.fastweb.core.storage.service.StorageService;
+import com.company.fastweb.core.storage.util.ContinuationTokenUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
@@ -26,10 +44,13 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/admin/storage")
 @RequiredArgsConstructor
+@Validated
 public class StorageController {
 
     private final StorageService storageService;
     private final StorageConverter storageConverter;
+    private final FileDownloader fileDownloader;
+    private final BatchFileUploader batchFileUploader;
 
     /**
      * 上传文件
@@ -54,6 +75,102 @@ public class StorageController {
         }
     }
 
+    /**
+     * 并行上传多个文件，对象名称为前缀加原始文件名
+     */
+    @PostMapping("/upload/batch")
+    public ResponseEntity<BatchResultVO> uploadFiles(
+            @RequestParam String bucketName,
+            @RequestParam(required = false) String prefix,
+            @RequestParam("files") List<MultipartFile> files) {
+        List<BatchFileUploader.UploadItem> items = files.stream()
+                .map(file -> new BatchFileUploader.UploadItem(
+                        (prefix != null ? prefix : "") + file.getOriginalFilename(), file, file.getContentType()))
+                .toList();
+        BatchResultDTO dto = batchFileUploader.uploadFiles(bucketName, items);
+        return ResponseEntity.ok(storageConverter.toVO(dto));
+    }
+
+    /**
+     * 初始化分片上传
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<UploadSessionVO> initiateUpload(
+            @RequestParam String bucketName,
+            @RequestParam String objectName,
+            @RequestParam(required = false) String contentType,
+            @RequestParam(required = false) Long totalSize,
+            @RequestParam(required = false) Long partSize) {
+        UploadSessionDTO dto = storageService.initiateUpload(bucketName, objectName, contentType, totalSize, partSize);
+        return ResponseEntity.ok(storageConverter.toVO(dto));
+    }
+
+    /**
+     * 上传分片，请求体为分片原始内容，不同分片可并行上传
+     */
+    @PutMapping("/uploads/{uploadId}/parts/{partNumber}")
+    public ResponseEntity<UploadPartVO> uploadPart(
+            @PathVariable String uploadId,
+            @PathVariable int partNumber,
+            HttpServletRequest request) {
+        try {
+            UploadPartDTO dto = storageService.uploadPart(uploadId, partNumber, request.getInputStream(),
+                    request.getContentLengthLong());
+            return ResponseEntity.ok(storageConverter.toVO(dto));
+        } catch (IOException e) {
+            log.error("分片上传失败: uploadId={}, part={}", uploadId, partNumber, e);
+            throw StorageException.uploadPartError(uploadId, partNumber, e);
+        }
+    }
+
+    /**
+     * 查询上传会话及已上传的分片，用于断点续传
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadSessionVO> getUploadSession(@PathVariable String uploadId) {
+        UploadSessionDTO dto = storageService.getUploadSession(uploadId);
+        return ResponseEntity.ok(storageConverter.toVO(dto));
+    }
+
+    /**
+     * 完成分片上传
+     */
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<FileUploadVO> completeUpload(@PathVariable String uploadId) {
+        UploadSessionDTO session = storageService.getUploadSession(uploadId);
+        String url = storageService.completeUpload(uploadId);
+        StorageObjectDTO dto = StorageObjectDTO.builder()
+                .bucketName(session.getBucketName())
+                .objectName(session.getObjectName())
+                .size(session.getUploadedSize())
+                .contentType(session.getContentType())
+                .url(url)
+                .isDirectory(false)
+                .build();
+        return ResponseEntity.ok(storageConverter.toUploadVO(dto));
+    }
+
+    /**
+     * 取消分片上传
+     */
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Boolean> abortUpload(@PathVariable String uploadId) {
+        boolean result = storageService.abortUpload(uploadId);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 下载文件，支持 Range 分段下载与 ETag/Last-Modified 条件请求
+     */
+    @GetMapping("/files/download")
+    public void downloadFile(
+            @RequestParam String bucketName,
+            @RequestParam String objectName,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        fileDownloader.download(bucketName, objectName, request, response);
+    }
+
     /**
      * 删除文件
      */
@@ -76,6 +193,17 @@ public class StorageController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 批量删除文件，返回每个对象的结果
+     */
+    @PostMapping("/files/batch-delete")
+    public ResponseEntity<BatchResultVO> batchDeleteFiles(
+            @RequestParam String bucketName,
+            @RequestBody List<String> objectNames) {
+        BatchResultDTO dto = storageService.batchDeleteFiles(bucketName, objectNames);
+        return ResponseEntity.ok(storageConverter.toVO(dto));
+    }
+
     /**
      * 检查文件是否存在
      */
@@ -107,7 +235,7 @@ public class StorageController {
     public ResponseEntity<List<FileInfoVO>> listFiles(
             @RequestParam String bucketName,
             @RequestParam(required = false) String prefix,
-            @RequestParam(defaultValue = "100") int maxKeys) {
+            @RequestParam(defaultValue = "100") @Min(1) @Max(ContinuationTokenUtil.MAX_KEYS) int maxKeys) {
         List<FileInfoDTO> dtoList = storageService.listFiles(bucketName, prefix, maxKeys);
         List<FileInfoVO> voList = storageConverter.toVOList(dtoList);
         // 设置bucketName
@@ -115,6 +243,21 @@ public class StorageController {
         return ResponseEntity.ok(voList);
     }
 
+    /**
+     * 分页列出文件，按对象名称排序，通过续传令牌获取下一页
+     */
+    @GetMapping("/files/list")
+    public ResponseEntity<FileListVO> listFilesPage(
+            @RequestParam String bucketName,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String continuationToken,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(ContinuationTokenUtil.MAX_KEYS) int maxKeys) {
+        FileListDTO dto = storageService.listFiles(bucketName, prefix, continuationToken, maxKeys);
+        FileListVO vo = storageConverter.toVO(dto);
+        vo.getFiles().forEach(file -> file.setBucketName(bucketName));
+        return ResponseEntity.ok(vo);
+    }
+
     /**
      * 获取预签名上传URL
      */
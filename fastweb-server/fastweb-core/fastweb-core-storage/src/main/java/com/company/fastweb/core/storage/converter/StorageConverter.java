@@ -1,10 +1,20 @@
 package com.company.fastweb.core.storage.converter;
 
+import com.company.fastweb.core.storage.model.dto.BatchItemResultDTO;
+import com.company.fastweb.core.storage.model.dto.BatchResultDTO;
 import com.company.fastweb.core.storage.model.dto.FileInfoDTO;
+import com.company.fastweb.core.storage.model.dto.FileListDTO;
 import com.company.fastweb.core.storage.model.dto.StorageObjectDTO;
+import com.company.fastweb.core.storage.model.dto.UploadPartDTO;
+import com.company.fastweb.core.storage.model.dto.UploadSessionDTO;
 import com.company.fastweb.core.storage.model.form.FileUploadForm;
+import com.company.fastweb.core.storage.model.vo.BatchItemResultVO;
+import com.company.fastweb.core.storage.model.vo.BatchResultVO;
 import com.company.fastweb.core.storage.model.vo.FileInfoVO;
+import com.company.fastweb.core.storage.model.vo.FileListVO;
 import com.company.fastweb.core.storage.model.vo.FileUploadVO;
+import com.company.fastweb.core.storage.model.vo.UploadPartVO;
+import com.company.fastweb.core.storage.model.vo.UploadSessionVO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.springframework.web.multipart.MultipartFile;
@@ -51,6 +61,31 @@ public interface StorageConverter {
      */
     List<FileInfoVO> toVOList(List<FileInfoDTO> dtoList);
 
+    /**
+     * 分页文件列表DTO转VO
+     */
+    FileListVO toVO(FileListDTO dto);
+
+    /**
+     * 上传会话DTO转VO
+     */
+    UploadSessionVO toVO(UploadSessionDTO dto);
+
+    /**
+     * 分片DTO转VO
+     */
+    UploadPartVO toVO(UploadPartDTO dto);
+
+    /**
+     * 批量操作结果DTO转VO
+     */
+    BatchResultVO toVO(BatchResultDTO dto);
+
+    /**
+     * 批量操作单个对象结果DTO转VO
+     */
+    BatchItemResultVO toVO(BatchItemResultDTO dto);
+
     /**
      * 创建FileInfoDTO
      */
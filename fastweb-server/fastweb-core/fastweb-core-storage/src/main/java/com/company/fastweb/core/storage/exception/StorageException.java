@@ -10,6 +10,8 @@ import com.company.fastweb.core.exception.BizException;
  */
 public class StorageException extends BizException {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * 文件上传失败
      */
@@ -60,6 +62,36 @@ public class StorageException extends BizException {
      */
     public static final String STORAGE_CONFIG_ERROR = "STORAGE_CONFIG_ERROR";
 
+    /**
+     * 上传会话不存在
+     */
+    public static final String UPLOAD_SESSION_NOT_FOUND = "UPLOAD_SESSION_NOT_FOUND";
+
+    /**
+     * 上传会话状态或参数错误
+     */
+    public static final String UPLOAD_SESSION_ERROR = "UPLOAD_SESSION_ERROR";
+
+    /**
+     * 分片上传失败
+     */
+    public static final String UPLOAD_PART_ERROR = "UPLOAD_PART_ERROR";
+
+    /**
+     * 续传令牌无效
+     */
+    public static final String INVALID_CONTINUATION_TOKEN = "INVALID_CONTINUATION_TOKEN";
+
+    /**
+     * 存储桶或对象名称无效
+     */
+    public static final String INVALID_OBJECT_PATH = "INVALID_OBJECT_PATH";
+
+    /**
+     * 每页数量无效
+     */
+    public static final String INVALID_MAX_KEYS = "INVALID_MAX_KEYS";
+
     public StorageException(String message) {
         super(message);
     }
@@ -162,4 +194,66 @@ public class StorageException extends BizException {
     public static StorageException configError(String message) {
         return new StorageException(STORAGE_CONFIG_ERROR, "存储配置错误: " + message);
     }
-}
\ No newline at end of file
+
+    /**
+     * 创建上传会话不存在异常
+     */
+    public static StorageException uploadSessionNotFound(String uploadId) {
+        return new StorageException(UPLOAD_SESSION_NOT_FOUND, "上传会话不存在: uploadId=" + uploadId);
+    }
+
+    /**
+     * 创建上传会话异常
+     */
+    public static StorageException uploadSessionError(String uploadId, String message) {
+        return new StorageException(UPLOAD_SESSION_ERROR,
+            String.format("上传会话错误: uploadId=%s, error=%s", uploadId, message));
+    }
+
+    /**
+     * 创建上传会话异常
+     */
+    public static StorageException uploadSessionError(String uploadId, String message, Throwable cause) {
+        return new StorageException(UPLOAD_SESSION_ERROR,
+            String.format("上传会话错误: uploadId=%s, error=%s", uploadId, message),
+            cause);
+    }
+
+    /**
+     * 创建分片上传异常
+     */
+    public static StorageException uploadPartError(String uploadId, int partNumber, Throwable cause) {
+        return new StorageException(UPLOAD_PART_ERROR,
+            String.format("分片上传失败: uploadId=%s, part=%d, error=%s", uploadId, partNumber, cause.getMessage()),
+            cause);
+    }
+
+    /**
+     * 创建续传令牌无效异常
+     */
+    public static StorageException invalidContinuationToken(String continuationToken) {
+        return new StorageException(INVALID_CONTINUATION_TOKEN, "续传令牌无效: " + continuationToken);
+    }
+
+    /**
+     * 创建每页数量无效异常
+     */
+    public static StorageException invalidMaxKeys(int maxKeys) {
+        return new StorageException(INVALID_MAX_KEYS, "每页数量必须大于0: maxKeys=" + maxKeys);
+    }
+
+    /**
+     * 创建存储桶名称无效异常
+     */
+    public static StorageException invalidBucketName(String bucketName) {
+        return new StorageException(INVALID_OBJECT_PATH, "存储桶名称无效: " + bucketName);
+    }
+
+    /**
+     * 创建对象名称无效异常
+     */
+    public static StorageException invalidObjectName(String bucketName, String objectName) {
+        return new StorageException(INVALID_OBJECT_PATH,
+            String.format("对象名称无效: bucket=%s, object=%s", bucketName, objectName));
+    }
+}
@@ -0,0 +1,40 @@
+package com.company.fastweb.core.storage.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量操作结果传输对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+
+    /**
+     * 对象总数
+     */
+    private Integer total;
+
+    /**
+     * 成功数量
+     */
+    private Integer succeeded;
+
+    /**
+     * 失败数量
+     */
+    private Integer failed;
+
+    /**
+     * 每个对象的结果，与请求顺序一致
+     */
+    private List<BatchItemResultDTO> results;
+}
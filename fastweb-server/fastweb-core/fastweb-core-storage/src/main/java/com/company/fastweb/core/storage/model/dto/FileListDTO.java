@@ -0,0 +1,35 @@
+package com.company.fastweb.core.storage.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 分页文件列表传输对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileListDTO {
+
+    /**
+     * 本页文件，按对象名称排序
+     */
+    private List<FileInfoDTO> files;
+
+    /**
+     * 是否还有后续结果
+     */
+    private Boolean truncated;
+
+    /**
+     * 下一页的续传令牌，没有后续结果时为空
+     */
+    private String nextContinuationToken;
+}
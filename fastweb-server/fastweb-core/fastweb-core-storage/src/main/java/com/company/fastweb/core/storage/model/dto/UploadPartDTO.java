@@ -0,0 +1,33 @@
+package com.company.fastweb.core.storage.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 已上传分片传输对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadPartDTO {
+
+    /**
+     * 分片序号（从1开始）
+     */
+    private Integer partNumber;
+
+    /**
+     * 分片大小（字节）
+     */
+    private Long size;
+
+    /**
+     * ETag，本地存储为分片内容的 MD5
+     */
+    private String etag;
+}
@@ -0,0 +1,67 @@
+package com.company.fastweb.core.storage.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 分片上传会话传输对象
+ * <p>
+ * 会话清单在初始化时持久化，已上传的分片由存储中实际存在的分片得出，服务重启或连接中断后可按 uploadId 续传。
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDTO {
+
+    /**
+     * 上传会话ID
+     */
+    private String uploadId;
+
+    /**
+     * 存储桶名称
+     */
+    private String bucketName;
+
+    /**
+     * 对象名称
+     */
+    private String objectName;
+
+    /**
+     * 内容类型
+     */
+    private String contentType;
+
+    /**
+     * 分片大小（字节），除最后一片外每片都应为该大小
+     */
+    private Long partSize;
+
+    /**
+     * 文件总大小（字节），未知时为空
+     */
+    private Long totalSize;
+
+    /**
+     * 创建时间戳
+     */
+    private Long createdAt;
+
+    /**
+     * 已上传的分片，按分片序号排序
+     */
+    private List<UploadPartDTO> parts;
+
+    /**
+     * 已上传字节数
+     */
+    private Long uploadedSize;
+}
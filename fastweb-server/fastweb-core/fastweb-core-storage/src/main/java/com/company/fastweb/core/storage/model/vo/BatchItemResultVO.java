@@ -0,0 +1,43 @@
+package com.company.fastweb.core.storage.model.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量操作单个对象结果视图对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultVO {
+
+    /**
+     * 对象名称
+     */
+    private String objectName;
+
+    /**
+     * 是否成功
+     */
+    private Boolean success;
+
+    /**
+     * 文件访问URL（上传成功时）
+     */
+    private String url;
+
+    /**
+     * 错误码（失败时）
+     */
+    private String errorCode;
+
+    /**
+     * 错误信息（失败时）
+     */
+    private String errorMessage;
+}
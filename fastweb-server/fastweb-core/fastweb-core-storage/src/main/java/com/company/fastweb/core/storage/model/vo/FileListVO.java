@@ -0,0 +1,35 @@
+package com.company.fastweb.core.storage.model.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 分页文件列表视图对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileListVO {
+
+    /**
+     * 本页文件
+     */
+    private List<FileInfoVO> files;
+
+    /**
+     * 是否还有后续结果
+     */
+    private Boolean truncated;
+
+    /**
+     * 下一页的续传令牌
+     */
+    private String nextContinuationToken;
+}
@@ -0,0 +1,33 @@
+package com.company.fastweb.core.storage.model.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 已上传分片视图对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadPartVO {
+
+    /**
+     * 分片序号
+     */
+    private Integer partNumber;
+
+    /**
+     * 分片大小（字节）
+     */
+    private Long size;
+
+    /**
+     * ETag
+     */
+    private String etag;
+}
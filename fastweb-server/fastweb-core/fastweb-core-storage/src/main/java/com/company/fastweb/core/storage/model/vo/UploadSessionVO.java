@@ -0,0 +1,65 @@
+package com.company.fastweb.core.storage.model.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 分片上传会话视图对象
+ *
+ * @author FastWeb
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionVO {
+
+    /**
+     * 上传会话ID
+     */
+    private String uploadId;
+
+    /**
+     * 存储桶名称
+     */
+    private String bucketName;
+
+    /**
+     * 对象名称
+     */
+    private String objectName;
+
+    /**
+     * 内容类型
+     */
+    private String contentType;
+
+    /**
+     * 分片大小（字节）
+     */
+    private Long partSize;
+
+    /**
+     * 文件总大小（字节）
+     */
+    private Long totalSize;
+
+    /**
+     * 已上传字节数
+     */
+    private Long uploadedSize;
+
+    /**
+     * 已上传的分片
+     */
+    private List<UploadPartVO> parts;
+
+    /**
+     * 创建时间戳
+     */
+    private Long createdAt;
+}
@@ -0,0 +1,81 @@
+package com.company.fastweb.core.storage.service;
+
+import com.company.fastweb.core.storage.config.StorageProperties;
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.BatchItemResultDTO;
+import com.company.fastweb.core.storage.model.dto.BatchResultDTO;
+import com.company.fastweb.core.storage.util.BatchResultUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 多文件并行上传
+ * <p>
+ * 在有界线程池中并行调用 {@link StorageService#uploadFile}，单个文件失败不影响其他文件，返回每个文件的结果。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class BatchFileUploader implements AutoCloseable {
+
+    /**
+     * 待上传文件
+     *
+     * @param objectName  对象名称
+     * @param source      文件内容，每次上传时打开新的输入流（如 MultipartFile）
+     * @param contentType 内容类型
+     */
+    public record UploadItem(String objectName, InputStreamSource source, String contentType) {
+    }
+
+    private final StorageService storageService;
+    private final ExecutorService executor;
+
+    public BatchFileUploader(StorageService storageService, StorageProperties.BatchProperties properties) {
+        this.storageService = storageService;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "fastweb-storage-batch-upload-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 并行上传多个文件
+     *
+     * @param bucketName 存储桶名称
+     * @param items 待上传文件
+     * @return 批量上传结果，顺序与 items 一致
+     */
+    public BatchResultDTO uploadFiles(String bucketName, List<UploadItem> items) {
+        List<CompletableFuture<BatchItemResultDTO>> futures = items.stream()
+                .map(item -> CompletableFuture.supplyAsync(() -> upload(bucketName, item), executor))
+                .toList();
+        BatchResultDTO result = BatchResultUtil.of(futures.stream().map(CompletableFuture::join).toList());
+        log.info("批量上传文件完成: bucket={}, total={}, failed={}", bucketName, result.getTotal(), result.getFailed());
+        return result;
+    }
+
+    private BatchItemResultDTO upload(String bucketName, UploadItem item) {
+        try (InputStream inputStream = item.source().getInputStream()) {
+            String url = storageService.uploadFile(bucketName, item.objectName(), inputStream, item.contentType());
+            return BatchResultUtil.success(item.objectName(), url);
+        } catch (Exception e) {
+            log.warn("文件上传失败: bucket={}, object={}, error={}", bucketName, item.objectName(), e.getMessage());
+            return BatchResultUtil.failure(item.objectName(), StorageException.FILE_UPLOAD_ERROR, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,132 @@
+package com.company.fastweb.core.storage.service;
+
+import com.company.fastweb.core.storage.config.StorageProperties;
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.UploadPartDTO;
+import com.company.fastweb.core.storage.model.dto.UploadSessionDTO;
+import com.company.fastweb.core.storage.util.FileRangeInputStream;
+import com.company.fastweb.core.storage.util.StorageRetryUtil;
+import com.company.fastweb.core.storage.util.UploadSessionUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 本地文件分片并行上传
+ * <p>
+ * 基于 {@link StorageService} 的分片上传会话，将文件按分片并行上传：
+ * <ul>
+ *     <li>每个分片独立重试，每次重试都从文件重新读取该分片，不依赖已消费的输入流</li>
+ *     <li>上传失败时保留会话并在异常中给出 uploadId，之后调用 {@link #resume(String, Path)} 只补传缺失的分片</li>
+ * </ul>
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class ChunkedUploader implements AutoCloseable {
+
+    private final StorageService storageService;
+    private final StorageProperties.UploadProperties properties;
+    private final ExecutorService executor;
+
+    public ChunkedUploader(StorageService storageService, StorageProperties.UploadProperties properties) {
+        this.storageService = storageService;
+        this.properties = properties;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "fastweb-storage-upload-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 分片上传本地文件
+     *
+     * @param bucketName 存储桶名称
+     * @param objectName 对象名称
+     * @param file 本地文件
+     * @param contentType 文件类型
+     * @return 文件访问URL
+     */
+    public String upload(String bucketName, String objectName, Path file, String contentType) {
+        long totalSize;
+        try {
+            totalSize = Files.size(file);
+        } catch (IOException e) {
+            throw StorageException.fileUploadError(bucketName, objectName, e);
+        }
+        UploadSessionDTO session = storageService.initiateUpload(bucketName, objectName, contentType, totalSize, null);
+        return uploadMissingParts(session, file);
+    }
+
+    /**
+     * 续传未完成的上传会话，只上传缺失的分片
+     *
+     * @param uploadId 上传会话ID
+     * @param file 与初始化时相同的本地文件
+     * @return 文件访问URL
+     */
+    public String resume(String uploadId, Path file) {
+        return uploadMissingParts(storageService.getUploadSession(uploadId), file);
+    }
+
+    private String uploadMissingParts(UploadSessionDTO session, Path file) {
+        String uploadId = session.getUploadId();
+        long partSize = session.getPartSize();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long totalSize = channel.size();
+            if (session.getTotalSize() != null && session.getTotalSize() != totalSize) {
+                throw StorageException.uploadSessionError(uploadId, String.format(
+                        "文件大小与上传会话不一致: file=%d, session=%d", totalSize, session.getTotalSize()));
+            }
+            Set<Integer> uploaded = session.getParts() == null ? Set.of() : session.getParts().stream()
+                    .map(UploadPartDTO::getPartNumber)
+                    .collect(Collectors.toSet());
+
+            int partCount = UploadSessionUtil.partCount(totalSize, partSize);
+            List<CompletableFuture<UploadPartDTO>> futures = new ArrayList<>();
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                if (uploaded.contains(partNumber)) {
+                    continue;
+                }
+                int number = partNumber;
+                long offset = (partNumber - 1) * partSize;
+                long length = Math.min(partSize, totalSize - offset);
+                futures.add(CompletableFuture.supplyAsync(() -> StorageRetryUtil.executeWithRetry(
+                        () -> storageService.uploadPart(uploadId, number, new FileRangeInputStream(channel, offset, length, false), length),
+                        String.format("uploadPart(uploadId=%s, part=%d)", uploadId, number),
+                        properties.getPartRetries()), executor));
+            }
+            log.info("开始分片上传: uploadId={}, file={}, parts={}, pending={}", uploadId, file, partCount, futures.size());
+
+            // 等待全部分片结束后再关闭文件，失败的分片不影响其他分片继续上传，以便之后续传
+            CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.warn("分片上传未完成，可通过 uploadId 续传: uploadId={}, error={}", uploadId, cause.getMessage());
+            throw StorageException.uploadSessionError(uploadId, "分片上传未完成，可续传: " + cause.getMessage(), cause);
+        } catch (IOException e) {
+            throw StorageException.uploadSessionError(uploadId, e.getMessage(), e);
+        }
+        return storageService.completeUpload(uploadId);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
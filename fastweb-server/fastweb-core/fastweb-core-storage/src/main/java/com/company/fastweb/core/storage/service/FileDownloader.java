@@ -0,0 +1,257 @@
+package com.company.fastweb.core.storage.service;
+
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.FileInfoDTO;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文件下载，支持 HTTP Range 与条件请求
+ * <p>
+ * <ul>
+ *     <li>ETag / Last-Modified 条件请求（If-None-Match、If-Modified-Since、If-Match 等）由 {@link ServletWebRequest#checkNotModified} 处理</li>
+ *     <li>支持单个及多个字节范围，多个范围以 multipart/byteranges 返回；If-Range 不匹配时返回完整文件</li>
+ *     <li>本地文件在 Tomcat 支持 sendfile 时交给容器零拷贝发送；否则以固定大小的缓冲区按位置读取文件写入响应，
+ *     Servlet 输出流不是文件描述符，这条路径无法零拷贝；非本地存储按范围读取后写入响应</li>
+ * </ul>
+ *
+ * @author FastWeb
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FileDownloader {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * 不使用 sendfile 时复制本地文件的缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final StorageService storageService;
+
+    /**
+     * 下载文件到响应
+     *
+     * @param bucketName 存储桶名称
+     * @param objectName 对象名称
+     */
+    public void download(String bucketName, String objectName, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        FileInfoDTO fileInfo = storageService.getFileInfo(bucketName, objectName);
+        if (fileInfo == null) {
+            throw StorageException.fileNotFound(bucketName, objectName);
+        }
+        String etag = fileInfo.getEtag() == null || fileInfo.getEtag().isEmpty() ? null : fileInfo.getEtag();
+        long lastModified = parseLastModified(fileInfo.getLastModified());
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        long size = fileInfo.getSize();
+        String contentType = fileInfo.getContentType() != null
+                ? fileInfo.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        List<long[]> ranges;
+        try {
+            ranges = resolveRanges(request, response.getHeader(HttpHeaders.ETAG), lastModified, size);
+        } catch (IllegalArgumentException e) {
+            log.debug("无效的 Range 请求: bucket={}, object={}, range={}, error={}",
+                    bucketName, objectName, request.getHeader(HttpHeaders.RANGE), e.getMessage());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        boolean head = "HEAD".equals(request.getMethod());
+        Path localFile = storageService.getLocalFile(bucketName, objectName);
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLengthLong(size);
+            if (!head) {
+                writeSingle(bucketName, objectName, localFile, 0, size, request, response);
+            }
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        if (ranges.size() == 1) {
+            long[] range = ranges.get(0);
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(range, size));
+            response.setContentLengthLong(range[1] - range[0] + 1);
+            if (!head) {
+                writeSingle(bucketName, objectName, localFile, range[0], range[1] - range[0] + 1, request, response);
+            }
+            return;
+        }
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            byte[] partHeader = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(range, size) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + range[1] - range[0] + 1;
+        }
+        byte[] end = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength + end.length);
+        if (head) {
+            return;
+        }
+        ServletOutputStream output = response.getOutputStream();
+        try (FileChannel channel = localFile != null ? FileChannel.open(localFile, StandardOpenOption.READ) : null) {
+            for (int i = 0; i < ranges.size(); i++) {
+                long[] range = ranges.get(i);
+                output.write(partHeaders.get(i));
+                if (channel != null) {
+                    transfer(channel, range[0], range[1] - range[0] + 1, output);
+                } else {
+                    copy(bucketName, objectName, range[0], range[1] - range[0] + 1, output);
+                }
+            }
+        }
+        output.write(end);
+    }
+
+    /**
+     * 解析 Range 请求头，返回按请求顺序排列的闭区间 [start, end]，不需要范围响应时返回空列表
+     *
+     * @throws IllegalArgumentException 范围格式错误或不可满足
+     */
+    private List<long[]> resolveRanges(HttpServletRequest request, String etag, long lastModified, long size) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+            return List.of();
+        }
+        List<long[]> ranges = new ArrayList<>();
+        long total = 0;
+        for (HttpRange httpRange : HttpRange.parseRanges(rangeHeader)) {
+            long start = httpRange.getRangeStart(size);
+            long end = httpRange.getRangeEnd(size);
+            if (start >= size || start > end) {
+                // 可满足的范围会被保留，全部不可满足时返回 416
+                continue;
+            }
+            ranges.add(new long[]{start, end});
+            total += end - start + 1;
+        }
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("没有可满足的范围");
+        }
+        if (ranges.size() > 1 && total > size) {
+            // 与 Spring 的 HttpRange.toResourceRegions 一致，拒绝总长度超过文件大小的重叠范围
+            throw new IllegalArgumentException("范围总长度超过文件大小");
+        }
+        return ranges;
+    }
+
+    /**
+     * If-Range 为 ETag 时要求强匹配，为日期时要求与最后修改时间一致
+     */
+    private boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return etag != null && !ifRange.startsWith("W/") && ifRange.equals(etag);
+        }
+        try {
+            long date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified >= 0 && lastModified / 1000 == date / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private void writeSingle(String bucketName, String objectName, Path localFile, long start, long length,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (localFile != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 交给 Tomcat 在请求结束后通过 sendfile 发送，数据不进入 JVM
+            request.setAttribute(SENDFILE_FILENAME, localFile.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        if (localFile != null) {
+            try (FileChannel channel = FileChannel.open(localFile, StandardOpenOption.READ)) {
+                transfer(channel, start, length, response.getOutputStream());
+            }
+        } else {
+            copy(bucketName, objectName, start, length, response.getOutputStream());
+        }
+    }
+
+    /**
+     * 按位置读取文件范围写入响应，每个请求只占用一个不超过 {@link #BUFFER_SIZE} 的缓冲区
+     */
+    private void transfer(FileChannel channel, long start, long length, ServletOutputStream output) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, length));
+        long position = start;
+        long end = start + length;
+        while (position < end) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("文件在下载过程中被截断: position=" + position);
+            }
+            output.write(buffer.array(), 0, read);
+            position += read;
+        }
+    }
+
+    private void copy(String bucketName, String objectName, long start, long length,
+                      ServletOutputStream output) throws IOException {
+        try (InputStream inputStream = storageService.downloadFile(bucketName, objectName, start, length)) {
+            inputStream.transferTo(output);
+        }
+    }
+
+    private static String contentRange(long[] range, long size) {
+        return "bytes " + range[0] + "-" + range[1] + "/" + size;
+    }
+
+    /**
+     * 解析 FileInfoDTO 中的 ISO-8601 时间，无法解析时返回 -1（不参与条件判断）
+     */
+    private static long parseLastModified(String lastModified) {
+        if (lastModified == null || lastModified.isEmpty()) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(lastModified, DateTimeFormatter.ISO_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package com.company.fastweb.core.storage.service;
 
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.BatchItemResultDTO;
+import com.company.fastweb.core.storage.model.dto.BatchResultDTO;
 import com.company.fastweb.core.storage.model.dto.FileInfoDTO;
+import com.company.fastweb.core.storage.model.dto.FileListDTO;
+import com.company.fastweb.core.storage.model.dto.UploadPartDTO;
+import com.company.fastweb.core.storage.model.dto.UploadSessionDTO;
+import com.company.fastweb.core.storage.util.BatchResultUtil;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -49,6 +58,28 @@ public interface StorageService {
      */
     InputStream downloadFile(String objectName);
 
+    /**
+     * 下载文件的指定字节范围
+     *
+     * @param bucketName 存储桶名称
+     * @param objectName 对象名称
+     * @param offset 起始位置
+     * @param length 读取长度
+     * @return 只包含指定范围的文件流
+     */
+    InputStream downloadFile(String bucketName, String objectName, long offset, long length);
+
+    /**
+     * 获取对象对应的本地文件，用于下载时交给容器通过 sendfile 零拷贝发送
+     *
+     * @param bucketName 存储桶名称
+     * @param objectName 对象名称
+     * @return 本地文件路径，非本地存储或文件不存在时返回 null
+     */
+    default Path getLocalFile(String bucketName, String objectName) {
+        return null;
+    }
+
     /**
      * 删除文件
      *
@@ -75,6 +106,30 @@ public interface StorageService {
      */
     List<String> deleteFiles(String bucketName, List<String> objectNames);
 
+    /**
+     * 批量删除文件，返回每个对象的结果
+     * <p>
+     * 单个对象失败不影响其他对象；对象不存在时的处理与 {@link #deleteFile(String, String)} 一致。
+     * 默认实现逐个删除，存储实现可使用批量接口或并行删除。
+     *
+     * @param bucketName 存储桶名称
+     * @param objectNames 对象名称列表
+     * @return 批量删除结果，顺序与 objectNames 一致
+     */
+    default BatchResultDTO batchDeleteFiles(String bucketName, List<String> objectNames) {
+        List<BatchItemResultDTO> results = new ArrayList<>(objectNames.size());
+        for (String objectName : objectNames) {
+            try {
+                results.add(deleteFile(bucketName, objectName)
+                        ? BatchResultUtil.success(objectName, null)
+                        : BatchResultUtil.failure(objectName, StorageException.FILE_DELETE_ERROR, "删除失败"));
+            } catch (RuntimeException e) {
+                results.add(BatchResultUtil.failure(objectName, StorageException.FILE_DELETE_ERROR, e));
+            }
+        }
+        return BatchResultUtil.of(results);
+    }
+
     /**
      * 检查文件是否存在
      *
@@ -128,6 +183,17 @@ public interface StorageService {
      */
     List<FileInfoDTO> listFiles(String prefix, int maxKeys);
 
+    /**
+     * 分页列出文件，结果按对象名称排序
+     *
+     * @param bucketName 存储桶名称
+     * @param prefix 前缀
+     * @param continuationToken 上一页返回的续传令牌，第一页为 null
+     * @param maxKeys 每页最大数量
+     * @return 本页文件及下一页的续传令牌
+     */
+    FileListDTO listFiles(String bucketName, String prefix, String continuationToken, int maxKeys);
+
     /**
      * 获取预签名上传URL
      *
@@ -172,5 +238,53 @@ public interface StorageService {
      */
     boolean bucketExists(String bucketName);
 
+    /**
+     * 初始化分片上传会话
+     * <p>
+     * 会话清单会持久化，连接中断后可通过 {@link #getUploadSession(String)} 查询已上传的分片并只补传缺失部分。
+     *
+     * @param bucketName 存储桶名称
+     * @param objectName 对象名称
+     * @param contentType 文件类型
+     * @param totalSize 文件总大小（字节），未知时传 null
+     * @param partSize 分片大小（字节），为 null 时使用配置的默认值
+     * @return 上传会话
+     */
+    UploadSessionDTO initiateUpload(String bucketName, String objectName, String contentType,
+                                    Long totalSize, Long partSize);
+
+    /**
+     * 上传分片，同一会话的不同分片可以并行上传，重复上传同一分片时覆盖之前的内容
+     *
+     * @param uploadId 上传会话ID
+     * @param partNumber 分片序号（从1开始）
+     * @param inputStream 分片内容
+     * @param size 分片大小（字节），未知时传 -1
+     * @return 已上传的分片
+     */
+    UploadPartDTO uploadPart(String uploadId, int partNumber, InputStream inputStream, long size);
 
-}
\ No newline at end of file
+    /**
+     * 查询上传会话及已上传的分片
+     *
+     * @param uploadId 上传会话ID
+     * @return 上传会话
+     */
+    UploadSessionDTO getUploadSession(String uploadId);
+
+    /**
+     * 按分片序号合并所有分片并删除会话
+     *
+     * @param uploadId 上传会话ID
+     * @return 文件访问URL
+     */
+    String completeUpload(String uploadId);
+
+    /**
+     * 取消上传并删除已上传的分片
+     *
+     * @param uploadId 上传会话ID
+     * @return 会话是否存在
+     */
+    boolean abortUpload(String uploadId);
+}
@@ -0,0 +1,398 @@
+package com.company.fastweb.core.storage.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 内容寻址存储的对象索引：对象名称 → 内容摘要
+ * <p>
+ * 索引常驻内存，变更以追加日志持久化，启动时重放。每条日志记录带长度前缀，进程中断造成的不完整尾部记录在重放时截断。
+ * 引用计数由索引内容推导，不单独持久化，因此不会与索引不一致。日志中的过期记录超过有效记录数时重写为快照。
+ * 每条记录写入后立即刷盘：启动时会删除未被索引引用的数据文件，已确认的上传若索引记录丢失，其数据也会被删除。
+ * <p>
+ * 读方法可以并发调用；变更方法需要调用方串行化，以便与数据文件的写入和删除保持原子性。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class ContentAddressedIndex implements Closeable {
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final byte OP_CREATE_BUCKET = 3;
+    private static final byte OP_DROP_BUCKET = 4;
+
+    /**
+     * 日志记录数少于该值时不压缩
+     */
+    private static final int MIN_COMPACT_RECORDS = 1024;
+
+    /**
+     * 对象索引项
+     *
+     * @param hash         内容 SHA-256 摘要（十六进制）
+     * @param size         内容大小（字节）
+     * @param contentType  内容类型
+     * @param lastModified 最后修改时间戳
+     */
+    public record Entry(String hash, long size, String contentType, long lastModified) {
+    }
+
+    private final Path logFile;
+    private final Map<String, NavigableMap<String, Entry>> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Integer> refCounts = new HashMap<>();
+    private FileChannel channel;
+    private long records;
+    /**
+     * 压缩后应有的记录数，即存储桶数与对象数之和，随变更维护，避免每次变更都遍历统计
+     */
+    private long liveRecords;
+
+    public ContentAddressedIndex(Path logFile) throws IOException {
+        this.logFile = logFile;
+        Files.createDirectories(logFile.getParent());
+        replay();
+        this.channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    public Entry get(String bucketName, String objectName) {
+        NavigableMap<String, Entry> objects = buckets.get(bucketName);
+        return objects != null ? objects.get(objectName) : null;
+    }
+
+    public boolean bucketExists(String bucketName) {
+        return buckets.containsKey(bucketName);
+    }
+
+    /**
+     * 按对象名称排序列出前缀匹配的对象
+     */
+    public NavigableMap<String, Entry> list(String bucketName, String prefix) {
+        NavigableMap<String, Entry> objects = buckets.get(bucketName);
+        if (objects == null) {
+            return Collections.emptyNavigableMap();
+        }
+        if (prefix == null || prefix.isEmpty()) {
+            return objects;
+        }
+        return objects.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * 内容是否仍被引用
+     */
+    public boolean isReferenced(String hash) {
+        return refCounts.containsKey(hash);
+    }
+
+    /**
+     * 当前被引用的所有内容摘要
+     */
+    public Set<String> referencedHashes() {
+        return Set.copyOf(refCounts.keySet());
+    }
+
+    /**
+     * 创建存储桶
+     *
+     * @return 是否新建
+     */
+    public boolean createBucket(String bucketName) throws IOException {
+        if (buckets.containsKey(bucketName)) {
+            return false;
+        }
+        append(OP_CREATE_BUCKET, bucketName, null, null);
+        buckets.put(bucketName, new ConcurrentSkipListMap<>());
+        liveRecords++;
+        return true;
+    }
+
+    /**
+     * 删除存储桶及其中所有对象
+     *
+     * @return 被删除的对象，存储桶不存在时返回 null
+     */
+    public List<Entry> dropBucket(String bucketName) throws IOException {
+        NavigableMap<String, Entry> objects = buckets.get(bucketName);
+        if (objects == null) {
+            return null;
+        }
+        append(OP_DROP_BUCKET, bucketName, null, null);
+        buckets.remove(bucketName);
+        liveRecords -= 1 + objects.size();
+        objects.values().forEach(entry -> release(entry.hash()));
+        return List.copyOf(objects.values());
+    }
+
+    /**
+     * 写入对象，存储桶不存在时自动创建
+     *
+     * @return 被覆盖的旧索引项，没有时返回 null
+     */
+    public Entry put(String bucketName, String objectName, Entry entry) throws IOException {
+        if (!buckets.containsKey(bucketName)) {
+            createBucket(bucketName);
+        }
+        append(OP_PUT, bucketName, objectName, entry);
+        Entry previous = buckets.get(bucketName).put(objectName, entry);
+        refCounts.merge(entry.hash(), 1, Integer::sum);
+        if (previous != null) {
+            release(previous.hash());
+        } else {
+            liveRecords++;
+        }
+        compactIfNeeded();
+        return previous;
+    }
+
+    /**
+     * 删除对象
+     *
+     * @return 被删除的索引项，对象不存在时返回 null
+     */
+    public Entry remove(String bucketName, String objectName) throws IOException {
+        NavigableMap<String, Entry> objects = buckets.get(bucketName);
+        if (objects == null || !objects.containsKey(objectName)) {
+            return null;
+        }
+        append(OP_REMOVE, bucketName, objectName, null);
+        Entry previous = objects.remove(objectName);
+        release(previous.hash());
+        liveRecords--;
+        compactIfNeeded();
+        return previous;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void release(String hash) {
+        refCounts.computeIfPresent(hash, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void append(byte op, String bucketName, String objectName, Entry entry) throws IOException {
+        byte[] record = encode(op, bucketName, objectName, entry);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + record.length);
+        buffer.putInt(record.length).put(record).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        records++;
+    }
+
+    private static byte[] encode(byte op, String bucketName, String objectName, Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(op);
+        output.writeUTF(bucketName);
+        if (objectName != null) {
+            output.writeUTF(objectName);
+        }
+        if (entry != null) {
+            // 摘要以 32 字节二进制存储
+            output.write(HexFormat.of().parseHex(entry.hash()));
+            output.writeLong(entry.size());
+            output.writeUTF(entry.contentType() != null ? entry.contentType() : "");
+            output.writeLong(entry.lastModified());
+        }
+        return bytes.toByteArray();
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(logFile)) {
+            return;
+        }
+        long validLength = 0;
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(logFile))) {
+            while (true) {
+                byte[] lengthBytes = input.readNBytes(Integer.BYTES);
+                if (lengthBytes.length < Integer.BYTES) {
+                    break;
+                }
+                int length = ByteBuffer.wrap(lengthBytes).getInt();
+                if (length <= 0) {
+                    break;
+                }
+                byte[] record = input.readNBytes(length);
+                if (record.length < length) {
+                    break;
+                }
+                apply(record);
+                validLength += Integer.BYTES + length;
+                records++;
+            }
+        }
+        long fileLength = Files.size(logFile);
+        if (validLength < fileLength) {
+            log.warn("索引日志尾部不完整，已截断: file={}, valid={}, length={}", logFile, validLength, fileLength);
+            try (FileChannel truncate = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+                truncate.truncate(validLength);
+            }
+        }
+        log.info("内容寻址索引加载完成: file={}, buckets={}, blobs={}, records={}",
+                logFile, buckets.size(), refCounts.size(), records);
+    }
+
+    private void apply(byte[] record) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+        byte op = input.readByte();
+        String bucketName = input.readUTF();
+        switch (op) {
+            case OP_CREATE_BUCKET -> replayBucket(bucketName);
+            case OP_DROP_BUCKET -> {
+                NavigableMap<String, Entry> objects = buckets.remove(bucketName);
+                if (objects != null) {
+                    liveRecords -= 1 + objects.size();
+                    objects.values().forEach(entry -> release(entry.hash()));
+                }
+            }
+            case OP_PUT -> {
+                String objectName = input.readUTF();
+                Entry entry = new Entry(HexFormat.of().formatHex(input.readNBytes(32)), input.readLong(),
+                        emptyToNull(input.readUTF()), input.readLong());
+                Entry previous = replayBucket(bucketName).put(objectName, entry);
+                refCounts.merge(entry.hash(), 1, Integer::sum);
+                if (previous != null) {
+                    release(previous.hash());
+                } else {
+                    liveRecords++;
+                }
+            }
+            case OP_REMOVE -> {
+                NavigableMap<String, Entry> objects = buckets.get(bucketName);
+                Entry previous = objects != null ? objects.remove(input.readUTF()) : null;
+                if (previous != null) {
+                    release(previous.hash());
+                    liveRecords--;
+                }
+            }
+            default -> throw new IOException("未知的索引日志记录类型: " + op);
+        }
+    }
+
+    /**
+     * 重放时获取存储桶，不存在时创建
+     */
+    private NavigableMap<String, Entry> replayBucket(String bucketName) {
+        NavigableMap<String, Entry> objects = buckets.get(bucketName);
+        if (objects == null) {
+            objects = new ConcurrentSkipListMap<>();
+            buckets.put(bucketName, objects);
+            liveRecords++;
+        }
+        return objects;
+    }
+
+    /**
+     * 过期记录多于有效记录时将当前索引重写为快照
+     * <p>
+     * 快照写完后保持打开，原子替换日志文件后直接作为新的追加通道，替换成功前原日志通道始终可用；
+     * 压缩失败只记录日志，本次变更已写入原日志，不受影响。
+     */
+    private void compactIfNeeded() {
+        long live = liveRecords;
+        if (records < MIN_COMPACT_RECORDS || records < live * 2) {
+            return;
+        }
+        Path snapshot = logFile.resolveSibling(logFile.getFileName() + ".compact");
+        FileChannel output = null;
+        try {
+            output = FileChannel.open(snapshot, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream data = new DataOutputStream(bytes);
+            for (Map.Entry<String, NavigableMap<String, Entry>> bucket : buckets.entrySet()) {
+                writeRecord(data, encode(OP_CREATE_BUCKET, bucket.getKey(), null, null));
+                for (Map.Entry<String, Entry> object : bucket.getValue().entrySet()) {
+                    writeRecord(data, encode(OP_PUT, bucket.getKey(), object.getKey(), object.getValue()));
+                }
+                if (bytes.size() > 1 << 20) {
+                    writeFully(output, bytes.toByteArray());
+                    bytes.reset();
+                }
+            }
+            writeFully(output, bytes.toByteArray());
+            output.force(true);
+            Files.move(snapshot, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory(logFile.getParent());
+        } catch (IOException e) {
+            log.warn("内容寻址索引日志压缩失败，继续使用原日志: file={}, error={}", logFile, e.getMessage());
+            closeQuietly(output);
+            try {
+                Files.deleteIfExists(snapshot);
+            } catch (IOException deleteError) {
+                log.warn("删除索引快照失败: file={}, error={}", snapshot, deleteError.getMessage());
+            }
+            return;
+        }
+        // 通道随文件移动，此后的追加写入新日志
+        closeQuietly(channel);
+        channel = output;
+        log.info("内容寻址索引日志已压缩: file={}, records={} -> {}", logFile, records, live);
+        records = live;
+    }
+
+    private static void writeRecord(DataOutputStream output, byte[] record) throws IOException {
+        output.writeInt(record.length);
+        output.write(record);
+    }
+
+    private static void writeFully(FileChannel output, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+    }
+
+    /**
+     * 刷写目录项，使替换日志文件的重命名持久化；不支持打开目录的平台上忽略
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException e) {
+            log.debug("刷写目录失败: dir={}, error={}", directory, e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(FileChannel fileChannel) {
+        if (fileChannel == null) {
+            return;
+        }
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            log.warn("关闭索引日志失败: error={}", e.getMessage());
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,544 @@
+package com.company.fastweb.core.storage.service.impl;
+
+import com.company.fastweb.core.storage.config.StorageProperties;
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.FileInfoDTO;
+import com.company.fastweb.core.storage.model.dto.FileListDTO;
+import com.company.fastweb.core.storage.model.dto.UploadPartDTO;
+import com.company.fastweb.core.storage.model.dto.UploadSessionDTO;
+import com.company.fastweb.core.storage.service.StorageService;
+import com.company.fastweb.core.storage.util.ContinuationTokenUtil;
+import com.company.fastweb.core.storage.util.FileRangeInputStream;
+import com.company.fastweb.core.storage.util.UploadSessionUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 内容寻址去重存储服务实现
+ * <p>
+ * 上传时边写入边计算 SHA-256，相同内容只保存一份数据文件（{@code .cas/blobs/<前两位>/<摘要>}），
+ * 对象名称到摘要的映射由 {@link ContentAddressedIndex} 维护，数据文件在最后一个引用删除时删除。
+ * 摘要即对象的 ETag。启动时清理未被索引引用的数据文件（写入数据后、记录索引前中断留下的）。
+ * 分片上传的分片保存在 {@code .cas/uploads/<会话ID>} 中，重启后仍可续传，合并时计算摘要并记录索引。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class ContentAddressedStorageServiceImpl implements StorageService, AutoCloseable {
+
+    private final StorageProperties storageProperties;
+    private final Path blobPath;
+    private final Path tempPath;
+    private final Path uploadPath;
+    private final ContentAddressedIndex index;
+
+    public ContentAddressedStorageServiceImpl(StorageProperties storageProperties) {
+        this.storageProperties = storageProperties;
+        Path root = Paths.get(storageProperties.getLocal().getPath(), ".cas");
+        this.blobPath = root.resolve("blobs");
+        this.tempPath = root.resolve("tmp");
+        this.uploadPath = root.resolve("uploads");
+        try {
+            Files.createDirectories(blobPath);
+            Files.createDirectories(tempPath);
+            Files.createDirectories(uploadPath);
+            this.index = new ContentAddressedIndex(root.resolve("index.log"));
+            removeUnreferencedBlobs();
+        } catch (IOException e) {
+            throw StorageException.configError("内容寻址存储初始化失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String uploadFile(String bucketName, String objectName, InputStream inputStream, String contentType) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(tempPath, "upload-", ".tmp");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            long size = Files.copy(new DigestInputStream(inputStream, sha256), temp, StandardCopyOption.REPLACE_EXISTING);
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            boolean duplicate = store(bucketName, objectName, temp, hash, size, contentType);
+            log.info("文件上传成功: bucket={}, object={}, sha256={}, size={}, deduplicated={}",
+                    bucketName, objectName, hash, size, duplicate);
+            return getObjectUrl(bucketName, objectName);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("文件上传失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage(), e);
+            throw StorageException.fileUploadError(bucketName, objectName, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    public String uploadFile(String objectName, InputStream inputStream, String contentType) {
+        return uploadFile(storageProperties.getDefaultBucket(), objectName, inputStream, contentType);
+    }
+
+    @Override
+    public InputStream downloadFile(String bucketName, String objectName) {
+        ContentAddressedIndex.Entry entry = getEntry(bucketName, objectName);
+        return downloadFile(bucketName, objectName, 0, entry.size());
+    }
+
+    @Override
+    public InputStream downloadFile(String objectName) {
+        return downloadFile(storageProperties.getDefaultBucket(), objectName);
+    }
+
+    @Override
+    public InputStream downloadFile(String bucketName, String objectName, long offset, long length) {
+        ContentAddressedIndex.Entry entry = getEntry(bucketName, objectName);
+        try {
+            FileChannel channel = FileChannel.open(getBlobPath(entry.hash()), StandardOpenOption.READ);
+            log.debug("文件下载开始: bucket={}, object={}, sha256={}", bucketName, objectName, entry.hash());
+            return new FileRangeInputStream(channel, offset, length, true);
+        } catch (NoSuchFileException e) {
+            // 读取期间对象被删除
+            throw StorageException.fileNotFound(bucketName, objectName);
+        } catch (IOException e) {
+            log.error("文件下载失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage(), e);
+            throw StorageException.fileDownloadError(bucketName, objectName, e);
+        }
+    }
+
+    @Override
+    public Path getLocalFile(String bucketName, String objectName) {
+        ContentAddressedIndex.Entry entry = index.get(bucketName, objectName);
+        return entry != null ? getBlobPath(entry.hash()) : null;
+    }
+
+    @Override
+    public boolean deleteFile(String bucketName, String objectName) {
+        try {
+            synchronized (index) {
+                ContentAddressedIndex.Entry removed = index.remove(bucketName, objectName);
+                if (removed == null) {
+                    log.debug("文件不存在，无需删除: bucket={}, object={}", bucketName, objectName);
+                    return false;
+                }
+                deleteBlobIfUnreferenced(removed.hash());
+            }
+            log.info("文件删除成功: bucket={}, object={}", bucketName, objectName);
+            return true;
+        } catch (IOException e) {
+            log.warn("文件删除操作失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean deleteFile(String objectName) {
+        return deleteFile(storageProperties.getDefaultBucket(), objectName);
+    }
+
+    @Override
+    public List<String> deleteFiles(String bucketName, List<String> objectNames) {
+        List<String> errors = new ArrayList<>();
+        for (String objectName : objectNames) {
+            if (!deleteFile(bucketName, objectName)) {
+                errors.add("删除失败: " + objectName);
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public boolean fileExists(String bucketName, String objectName) {
+        return index.get(bucketName, objectName) != null;
+    }
+
+    @Override
+    public boolean fileExists(String objectName) {
+        return fileExists(storageProperties.getDefaultBucket(), objectName);
+    }
+
+    @Override
+    public FileInfoDTO getFileInfo(String bucketName, String objectName) {
+        ContentAddressedIndex.Entry entry = index.get(bucketName, objectName);
+        if (entry == null) {
+            log.debug("文件不存在: bucket={}, object={}", bucketName, objectName);
+            return null;
+        }
+        return toFileInfo(objectName, entry);
+    }
+
+    @Override
+    public FileInfoDTO getFileInfo(String objectName) {
+        return getFileInfo(storageProperties.getDefaultBucket(), objectName);
+    }
+
+    @Override
+    public List<FileInfoDTO> listFiles(String bucketName, String prefix, int maxKeys) {
+        List<FileInfoDTO> files = index.list(bucketName, prefix).entrySet().stream()
+                .limit(maxKeys)
+                .map(object -> toFileInfo(object.getKey(), object.getValue()))
+                .toList();
+        log.debug("列出文件成功: bucket={}, prefix={}, count={}", bucketName, prefix, files.size());
+        return files;
+    }
+
+    @Override
+    public List<FileInfoDTO> listFiles(String prefix, int maxKeys) {
+        return listFiles(storageProperties.getDefaultBucket(), prefix, maxKeys);
+    }
+
+    @Override
+    public FileListDTO listFiles(String bucketName, String prefix, String continuationToken, int maxKeys) {
+        maxKeys = ContinuationTokenUtil.checkMaxKeys(maxKeys);
+        String startAfter = ContinuationTokenUtil.decode(continuationToken);
+        NavigableMap<String, ContentAddressedIndex.Entry> objects = index.list(bucketName, prefix);
+        if (startAfter != null) {
+            objects = objects.tailMap(startAfter, false);
+        }
+        List<FileInfoDTO> files = objects.entrySet().stream()
+                .limit(maxKeys + 1L)
+                .map(object -> toFileInfo(object.getKey(), object.getValue()))
+                .toList();
+        return ContinuationTokenUtil.toPage(files, maxKeys);
+    }
+
+    @Override
+    public String getPresignedUploadUrl(String bucketName, String objectName, int expiry) {
+        // 本地存储不支持预签名URL，返回直接上传URL
+        return String.format("/api/storage/upload?bucket=%s&object=%s", bucketName, objectName);
+    }
+
+    @Override
+    public String getPresignedDownloadUrl(String bucketName, String objectName, int expiry) {
+        if (!fileExists(bucketName, objectName)) {
+            throw StorageException.fileNotFound(bucketName, objectName);
+        }
+        // 本地存储不支持预签名URL，返回直接下载URL
+        return String.format("/api/storage/download?bucket=%s&object=%s", bucketName, objectName);
+    }
+
+    @Override
+    public boolean createBucket(String bucketName) {
+        try {
+            synchronized (index) {
+                return index.createBucket(bucketName);
+            }
+        } catch (IOException e) {
+            log.error("创建存储桶失败: bucket={}, error={}", bucketName, e.getMessage(), e);
+            throw StorageException.bucketOperationError(bucketName, "create", e);
+        }
+    }
+
+    @Override
+    public boolean deleteBucket(String bucketName) {
+        try {
+            synchronized (index) {
+                List<ContentAddressedIndex.Entry> removed = index.dropBucket(bucketName);
+                if (removed == null) {
+                    log.debug("存储桶不存在，无需删除: bucket={}", bucketName);
+                    return false;
+                }
+                for (ContentAddressedIndex.Entry entry : removed) {
+                    deleteBlobIfUnreferenced(entry.hash());
+                }
+                log.info("删除存储桶成功: bucket={}, objects={}", bucketName, removed.size());
+                return true;
+            }
+        } catch (IOException e) {
+            log.error("删除存储桶失败: bucket={}, error={}", bucketName, e.getMessage(), e);
+            throw StorageException.bucketOperationError(bucketName, "delete", e);
+        }
+    }
+
+    @Override
+    public boolean bucketExists(String bucketName) {
+        return index.bucketExists(bucketName);
+    }
+
+    @Override
+    public UploadSessionDTO initiateUpload(String bucketName, String objectName, String contentType,
+                                           Long totalSize, Long partSize) {
+        UploadSessionDTO session = UploadSessionUtil.newSession(bucketName, objectName, contentType,
+                totalSize, partSize, storageProperties.getUpload().getPartSize());
+        try {
+            Path sessionPath = uploadPath.resolve(session.getUploadId());
+            Files.createDirectories(sessionPath);
+            Path temp = Files.createTempFile(sessionPath, UploadSessionUtil.MANIFEST_NAME, ".tmp");
+            Files.writeString(temp, UploadSessionUtil.toManifest(session), StandardCharsets.UTF_8);
+            Files.move(temp, sessionPath.resolve(UploadSessionUtil.MANIFEST_NAME), StandardCopyOption.ATOMIC_MOVE);
+            log.info("初始化分片上传: uploadId={}, bucket={}, object={}, partSize={}, totalSize={}",
+                    session.getUploadId(), bucketName, objectName, session.getPartSize(), totalSize);
+            return session;
+        } catch (IOException e) {
+            log.error("初始化分片上传失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage(), e);
+            throw StorageException.uploadSessionError(session.getUploadId(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public UploadPartDTO uploadPart(String uploadId, int partNumber, InputStream inputStream, long size) {
+        UploadSessionDTO session = readSession(uploadId, false);
+        UploadSessionUtil.checkPartNumber(session, partNumber);
+        Path sessionPath = uploadPath.resolve(uploadId);
+        String partName = UploadSessionUtil.partName(partNumber);
+        Path temp = null;
+        try {
+            // 分片先写入临时文件，校验大小后原子替换，会话中只会出现完整的分片
+            temp = Files.createTempFile(sessionPath, partName + ".", ".tmp");
+            MessageDigest md5 = MessageDigest.getInstance("MD5");
+            long written = Files.copy(new DigestInputStream(inputStream, md5), temp, StandardCopyOption.REPLACE_EXISTING);
+            if (size >= 0 && written != size) {
+                throw new IOException(String.format("分片数据不完整: expected=%d, actual=%d", size, written));
+            }
+            Files.move(temp, sessionPath.resolve(partName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("分片上传成功: uploadId={}, part={}, size={}", uploadId, partNumber, written);
+            return UploadPartDTO.builder()
+                    .partNumber(partNumber)
+                    .size(written)
+                    .etag(HexFormat.of().formatHex(md5.digest()))
+                    .build();
+        } catch (NoSuchFileException e) {
+            throw StorageException.uploadSessionNotFound(uploadId);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.warn("分片上传失败: uploadId={}, part={}, error={}", uploadId, partNumber, e.getMessage());
+            throw StorageException.uploadPartError(uploadId, partNumber, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    public UploadSessionDTO getUploadSession(String uploadId) {
+        return readSession(uploadId, true);
+    }
+
+    @Override
+    public String completeUpload(String uploadId) {
+        UploadSessionDTO session = readSession(uploadId, true);
+        UploadSessionUtil.checkComplete(session);
+        String bucketName = session.getBucketName();
+        String objectName = session.getObjectName();
+        Path sessionPath = uploadPath.resolve(uploadId);
+        Path temp = null;
+        try {
+            // 合并时需要计算摘要，按顺序读出各分片写入临时文件，再与普通上传一样去重并记录索引
+            temp = Files.createTempFile(tempPath, "upload-", ".tmp");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+            try (OutputStream target = Files.newOutputStream(temp, StandardOpenOption.WRITE)) {
+                for (UploadPartDTO part : session.getParts()) {
+                    Path partPath = sessionPath.resolve(UploadSessionUtil.partName(part.getPartNumber()));
+                    try (InputStream source = new DigestInputStream(Files.newInputStream(partPath), sha256)) {
+                        size += source.transferTo(target);
+                    }
+                }
+            }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            boolean duplicate = store(bucketName, objectName, temp, hash, size, session.getContentType());
+            deleteRecursively(sessionPath);
+            log.info("分片上传完成: uploadId={}, bucket={}, object={}, parts={}, sha256={}, size={}, deduplicated={}",
+                    uploadId, bucketName, objectName, session.getParts().size(), hash, size, duplicate);
+            return getObjectUrl(bucketName, objectName);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("合并分片失败: uploadId={}, bucket={}, object={}, error={}", uploadId, bucketName, objectName, e.getMessage(), e);
+            throw StorageException.fileUploadError(bucketName, objectName, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    public boolean abortUpload(String uploadId) {
+        UploadSessionUtil.checkUploadId(uploadId);
+        Path sessionPath = uploadPath.resolve(uploadId);
+        if (!Files.exists(sessionPath)) {
+            log.debug("上传会话不存在，无需取消: uploadId={}", uploadId);
+            return false;
+        }
+        try {
+            deleteRecursively(sessionPath);
+            log.info("取消分片上传: uploadId={}", uploadId);
+            return true;
+        } catch (IOException e) {
+            log.error("取消分片上传失败: uploadId={}, error={}", uploadId, e.getMessage(), e);
+            throw StorageException.uploadSessionError(uploadId, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (index) {
+            index.close();
+        }
+    }
+
+    /**
+     * 将已计算摘要的临时文件保存为数据文件并记录索引，内容已存在时只记录索引
+     *
+     * @return 内容是否已存在
+     */
+    private boolean store(String bucketName, String objectName, Path temp, String hash, long size,
+                          String contentType) throws IOException {
+        // 数据先于索引记录刷盘，确认上传后断电也不会留下指向不完整数据的索引
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            file.force(true);
+        }
+        synchronized (index) {
+            Path blob = getBlobPath(hash);
+            boolean duplicate = Files.exists(blob);
+            if (!duplicate) {
+                Files.createDirectories(blob.getParent());
+                Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+            }
+            ContentAddressedIndex.Entry previous = index.put(bucketName, objectName,
+                    new ContentAddressedIndex.Entry(hash, size, contentType, System.currentTimeMillis()));
+            if (previous != null) {
+                deleteBlobIfUnreferenced(previous.hash());
+            }
+            return duplicate;
+        }
+    }
+
+    /**
+     * 读取会话清单
+     *
+     * @param withParts 是否列出已上传的分片
+     */
+    private UploadSessionDTO readSession(String uploadId, boolean withParts) {
+        UploadSessionUtil.checkUploadId(uploadId);
+        Path sessionPath = uploadPath.resolve(uploadId);
+        try {
+            String manifest = Files.readString(sessionPath.resolve(UploadSessionUtil.MANIFEST_NAME), StandardCharsets.UTF_8);
+            List<UploadPartDTO> parts = new ArrayList<>();
+            if (withParts) {
+                try (Stream<Path> paths = Files.list(sessionPath)) {
+                    for (Path path : paths.toList()) {
+                        int partNumber = UploadSessionUtil.parsePartNumber(path.getFileName().toString());
+                        if (partNumber > 0) {
+                            parts.add(UploadPartDTO.builder().partNumber(partNumber).size(Files.size(path)).build());
+                        }
+                    }
+                }
+            }
+            return UploadSessionUtil.fromManifest(uploadId, manifest, parts);
+        } catch (NoSuchFileException e) {
+            throw StorageException.uploadSessionNotFound(uploadId);
+        } catch (IOException e) {
+            log.error("读取上传会话失败: uploadId={}, error={}", uploadId, e.getMessage(), e);
+            throw StorageException.uploadSessionError(uploadId, e.getMessage(), e);
+        }
+    }
+
+    private ContentAddressedIndex.Entry getEntry(String bucketName, String objectName) {
+        ContentAddressedIndex.Entry entry = index.get(bucketName, objectName);
+        if (entry == null) {
+            log.warn("文件不存在: bucket={}, object={}", bucketName, objectName);
+            throw StorageException.fileNotFound(bucketName, objectName);
+        }
+        return entry;
+    }
+
+    private FileInfoDTO toFileInfo(String objectName, ContentAddressedIndex.Entry entry) {
+        return FileInfoDTO.builder()
+                .objectName(objectName)
+                .etag(entry.hash())
+                .size(entry.size())
+                .lastModified(Instant.ofEpochMilli(entry.lastModified()).toString())
+                .contentType(entry.contentType())
+                .build();
+    }
+
+    /**
+     * 调用方需持有索引锁
+     */
+    private void deleteBlobIfUnreferenced(String hash) throws IOException {
+        if (!index.isReferenced(hash)) {
+            Files.deleteIfExists(getBlobPath(hash));
+            log.debug("删除无引用的数据文件: sha256={}", hash);
+        }
+    }
+
+    /**
+     * 清理未被索引引用的数据文件与残留的临时文件
+     */
+    private void removeUnreferencedBlobs() throws IOException {
+        Set<String> referenced = index.referencedHashes();
+        int removed = 0;
+        try (Stream<Path> paths = Files.walk(blobPath)) {
+            for (Path path : paths.filter(Files::isRegularFile).toList()) {
+                if (!referenced.contains(path.getFileName().toString())) {
+                    Files.deleteIfExists(path);
+                    removed++;
+                }
+            }
+        }
+        try (Stream<Path> paths = Files.list(tempPath)) {
+            for (Path path : paths.toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        if (removed > 0) {
+            log.warn("清理未被引用的数据文件: count={}", removed);
+        }
+    }
+
+    private Path getBlobPath(String hash) {
+        return blobPath.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * 删除目录及其所有内容
+     */
+    private void deleteRecursively(Path path) throws IOException {
+        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除临时文件失败: path={}, error={}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 获取对象访问URL
+     */
+    private String getObjectUrl(String bucketName, String objectName) {
+        return storageProperties.getLocal().getUrlPrefix() + "/" + bucketName + "/" + objectName;
+    }
+}
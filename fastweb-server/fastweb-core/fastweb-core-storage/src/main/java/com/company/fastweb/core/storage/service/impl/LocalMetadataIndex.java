@@ -0,0 +1,313 @@
+package com.company.fastweb.core.storage.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地存储的文件元数据索引
+ * <p>
+ * 每个存储桶按对象名称排序保存文件大小、修改时间与内容类型，前缀列出只需定位起点后顺序读取，
+ * 不再遍历目录和逐个读取文件属性。索引随上传与删除增量更新，后台定期扫描磁盘校正外部修改造成的偏差，
+ * 扫描后以快照持久化，重启时先加载快照再校正。
+ * <p>
+ * 根目录下以 "." 开头的目录（分片上传暂存目录、索引快照目录等）不作为存储桶。
+ *
+ * @author FastWeb
+ */
+@Slf4j
+public class LocalMetadataIndex implements Closeable {
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /**
+     * 上传时写入的临时文件前缀，不作为对象
+     */
+    private static final String TEMP_FILE_PREFIX = ".upload-";
+
+    /**
+     * 文件元数据
+     *
+     * @param size         文件大小（字节）
+     * @param lastModified 最后修改时间戳
+     * @param contentType  内容类型
+     */
+    public record Entry(long size, long lastModified, String contentType) {
+    }
+
+    private final Path root;
+    private final Path snapshotFile;
+    private final Map<String, NavigableMap<String, Entry>> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scanner;
+    private volatile boolean dirty;
+
+    /**
+     * @param root         本地存储根目录
+     * @param scanInterval 后台扫描间隔，为空或不大于 0 时只在启动时扫描一次
+     */
+    public LocalMetadataIndex(Path root, Duration scanInterval) {
+        this.root = root;
+        this.snapshotFile = root.resolve(".metadata").resolve("index.bin");
+        boolean loaded = loadSnapshot();
+        if (scanInterval == null || scanInterval.isZero() || scanInterval.isNegative()) {
+            this.scanner = null;
+            reconcileQuietly();
+            return;
+        }
+        if (!loaded) {
+            // 没有快照时同步构建，避免启动后短时间内列出结果为空
+            reconcileQuietly();
+        }
+        this.scanner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fastweb-storage-index-scanner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = scanInterval.toMillis();
+        scanner.scheduleWithFixedDelay(this::reconcileQuietly, loaded ? 0 : interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 列出存储桶中前缀匹配且排在 startAfter 之后的对象，按对象名称排序
+     *
+     * @param startAfter 起始对象名称（不包含），为 null 时从头开始
+     */
+    public NavigableMap<String, Entry> list(String bucketName, String prefix, String startAfter) {
+        NavigableMap<String, Entry> objects = buckets.get(bucketName);
+        if (objects == null) {
+            return Collections.emptyNavigableMap();
+        }
+        if (prefix != null && !prefix.isEmpty()) {
+            objects = objects.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+        return startAfter != null ? objects.tailMap(startAfter, false) : objects;
+    }
+
+    /**
+     * 按磁盘上的当前状态更新对象，文件不存在时移除
+     */
+    public void update(String bucketName, String objectName) {
+        Path file = root.resolve(bucketName).resolve(objectName);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                remove(bucketName, objectName);
+                return;
+            }
+            Entry entry = new Entry(attributes.size(), attributes.lastModifiedTime().toMillis(), Files.probeContentType(file));
+            buckets.computeIfAbsent(bucketName, name -> new ConcurrentSkipListMap<>()).put(objectName, entry);
+            dirty = true;
+        } catch (NoSuchFileException e) {
+            remove(bucketName, objectName);
+        } catch (IOException e) {
+            // 留给后台扫描校正
+            log.warn("更新文件元数据索引失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage());
+        }
+    }
+
+    public void remove(String bucketName, String objectName) {
+        NavigableMap<String, Entry> objects = buckets.get(bucketName);
+        if (objects != null && objects.remove(objectName) != null) {
+            dirty = true;
+        }
+    }
+
+    public void createBucket(String bucketName) {
+        buckets.computeIfAbsent(bucketName, name -> new ConcurrentSkipListMap<>());
+        dirty = true;
+    }
+
+    public void dropBucket(String bucketName) {
+        if (buckets.remove(bucketName) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * 扫描磁盘并校正索引，只对与索引不一致的文件重新读取属性
+     */
+    public synchronized void reconcile() throws IOException {
+        long start = System.currentTimeMillis();
+        Set<String> bucketNames = new HashSet<>();
+        int changed = 0;
+        if (Files.isDirectory(root)) {
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(root,
+                    path -> Files.isDirectory(path) && !path.getFileName().toString().startsWith("."))) {
+                for (Path bucketPath : children) {
+                    String bucketName = bucketPath.getFileName().toString();
+                    bucketNames.add(bucketName);
+                    changed += reconcileBucket(bucketName, bucketPath);
+                }
+            }
+        }
+        for (String bucketName : Set.copyOf(buckets.keySet())) {
+            if (!bucketNames.contains(bucketName) && !Files.isDirectory(root.resolve(bucketName))) {
+                dropBucket(bucketName);
+                changed++;
+            }
+        }
+        if (dirty) {
+            saveSnapshot();
+        }
+        log.debug("文件元数据索引扫描完成: root={}, buckets={}, changed={}, cost={}ms",
+                root, bucketNames.size(), changed, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void close() {
+        if (scanner != null) {
+            scanner.shutdownNow();
+        }
+        if (dirty) {
+            synchronized (this) {
+                saveSnapshot();
+            }
+        }
+    }
+
+    private int reconcileBucket(String bucketName, Path bucketPath) throws IOException {
+        Map<String, long[]> scanned = new HashMap<>();
+        Files.walkFileTree(bucketPath, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && !isTempFile(file)) {
+                    String objectName = bucketPath.relativize(file).toString().replace("\\", "/");
+                    scanned.put(objectName, new long[]{attrs.size(), attrs.lastModifiedTime().toMillis()});
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                // 扫描期间被删除的文件
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        NavigableMap<String, Entry> objects = buckets.computeIfAbsent(bucketName, name -> {
+            dirty = true;
+            return new ConcurrentSkipListMap<>();
+        });
+        // 扫描与索引不一致的对象以磁盘上的当前状态为准，避免覆盖扫描期间发生的上传或删除
+        int changed = 0;
+        for (Map.Entry<String, long[]> file : scanned.entrySet()) {
+            Entry entry = objects.get(file.getKey());
+            if (entry == null || entry.size() != file.getValue()[0] || entry.lastModified() != file.getValue()[1]) {
+                update(bucketName, file.getKey());
+                changed++;
+            }
+        }
+        for (String objectName : objects.keySet()) {
+            if (!scanned.containsKey(objectName)) {
+                update(bucketName, objectName);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("文件元数据索引扫描失败: root={}, error={}", root, e.getMessage(), e);
+        }
+    }
+
+    private boolean loadSnapshot() {
+        if (!Files.exists(snapshotFile)) {
+            return false;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (input.readInt() != SNAPSHOT_VERSION) {
+                log.warn("文件元数据索引快照版本不兼容，重新构建: file={}", snapshotFile);
+                return false;
+            }
+            int bucketCount = input.readInt();
+            long objectCount = 0;
+            for (int i = 0; i < bucketCount; i++) {
+                String bucketName = input.readUTF();
+                int count = input.readInt();
+                NavigableMap<String, Entry> objects = new ConcurrentSkipListMap<>();
+                for (int j = 0; j < count; j++) {
+                    String objectName = input.readUTF();
+                    long size = input.readLong();
+                    long lastModified = input.readLong();
+                    String contentType = input.readUTF();
+                    objects.put(objectName, new Entry(size, lastModified, contentType.isEmpty() ? null : contentType));
+                }
+                buckets.put(bucketName, objects);
+                objectCount += count;
+            }
+            log.info("文件元数据索引快照加载完成: file={}, buckets={}, objects={}", snapshotFile, bucketCount, objectCount);
+            return true;
+        } catch (IOException e) {
+            log.warn("文件元数据索引快照损坏，重新构建: file={}, error={}", snapshotFile, e.getMessage());
+            buckets.clear();
+            return false;
+        }
+    }
+
+    /**
+     * 写入临时文件后原子替换快照，调用方需持有索引锁
+     */
+    private void saveSnapshot() {
+        dirty = false;
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(SNAPSHOT_VERSION);
+                // 先复制视图，保证写入的数量与内容一致
+                Map<String, Map<String, Entry>> copy = new HashMap<>();
+                buckets.forEach((bucketName, objects) -> copy.put(bucketName, Map.copyOf(objects)));
+                output.writeInt(copy.size());
+                for (Map.Entry<String, Map<String, Entry>> bucket : copy.entrySet()) {
+                    output.writeUTF(bucket.getKey());
+                    output.writeInt(bucket.getValue().size());
+                    for (Map.Entry<String, Entry> object : bucket.getValue().entrySet()) {
+                        output.writeUTF(object.getKey());
+                        output.writeLong(object.getValue().size());
+                        output.writeLong(object.getValue().lastModified());
+                        output.writeUTF(Objects.requireNonNullElse(object.getValue().contentType(), ""));
+                    }
+                }
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            log.warn("保存文件元数据索引快照失败: file={}, error={}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private static boolean isTempFile(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.startsWith(TEMP_FILE_PREFIX) && fileName.endsWith(".tmp");
+    }
+}
@@ -2,58 +2,102 @@ package com.company.fastweb.core.storage.service.impl;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import com.company.fastweb.core.storage.config.StorageProperties;
 import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.BatchItemResultDTO;
+import com.company.fastweb.core.storage.model.dto.BatchResultDTO;
 import com.company.fastweb.core.storage.model.dto.FileInfoDTO;
+import com.company.fastweb.core.storage.model.dto.FileListDTO;
+import com.company.fastweb.core.storage.model.dto.UploadPartDTO;
+import com.company.fastweb.core.storage.model.dto.UploadSessionDTO;
 import com.company.fastweb.core.storage.service.StorageService;
+import com.company.fastweb.core.storage.util.BatchResultUtil;
+import com.company.fastweb.core.storage.util.ContinuationTokenUtil;
+import com.company.fastweb.core.storage.util.FileRangeInputStream;
 import com.company.fastweb.core.storage.util.StorageRetryUtil;
+import com.company.fastweb.core.storage.util.UploadSessionUtil;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * 本地存储服务实现
+ * <p>
+ * 列出文件通过 {@link LocalMetadataIndex} 完成，不遍历目录。
+ * 对象路径规范化后必须位于存储桶目录之内，存储桶名称不能包含路径分隔符或以 "." 开头。
  *
  * @author FastWeb
  */
 @Slf4j
-@RequiredArgsConstructor
-public class LocalStorageServiceImpl implements StorageService {
+public class LocalStorageServiceImpl implements StorageService, AutoCloseable {
 
     private final StorageProperties storageProperties;
+    private final LocalMetadataIndex metadataIndex;
+    private final ExecutorService batchExecutor;
+
+    public LocalStorageServiceImpl(StorageProperties storageProperties) {
+        this.storageProperties = storageProperties;
+        this.metadataIndex = new LocalMetadataIndex(Paths.get(storageProperties.getLocal().getPath()),
+                storageProperties.getLocal().getIndexScanInterval());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.batchExecutor = Executors.newFixedThreadPool(Math.max(1, storageProperties.getBatch().getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "fastweb-storage-batch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
     @Override
     public String uploadFile(String bucketName, String objectName, InputStream inputStream, String contentType) {
-        return StorageRetryUtil.executeWithRetry(() -> {
+        // 输入流只能读取一次，失败后无法重放，因此不做重试；大文件应使用分片上传
+        try {
+            Path filePath = getObjectPath(bucketName, objectName);
+
+            // 创建目录
+            Files.createDirectories(filePath.getParent());
+
+            // 先写入临时文件再替换，上传中断时不会留下不完整的目标文件
+            Path tempPath = Files.createTempFile(filePath.getParent(), ".upload-", ".tmp");
             try {
-                Path bucketPath = getBucketPath(bucketName);
-                Path filePath = bucketPath.resolve(objectName);
-                
-                // 创建目录
-                Files.createDirectories(filePath.getParent());
-                
-                // 写入文件
-                Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
-                
-                log.info("文件上传成功: bucket={}, object={}", bucketName, objectName);
-                return getObjectUrl(bucketName, objectName);
-                
-            } catch (IOException e) {
-                log.error("文件上传失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage(), e);
-                throw StorageException.fileUploadError(bucketName, objectName, e);
+                Files.copy(inputStream, tempPath, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                deleteQuietly(tempPath);
             }
-        }, String.format("uploadFile(bucket=%s, object=%s)", bucketName, objectName));
+            metadataIndex.update(bucketName, objectName);
+
+            log.info("文件上传成功: bucket={}, object={}", bucketName, objectName);
+            return getObjectUrl(bucketName, objectName);
+
+        } catch (IOException e) {
+            log.error("文件上传失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage(), e);
+            throw StorageException.fileUploadError(bucketName, objectName, e);
+        }
     }
 
     @Override
@@ -65,7 +109,7 @@ public class LocalStorageServiceImpl implements StorageService {
     public InputStream downloadFile(String bucketName, String objectName) {
         return StorageRetryUtil.executeWithRetry(() -> {
             try {
-                Path filePath = getBucketPath(bucketName).resolve(objectName);
+                Path filePath = getObjectPath(bucketName, objectName);
                 if (!Files.exists(filePath)) {
                     log.warn("文件不存在: bucket={}, object={}", bucketName, objectName);
                     throw StorageException.fileNotFound(bucketName, objectName);
@@ -84,13 +128,36 @@ public class LocalStorageServiceImpl implements StorageService {
         return downloadFile(storageProperties.getDefaultBucket(), objectName);
     }
 
+    @Override
+    public InputStream downloadFile(String bucketName, String objectName, long offset, long length) {
+        Path filePath = getObjectPath(bucketName, objectName);
+        try {
+            FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ);
+            log.debug("文件范围下载开始: bucket={}, object={}, offset={}, length={}", bucketName, objectName, offset, length);
+            return new FileRangeInputStream(channel, offset, length, true);
+        } catch (NoSuchFileException e) {
+            log.warn("文件不存在: bucket={}, object={}", bucketName, objectName);
+            throw StorageException.fileNotFound(bucketName, objectName);
+        } catch (IOException e) {
+            log.error("文件下载失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage(), e);
+            throw StorageException.fileDownloadError(bucketName, objectName, e);
+        }
+    }
+
+    @Override
+    public Path getLocalFile(String bucketName, String objectName) {
+        Path filePath = getObjectPath(bucketName, objectName);
+        return Files.isRegularFile(filePath) ? filePath : null;
+    }
+
     @Override
     public boolean deleteFile(String bucketName, String objectName) {
         try {
             return StorageRetryUtil.executeWithRetry(() -> {
                 try {
-                    Path filePath = getBucketPath(bucketName).resolve(objectName);
+                    Path filePath = getObjectPath(bucketName, objectName);
                     boolean deleted = Files.deleteIfExists(filePath);
+                    metadataIndex.remove(bucketName, objectName);
                     if (deleted) {
                         log.info("文件删除成功: bucket={}, object={}", bucketName, objectName);
                     } else {
@@ -115,18 +182,26 @@ public class LocalStorageServiceImpl implements StorageService {
 
     @Override
     public List<String> deleteFiles(String bucketName, List<String> objectNames) {
-        List<String> errors = new ArrayList<>();
-        for (String objectName : objectNames) {
-            if (!deleteFile(bucketName, objectName)) {
-                errors.add("删除失败: " + objectName);
-            }
-        }
-        return errors;
+        return batchDeleteFiles(bucketName, objectNames).getResults().stream()
+                .filter(result -> !result.getSuccess())
+                .map(result -> "删除失败: " + result.getObjectName())
+                .toList();
+    }
+
+    @Override
+    public BatchResultDTO batchDeleteFiles(String bucketName, List<String> objectNames) {
+        // 本地删除失败通常不是暂时性的，不经过重试退避，直接在线程池中并行删除
+        List<CompletableFuture<BatchItemResultDTO>> futures = objectNames.stream()
+                .map(objectName -> CompletableFuture.supplyAsync(() -> deleteForBatch(bucketName, objectName), batchExecutor))
+                .toList();
+        BatchResultDTO result = BatchResultUtil.of(futures.stream().map(CompletableFuture::join).toList());
+        log.info("批量删除文件完成: bucket={}, total={}, failed={}", bucketName, result.getTotal(), result.getFailed());
+        return result;
     }
 
     @Override
     public boolean fileExists(String bucketName, String objectName) {
-        Path filePath = getBucketPath(bucketName).resolve(objectName);
+        Path filePath = getObjectPath(bucketName, objectName);
         return Files.exists(filePath);
     }
 
@@ -139,7 +214,7 @@ public class LocalStorageServiceImpl implements StorageService {
     public FileInfoDTO getFileInfo(String bucketName, String objectName) {
         return StorageRetryUtil.executeWithRetry(() -> {
             try {
-                Path filePath = getBucketPath(bucketName).resolve(objectName);
+                Path filePath = getObjectPath(bucketName, objectName);
                 if (!Files.exists(filePath)) {
                     log.debug("文件不存在: bucket={}, object={}", bucketName, objectName);
                     return null;
@@ -147,9 +222,9 @@ public class LocalStorageServiceImpl implements StorageService {
 
                 String contentType = Files.probeContentType(filePath);
                 long size = Files.size(filePath);
-                String lastModified = Files.getLastModifiedTime(filePath).toString();
-                // ETag is not readily available for local files, so we'll use an empty string.
-                String etag = "";
+                FileTime modifiedTime = Files.getLastModifiedTime(filePath);
+                String lastModified = modifiedTime.toString();
+                String etag = getEtag(size, modifiedTime);
 
                 log.debug("获取文件信息成功: bucket={}, object={}, size={}", bucketName, objectName, size);
                 return FileInfoDTO.builder()
@@ -174,48 +249,7 @@ public class LocalStorageServiceImpl implements StorageService {
 
     @Override
     public List<FileInfoDTO> listFiles(String bucketName, String prefix, int maxKeys) {
-        return StorageRetryUtil.executeWithRetry(() -> {
-            List<FileInfoDTO> files = new ArrayList<>();
-            try {
-                Path bucketPath = getBucketPath(bucketName);
-                if (!Files.exists(bucketPath)) {
-                    log.debug("存储桶不存在: bucket={}", bucketName);
-                    return files;
-                }
-
-                try (Stream<Path> paths = Files.walk(bucketPath)) {
-                    paths.filter(Files::isRegularFile)
-                        .filter(path -> {
-                            String relativePath = bucketPath.relativize(path).toString().replace("\\", "/");
-                            return prefix == null || relativePath.startsWith(prefix);
-                        })
-                        .limit(maxKeys)
-                        .forEach(path -> {
-                            try {
-                                String objectName = bucketPath.relativize(path).toString().replace("\\", "/");
-                                String contentType = Files.probeContentType(path);
-                                long size = Files.size(path);
-                                String lastModified = Files.getLastModifiedTime(path).toString();
-                                
-                                files.add(FileInfoDTO.builder()
-                                        .objectName(objectName)
-                                        .etag("")
-                                        .size(size)
-                                        .lastModified(lastModified)
-                                        .contentType(contentType)
-                                        .build());
-                            } catch (IOException e) {
-                                log.warn("获取文件信息失败: path={}, error={}", path, e.getMessage());
-                            }
-                        });
-                }
-                log.debug("列出文件成功: bucket={}, prefix={}, count={}", bucketName, prefix, files.size());
-            } catch (IOException e) {
-                log.error("列出文件失败: bucket={}, prefix={}, error={}", bucketName, prefix, e.getMessage(), e);
-                throw StorageException.listObjectsError(bucketName, prefix, e);
-            }
-            return files;
-        }, String.format("listFiles(bucket=%s, prefix=%s, maxKeys=%d)", bucketName, prefix, maxKeys));
+        return listFiles(bucketName, prefix, null, maxKeys).getFiles();
     }
 
     @Override
@@ -223,6 +257,30 @@ public class LocalStorageServiceImpl implements StorageService {
         return listFiles(storageProperties.getDefaultBucket(), prefix, maxKeys);
     }
 
+    @Override
+    public FileListDTO listFiles(String bucketName, String prefix, String continuationToken, int maxKeys) {
+        maxKeys = ContinuationTokenUtil.checkMaxKeys(maxKeys);
+        String startAfter = ContinuationTokenUtil.decode(continuationToken);
+        List<FileInfoDTO> files = new ArrayList<>();
+        for (Map.Entry<String, LocalMetadataIndex.Entry> object : metadataIndex.list(bucketName, prefix, startAfter).entrySet()) {
+            if (files.size() > maxKeys) {
+                break;
+            }
+            LocalMetadataIndex.Entry entry = object.getValue();
+            FileTime modifiedTime = FileTime.fromMillis(entry.lastModified());
+            files.add(FileInfoDTO.builder()
+                    .objectName(object.getKey())
+                    .etag(getEtag(entry.size(), modifiedTime))
+                    .size(entry.size())
+                    .lastModified(modifiedTime.toString())
+                    .contentType(entry.contentType())
+                    .build());
+        }
+        FileListDTO page = ContinuationTokenUtil.toPage(files, maxKeys);
+        log.debug("列出文件成功: bucket={}, prefix={}, count={}", bucketName, prefix, page.getFiles().size());
+        return page;
+    }
+
     @Override
     public String getPresignedUploadUrl(String bucketName, String objectName, int expiry) {
         try {
@@ -273,6 +331,7 @@ public class LocalStorageServiceImpl implements StorageService {
                 }
                 
                 Files.createDirectories(bucketPath);
+                metadataIndex.createBucket(bucketName);
                 log.info("创建存储桶成功: bucket={}, path={}", bucketName, bucketPath);
                 return true;
             } catch (IOException e) {
@@ -293,19 +352,8 @@ public class LocalStorageServiceImpl implements StorageService {
                 }
                 
                 // 删除目录及其所有内容
-                Files.walkFileTree(bucketPath, new SimpleFileVisitor<Path>() {
-                    @Override
-                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                        Files.delete(file);
-                        return FileVisitResult.CONTINUE;
-                    }
-
-                    @Override
-                    public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-                        Files.delete(dir);
-                        return FileVisitResult.CONTINUE;
-                    }
-                });
+                deleteRecursively(bucketPath);
+                metadataIndex.dropBucket(bucketName);
                 log.info("删除存储桶成功: bucket={}, path={}", bucketName, bucketPath);
                 return true;
             } catch (IOException e) {
@@ -328,11 +376,253 @@ public class LocalStorageServiceImpl implements StorageService {
         }
     }
 
+    @Override
+    public UploadSessionDTO initiateUpload(String bucketName, String objectName, String contentType,
+                                           Long totalSize, Long partSize) {
+        UploadSessionDTO session = UploadSessionUtil.newSession(bucketName, objectName, contentType,
+                totalSize, partSize, storageProperties.getUpload().getPartSize());
+        try {
+            Path sessionPath = getSessionPath(session.getUploadId());
+            Files.createDirectories(sessionPath);
+            Path tempPath = Files.createTempFile(sessionPath, UploadSessionUtil.MANIFEST_NAME, ".tmp");
+            Files.writeString(tempPath, UploadSessionUtil.toManifest(session), StandardCharsets.UTF_8);
+            Files.move(tempPath, sessionPath.resolve(UploadSessionUtil.MANIFEST_NAME), StandardCopyOption.ATOMIC_MOVE);
+            log.info("初始化分片上传: uploadId={}, bucket={}, object={}, partSize={}, totalSize={}",
+                    session.getUploadId(), bucketName, objectName, session.getPartSize(), totalSize);
+            return session;
+        } catch (IOException e) {
+            log.error("初始化分片上传失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage(), e);
+            throw StorageException.uploadSessionError(session.getUploadId(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public UploadPartDTO uploadPart(String uploadId, int partNumber, InputStream inputStream, long size) {
+        UploadSessionDTO session = readSession(uploadId, false);
+        UploadSessionUtil.checkPartNumber(session, partNumber);
+        Path sessionPath = getSessionPath(uploadId);
+        String partName = UploadSessionUtil.partName(partNumber);
+        Path tempPath = null;
+        try {
+            // 分片先写入临时文件，校验大小后原子替换，会话中只会出现完整的分片
+            tempPath = Files.createTempFile(sessionPath, partName + ".", ".tmp");
+            MessageDigest md5 = MessageDigest.getInstance("MD5");
+            long written = Files.copy(new DigestInputStream(inputStream, md5), tempPath, StandardCopyOption.REPLACE_EXISTING);
+            if (size >= 0 && written != size) {
+                throw new IOException(String.format("分片数据不完整: expected=%d, actual=%d", size, written));
+            }
+            Files.move(tempPath, sessionPath.resolve(partName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("分片上传成功: uploadId={}, part={}, size={}", uploadId, partNumber, written);
+            return UploadPartDTO.builder()
+                    .partNumber(partNumber)
+                    .size(written)
+                    .etag(HexFormat.of().formatHex(md5.digest()))
+                    .build();
+        } catch (NoSuchFileException e) {
+            throw StorageException.uploadSessionNotFound(uploadId);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.warn("分片上传失败: uploadId={}, part={}, error={}", uploadId, partNumber, e.getMessage());
+            throw StorageException.uploadPartError(uploadId, partNumber, e);
+        } finally {
+            deleteQuietly(tempPath);
+        }
+    }
+
+    @Override
+    public UploadSessionDTO getUploadSession(String uploadId) {
+        return readSession(uploadId, true);
+    }
+
+    @Override
+    public String completeUpload(String uploadId) {
+        UploadSessionDTO session = readSession(uploadId, true);
+        UploadSessionUtil.checkComplete(session);
+        String bucketName = session.getBucketName();
+        String objectName = session.getObjectName();
+        Path sessionPath = getSessionPath(uploadId);
+        Path tempPath = null;
+        try {
+            Path filePath = getObjectPath(bucketName, objectName);
+            Files.createDirectories(filePath.getParent());
+            tempPath = Files.createTempFile(filePath.getParent(), ".upload-", ".tmp");
+            // 通过 transferTo 合并分片，数据不经过用户态缓冲区
+            try (FileChannel target = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+                for (UploadPartDTO part : session.getParts()) {
+                    Path partPath = sessionPath.resolve(UploadSessionUtil.partName(part.getPartNumber()));
+                    try (FileChannel source = FileChannel.open(partPath, StandardOpenOption.READ)) {
+                        long position = 0;
+                        long partSize = source.size();
+                        while (position < partSize) {
+                            position += source.transferTo(position, partSize - position, target);
+                        }
+                    }
+                }
+            }
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            metadataIndex.update(bucketName, objectName);
+            deleteRecursively(sessionPath);
+            log.info("分片上传完成: uploadId={}, bucket={}, object={}, parts={}, size={}",
+                    uploadId, bucketName, objectName, session.getParts().size(), session.getUploadedSize());
+            return getObjectUrl(bucketName, objectName);
+        } catch (IOException e) {
+            log.error("合并分片失败: uploadId={}, bucket={}, object={}, error={}", uploadId, bucketName, objectName, e.getMessage(), e);
+            throw StorageException.fileUploadError(bucketName, objectName, e);
+        } finally {
+            deleteQuietly(tempPath);
+        }
+    }
+
+    @Override
+    public boolean abortUpload(String uploadId) {
+        UploadSessionUtil.checkUploadId(uploadId);
+        Path sessionPath = getSessionPath(uploadId);
+        if (!Files.exists(sessionPath)) {
+            log.debug("上传会话不存在，无需取消: uploadId={}", uploadId);
+            return false;
+        }
+        try {
+            deleteRecursively(sessionPath);
+            log.info("取消分片上传: uploadId={}", uploadId);
+            return true;
+        } catch (IOException e) {
+            log.error("取消分片上传失败: uploadId={}, error={}", uploadId, e.getMessage(), e);
+            throw StorageException.uploadSessionError(uploadId, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        batchExecutor.shutdownNow();
+        metadataIndex.close();
+    }
+
+    /**
+     * 批量删除中的单个对象，失败时返回失败结果而不抛出异常
+     */
+    private BatchItemResultDTO deleteForBatch(String bucketName, String objectName) {
+        try {
+            boolean deleted = Files.deleteIfExists(getObjectPath(bucketName, objectName));
+            metadataIndex.remove(bucketName, objectName);
+            return deleted
+                    ? BatchResultUtil.success(objectName, null)
+                    : BatchResultUtil.failure(objectName, StorageException.FILE_NOT_FOUND, "文件不存在");
+        } catch (StorageException e) {
+            return BatchResultUtil.failure(objectName, StorageException.FILE_DELETE_ERROR, e);
+        } catch (IOException e) {
+            log.warn("文件删除失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage());
+            return BatchResultUtil.failure(objectName, StorageException.FILE_DELETE_ERROR, e);
+        }
+    }
+
+    /**
+     * 读取会话清单
+     *
+     * @param withParts 是否列出已上传的分片
+     */
+    private UploadSessionDTO readSession(String uploadId, boolean withParts) {
+        UploadSessionUtil.checkUploadId(uploadId);
+        Path sessionPath = getSessionPath(uploadId);
+        try {
+            String manifest = Files.readString(sessionPath.resolve(UploadSessionUtil.MANIFEST_NAME), StandardCharsets.UTF_8);
+            List<UploadPartDTO> parts = new ArrayList<>();
+            if (withParts) {
+                try (Stream<Path> paths = Files.list(sessionPath)) {
+                    for (Path path : paths.toList()) {
+                        int partNumber = UploadSessionUtil.parsePartNumber(path.getFileName().toString());
+                        if (partNumber > 0) {
+                            parts.add(UploadPartDTO.builder().partNumber(partNumber).size(Files.size(path)).build());
+                        }
+                    }
+                }
+            }
+            return UploadSessionUtil.fromManifest(uploadId, manifest, parts);
+        } catch (NoSuchFileException e) {
+            throw StorageException.uploadSessionNotFound(uploadId);
+        } catch (IOException e) {
+            log.error("读取上传会话失败: uploadId={}, error={}", uploadId, e.getMessage(), e);
+            throw StorageException.uploadSessionError(uploadId, e.getMessage(), e);
+        }
+    }
+
     /**
-     * 获取存储桶路径
+     * 获取上传会话目录
+     */
+    private Path getSessionPath(String uploadId) {
+        return Paths.get(storageProperties.getLocal().getPath(), storageProperties.getUpload().getStagingPrefix(), uploadId);
+    }
+
+    /**
+     * 删除目录及其所有内容
+     */
+    private void deleteRecursively(Path path) throws IOException {
+        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * 删除临时文件，失败时只记录日志
+     */
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除临时文件失败: path={}, error={}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 获取存储桶路径，拒绝包含路径分隔符、".." 或以 "." 开头（暂存目录、索引目录）的存储桶名称
      */
     private Path getBucketPath(String bucketName) {
-        return Paths.get(storageProperties.getLocal().getPath(), bucketName);
+        if (bucketName == null || bucketName.isEmpty() || bucketName.startsWith(".") || bucketName.contains("..")
+                || bucketName.contains("/") || bucketName.contains("\\")) {
+            throw StorageException.invalidBucketName(bucketName);
+        }
+        try {
+            return Paths.get(storageProperties.getLocal().getPath(), bucketName);
+        } catch (InvalidPathException e) {
+            throw StorageException.invalidBucketName(bucketName);
+        }
+    }
+
+    /**
+     * 获取对象文件路径，规范化后必须位于存储桶目录之内，防止通过 ".." 或绝对路径访问存储桶以外的文件
+     */
+    private Path getObjectPath(String bucketName, String objectName) {
+        Path bucketPath = getBucketPath(bucketName).normalize();
+        if (objectName == null || objectName.isEmpty()) {
+            throw StorageException.invalidObjectName(bucketName, objectName);
+        }
+        try {
+            Path filePath = bucketPath.resolve(objectName).normalize();
+            if (!filePath.startsWith(bucketPath) || filePath.equals(bucketPath)) {
+                throw StorageException.invalidObjectName(bucketName, objectName);
+            }
+            return filePath;
+        } catch (InvalidPathException e) {
+            throw StorageException.invalidObjectName(bucketName, objectName);
+        }
+    }
+
+    /**
+     * 由文件大小和修改时间生成 ETag，文件内容变化时随之变化，无需读取文件计算摘要
+     */
+    private String getEtag(long size, FileTime modifiedTime) {
+        return Long.toHexString(size) + "-" + Long.toHexString(modifiedTime.toMillis());
     }
 
     /**
@@ -1,28 +1,40 @@
 package com.company.fastweb.core.storage.service.impl;
 
+import com.company.fastweb.core.storage.config.StorageProperties;
 import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.BatchItemResultDTO;
+import com.company.fastweb.core.storage.model.dto.BatchResultDTO;
 import com.company.fastweb.core.storage.model.dto.FileInfoDTO;
+import com.company.fastweb.core.storage.model.dto.FileListDTO;
+import com.company.fastweb.core.storage.model.dto.UploadPartDTO;
+import com.company.fastweb.core.storage.model.dto.UploadSessionDTO;
 import com.company.fastweb.core.storage.service.StorageService;
+import com.company.fastweb.core.storage.util.BatchResultUtil;
+import com.company.fastweb.core.storage.util.ContinuationTokenUtil;
 import com.company.fastweb.core.storage.util.StorageRetryUtil;
+import com.company.fastweb.core.storage.util.UploadSessionUtil;
 import io.minio.*;
 import io.minio.errors.*;
 import io.minio.messages.DeleteError;
 import io.minio.messages.DeleteObject;
 import io.minio.messages.Item;
 import io.minio.http.Method;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -32,44 +44,53 @@ import java.util.stream.Collectors;
  * @author FastWeb
  */
 @Slf4j
-@RequiredArgsConstructor
 public class MinioStorageServiceImpl implements StorageService {
 
     private final MinioClient minioClient;
 
+    private final StorageProperties.UploadProperties uploadProperties;
+
     @Value("${fastweb.storage.minio.default-bucket:fastweb}")
     private String defaultBucket;
 
     @Value("${fastweb.storage.minio.endpoint:}")
     private String endpoint;
 
+    public MinioStorageServiceImpl(MinioClient minioClient) {
+        this(minioClient, new StorageProperties.UploadProperties());
+    }
+
+    public MinioStorageServiceImpl(MinioClient minioClient, StorageProperties.UploadProperties uploadProperties) {
+        this.minioClient = minioClient;
+        this.uploadProperties = uploadProperties;
+    }
+
     @Override
     public String uploadFile(String bucketName, String objectName, InputStream inputStream, String contentType) {
-        return StorageRetryUtil.executeWithRetry(() -> {
-            try {
-                // 确保存储桶存在
-                if (!bucketExists(bucketName)) {
-                    createBucket(bucketName);
-                }
+        // 输入流只能读取一次，失败后无法重放，因此不做重试；大文件应使用分片上传
+        try {
+            // 确保存储桶存在
+            if (!bucketExists(bucketName)) {
+                createBucket(bucketName);
+            }
 
-                // 上传文件
-                minioClient.putObject(
-                    PutObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .stream(inputStream, -1, 10485760) // 10MB
-                        .contentType(contentType)
-                        .build()
-                );
+            // 上传文件，大小未知时按配置的分片大小流式分片上传
+            minioClient.putObject(
+                PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .stream(inputStream, -1, Math.max(uploadProperties.getPartSize(), UploadSessionUtil.MIN_PART_SIZE))
+                    .contentType(contentType)
+                    .build()
+            );
 
-                log.info("文件上传成功: bucket={}, object={}", bucketName, objectName);
-                return getFileUrl(bucketName, objectName);
+            log.info("文件上传成功: bucket={}, object={}", bucketName, objectName);
+            return getFileUrl(bucketName, objectName);
 
-            } catch (MinioException | IOException | InvalidKeyException | NoSuchAlgorithmException e) {
-                log.error("文件上传失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage(), e);
-                throw StorageException.fileUploadError(bucketName, objectName, e);
-            }
-        }, String.format("uploadFile(bucket=%s, object=%s)", bucketName, objectName));
+        } catch (MinioException | IOException | InvalidKeyException | NoSuchAlgorithmException e) {
+            log.error("文件上传失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage(), e);
+            throw StorageException.fileUploadError(bucketName, objectName, e);
+        }
     }
 
     @Override
@@ -101,6 +122,27 @@ public class MinioStorageServiceImpl implements StorageService {
         return downloadFile(defaultBucket, objectName);
     }
 
+    @Override
+    public InputStream downloadFile(String bucketName, String objectName, long offset, long length) {
+        return StorageRetryUtil.executeWithRetry(() -> {
+            try {
+                InputStream inputStream = minioClient.getObject(
+                    GetObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .offset(offset)
+                        .length(length)
+                        .build()
+                );
+                log.debug("文件范围下载成功: bucket={}, object={}, offset={}, length={}", bucketName, objectName, offset, length);
+                return inputStream;
+            } catch (MinioException | IOException | InvalidKeyException | NoSuchAlgorithmException e) {
+                log.error("文件下载失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage(), e);
+                throw StorageException.fileDownloadError(bucketName, objectName, e);
+            }
+        }, String.format("downloadFile(bucket=%s, object=%s, offset=%d, length=%d)", bucketName, objectName, offset, length));
+    }
+
     @Override
     public boolean deleteFile(String bucketName, String objectName) {
         return StorageRetryUtil.executeWithRetry(() -> {
@@ -127,7 +169,16 @@ public class MinioStorageServiceImpl implements StorageService {
 
     @Override
     public List<String> deleteFiles(String bucketName, List<String> objectNames) {
-        List<String> errors = new ArrayList<>();
+        return batchDeleteFiles(bucketName, objectNames).getResults().stream()
+                .filter(result -> !result.getSuccess())
+                .map(result -> result.getObjectName() + ": " + result.getErrorMessage())
+                .toList();
+    }
+
+    @Override
+    public BatchResultDTO batchDeleteFiles(String bucketName, List<String> objectNames) {
+        // 通过 Multi-Object Delete 批量删除，客户端按每批 1000 个对象分批请求，只返回删除失败的对象
+        Map<String, BatchItemResultDTO> errors = new HashMap<>();
         try {
             List<DeleteObject> objects = objectNames.stream()
                 .map(DeleteObject::new)
@@ -142,15 +193,20 @@ public class MinioStorageServiceImpl implements StorageService {
 
             for (Result<DeleteError> result : results) {
                 DeleteError error = result.get();
-                errors.add(error.objectName() + ": " + error.message());
+                errors.put(error.objectName(), BatchResultUtil.failure(error.objectName(), error.code(), error.message()));
             }
-
-            log.info("批量删除文件完成: bucket={}, total={}, errors={}", bucketName, objectNames.size(), errors.size());
         } catch (Exception e) {
             log.error("批量删除文件失败: bucket={}", bucketName, e);
-            errors.add("批量删除失败: " + e.getMessage());
+            // 请求失败时无法确定哪些对象已删除，全部按失败返回
+            objectNames.forEach(objectName -> errors.putIfAbsent(objectName,
+                    BatchResultUtil.failure(objectName, StorageException.FILE_DELETE_ERROR, e)));
         }
-        return errors;
+
+        BatchResultDTO result = BatchResultUtil.of(objectNames.stream()
+                .map(objectName -> errors.getOrDefault(objectName, BatchResultUtil.success(objectName, null)))
+                .toList());
+        log.info("批量删除文件完成: bucket={}, total={}, errors={}", bucketName, result.getTotal(), result.getFailed());
+        return result;
     }
 
     @Override
@@ -224,8 +280,13 @@ public class MinioStorageServiceImpl implements StorageService {
                     .build()
             );
 
+            String stagingPrefix = uploadProperties.getStagingPrefix() + "/";
             for (Result<Item> result : results) {
                 Item item = result.get();
+                if (item.objectName().startsWith(stagingPrefix)) {
+                    // 分片上传暂存对象不对外列出
+                    continue;
+                }
                 files.add(FileInfoDTO.builder()
                         .objectName(item.objectName())
                         .etag(item.etag())
@@ -246,6 +307,44 @@ public class MinioStorageServiceImpl implements StorageService {
         return listFiles(defaultBucket, prefix, maxKeys);
     }
 
+    @Override
+    public FileListDTO listFiles(String bucketName, String prefix, String continuationToken, int maxKeys) {
+        maxKeys = ContinuationTokenUtil.checkMaxKeys(maxKeys);
+        String startAfter = ContinuationTokenUtil.decode(continuationToken);
+        List<FileInfoDTO> files = new ArrayList<>();
+        try {
+            ListObjectsArgs.Builder args = ListObjectsArgs.builder()
+                    .bucket(bucketName)
+                    .prefix(prefix)
+                    .maxKeys(Math.min(maxKeys + 1, ContinuationTokenUtil.MAX_KEYS));
+            if (startAfter != null) {
+                args.startAfter(startAfter);
+            }
+
+            String stagingPrefix = uploadProperties.getStagingPrefix() + "/";
+            // 迭代器会自动请求后续页，多取一个用于判断是否还有后续结果后即停止
+            for (Result<Item> result : minioClient.listObjects(args.build())) {
+                Item item = result.get();
+                if (item.objectName().startsWith(stagingPrefix)) {
+                    continue;
+                }
+                files.add(FileInfoDTO.builder()
+                        .objectName(item.objectName())
+                        .etag(item.etag())
+                        .size(item.size())
+                        .lastModified(item.lastModified() != null ? item.lastModified().toString() : null)
+                        .build());
+                if (files.size() > maxKeys) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("列出文件失败: bucket={}, prefix={}", bucketName, prefix, e);
+            throw StorageException.listObjectsError(bucketName, prefix, e);
+        }
+        return ContinuationTokenUtil.toPage(files, maxKeys);
+    }
+
     @Override
     public String getPresignedUploadUrl(String bucketName, String objectName, int expiry) {
         try {
@@ -328,6 +427,224 @@ public class MinioStorageServiceImpl implements StorageService {
         }
     }
 
+    @Override
+    public UploadSessionDTO initiateUpload(String bucketName, String objectName, String contentType,
+                                           Long totalSize, Long partSize) {
+        UploadSessionDTO session = UploadSessionUtil.newSession(bucketName, objectName, contentType,
+                totalSize, partSize, uploadProperties.getPartSize());
+        String uploadId = session.getUploadId();
+        if (session.getPartSize() < UploadSessionUtil.MIN_PART_SIZE
+                && (totalSize == null || totalSize > session.getPartSize())) {
+            throw StorageException.uploadSessionError(uploadId,
+                    "分片大小不能小于 " + UploadSessionUtil.MIN_PART_SIZE + " 字节: partSize=" + session.getPartSize());
+        }
+        try {
+            String stagingBucket = getStagingBucket();
+            if (!bucketExists(stagingBucket)) {
+                createBucket(stagingBucket);
+            }
+            byte[] manifest = UploadSessionUtil.toManifest(session).getBytes(StandardCharsets.UTF_8);
+            minioClient.putObject(
+                PutObjectArgs.builder()
+                    .bucket(stagingBucket)
+                    .object(getSessionPrefix(uploadId) + UploadSessionUtil.MANIFEST_NAME)
+                    .stream(new ByteArrayInputStream(manifest), manifest.length, -1)
+                    .contentType("application/json")
+                    .build()
+            );
+            log.info("初始化分片上传: uploadId={}, bucket={}, object={}, partSize={}, totalSize={}",
+                    uploadId, bucketName, objectName, session.getPartSize(), totalSize);
+            return session;
+        } catch (MinioException | IOException | InvalidKeyException | NoSuchAlgorithmException e) {
+            log.error("初始化分片上传失败: bucket={}, object={}, error={}", bucketName, objectName, e.getMessage(), e);
+            throw StorageException.uploadSessionError(uploadId, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public UploadPartDTO uploadPart(String uploadId, int partNumber, InputStream inputStream, long size) {
+        UploadSessionDTO session = readSession(uploadId, false);
+        UploadSessionUtil.checkPartNumber(session, partNumber);
+        String partObject = getSessionPrefix(uploadId) + UploadSessionUtil.partName(partNumber);
+        try {
+            ObjectWriteResponse response = minioClient.putObject(
+                PutObjectArgs.builder()
+                    .bucket(getStagingBucket())
+                    .object(partObject)
+                    .stream(inputStream, size, size < 0 ? Math.max(session.getPartSize(), UploadSessionUtil.MIN_PART_SIZE) : -1)
+                    .build()
+            );
+            long partSize = size >= 0 ? size : minioClient.statObject(
+                StatObjectArgs.builder()
+                    .bucket(getStagingBucket())
+                    .object(partObject)
+                    .build()
+            ).size();
+            log.debug("分片上传成功: uploadId={}, part={}, size={}", uploadId, partNumber, partSize);
+            return UploadPartDTO.builder()
+                    .partNumber(partNumber)
+                    .size(partSize)
+                    .etag(response.etag())
+                    .build();
+        } catch (MinioException | IOException | InvalidKeyException | NoSuchAlgorithmException e) {
+            log.warn("分片上传失败: uploadId={}, part={}, error={}", uploadId, partNumber, e.getMessage());
+            throw StorageException.uploadPartError(uploadId, partNumber, e);
+        }
+    }
+
+    @Override
+    public UploadSessionDTO getUploadSession(String uploadId) {
+        return readSession(uploadId, true);
+    }
+
+    @Override
+    public String completeUpload(String uploadId) {
+        UploadSessionDTO session = readSession(uploadId, true);
+        UploadSessionUtil.checkComplete(session);
+        String bucketName = session.getBucketName();
+        String objectName = session.getObjectName();
+        try {
+            if (!bucketExists(bucketName)) {
+                createBucket(bucketName);
+            }
+            List<ComposeSource> sources = session.getParts().stream()
+                .map(part -> ComposeSource.builder()
+                    .bucket(getStagingBucket())
+                    .object(getSessionPrefix(uploadId) + UploadSessionUtil.partName(part.getPartNumber()))
+                    .build())
+                .collect(Collectors.toList());
+            ComposeObjectArgs.Builder builder = ComposeObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .sources(sources);
+            if (session.getContentType() != null) {
+                builder.headers(Map.of("Content-Type", session.getContentType()));
+            }
+            // 服务端合并分片，数据不经过应用
+            minioClient.composeObject(builder.build());
+            removeSession(uploadId);
+            log.info("分片上传完成: uploadId={}, bucket={}, object={}, parts={}, size={}",
+                    uploadId, bucketName, objectName, sources.size(), session.getUploadedSize());
+            return getFileUrl(bucketName, objectName);
+        } catch (MinioException | IOException | InvalidKeyException | NoSuchAlgorithmException e) {
+            log.error("合并分片失败: uploadId={}, bucket={}, object={}, error={}", uploadId, bucketName, objectName, e.getMessage(), e);
+            throw StorageException.fileUploadError(bucketName, objectName, e);
+        }
+    }
+
+    @Override
+    public boolean abortUpload(String uploadId) {
+        UploadSessionUtil.checkUploadId(uploadId);
+        try {
+            boolean existed = removeSession(uploadId);
+            if (existed) {
+                log.info("取消分片上传: uploadId={}", uploadId);
+            } else {
+                log.debug("上传会话不存在，无需取消: uploadId={}", uploadId);
+            }
+            return existed;
+        } catch (MinioException | IOException | InvalidKeyException | NoSuchAlgorithmException e) {
+            log.error("取消分片上传失败: uploadId={}, error={}", uploadId, e.getMessage(), e);
+            throw StorageException.uploadSessionError(uploadId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 读取会话清单
+     *
+     * @param withParts 是否列出已上传的分片
+     */
+    private UploadSessionDTO readSession(String uploadId, boolean withParts) {
+        UploadSessionUtil.checkUploadId(uploadId);
+        String sessionPrefix = getSessionPrefix(uploadId);
+        String manifest;
+        try (InputStream inputStream = minioClient.getObject(
+                GetObjectArgs.builder()
+                    .bucket(getStagingBucket())
+                    .object(sessionPrefix + UploadSessionUtil.MANIFEST_NAME)
+                    .build())) {
+            manifest = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                throw StorageException.uploadSessionNotFound(uploadId);
+            }
+            throw StorageException.uploadSessionError(uploadId, e.getMessage(), e);
+        } catch (MinioException | IOException | InvalidKeyException | NoSuchAlgorithmException e) {
+            log.error("读取上传会话失败: uploadId={}, error={}", uploadId, e.getMessage(), e);
+            throw StorageException.uploadSessionError(uploadId, e.getMessage(), e);
+        }
+
+        List<UploadPartDTO> parts = new ArrayList<>();
+        if (withParts) {
+            try {
+                for (Result<Item> result : listSessionObjects(sessionPrefix + UploadSessionUtil.PART_PREFIX)) {
+                    Item item = result.get();
+                    int partNumber = UploadSessionUtil.parsePartNumber(item.objectName().substring(sessionPrefix.length()));
+                    if (partNumber > 0) {
+                        parts.add(UploadPartDTO.builder()
+                                .partNumber(partNumber)
+                                .size(item.size())
+                                .etag(item.etag())
+                                .build());
+                    }
+                }
+            } catch (MinioException | IOException | InvalidKeyException | NoSuchAlgorithmException e) {
+                log.error("列出已上传分片失败: uploadId={}, error={}", uploadId, e.getMessage(), e);
+                throw StorageException.uploadSessionError(uploadId, e.getMessage(), e);
+            }
+        }
+        return UploadSessionUtil.fromManifest(uploadId, manifest, parts);
+    }
+
+    /**
+     * 删除会话清单及所有分片
+     *
+     * @return 会话是否存在
+     */
+    private boolean removeSession(String uploadId)
+            throws MinioException, IOException, InvalidKeyException, NoSuchAlgorithmException {
+        List<DeleteObject> objects = new ArrayList<>();
+        for (Result<Item> result : listSessionObjects(getSessionPrefix(uploadId))) {
+            objects.add(new DeleteObject(result.get().objectName()));
+        }
+        if (objects.isEmpty()) {
+            return false;
+        }
+        Iterable<Result<DeleteError>> results = minioClient.removeObjects(
+            RemoveObjectsArgs.builder()
+                .bucket(getStagingBucket())
+                .objects(objects)
+                .build()
+        );
+        // removeObjects 为惰性执行，需要遍历结果才会真正删除
+        for (Result<DeleteError> result : results) {
+            DeleteError error = result.get();
+            log.warn("删除分片失败: uploadId={}, object={}, error={}", uploadId, error.objectName(), error.message());
+        }
+        return true;
+    }
+
+    private Iterable<Result<Item>> listSessionObjects(String prefix) {
+        return minioClient.listObjects(
+            ListObjectsArgs.builder()
+                .bucket(getStagingBucket())
+                .prefix(prefix)
+                .recursive(true)
+                .build()
+        );
+    }
+
+    /**
+     * 分片暂存在默认存储桶中，会话只需 uploadId 即可定位
+     */
+    private String getStagingBucket() {
+        return defaultBucket != null ? defaultBucket : "fastweb";
+    }
+
+    private String getSessionPrefix(String uploadId) {
+        return uploadProperties.getStagingPrefix() + "/" + uploadId + "/";
+    }
+
     /**
      * 获取文件访问URL
      */
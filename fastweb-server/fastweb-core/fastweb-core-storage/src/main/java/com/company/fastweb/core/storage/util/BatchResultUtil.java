@@ -0,0 +1,64 @@
+package com.company.fastweb.core.storage.util;
+
+import com.company.fastweb.core.exception.BizException;
+import com.company.fastweb.core.storage.model.dto.BatchItemResultDTO;
+import com.company.fastweb.core.storage.model.dto.BatchResultDTO;
+
+import java.util.List;
+
+/**
+ * 批量操作结果工具类
+ *
+ * @author FastWeb
+ */
+public class BatchResultUtil {
+
+    private BatchResultUtil() {
+    }
+
+    /**
+     * 单个对象成功
+     *
+     * @param url 文件访问URL，删除操作为 null
+     */
+    public static BatchItemResultDTO success(String objectName, String url) {
+        return BatchItemResultDTO.builder()
+                .objectName(objectName)
+                .success(true)
+                .url(url)
+                .build();
+    }
+
+    /**
+     * 单个对象失败
+     */
+    public static BatchItemResultDTO failure(String objectName, String errorCode, String errorMessage) {
+        return BatchItemResultDTO.builder()
+                .objectName(objectName)
+                .success(false)
+                .errorCode(errorCode)
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    /**
+     * 单个对象失败，业务异常取其错误码
+     */
+    public static BatchItemResultDTO failure(String objectName, String defaultErrorCode, Throwable cause) {
+        String errorCode = cause instanceof BizException bizException ? bizException.getCode() : defaultErrorCode;
+        return failure(objectName, errorCode, cause.getMessage());
+    }
+
+    /**
+     * 汇总单个对象的结果
+     */
+    public static BatchResultDTO of(List<BatchItemResultDTO> results) {
+        int succeeded = (int) results.stream().filter(result -> Boolean.TRUE.equals(result.getSuccess())).count();
+        return BatchResultDTO.builder()
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.company.fastweb.core.storage.util;
+
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.FileInfoDTO;
+import com.company.fastweb.core.storage.model.dto.FileListDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 分页列出文件的续传令牌工具类
+ * 令牌为上一页最后一个对象名称的 URL 安全 Base64 编码，下一页从该对象之后开始
+ *
+ * @author FastWeb
+ */
+public class ContinuationTokenUtil {
+
+    /**
+     * 每页最大数量（与 S3 保持一致），超过时按该值返回
+     */
+    public static final int MAX_KEYS = 1000;
+
+    private ContinuationTokenUtil() {
+    }
+
+    /**
+     * 由本页最后一个对象名称生成续传令牌
+     */
+    public static String encode(String lastObjectName) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastObjectName.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析续传令牌，令牌为空时返回 null
+     *
+     * @return 上一页最后一个对象名称
+     */
+    public static String decode(String continuationToken) {
+        if (continuationToken == null || continuationToken.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw StorageException.invalidContinuationToken(continuationToken);
+        }
+    }
+
+    /**
+     * 校验每页数量，小于1时抛出异常，超过 {@link #MAX_KEYS} 时按 {@link #MAX_KEYS} 返回
+     *
+     * @return 实际使用的每页数量
+     */
+    public static int checkMaxKeys(int maxKeys) {
+        if (maxKeys < 1) {
+            throw StorageException.invalidMaxKeys(maxKeys);
+        }
+        return Math.min(maxKeys, MAX_KEYS);
+    }
+
+    /**
+     * 由最多 maxKeys + 1 个按名称排序的文件生成分页结果，多出的一个用于判断是否还有后续结果
+     */
+    public static FileListDTO toPage(List<FileInfoDTO> files, int maxKeys) {
+        maxKeys = checkMaxKeys(maxKeys);
+        boolean truncated = files.size() > maxKeys;
+        List<FileInfoDTO> page = truncated ? files.subList(0, maxKeys) : files;
+        return FileListDTO.builder()
+                .files(page)
+                .truncated(truncated)
+                .nextContinuationToken(truncated ? encode(page.get(page.size() - 1).getObjectName()) : null)
+                .build();
+    }
+}
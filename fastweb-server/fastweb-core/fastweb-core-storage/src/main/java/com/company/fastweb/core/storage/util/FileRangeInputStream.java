@@ -0,0 +1,71 @@
+package com.company.fastweb.core.storage.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 读取文件指定字节范围的输入流
+ * 使用定位读取，不改变 FileChannel 的当前位置，多个流可以并发共享同一个 FileChannel
+ *
+ * @author FastWeb
+ */
+public class FileRangeInputStream extends InputStream {
+
+    private final FileChannel channel;
+    private final long end;
+    private final boolean closeChannel;
+    private long position;
+
+    /**
+     * @param channel 文件通道
+     * @param offset 起始位置
+     * @param length 读取长度
+     * @param closeChannel 关闭流时是否同时关闭文件通道
+     */
+    public FileRangeInputStream(FileChannel channel, long offset, long length, boolean closeChannel) {
+        this.channel = channel;
+        this.position = offset;
+        this.end = offset + length;
+        this.closeChannel = closeChannel;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (position >= end) {
+            return -1;
+        }
+        int read = channel.read(ByteBuffer.wrap(buffer, offset, (int) Math.min(length, end - position)), position);
+        if (read < 0) {
+            return -1;
+        }
+        position += read;
+        return read;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0, Math.min(n, end - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, end - position));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closeChannel) {
+            channel.close();
+        }
+    }
+}
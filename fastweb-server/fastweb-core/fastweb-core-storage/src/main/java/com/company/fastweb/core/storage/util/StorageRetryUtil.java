@@ -167,6 +167,7 @@ public class StorageRetryUtil {
             String code = se.getCode();
             return StorageException.STORAGE_CONNECTION_ERROR.equals(code) ||
                    StorageException.FILE_UPLOAD_ERROR.equals(code) ||
+                   StorageException.UPLOAD_PART_ERROR.equals(code) ||
                    StorageException.FILE_DOWNLOAD_ERROR.equals(code);
         }
         
@@ -0,0 +1,182 @@
+package com.company.fastweb.core.storage.util;
+
+import com.company.fastweb.core.common.util.JsonUtils;
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.UploadPartDTO;
+import com.company.fastweb.core.storage.model.dto.UploadSessionDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 分片上传会话工具类
+ * 各存储实现共用的会话ID、分片命名、清单序列化与完整性校验
+ *
+ * @author FastWeb
+ */
+public class UploadSessionUtil {
+
+    /**
+     * 会话清单文件名
+     */
+    public static final String MANIFEST_NAME = "manifest.json";
+
+    /**
+     * 分片文件名前缀
+     */
+    public static final String PART_PREFIX = "part-";
+
+    /**
+     * 最大分片数（与 S3 保持一致）
+     */
+    public static final int MAX_PARTS = 10000;
+
+    /**
+     * MinIO 合并时除最后一片外的最小分片大小
+     */
+    public static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private static final Pattern UPLOAD_ID_PATTERN = Pattern.compile("^[0-9a-f]{32}$");
+
+    private UploadSessionUtil() {
+    }
+
+    /**
+     * 生成上传会话ID
+     */
+    public static String newUploadId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * 创建新的上传会话
+     *
+     * @param partSize 分片大小，为 null 时使用 defaultPartSize
+     */
+    public static UploadSessionDTO newSession(String bucketName, String objectName, String contentType,
+                                              Long totalSize, Long partSize, long defaultPartSize) {
+        long size = partSize != null ? partSize : defaultPartSize;
+        String uploadId = newUploadId();
+        if (size <= 0 || (totalSize != null && totalSize < 0)) {
+            throw StorageException.uploadSessionError(uploadId,
+                    String.format("分片参数无效: partSize=%d, totalSize=%s", size, totalSize));
+        }
+        if (totalSize != null && partCount(totalSize, size) > MAX_PARTS) {
+            throw StorageException.uploadSessionError(uploadId,
+                    String.format("分片数超过上限 %d，请增大分片大小: partSize=%d, totalSize=%d", MAX_PARTS, size, totalSize));
+        }
+        return UploadSessionDTO.builder()
+                .uploadId(uploadId)
+                .bucketName(bucketName)
+                .objectName(objectName)
+                .contentType(contentType)
+                .partSize(size)
+                .totalSize(totalSize)
+                .createdAt(System.currentTimeMillis())
+                .parts(new ArrayList<>())
+                .uploadedSize(0L)
+                .build();
+    }
+
+    /**
+     * 校验上传会话ID，会话ID会拼接到存储路径中，不允许任意字符
+     */
+    public static void checkUploadId(String uploadId) {
+        if (uploadId == null || !UPLOAD_ID_PATTERN.matcher(uploadId).matches()) {
+            throw StorageException.uploadSessionNotFound(uploadId);
+        }
+    }
+
+    /**
+     * 校验分片序号
+     */
+    public static void checkPartNumber(UploadSessionDTO session, int partNumber) {
+        int maxParts = session.getTotalSize() != null
+                ? partCount(session.getTotalSize(), session.getPartSize()) : MAX_PARTS;
+        if (partNumber < 1 || partNumber > maxParts) {
+            throw StorageException.uploadSessionError(session.getUploadId(),
+                    String.format("分片序号超出范围: part=%d, max=%d", partNumber, maxParts));
+        }
+    }
+
+    /**
+     * 根据文件大小计算分片数
+     */
+    public static int partCount(long totalSize, long partSize) {
+        return (int) Math.max(1, (totalSize + partSize - 1) / partSize);
+    }
+
+    /**
+     * 分片文件名，序号补零保证按名称排序即按序号排序
+     */
+    public static String partName(int partNumber) {
+        return String.format("%s%05d", PART_PREFIX, partNumber);
+    }
+
+    /**
+     * 由分片文件名解析分片序号，不是分片文件时返回 -1
+     */
+    public static int parsePartNumber(String name) {
+        if (name == null || !name.startsWith(PART_PREFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(PART_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 序列化会话清单，已上传分片不写入清单
+     */
+    public static String toManifest(UploadSessionDTO session) {
+        UploadSessionDTO manifest = UploadSessionDTO.builder()
+                .uploadId(session.getUploadId())
+                .bucketName(session.getBucketName())
+                .objectName(session.getObjectName())
+                .contentType(session.getContentType())
+                .partSize(session.getPartSize())
+                .totalSize(session.getTotalSize())
+                .createdAt(session.getCreatedAt())
+                .build();
+        return JsonUtils.toJsonString(manifest);
+    }
+
+    /**
+     * 解析会话清单并填充已上传的分片
+     */
+    public static UploadSessionDTO fromManifest(String uploadId, String json, List<UploadPartDTO> parts) {
+        UploadSessionDTO session = JsonUtils.parseObject(json, UploadSessionDTO.class);
+        if (session == null) {
+            throw StorageException.uploadSessionError(uploadId, "会话清单损坏");
+        }
+        List<UploadPartDTO> sorted = new ArrayList<>(parts);
+        sorted.sort(Comparator.comparing(UploadPartDTO::getPartNumber));
+        session.setParts(sorted);
+        session.setUploadedSize(sorted.stream().mapToLong(UploadPartDTO::getSize).sum());
+        return session;
+    }
+
+    /**
+     * 校验分片是否齐全：序号从1开始连续，且已知总大小时与已上传字节数一致
+     */
+    public static void checkComplete(UploadSessionDTO session) {
+        List<UploadPartDTO> parts = session.getParts();
+        if (parts == null || parts.isEmpty()) {
+            throw StorageException.uploadSessionError(session.getUploadId(), "没有已上传的分片");
+        }
+        for (int i = 0; i < parts.size(); i++) {
+            if (parts.get(i).getPartNumber() != i + 1) {
+                throw StorageException.uploadSessionError(session.getUploadId(), "缺少分片: part=" + (i + 1));
+            }
+        }
+        if (session.getTotalSize() != null && !session.getTotalSize().equals(session.getUploadedSize())) {
+            throw StorageException.uploadSessionError(session.getUploadId(), String.format(
+                    "已上传大小与文件大小不一致: uploaded=%d, total=%d", session.getUploadedSize(), session.getTotalSize()));
+        }
+    }
+}
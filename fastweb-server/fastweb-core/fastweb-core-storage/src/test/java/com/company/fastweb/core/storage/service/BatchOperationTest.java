@@ -0,0 +1,107 @@
+package com.company.fastweb.core.storage.service;
+
+import com.company.fastweb.core.storage.config.StorageProperties;
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.BatchItemResultDTO;
+import com.company.fastweb.core.storage.model.dto.BatchResultDTO;
+import com.company.fastweb.core.storage.service.impl.LocalStorageServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量上传与批量删除测试
+ */
+class BatchOperationTest {
+
+    private static final String BUCKET = "fastweb";
+
+    @TempDir
+    Path tempDir;
+
+    private LocalStorageServiceImpl storageService;
+    private BatchFileUploader batchFileUploader;
+
+    @BeforeEach
+    void setUp() {
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.getLocal().setPath(tempDir.toString());
+        storageProperties.getBatch().setParallelism(4);
+        storageService = new LocalStorageServiceImpl(storageProperties);
+        batchFileUploader = new BatchFileUploader(storageService, storageProperties.getBatch());
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchFileUploader.close();
+        storageService.close();
+    }
+
+    @Test
+    @DisplayName("批量上传应并行上传并按请求顺序返回每个文件的结果")
+    void shouldUploadFilesInParallel() {
+        List<BatchFileUploader.UploadItem> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(item("batch/file-" + i + ".txt", new ByteArrayResource(("content-" + i).getBytes(StandardCharsets.UTF_8))));
+        }
+        // 无法读取的文件只影响自身
+        items.add(5, item("batch/broken.txt", () -> {
+            throw new IOException("读取失败");
+        }));
+
+        BatchResultDTO result = batchFileUploader.uploadFiles(BUCKET, items);
+
+        assertEquals(21, result.getTotal());
+        assertEquals(20, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertThat(result.getResults()).extracting(BatchItemResultDTO::getObjectName)
+                .containsExactlyElementsOf(items.stream().map(BatchFileUploader.UploadItem::objectName).toList());
+        BatchItemResultDTO broken = result.getResults().get(5);
+        assertFalse(broken.getSuccess());
+        assertEquals(StorageException.FILE_UPLOAD_ERROR, broken.getErrorCode());
+        assertThat(result.getResults().get(0).getUrl()).endsWith("/fastweb/batch/file-0.txt");
+        assertThat(storageService.listFiles(BUCKET, "batch/", 100)).hasSize(20);
+    }
+
+    @Test
+    @DisplayName("批量删除应返回每个对象的结果，不存在的对象单独失败")
+    void shouldDeleteFilesInParallel() {
+        List<String> objectNames = IntStream.range(0, 30).mapToObj(i -> "delete/file-" + i + ".txt").toList();
+        objectNames.forEach(objectName -> storageService.uploadFile(BUCKET, objectName,
+                new ByteArrayInputStream(objectName.getBytes(StandardCharsets.UTF_8)), "text/plain"));
+        List<String> toDelete = new ArrayList<>(objectNames);
+        toDelete.add("delete/missing.txt");
+
+        BatchResultDTO result = storageService.batchDeleteFiles(BUCKET, toDelete);
+
+        assertEquals(31, result.getTotal());
+        assertEquals(30, result.getSucceeded());
+        BatchItemResultDTO missing = result.getResults().get(30);
+        assertEquals("delete/missing.txt", missing.getObjectName());
+        assertEquals(StorageException.FILE_NOT_FOUND, missing.getErrorCode());
+        assertThat(storageService.listFiles(BUCKET, "delete/", 100)).isEmpty();
+        objectNames.forEach(objectName -> assertFalse(storageService.fileExists(BUCKET, objectName)));
+
+        assertEquals(List.of("删除失败: delete/missing.txt"),
+                storageService.deleteFiles(BUCKET, List.of("delete/missing.txt")));
+    }
+
+    private static BatchFileUploader.UploadItem item(String objectName, InputStreamSource source) {
+        return new BatchFileUploader.UploadItem(objectName, source, "text/plain");
+    }
+}
@@ -0,0 +1,207 @@
+package com.company.fastweb.core.storage.service;
+
+import com.company.fastweb.core.storage.config.StorageProperties;
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.UploadPartDTO;
+import com.company.fastweb.core.storage.model.dto.UploadSessionDTO;
+import com.company.fastweb.core.storage.service.impl.LocalStorageServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分片上传会话测试
+ * 使用本地存储验证分片合并、续传与分片级重试
+ */
+class ChunkedUploadTest {
+
+    private static final int PART_SIZE = 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private StorageProperties storageProperties;
+    private FlakyLocalStorageService storageService;
+
+    @BeforeEach
+    void setUp() {
+        storageProperties = new StorageProperties();
+        storageProperties.getLocal().setPath(tempDir.resolve("storage").toString());
+        storageProperties.getUpload().setPartSize(PART_SIZE);
+        storageProperties.getUpload().setPartRetries(0);
+        storageService = new FlakyLocalStorageService(storageProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageService.close();
+    }
+
+    @Test
+    @DisplayName("乱序上传的分片应按序号合并")
+    void shouldCompleteOutOfOrderParts() throws Exception {
+        byte[] content = randomBytes(PART_SIZE * 2 + 100);
+        UploadSessionDTO session = storageService.initiateUpload("fastweb", "big/file.bin", "application/octet-stream",
+                (long) content.length, null);
+
+        for (int partNumber : new int[]{3, 1, 2}) {
+            UploadPartDTO part = storageService.uploadPart(session.getUploadId(), partNumber, part(content, partNumber), -1);
+            assertThat(part.getEtag()).hasSize(32);
+        }
+        UploadSessionDTO uploaded = storageService.getUploadSession(session.getUploadId());
+        assertThat(uploaded.getParts()).extracting(UploadPartDTO::getPartNumber).containsExactly(1, 2, 3);
+        assertThat(uploaded.getUploadedSize()).isEqualTo(content.length);
+
+        String url = storageService.completeUpload(session.getUploadId());
+
+        assertThat(url).endsWith("/fastweb/big/file.bin");
+        assertArrayEquals(content, Files.readAllBytes(tempDir.resolve("storage/fastweb/big/file.bin")));
+        StorageException exception = assertThrows(StorageException.class,
+                () -> storageService.getUploadSession(session.getUploadId()));
+        assertEquals(StorageException.UPLOAD_SESSION_NOT_FOUND, exception.getCode());
+    }
+
+    @Test
+    @DisplayName("分片不齐全或不完整时不能完成上传")
+    void shouldRejectIncompleteUpload() {
+        byte[] content = randomBytes(PART_SIZE * 2);
+        UploadSessionDTO session = storageService.initiateUpload("fastweb", "file.bin", null, (long) content.length, null);
+        storageService.uploadPart(session.getUploadId(), 2, part(content, 2), PART_SIZE);
+
+        StorageException missing = assertThrows(StorageException.class,
+                () -> storageService.completeUpload(session.getUploadId()));
+        assertEquals(StorageException.UPLOAD_SESSION_ERROR, missing.getCode());
+
+        StorageException truncated = assertThrows(StorageException.class,
+                () -> storageService.uploadPart(session.getUploadId(), 1, new ByteArrayInputStream(content, 0, 10), PART_SIZE));
+        assertEquals(StorageException.UPLOAD_PART_ERROR, truncated.getCode());
+        assertThat(storageService.getUploadSession(session.getUploadId()).getParts()).hasSize(1);
+
+        StorageException outOfRange = assertThrows(StorageException.class,
+                () -> storageService.uploadPart(session.getUploadId(), 3, part(content, 1), PART_SIZE));
+        assertEquals(StorageException.UPLOAD_SESSION_ERROR, outOfRange.getCode());
+    }
+
+    @Test
+    @DisplayName("上传中断后应只续传缺失的分片")
+    void shouldResumeMissingParts() throws Exception {
+        byte[] content = randomBytes(PART_SIZE * 5 + 1);
+        Path file = Files.write(tempDir.resolve("source.bin"), content);
+        storageService.failingParts.add(4);
+
+        try (ChunkedUploader uploader = new ChunkedUploader(storageService, storageProperties.getUpload())) {
+            StorageException exception = assertThrows(StorageException.class,
+                    () -> uploader.upload("fastweb", "resume.bin", file, "application/octet-stream"));
+            String uploadId = storageService.uploadIds.iterator().next();
+            assertThat(exception.getMessage()).contains(uploadId);
+            assertThat(storageService.getUploadSession(uploadId).getParts())
+                    .extracting(UploadPartDTO::getPartNumber).containsExactly(1, 2, 3, 5, 6);
+
+            storageService.failingParts.clear();
+            storageService.attempts.clear();
+            uploader.resume(uploadId, file);
+        }
+
+        assertThat(storageService.attempts.keySet()).containsExactly(4);
+        assertArrayEquals(content, Files.readAllBytes(tempDir.resolve("storage/fastweb/resume.bin")));
+    }
+
+    @Test
+    @DisplayName("失败的分片应从文件重新读取后重试")
+    void shouldRetryFailedPartFromFile() throws Exception {
+        storageProperties.getUpload().setPartRetries(1);
+        byte[] content = randomBytes(PART_SIZE * 3);
+        Path file = Files.write(tempDir.resolve("source.bin"), content);
+        storageService.failOnce.add(2);
+
+        try (ChunkedUploader uploader = new ChunkedUploader(storageService, storageProperties.getUpload())) {
+            uploader.upload("fastweb", "retry.bin", file, null);
+        }
+
+        assertEquals(2, storageService.attempts.get(2));
+        assertArrayEquals(content, Files.readAllBytes(tempDir.resolve("storage/fastweb/retry.bin")));
+    }
+
+    @Test
+    @DisplayName("取消上传应删除已上传的分片")
+    void shouldAbortUpload() {
+        UploadSessionDTO session = storageService.initiateUpload("fastweb", "file.bin", null, null, null);
+        storageService.uploadPart(session.getUploadId(), 1, new ByteArrayInputStream(randomBytes(10)), 10);
+
+        assertTrue(storageService.abortUpload(session.getUploadId()));
+        assertFalse(storageService.abortUpload(session.getUploadId()));
+        assertFalse(Files.exists(tempDir.resolve("storage/.uploads").resolve(session.getUploadId())));
+        assertThrows(StorageException.class, () -> storageService.getUploadSession("../../etc"));
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return bytes;
+    }
+
+    private static InputStream part(byte[] content, int partNumber) {
+        int offset = (partNumber - 1) * PART_SIZE;
+        return new ByteArrayInputStream(Arrays.copyOfRange(content, offset, Math.min(content.length, offset + PART_SIZE)));
+    }
+
+    /**
+     * 指定分片读取到一半时模拟连接中断
+     */
+    private static final class FlakyLocalStorageService extends LocalStorageServiceImpl {
+
+        private final Set<Integer> failingParts = ConcurrentHashMap.newKeySet();
+        private final Set<Integer> failOnce = ConcurrentHashMap.newKeySet();
+        private final Set<String> uploadIds = ConcurrentHashMap.newKeySet();
+        private final ConcurrentHashMap<Integer, Integer> attempts = new ConcurrentHashMap<>();
+
+        FlakyLocalStorageService(StorageProperties storageProperties) {
+            super(storageProperties);
+        }
+
+        @Override
+        public UploadSessionDTO initiateUpload(String bucketName, String objectName, String contentType,
+                                               Long totalSize, Long partSize) {
+            UploadSessionDTO session = super.initiateUpload(bucketName, objectName, contentType, totalSize, partSize);
+            uploadIds.add(session.getUploadId());
+            return session;
+        }
+
+        @Override
+        public UploadPartDTO uploadPart(String uploadId, int partNumber, InputStream inputStream, long size) {
+            attempts.merge(partNumber, 1, Integer::sum);
+            if (failingParts.contains(partNumber) || failOnce.remove(partNumber)) {
+                InputStream source = inputStream;
+                inputStream = new InputStream() {
+                    private int remaining = 100;
+
+                    @Override
+                    public int read() throws IOException {
+                        if (remaining == 0) {
+                            throw new SocketException("Connection reset");
+                        }
+                        remaining--;
+                        return source.read();
+                    }
+                };
+            }
+            return super.uploadPart(uploadId, partNumber, inputStream, size);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.company.fastweb.core.storage.service;
+
+import com.company.fastweb.core.storage.config.StorageProperties;
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.FileInfoDTO;
+import com.company.fastweb.core.storage.model.dto.UploadSessionDTO;
+import com.company.fastweb.core.storage.service.impl.ContentAddressedIndex;
+import com.company.fastweb.core.storage.service.impl.ContentAddressedStorageServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 内容寻址去重存储测试
+ */
+class ContentAddressedStorageTest {
+
+    private static final String BUCKET = "fastweb";
+
+    @TempDir
+    Path tempDir;
+
+    private StorageProperties storageProperties;
+    private ContentAddressedStorageServiceImpl storageService;
+
+    @BeforeEach
+    void setUp() {
+        storageProperties = new StorageProperties();
+        storageProperties.getLocal().setPath(tempDir.toString());
+        storageProperties.getLocal().setDeduplicate(true);
+        storageService = new ContentAddressedStorageServiceImpl(storageProperties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        storageService.close();
+    }
+
+    @Test
+    @DisplayName("相同内容应只保存一份，ETag 为 SHA-256 摘要")
+    void shouldDeduplicateIdenticalContent() throws Exception {
+        upload("a.txt", "hello world");
+        upload("b.txt", "hello world");
+        upload("c.txt", "another");
+
+        assertEquals(2, countBlobs());
+        FileInfoDTO fileInfo = storageService.getFileInfo(BUCKET, "a.txt");
+        assertEquals(sha256("hello world"), fileInfo.getEtag());
+        assertEquals(11L, fileInfo.getSize());
+        assertEquals("text/plain", fileInfo.getContentType());
+        assertEquals(fileInfo.getEtag(), storageService.getFileInfo(BUCKET, "b.txt").getEtag());
+        assertEquals("hello world", read("b.txt"));
+    }
+
+    @Test
+    @DisplayName("数据文件应在最后一个引用删除后删除")
+    void shouldDeleteBlobWhenLastReferenceRemoved() throws Exception {
+        upload("a.txt", "shared");
+        upload("b.txt", "shared");
+
+        assertTrue(storageService.deleteFile(BUCKET, "a.txt"));
+        assertFalse(storageService.fileExists(BUCKET, "a.txt"));
+        assertEquals(1, countBlobs());
+        assertEquals("shared", read("b.txt"));
+
+        // 覆盖写入后旧内容不再被引用
+        upload("b.txt", "replaced");
+        assertEquals(1, countBlobs());
+        assertEquals("replaced", read("b.txt"));
+
+        assertTrue(storageService.deleteBucket(BUCKET));
+        assertEquals(0, countBlobs());
+        assertFalse(storageService.bucketExists(BUCKET));
+        assertFalse(storageService.deleteFile(BUCKET, "b.txt"));
+    }
+
+    @Test
+    @DisplayName("重新打开后应从索引日志恢复对象并清理孤立数据文件")
+    void shouldRecoverIndexAfterReopen() throws Exception {
+        upload("docs/a.txt", "one");
+        upload("docs/b.txt", "two");
+        upload("images/c.png", "three");
+        storageService.deleteFile(BUCKET, "docs/b.txt");
+        storageService.close();
+
+        Path orphan = tempDir.resolve(".cas/blobs/ff/" + "f".repeat(64));
+        Files.createDirectories(orphan.getParent());
+        Files.writeString(orphan, "orphan");
+        storageService = new ContentAddressedStorageServiceImpl(storageProperties);
+
+        assertFalse(Files.exists(orphan));
+        assertTrue(storageService.bucketExists(BUCKET));
+        assertEquals("one", read("docs/a.txt"));
+        assertFalse(storageService.fileExists(BUCKET, "docs/b.txt"));
+        List<String> names = storageService.listFiles(BUCKET, "docs/", 10).stream()
+                .map(FileInfoDTO::getObjectName)
+                .toList();
+        assertThat(names).containsExactly("docs/a.txt");
+        assertEquals(2, storageService.listFiles(BUCKET, null, 10).size());
+    }
+
+    @Test
+    @DisplayName("过期记录超过有效记录时应压缩索引日志，压缩后重放结果不变")
+    void shouldCompactIndexLog() throws Exception {
+        Path logFile = tempDir.resolve("compact/index.log");
+        try (ContentAddressedIndex index = new ContentAddressedIndex(logFile)) {
+            for (int i = 0; i < 3000; i++) {
+                index.put(BUCKET, "hot.txt", entry(i));
+            }
+            index.put(BUCKET, "kept.txt", entry(-1));
+            index.put("other", "dropped.txt", entry(-2));
+            index.dropBucket("other");
+            index.remove(BUCKET, "missing.txt");
+        }
+
+        // 3000 次覆盖写入不压缩时约 240KB
+        assertThat(Files.size(logFile)).isLessThan(1024 * 100);
+        try (ContentAddressedIndex index = new ContentAddressedIndex(logFile)) {
+            assertThat(index.list(BUCKET, null).keySet()).containsExactly("hot.txt", "kept.txt");
+            assertEquals(entry(2999), index.get(BUCKET, "hot.txt"));
+            assertFalse(index.bucketExists("other"));
+            assertEquals(2, index.referencedHashes().size());
+        }
+    }
+
+    @Test
+    @DisplayName("应支持范围读取并在对象不存在时抛出异常")
+    void shouldDownloadRange() throws Exception {
+        upload("range.txt", "0123456789");
+
+        try (InputStream inputStream = storageService.downloadFile(BUCKET, "range.txt", 3, 4)) {
+            assertEquals("3456", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertThat(storageService.getLocalFile(BUCKET, "range.txt")).exists();
+        assertThatThrownBy(() -> storageService.downloadFile(BUCKET, "missing.txt"))
+                .isInstanceOf(StorageException.class);
+        assertNull(storageService.getFileInfo(BUCKET, "missing.txt"));
+    }
+
+    @Test
+    @DisplayName("分片上传合并后应按摘要去重，会话在重新打开后仍可续传")
+    void shouldCompleteChunkedUpload() throws Exception {
+        storageProperties.getUpload().setPartSize(4);
+        String content = "chunked upload content";
+        Path file = Files.writeString(tempDir.resolve("source.txt"), content);
+        try (ChunkedUploader uploader = new ChunkedUploader(storageService, storageProperties.getUpload())) {
+            uploader.upload(BUCKET, "chunked.txt", file, "text/plain");
+        }
+        upload("whole.txt", content);
+
+        assertEquals(1, countBlobs());
+        assertEquals(sha256(content), storageService.getFileInfo(BUCKET, "chunked.txt").getEtag());
+        assertEquals(content, read("chunked.txt"));
+
+        UploadSessionDTO session = storageService.initiateUpload(BUCKET, "resumed.txt", "text/plain", 6L, 4L);
+        storageService.uploadPart(session.getUploadId(), 1,
+                new ByteArrayInputStream("abcd".getBytes(StandardCharsets.UTF_8)), 4);
+        storageService.close();
+        storageService = new ContentAddressedStorageServiceImpl(storageProperties);
+
+        assertEquals(4L, storageService.getUploadSession(session.getUploadId()).getUploadedSize());
+        storageService.uploadPart(session.getUploadId(), 2,
+                new ByteArrayInputStream("ef".getBytes(StandardCharsets.UTF_8)), 2);
+        storageService.completeUpload(session.getUploadId());
+        assertEquals("abcdef", read("resumed.txt"));
+        assertThatThrownBy(() -> storageService.getUploadSession(session.getUploadId()))
+                .isInstanceOf(StorageException.class);
+        assertFalse(storageService.abortUpload(session.getUploadId()));
+    }
+
+    private void upload(String objectName, String content) {
+        storageService.uploadFile(BUCKET, objectName,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "text/plain");
+    }
+
+    private static ContentAddressedIndex.Entry entry(int version) {
+        return new ContentAddressedIndex.Entry(String.format("%064x", version & 0xffffffffL), version, "text/plain", 0);
+    }
+
+    private String read(String objectName) throws Exception {
+        try (InputStream inputStream = storageService.downloadFile(BUCKET, objectName)) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private long countBlobs() throws Exception {
+        try (Stream<Path> paths = Files.walk(tempDir.resolve(".cas/blobs"))) {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static String sha256(String content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
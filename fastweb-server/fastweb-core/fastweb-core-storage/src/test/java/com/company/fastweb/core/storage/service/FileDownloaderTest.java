@@ -0,0 +1,174 @@
+package com.company.fastweb.core.storage.service;
+
+import com.company.fastweb.core.storage.config.StorageProperties;
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.service.impl.LocalStorageServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文件下载 Range 与条件请求测试
+ */
+class FileDownloaderTest {
+
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    @TempDir
+    Path tempDir;
+
+    private LocalStorageServiceImpl storageService;
+    private FileDownloader fileDownloader;
+
+    @BeforeEach
+    void setUp() {
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.getLocal().setPath(tempDir.resolve("storage").toString());
+        storageService = new LocalStorageServiceImpl(storageProperties);
+        storageService.uploadFile("fastweb", "video.txt",
+                new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)), "text/plain");
+        fileDownloader = new FileDownloader(storageService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageService.close();
+    }
+
+    @Test
+    @DisplayName("无 Range 时应返回完整文件及缓存校验头")
+    void shouldDownloadWholeFile() throws Exception {
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/download"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertThat(response.getHeader("ETag")).isNotBlank();
+        assertThat(response.getHeader("Last-Modified")).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("单个范围应返回 206 与 Content-Range")
+    void shouldDownloadSingleRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=10-15");
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("abcdef", response.getContentAsString());
+        assertEquals("bytes 10-15/36", response.getHeader("Content-Range"));
+        assertEquals(6, response.getContentLengthLong());
+
+        MockHttpServletRequest suffix = new MockHttpServletRequest("GET", "/download");
+        suffix.addHeader("Range", "bytes=-4");
+        assertEquals("wxyz", download(suffix).getContentAsString());
+    }
+
+    @Test
+    @DisplayName("多个范围应返回 multipart/byteranges")
+    void shouldDownloadMultipleRanges() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=0-2,30-");
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+        String body = response.getContentAsString();
+        assertThat(body).contains("Content-Range: bytes 0-2/36\r\n\r\n012\r\n");
+        assertThat(body).contains("Content-Range: bytes 30-35/36\r\n\r\nuvwxyz\r\n");
+        assertEquals(body.length(), response.getContentLengthLong());
+    }
+
+    @Test
+    @DisplayName("不可满足的范围应返回 416")
+    void shouldRejectUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=100-200");
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */36", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    @DisplayName("ETag 匹配时应返回 304，If-Range 不匹配时返回完整文件")
+    void shouldHandleConditionalRequests() throws Exception {
+        String etag = download(new MockHttpServletRequest("GET", "/download")).getHeader("ETag");
+
+        MockHttpServletRequest notModified = new MockHttpServletRequest("GET", "/download");
+        notModified.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = download(notModified);
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+
+        MockHttpServletRequest staleRange = new MockHttpServletRequest("GET", "/download");
+        staleRange.addHeader("Range", "bytes=0-1");
+        staleRange.addHeader("If-Range", "\"stale\"");
+        response = download(staleRange);
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+
+        MockHttpServletRequest freshRange = new MockHttpServletRequest("GET", "/download");
+        freshRange.addHeader("Range", "bytes=0-1");
+        freshRange.addHeader("If-Range", etag);
+        assertEquals("01", download(freshRange).getContentAsString());
+    }
+
+    @Test
+    @DisplayName("容器支持 sendfile 时应交给容器发送")
+    void shouldDelegateToSendfile() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=5-9");
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(tempDir.resolve("storage/fastweb/video.txt").toAbsolutePath().toString(),
+                request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(5L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    @DisplayName("应拒绝访问存储桶以外的路径")
+    void shouldRejectPathTraversal() throws Exception {
+        Files.writeString(tempDir.resolve("secret.txt"), "secret");
+        Files.createDirectories(tempDir.resolve("storage/.metadata"));
+
+        for (String objectName : new String[]{"../../secret.txt", "nested/../../../secret.txt",
+                tempDir.resolve("secret.txt").toAbsolutePath().toString(), ".."}) {
+            StorageException exception = assertThrows(StorageException.class, () -> fileDownloader.download("fastweb",
+                    objectName, new MockHttpServletRequest("GET", "/download"), new MockHttpServletResponse()));
+            assertEquals(StorageException.INVALID_OBJECT_PATH, exception.getCode(), objectName);
+            assertThrows(StorageException.class, () -> storageService.downloadFile("fastweb", objectName, 0, 6));
+        }
+        for (String bucketName : new String[]{"..", "../storage", ".metadata", "fastweb/..", "a\\b"}) {
+            StorageException exception = assertThrows(StorageException.class,
+                    () -> storageService.getLocalFile(bucketName, "video.txt"));
+            assertEquals(StorageException.INVALID_OBJECT_PATH, exception.getCode(), bucketName);
+        }
+        assertThrows(StorageException.class, () -> storageService.deleteBucket(".."));
+        assertTrue(Files.exists(tempDir.resolve("secret.txt")));
+        assertNotNull(storageService.getLocalFile("fastweb", "nested/../video.txt"), "规范化后仍在存储桶内的路径可以访问");
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileDownloader.download("fastweb", "video.txt", request, response);
+        return response;
+    }
+}
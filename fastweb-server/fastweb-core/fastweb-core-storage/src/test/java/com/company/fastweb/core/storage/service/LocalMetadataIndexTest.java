@@ -0,0 +1,164 @@
+package com.company.fastweb.core.storage.service;
+
+import com.company.fastweb.core.storage.config.StorageProperties;
+import com.company.fastweb.core.storage.exception.StorageException;
+import com.company.fastweb.core.storage.model.dto.FileInfoDTO;
+import com.company.fastweb.core.storage.model.dto.FileListDTO;
+import com.company.fastweb.core.storage.service.impl.LocalMetadataIndex;
+import com.company.fastweb.core.storage.service.impl.LocalStorageServiceImpl;
+import com.company.fastweb.core.storage.util.ContinuationTokenUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 本地存储文件元数据索引与分页列出测试
+ */
+class LocalMetadataIndexTest {
+
+    private static final String BUCKET = "fastweb";
+
+    @TempDir
+    Path tempDir;
+
+    private StorageProperties storageProperties;
+    private LocalStorageServiceImpl storageService;
+
+    @BeforeEach
+    void setUp() {
+        storageProperties = new StorageProperties();
+        storageProperties.getLocal().setPath(tempDir.toString());
+        storageProperties.getLocal().setIndexScanInterval(Duration.ZERO);
+        storageService = new LocalStorageServiceImpl(storageProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageService.close();
+    }
+
+    @Test
+    @DisplayName("应按对象名称排序分页列出，并通过续传令牌获取下一页")
+    void shouldListPagesInOrder() {
+        for (String name : List.of("docs/c.txt", "docs/a.txt", "images/x.png", "docs/b.txt", "docs/d.txt")) {
+            upload(name, name);
+        }
+
+        List<String> names = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            FileListDTO page = storageService.listFiles(BUCKET, "docs/", token, 2);
+            page.getFiles().forEach(file -> names.add(file.getObjectName()));
+            token = page.getNextContinuationToken();
+            assertEquals(token != null, page.getTruncated());
+            pages++;
+        } while (token != null);
+
+        assertThat(names).containsExactly("docs/a.txt", "docs/b.txt", "docs/c.txt", "docs/d.txt");
+        assertEquals(2, pages);
+        assertThat(storageService.listFiles(BUCKET, null, 10)).hasSize(5);
+        assertThat(storageService.listFiles("missing", null, 10)).isEmpty();
+        assertThatThrownBy(() -> storageService.listFiles(BUCKET, null, "not base64!", 10))
+                .isInstanceOf(StorageException.class);
+    }
+
+    @Test
+    @DisplayName("每页数量小于1时应拒绝，超过上限时按上限返回")
+    void shouldValidateMaxKeys() {
+        upload("a.txt", "a");
+
+        for (int maxKeys : new int[]{0, -1}) {
+            StorageException exception = assertThrows(StorageException.class,
+                    () -> storageService.listFiles(BUCKET, null, null, maxKeys));
+            assertEquals(StorageException.INVALID_MAX_KEYS, exception.getCode());
+        }
+        assertThat(storageService.listFiles(BUCKET, null, null, Integer.MAX_VALUE).getFiles()).hasSize(1);
+
+        List<FileInfoDTO> files = new ArrayList<>();
+        for (int i = 0; i <= ContinuationTokenUtil.MAX_KEYS; i++) {
+            files.add(FileInfoDTO.builder().objectName(String.format("%05d", i)).build());
+        }
+        FileListDTO page = ContinuationTokenUtil.toPage(files, 5000);
+        assertThat(page.getFiles()).hasSize(ContinuationTokenUtil.MAX_KEYS);
+        assertTrue(page.getTruncated());
+        assertEquals("00999", ContinuationTokenUtil.decode(page.getNextContinuationToken()));
+    }
+
+    @Test
+    @DisplayName("上传与删除应增量更新索引，列出结果与文件信息一致")
+    void shouldUpdateIndexOnUploadAndDelete() {
+        upload("a.txt", "first");
+        upload("a.txt", "second version");
+        upload("b.txt", "b");
+        storageService.deleteFile(BUCKET, "b.txt");
+
+        List<FileInfoDTO> files = storageService.listFiles(BUCKET, null, 10);
+        assertEquals(1, files.size());
+        FileInfoDTO listed = files.get(0);
+        FileInfoDTO info = storageService.getFileInfo(BUCKET, "a.txt");
+        assertEquals(14L, listed.getSize());
+        assertEquals(info.getEtag(), listed.getEtag());
+
+        storageService.deleteBucket(BUCKET);
+        assertThat(storageService.listFiles(BUCKET, null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("扫描应校正绕过存储服务的修改，并忽略上传临时文件与暂存目录")
+    void shouldReconcileExternalChanges() throws Exception {
+        upload("kept.txt", "kept");
+        upload("removed.txt", "removed");
+        Path bucketPath = tempDir.resolve(BUCKET);
+        Files.writeString(bucketPath.resolve("external.txt"), "external");
+        Files.writeString(bucketPath.resolve(".upload-123.tmp"), "partial");
+        Files.delete(bucketPath.resolve("removed.txt"));
+        Files.createDirectories(tempDir.resolve(".uploads/session"));
+        Files.writeString(tempDir.resolve(".uploads/session/part-00001"), "part");
+
+        try (LocalMetadataIndex index = new LocalMetadataIndex(tempDir, Duration.ZERO)) {
+            assertThat(index.list(BUCKET, null, null).keySet()).containsExactly("external.txt", "kept.txt");
+            assertFalse(index.list(".uploads", null, null).containsKey("session/part-00001"));
+
+            Files.delete(bucketPath.resolve("kept.txt"));
+            index.reconcile();
+            assertThat(index.list(BUCKET, null, null).keySet()).containsExactly("external.txt");
+        }
+    }
+
+    @Test
+    @DisplayName("重启后应从快照恢复索引")
+    void shouldLoadSnapshotAfterRestart() {
+        upload("a.txt", "a");
+        upload("nested/b.txt", "b");
+        storageService.close();
+
+        assertTrue(Files.exists(tempDir.resolve(".metadata/index.bin")));
+        storageProperties.getLocal().setIndexScanInterval(Duration.ofHours(1));
+        storageService = new LocalStorageServiceImpl(storageProperties);
+
+        List<String> names = storageService.listFiles(BUCKET, null, 10).stream()
+                .map(FileInfoDTO::getObjectName)
+                .toList();
+        assertThat(names).containsExactly("a.txt", "nested/b.txt");
+    }
+
+    private void upload(String objectName, String content) {
+        storageService.uploadFile(BUCKET, objectName,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "text/plain");
+    }
+}
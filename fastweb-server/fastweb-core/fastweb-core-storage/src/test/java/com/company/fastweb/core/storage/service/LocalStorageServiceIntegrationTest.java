@@ -2,6 +2,7 @@ package com.company.fastweb.core.storage.service;
 
 import com.company.fastweb.core.storage.config.StorageProperties;
 import com.company.fastweb.core.storage.service.impl.LocalStorageServiceImpl;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -41,6 +42,11 @@ class LocalStorageServiceIntegrationTest {
         storageService = new LocalStorageServiceImpl(storageProperties);
     }
 
+    @AfterEach
+    void tearDown() {
+        storageService.close();
+    }
+
     @Test
     @DisplayName("应该成功上传文件")
     void shouldUploadFileSuccessfully() throws Exception {